@@ -0,0 +1,51 @@
+package me.mapokapo.features.feed;
+
+/**
+ * Receives the commands decoded by a {@link FeedLineParser}, as primitive
+ * values.
+ *
+ * <p>
+ * A handler may reject a command by throwing an
+ * {@link IllegalArgumentException} or an {@link IllegalStateException}, as the
+ * {@link me.mapokapo.features.scoreboard.Scoreboard} does for unknown matches
+ * or invalid scores. The parser counts such commands and goes on with the next
+ * line.
+ * </p>
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+public interface FeedCommandHandler {
+	/**
+	 * Called for a kickoff command.
+	 *
+	 * @param matchId The ID of the match to start.
+	 */
+	void startMatch(int matchId);
+
+	/**
+	 * Called for a full-time command.
+	 *
+	 * @param matchId The ID of the match to finish.
+	 */
+	void finishMatch(int matchId);
+
+	/**
+	 * Called for a score command without a sequence number.
+	 *
+	 * @param matchId   The ID of the match.
+	 * @param homeScore The new score of the home team.
+	 * @param awayScore The new score of the away team.
+	 */
+	void updateScore(int matchId, int homeScore, int awayScore);
+
+	/**
+	 * Called for a score command with a sequence number.
+	 *
+	 * @param matchId   The ID of the match.
+	 * @param homeScore The new score of the home team.
+	 * @param awayScore The new score of the away team.
+	 * @param sequence  The sequence number of the update.
+	 */
+	void updateScore(int matchId, int homeScore, int awayScore, long sequence);
+}
@@ -0,0 +1,316 @@
+package me.mapokapo.features.feed;
+
+import java.nio.ByteBuffer;
+
+import lombok.NonNull;
+import me.mapokapo.features.scoreboard.Scoreboard;
+
+/**
+ * Decodes the commands of a live feed from a compact text line protocol and
+ * dispatches them to a {@link FeedCommandHandler}.
+ *
+ * <p>
+ * Every command is an ASCII line ending with {@code \n}, optionally preceded
+ * by {@code \r}. Its first byte names the command, followed by its arguments
+ * as unsigned decimal numbers, each preceded by a single space:
+ * </p>
+ *
+ * <ul>
+ * <li>{@code K <matchId>} starts a match at kickoff,</li>
+ * <li>{@code F <matchId>} finishes a match at full time,</li>
+ * <li>{@code S <matchId> <homeScore> <awayScore>} updates a score, and</li>
+ * <li>{@code S <matchId> <homeScore> <awayScore> <sequence>} updates a score
+ * from an update with a sequence number.</li>
+ * </ul>
+ *
+ * <p>
+ * The parser reads the bytes of the buffer in place and decodes the arguments
+ * straight into primitive values, so it allocates nothing per command. Empty
+ * lines are ignored. Malformed lines, including lines longer than
+ * {@link #MAX_LINE_LENGTH}, are skipped and counted, and parsing goes on with
+ * the next line. So are commands which the handler rejects.
+ * </p>
+ *
+ * <p>
+ * This class is not thread-safe. Every connection to a feed should have its
+ * own parser.
+ * </p>
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+public class FeedLineParser {
+	/**
+	 * The maximum length of a line, without its line break. A valid command is
+	 * never longer than 60 bytes.
+	 */
+	public static final int MAX_LINE_LENGTH = 128;
+
+	private static final byte KICKOFF = 'K';
+	private static final byte FULL_TIME = 'F';
+	private static final byte SCORE = 'S';
+
+	/**
+	 * The most digits a number can have, which is enough for any {@code long}
+	 * and short enough that parsing it cannot overflow.
+	 */
+	private static final int MAX_DIGITS = 18;
+
+	private final FeedCommandHandler handler;
+
+	/**
+	 * The position of the next byte to decode in the current line.
+	 */
+	private int cursor;
+
+	/**
+	 * Whether the rest of an overlong line is being skipped.
+	 */
+	private boolean skipping = false;
+
+	private long commandCount = 0;
+	private long malformedLineCount = 0;
+	private long rejectedCommandCount = 0;
+
+	/**
+	 * Creates a parser which dispatches commands to a scoreboard.
+	 *
+	 * @param scoreboard The scoreboard to apply the commands to.
+	 */
+	public FeedLineParser(@NonNull Scoreboard scoreboard) {
+		this(new FeedCommandHandler() {
+			@Override
+			public void startMatch(int matchId) {
+				scoreboard.startMatch(matchId);
+			}
+
+			@Override
+			public void finishMatch(int matchId) {
+				scoreboard.finishMatch(matchId);
+			}
+
+			@Override
+			public void updateScore(int matchId, int homeScore, int awayScore) {
+				scoreboard.updateScore(matchId, homeScore, awayScore);
+			}
+
+			@Override
+			public void updateScore(int matchId, int homeScore, int awayScore, long sequence) {
+				scoreboard.updateScore(matchId, homeScore, awayScore, sequence);
+			}
+		});
+	}
+
+	/**
+	 * Creates a parser.
+	 *
+	 * @param handler The handler to dispatch the commands to.
+	 */
+	public FeedLineParser(@NonNull FeedCommandHandler handler) {
+		this.handler = handler;
+	}
+
+	/**
+	 * Parses every complete line between the position and the limit of a buffer,
+	 * and dispatches its command. The position of the buffer is moved past the
+	 * last complete line, so an incomplete line at the end stays in the buffer,
+	 * to be parsed once the rest of it has been read, for example after
+	 * {@link ByteBuffer#compact()}.
+	 *
+	 * <p>
+	 * If the incomplete line is already longer than {@link #MAX_LINE_LENGTH}, it
+	 * is consumed and counted as malformed, and the rest of it is skipped in
+	 * later calls.
+	 * </p>
+	 *
+	 * @param buffer The buffer to parse.
+	 * @return The number of commands which were dispatched and not rejected.
+	 */
+	public int parse(@NonNull ByteBuffer buffer) {
+		int dispatched = 0;
+		int start = buffer.position();
+		int limit = buffer.limit();
+
+		while (start < limit) {
+			int end = start;
+
+			while (end < limit && buffer.get(end) != '\n') {
+				end++;
+			}
+
+			if (end == limit) {
+				// The incomplete line may still end with a carriage return, which does not
+				// count towards its length.
+				if (!skipping && end - start > MAX_LINE_LENGTH + 1) {
+					skipping = true;
+					malformedLineCount++;
+				}
+
+				if (skipping) {
+					start = limit;
+				}
+
+				break;
+			}
+
+			if (skipping) {
+				skipping = false;
+			} else if (parseLine(buffer, start, end)) {
+				dispatched++;
+			}
+
+			start = end + 1;
+		}
+
+		buffer.position(start);
+
+		return dispatched;
+	}
+
+	/**
+	 * Gets the number of commands which were dispatched and not rejected.
+	 *
+	 * @return The number of commands.
+	 */
+	public long getCommandCount() {
+		return commandCount;
+	}
+
+	/**
+	 * Gets the number of lines which were skipped because they were malformed.
+	 *
+	 * @return The number of lines.
+	 */
+	public long getMalformedLineCount() {
+		return malformedLineCount;
+	}
+
+	/**
+	 * Gets the number of commands which the handler rejected.
+	 *
+	 * @return The number of commands.
+	 */
+	public long getRejectedCommandCount() {
+		return rejectedCommandCount;
+	}
+
+	/**
+	 * Parses a line and dispatches its command.
+	 *
+	 * @param start The position of the first byte of the line.
+	 * @param end   The position of its line break.
+	 * @return Whether a command was dispatched and not rejected.
+	 */
+	private boolean parseLine(ByteBuffer buffer, int start, int end) {
+		if (end > start && buffer.get(end - 1) == '\r') {
+			end--;
+		}
+
+		if (end == start) {
+			return false;
+		}
+
+		if (end - start > MAX_LINE_LENGTH) {
+			malformedLineCount++;
+			return false;
+		}
+
+		byte command = buffer.get(start);
+		cursor = start + 1;
+		long matchId = nextNumber(buffer, end);
+
+		if (matchId < 0 || matchId > Integer.MAX_VALUE) {
+			malformedLineCount++;
+			return false;
+		}
+
+		try {
+			switch (command) {
+				case KICKOFF -> {
+					if (cursor != end) {
+						malformedLineCount++;
+						return false;
+					}
+
+					handler.startMatch((int) matchId);
+				}
+				case FULL_TIME -> {
+					if (cursor != end) {
+						malformedLineCount++;
+						return false;
+					}
+
+					handler.finishMatch((int) matchId);
+				}
+				case SCORE -> {
+					long homeScore = nextNumber(buffer, end);
+					long awayScore = nextNumber(buffer, end);
+
+					if (homeScore < 0 || homeScore > Integer.MAX_VALUE || awayScore < 0
+							|| awayScore > Integer.MAX_VALUE) {
+						malformedLineCount++;
+						return false;
+					}
+
+					if (cursor == end) {
+						handler.updateScore((int) matchId, (int) homeScore, (int) awayScore);
+					} else {
+						long sequence = nextNumber(buffer, end);
+
+						if (sequence < 0 || cursor != end) {
+							malformedLineCount++;
+							return false;
+						}
+
+						handler.updateScore((int) matchId, (int) homeScore, (int) awayScore, sequence);
+					}
+				}
+				default -> {
+					malformedLineCount++;
+					return false;
+				}
+			}
+		} catch (IllegalArgumentException | IllegalStateException e) {
+			rejectedCommandCount++;
+			return false;
+		}
+
+		commandCount++;
+
+		return true;
+	}
+
+	/**
+	 * Parses a space followed by an unsigned decimal number at the cursor, and
+	 * moves the cursor past it.
+	 *
+	 * @return The number, or -1 if there is no valid number at the cursor.
+	 */
+	private long nextNumber(ByteBuffer buffer, int end) {
+		if (cursor >= end || buffer.get(cursor) != ' ') {
+			return -1;
+		}
+
+		int first = ++cursor;
+		long value = 0;
+
+		while (cursor < end) {
+			int digit = buffer.get(cursor) - '0';
+
+			if (digit < 0 || digit > 9) {
+				break;
+			}
+
+			value = value * 10 + digit;
+			cursor++;
+		}
+
+		int digits = cursor - first;
+
+		if (digits == 0 || digits > MAX_DIGITS || cursor < end && buffer.get(cursor) != ' ') {
+			return -1;
+		}
+
+		return value;
+	}
+}
@@ -0,0 +1,51 @@
+package me.mapokapo.features.history;
+
+/**
+ * Constants of the binary columnar format written by {@link HistoryExporter}
+ * and read by {@link HistoryImporter}.
+ *
+ * <p>
+ * All numbers are big-endian. The file consists of:
+ * </p>
+ * <ol>
+ * <li>The magic number {@link #MAGIC} and the format {@link #VERSION}.</li>
+ * <li>The number of teams, followed by each team as a flag telling whether it
+ * is registered in the team repository, its ID, the length of its UTF-8
+ * encoded name and the name itself. Matches may refer to teams which are not
+ * registered, which is why such teams are written as well.</li>
+ * <li>Since version 2, the number of competitions, followed by the length of
+ * the UTF-8 encoded name of each competition and the name itself.</li>
+ * <li>The number of matches, followed by blocks of at most
+ * {@link #BLOCK_SIZE} matches each. A block starts with the number of matches
+ * in it, followed by one column per field: IDs, home and away teams as
+ * positions in the team table, competitions as positions in the competition
+ * table or -1 (since version 2), home scores, away scores, states, start times,
+ * finish times and timeline sizes. The timelines of all matches in the block
+ * follow, each event stored as an offset in milliseconds from the start of the
+ * match and both scores packed into an int. Since version 3, an offset which
+ * does not fit into an int is written as {@link #WIDE_OFFSET}, followed by the
+ * offset as a long.</li>
+ * </ol>
+ *
+ * <p>
+ * Writing one block at a time keeps the data columnar, which compresses and
+ * scans well, while keeping the memory needed for writing and reading constant.
+ * </p>
+ */
+final class BinaryFormat {
+	static final int MAGIC = 0x4C465342; // "LFSB"
+	static final int VERSION = 3;
+	static final int BLOCK_SIZE = 4096;
+
+	/**
+	 * Marks an event offset which is written as a long, since version 3.
+	 */
+	static final int WIDE_OFFSET = Integer.MIN_VALUE;
+
+	static final byte NOT_STARTED = 0;
+	static final byte LIVE = 1;
+	static final byte FINISHED = 2;
+
+	private BinaryFormat() {
+	}
+}
@@ -0,0 +1,96 @@
+package me.mapokapo.features.history;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Reads primitive values from a {@link FileChannel} through a fixed-size
+ * buffer, the counterpart of {@link ChannelWriter}.
+ */
+class ChannelReader {
+	private final FileChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(ChannelWriter.BUFFER_SIZE);
+
+	ChannelReader(FileChannel channel) {
+		this.channel = channel;
+		buffer.limit(0);
+	}
+
+	byte readByte() throws IOException {
+		ensureAvailable(Byte.BYTES);
+		return buffer.get();
+	}
+
+	int readInt() throws IOException {
+		ensureAvailable(Integer.BYTES);
+		return buffer.getInt();
+	}
+
+	long readLong() throws IOException {
+		ensureAvailable(Long.BYTES);
+		return buffer.getLong();
+	}
+
+	/**
+	 * Reads a number written by {@link ChannelWriter#writeVarLong(long)}.
+	 */
+	long readVarLong() throws IOException {
+		long zigZag = 0;
+
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = readByte();
+			zigZag |= (long) (b & 0x7F) << shift;
+
+			if (b >= 0) {
+				return (zigZag >>> 1) ^ -(zigZag & 1);
+			}
+		}
+
+		throw new IOException("Malformed variable-length integer.");
+	}
+
+	/**
+	 * Checks whether the whole channel has been read.
+	 */
+	boolean isAtEnd() throws IOException {
+		if (buffer.hasRemaining()) {
+			return false;
+		}
+
+		buffer.clear();
+		int read = channel.read(buffer);
+		buffer.flip();
+
+		return read < 0;
+	}
+
+	void readBytes(byte[] bytes) throws IOException {
+		int read = 0;
+
+		while (read < bytes.length) {
+			ensureAvailable(1);
+
+			int length = Math.min(buffer.remaining(), bytes.length - read);
+			buffer.get(bytes, read, length);
+			read += length;
+		}
+	}
+
+	private void ensureAvailable(int bytes) throws IOException {
+		if (buffer.remaining() >= bytes) {
+			return;
+		}
+
+		buffer.compact();
+
+		while (buffer.position() < bytes) {
+			if (channel.read(buffer) < 0) {
+				throw new EOFException("Unexpected end of file.");
+			}
+		}
+
+		buffer.flip();
+	}
+}
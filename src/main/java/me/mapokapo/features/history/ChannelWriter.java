@@ -0,0 +1,114 @@
+package me.mapokapo.features.history;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Writes primitive values to a {@link FileChannel} through a fixed-size buffer,
+ * so that the memory used for writing does not depend on the amount of data
+ * written.
+ */
+class ChannelWriter implements Closeable {
+	/**
+	 * The size of the buffer, which is the most data ever held in memory.
+	 */
+	static final int BUFFER_SIZE = 1 << 16;
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+	/**
+	 * Scratch space for formatting decimal numbers.
+	 */
+	private final byte[] digits = new byte[20];
+
+	ChannelWriter(FileChannel channel) {
+		this.channel = channel;
+	}
+
+	void writeByte(int value) throws IOException {
+		ensureRemaining(Byte.BYTES);
+		buffer.put((byte) value);
+	}
+
+	void writeInt(int value) throws IOException {
+		ensureRemaining(Integer.BYTES);
+		buffer.putInt(value);
+	}
+
+	void writeLong(long value) throws IOException {
+		ensureRemaining(Long.BYTES);
+		buffer.putLong(value);
+	}
+
+	/**
+	 * Writes a number as a variable-length integer: seven bits per byte, with the
+	 * high bit set on every byte but the last, and the sign moved to the lowest
+	 * bit, so numbers close to zero take a single byte.
+	 */
+	void writeVarLong(long value) throws IOException {
+		long zigZag = (value << 1) ^ (value >> 63);
+		ensureRemaining(10);
+
+		while ((zigZag & ~0x7FL) != 0) {
+			buffer.put((byte) (zigZag & 0x7F | 0x80));
+			zigZag >>>= 7;
+		}
+
+		buffer.put((byte) zigZag);
+	}
+
+	void writeBytes(byte[] bytes) throws IOException {
+		int written = 0;
+
+		while (written < bytes.length) {
+			ensureRemaining(1);
+
+			int length = Math.min(buffer.remaining(), bytes.length - written);
+			buffer.put(bytes, written, length);
+			written += length;
+		}
+	}
+
+	/**
+	 * Writes a non-negative number as ASCII decimal digits, without creating a
+	 * {@link String}.
+	 */
+	void writeDecimal(long value) throws IOException {
+		int length = 0;
+
+		do {
+			digits[digits.length - ++length] = (byte) ('0' + value % 10);
+			value /= 10;
+		} while (value > 0);
+
+		ensureRemaining(length);
+		buffer.put(digits, digits.length - length, length);
+	}
+
+	/**
+	 * Writes out all buffered data.
+	 */
+	void flush() throws IOException {
+		buffer.flip();
+
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+
+		buffer.clear();
+	}
+
+	@Override
+	public void close() throws IOException {
+		flush();
+	}
+
+	private void ensureRemaining(int bytes) throws IOException {
+		if (buffer.remaining() < bytes) {
+			flush();
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package me.mapokapo.features.history;
+
+/**
+ * Constants of the feed log format written by {@link RecordingScoreboard} and
+ * read by {@link FeedReplayer}.
+ *
+ * <p>
+ * The file starts with the magic number {@link #MAGIC}, the format
+ * {@link #VERSION} and the time of the recording start in milliseconds since
+ * the epoch, as big-endian numbers. Every recorded call follows as an opcode
+ * byte, the time since the previous call in milliseconds and the arguments of
+ * the call. Apart from the header, all numbers are variable-length integers as
+ * written by {@link ChannelWriter#writeVarLong(long)}, and strings are their
+ * UTF-8 encoded length followed by the bytes, or a length of -1 for
+ * {@code null}.
+ * </p>
+ *
+ * <p>
+ * A team is written once, as a {@link #TEAM} entry with its ID, whether it was
+ * registered in the team repository and its name, before the first call which
+ * refers to it. Later calls refer to the team by its position among the
+ * {@link #TEAM} entries, or -1 for {@code null}, since a team which is not
+ * registered may share its ID with one which is.
+ * </p>
+ */
+final class FeedLogFormat {
+	static final int MAGIC = 0x4C465346; // "LFSF"
+	static final int VERSION = 1;
+
+	/**
+	 * A team: ID, registered flag, name. Takes no time.
+	 */
+	static final byte TEAM = 0;
+
+	/**
+	 * Adding a match: home team position, away team position, competition.
+	 */
+	static final byte ADD_MATCH = 1;
+
+	/**
+	 * Starting a match: match ID.
+	 */
+	static final byte START_MATCH = 2;
+
+	/**
+	 * Updating a score: match ID, home score, away score.
+	 */
+	static final byte UPDATE_SCORE = 3;
+
+	/**
+	 * Finishing a match: match ID.
+	 */
+	static final byte FINISH_MATCH = 4;
+
+	/**
+	 * Reading the summary. No arguments.
+	 */
+	static final byte GET_SUMMARY = 5;
+
+	/**
+	 * Reading a filtered summary: team name, competition, minimum and maximum
+	 * number of goals.
+	 */
+	static final byte GET_FILTERED_SUMMARY = 6;
+
+	/**
+	 * Reading the rank of a match: match ID.
+	 */
+	static final byte GET_RANK = 7;
+
+	/**
+	 * Reading a range of the summary: first and last position.
+	 */
+	static final byte GET_SUMMARY_RANGE = 8;
+
+	/**
+	 * Updating a score from a sequenced update: match ID, home score, away
+	 * score, sequence number.
+	 */
+	static final byte UPDATE_SEQUENCED_SCORE = 9;
+
+	/**
+	 * Checks whether an opcode is a call which reads the scoreboard.
+	 */
+	static boolean isRead(byte opcode) {
+		return opcode >= GET_SUMMARY && opcode <= GET_SUMMARY_RANGE;
+	}
+
+	private FeedLogFormat() {
+	}
+}
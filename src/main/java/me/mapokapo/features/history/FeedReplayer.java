@@ -0,0 +1,241 @@
+package me.mapokapo.features.history;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import lombok.NonNull;
+import lombok.Value;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.scoreboard.Scoreboard;
+import me.mapokapo.features.scoreboard.SummaryQuery;
+import me.mapokapo.features.teams.Team;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * Replays a feed log recorded by a {@link RecordingScoreboard} against a fresh
+ * {@link Scoreboard}.
+ *
+ * <p>
+ * The replayed scoreboard uses a clock which returns the recorded time of
+ * every call, so matches get exactly the recorded start and finish times and
+ * timelines. Replaying a log into empty repositories therefore reproduces the
+ * state of the recorded repositories exactly, and exporting both with
+ * {@link HistoryExporter#exportBinary(Path)} gives identical files, which makes
+ * it possible to compare the end states of two versions of the library byte
+ * for byte.
+ * </p>
+ *
+ * <p>
+ * Calls can be replayed at the recorded pace, at a multiple of it, or as fast
+ * as possible to benchmark real traffic. Calls which fail with an
+ * {@link IllegalArgumentException} or an {@link IllegalStateException}, as
+ * they may have failed when recorded, are counted and the replay goes on.
+ * </p>
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+public class FeedReplayer {
+	/**
+	 * The speed at which calls are replayed as fast as possible.
+	 */
+	public static final double MAX_SPEED = Double.POSITIVE_INFINITY;
+
+	/**
+	 * The outcome of a replay.
+	 */
+	@Value
+	public static class Result {
+		/**
+		 * The number of replayed calls which change the scoreboard.
+		 */
+		long writes;
+
+		/**
+		 * The number of replayed calls which read the scoreboard.
+		 */
+		long reads;
+
+		/**
+		 * The number of replayed calls which failed.
+		 */
+		long failures;
+
+		/**
+		 * The real time the replay took, in nanoseconds.
+		 */
+		long elapsedNanos;
+	}
+
+	private final TeamRepository teamRepository;
+	private final MatchRepository matchRepository;
+
+	/**
+	 * Creates a replayer which replays calls into the given repositories, which
+	 * are usually empty.
+	 *
+	 * @param teamRepository  The repository to add the recorded teams to.
+	 * @param matchRepository The repository to add the recorded matches to.
+	 */
+	public FeedReplayer(@NonNull TeamRepository teamRepository, @NonNull MatchRepository matchRepository) {
+		this.teamRepository = teamRepository;
+		this.matchRepository = matchRepository;
+	}
+
+	/**
+	 * Replays a feed log.
+	 *
+	 * @param file  The file to replay.
+	 * @param speed How many times faster than recorded the calls are replayed, or
+	 *              {@link #MAX_SPEED} to replay them without waiting.
+	 * @return The outcome of the replay.
+	 * @throws IOException              If the file cannot be read or is not a
+	 *                                  feed log.
+	 * @throws IllegalArgumentException If the speed is not positive.
+	 */
+	public Result replay(@NonNull Path file, double speed) throws IOException {
+		if (!(speed > 0)) {
+			throw new IllegalArgumentException("Speed must be positive.");
+		}
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			ChannelReader reader = new ChannelReader(channel);
+
+			if (reader.readInt() != FeedLogFormat.MAGIC) {
+				throw new IOException("Not a feed log.");
+			}
+
+			int version = reader.readInt();
+
+			if (version != FeedLogFormat.VERSION) {
+				throw new IOException("Unsupported feed log version " + version + ".");
+			}
+
+			long startMillis = reader.readLong();
+			ReplayClock clock = new ReplayClock(Clock.systemUTC());
+			Scoreboard scoreboard = new Scoreboard(matchRepository, teamRepository, clock);
+			List<Team> teams = new ArrayList<>();
+			long startNanos = System.nanoTime();
+			long millis = startMillis;
+			long writes = 0;
+			long reads = 0;
+			long failures = 0;
+
+			while (!reader.isAtEnd()) {
+				byte opcode = reader.readByte();
+
+				if (opcode == FeedLogFormat.TEAM) {
+					readTeam(reader, teams);
+					continue;
+				}
+
+				millis += reader.readVarLong();
+				clock.set(millis);
+
+				if (speed != MAX_SPEED) {
+					long due = startNanos + (long) ((millis - startMillis) * (TimeUnit.MILLISECONDS.toNanos(1) / speed));
+					LockSupport.parkNanos(due - System.nanoTime());
+				}
+
+				boolean isRead = FeedLogFormat.isRead(opcode);
+
+				try {
+					replayCall(opcode, reader, scoreboard, teams);
+				} catch (IllegalArgumentException | IllegalStateException e) {
+					failures++;
+				}
+
+				if (isRead) {
+					reads++;
+				} else {
+					writes++;
+				}
+			}
+
+			clock.finishReplay();
+
+			return new Result(writes, reads, failures, System.nanoTime() - startNanos);
+		}
+	}
+
+	private void readTeam(ChannelReader reader, List<Team> teams) throws IOException {
+		int id = (int) reader.readVarLong();
+		boolean registered = reader.readByte() != 0;
+		Team team = new Team(id, readString(reader));
+
+		// Registered teams are shared with teams already in the repository, such as
+		// the ones registered by an earlier replay.
+		teams.add(registered ? teamRepository.getTeamById(id).orElseGet(() -> teamRepository.addTeam(team)) : team);
+	}
+
+	/**
+	 * Reads the arguments of a call and makes it. The arguments are read before
+	 * the call is made, so the reader is in the right place even if it fails.
+	 */
+	private static void replayCall(byte opcode, ChannelReader reader, Scoreboard scoreboard, List<Team> teams)
+			throws IOException {
+		switch (opcode) {
+			case FeedLogFormat.ADD_MATCH -> {
+				Team homeTeam = readTeamReference(reader, teams);
+				Team awayTeam = readTeamReference(reader, teams);
+				scoreboard.addMatch(homeTeam, awayTeam, readString(reader));
+			}
+			case FeedLogFormat.START_MATCH -> scoreboard.startMatch((int) reader.readVarLong());
+			case FeedLogFormat.UPDATE_SCORE -> {
+				int matchId = (int) reader.readVarLong();
+				int homeScore = (int) reader.readVarLong();
+				int awayScore = (int) reader.readVarLong();
+				scoreboard.updateScore(matchId, homeScore, awayScore);
+			}
+			case FeedLogFormat.UPDATE_SEQUENCED_SCORE -> {
+				int matchId = (int) reader.readVarLong();
+				int homeScore = (int) reader.readVarLong();
+				int awayScore = (int) reader.readVarLong();
+				long sequence = reader.readVarLong();
+				scoreboard.updateScore(matchId, homeScore, awayScore, sequence);
+			}
+			case FeedLogFormat.FINISH_MATCH -> scoreboard.finishMatch((int) reader.readVarLong());
+			case FeedLogFormat.GET_SUMMARY -> scoreboard.getSummary();
+			case FeedLogFormat.GET_FILTERED_SUMMARY -> {
+				SummaryQuery query = SummaryQuery.builder().teamName(readString(reader))
+						.competition(readString(reader)).minGoals((int) reader.readVarLong())
+						.maxGoals((int) reader.readVarLong()).build();
+				scoreboard.getSummary(query);
+			}
+			case FeedLogFormat.GET_RANK -> scoreboard.getRank((int) reader.readVarLong());
+			case FeedLogFormat.GET_SUMMARY_RANGE -> {
+				int from = (int) reader.readVarLong();
+				int to = (int) reader.readVarLong();
+				scoreboard.getSummaryRange(from, to);
+			}
+			default -> throw new IOException("Unknown call " + opcode + " in feed log.");
+		}
+	}
+
+	private static Team readTeamReference(ChannelReader reader, List<Team> teams) throws IOException {
+		int index = (int) reader.readVarLong();
+
+		return index < 0 ? null : teams.get(index);
+	}
+
+	private static String readString(ChannelReader reader) throws IOException {
+		int length = (int) reader.readVarLong();
+
+		if (length < 0) {
+			return null;
+		}
+
+		byte[] bytes = new byte[length];
+		reader.readBytes(bytes);
+
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,297 @@
+package me.mapokapo.features.history;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.NonNull;
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.matches.MatchTimeline;
+import me.mapokapo.features.teams.Team;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * Writes the contents of a {@link TeamRepository} and a {@link MatchRepository}
+ * to files, for analytics or backups.
+ *
+ * <p>
+ * Matches are streamed straight from the repository to a {@link FileChannel}
+ * through a fixed-size buffer, without building any intermediate
+ * representation of the whole history, so the memory used depends only on the
+ * number of teams, not on the number of matches. Numbers are formatted without
+ * creating {@link String}s, and the encoded name of each team is cached so it
+ * is only encoded once.
+ * </p>
+ *
+ * <p>
+ * Three formats are supported:
+ * </p>
+ * <ul>
+ * <li>{@link #exportMatchesCsv(Path)} writes the finished matches in the CSV
+ * format read by {@link HistoryImporter#importCsv(Path)}.</li>
+ * <li>{@link #exportTeamsCsv(Path)} writes the ID and the name of every
+ * team.</li>
+ * <li>{@link #exportBinary(Path)} writes every team and every match, including
+ * matches which are not finished and their timelines, in a compact columnar
+ * format which {@link HistoryImporter#importBinary(Path)} restores
+ * exactly.</li>
+ * </ul>
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+public class HistoryExporter {
+	private final TeamRepository teamRepository;
+	private final MatchRepository matchRepository;
+
+	/**
+	 * The UTF-8 encoded, CSV-quoted names of teams, by team ID.
+	 */
+	private final Map<Integer, byte[]> encodedNames = new HashMap<>();
+
+	public HistoryExporter(@NonNull TeamRepository teamRepository, @NonNull MatchRepository matchRepository) {
+		this.teamRepository = teamRepository;
+		this.matchRepository = matchRepository;
+	}
+
+	/**
+	 * Writes all finished matches to a CSV file, replacing its contents. The file
+	 * starts with the {@link HistoryImporter#CSV_HEADER} line.
+	 *
+	 * @param file The file to write to.
+	 * @return The number of matches written.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public int exportMatchesCsv(@NonNull Path file) throws IOException {
+		List<Match> matches = matchRepository.getAllMatches();
+		int written = 0;
+		encodedNames.clear();
+
+		try (FileChannel channel = open(file); ChannelWriter writer = new ChannelWriter(channel)) {
+			writer.writeBytes((HistoryImporter.CSV_HEADER + "\n").getBytes(StandardCharsets.US_ASCII));
+
+			for (int i = 0; i < matches.size(); i++) {
+				Match match = matches.get(i);
+
+				if (!match.isFinished()) {
+					continue;
+				}
+
+				writer.writeBytes(encodedName(match.getHomeTeam()));
+				writer.writeByte(',');
+				writer.writeBytes(encodedName(match.getAwayTeam()));
+				writer.writeByte(',');
+				writer.writeDecimal(match.getHomeScore());
+				writer.writeByte(',');
+				writer.writeDecimal(match.getAwayScore());
+				writer.writeByte(',');
+				writer.writeDecimal(Math.max(0, match.getStartTimeMillis()));
+				writer.writeByte(',');
+				writer.writeDecimal(Math.max(0, match.getFinishTimeMillis()));
+				writer.writeByte('\n');
+				written++;
+			}
+		}
+
+		return written;
+	}
+
+	/**
+	 * Writes all teams to a CSV file, replacing its contents. The file starts
+	 * with an {@code id,name} header line.
+	 *
+	 * @param file The file to write to.
+	 * @return The number of teams written.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public int exportTeamsCsv(@NonNull Path file) throws IOException {
+		List<Team> teams = teamRepository.getAllTeams();
+		encodedNames.clear();
+
+		try (FileChannel channel = open(file); ChannelWriter writer = new ChannelWriter(channel)) {
+			writer.writeBytes("id,name\n".getBytes(StandardCharsets.US_ASCII));
+
+			for (int i = 0; i < teams.size(); i++) {
+				Team team = teams.get(i);
+
+				if (team.getId() < 0) {
+					writer.writeByte('-');
+				}
+
+				writer.writeDecimal(Math.abs((long) team.getId()));
+				writer.writeByte(',');
+				writer.writeBytes(encodedName(team));
+				writer.writeByte('\n');
+			}
+		}
+
+		return teams.size();
+	}
+
+	/**
+	 * Writes all teams and matches to a file in the binary columnar format
+	 * described in {@link BinaryFormat}, replacing its contents.
+	 *
+	 * @param file The file to write to.
+	 * @return The number of matches written.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public int exportBinary(@NonNull Path file) throws IOException {
+		List<Team> registeredTeams = teamRepository.getAllTeams();
+		List<Match> matches = matchRepository.getAllMatches();
+
+		// Matches may refer to teams which are not in the team repository. Those are
+		// written too, so the matches can be restored, but are marked as not
+		// registered. Matches refer to teams by their position in this table.
+		Map<Team, Integer> teamIndexes = new LinkedHashMap<>();
+
+		for (int i = 0; i < registeredTeams.size(); i++) {
+			teamIndexes.putIfAbsent(registeredTeams.get(i), teamIndexes.size());
+		}
+
+		int registeredCount = teamIndexes.size();
+		Map<String, Integer> competitionIndexes = new LinkedHashMap<>();
+
+		for (int i = 0; i < matches.size(); i++) {
+			Match match = matches.get(i);
+			teamIndexes.putIfAbsent(match.getHomeTeam(), teamIndexes.size());
+			teamIndexes.putIfAbsent(match.getAwayTeam(), teamIndexes.size());
+			match.getCompetition().ifPresent(
+					competition -> competitionIndexes.putIfAbsent(competition, competitionIndexes.size()));
+		}
+
+		try (FileChannel channel = open(file); ChannelWriter writer = new ChannelWriter(channel)) {
+			writer.writeInt(BinaryFormat.MAGIC);
+			writer.writeInt(BinaryFormat.VERSION);
+			writer.writeInt(teamIndexes.size());
+
+			for (Map.Entry<Team, Integer> entry : teamIndexes.entrySet()) {
+				byte[] name = entry.getKey().getName().getBytes(StandardCharsets.UTF_8);
+				writer.writeByte(entry.getValue() < registeredCount ? 1 : 0);
+				writer.writeInt(entry.getKey().getId());
+				writer.writeInt(name.length);
+				writer.writeBytes(name);
+			}
+
+			writer.writeInt(competitionIndexes.size());
+
+			for (String competition : competitionIndexes.keySet()) {
+				byte[] name = competition.getBytes(StandardCharsets.UTF_8);
+				writer.writeInt(name.length);
+				writer.writeBytes(name);
+			}
+
+			writer.writeInt(matches.size());
+
+			for (int from = 0; from < matches.size(); from += BinaryFormat.BLOCK_SIZE) {
+				writeBlock(writer, matches, teamIndexes, competitionIndexes, from,
+						Math.min(matches.size(), from + BinaryFormat.BLOCK_SIZE));
+			}
+		}
+
+		return matches.size();
+	}
+
+	/**
+	 * Writes the matches in the range {@code [from, to)} as a single block. Each
+	 * column is written by a separate pass over the block, so no per-block
+	 * buffers are needed.
+	 */
+	private static void writeBlock(ChannelWriter writer, List<Match> matches, Map<Team, Integer> teamIndexes,
+			Map<String, Integer> competitionIndexes, int from, int to) throws IOException {
+		writer.writeInt(to - from);
+
+		for (int i = from; i < to; i++) {
+			writer.writeInt(matches.get(i).getId());
+		}
+
+		for (int i = from; i < to; i++) {
+			writer.writeInt(teamIndexes.get(matches.get(i).getHomeTeam()));
+		}
+
+		for (int i = from; i < to; i++) {
+			writer.writeInt(teamIndexes.get(matches.get(i).getAwayTeam()));
+		}
+
+		for (int i = from; i < to; i++) {
+			writer.writeInt(matches.get(i).getCompetition().map(competitionIndexes::get).orElse(-1));
+		}
+
+		for (int i = from; i < to; i++) {
+			writer.writeInt(matches.get(i).getHomeScore());
+		}
+
+		for (int i = from; i < to; i++) {
+			writer.writeInt(matches.get(i).getAwayScore());
+		}
+
+		for (int i = from; i < to; i++) {
+			Match match = matches.get(i);
+			writer.writeByte(match.isFinished() ? BinaryFormat.FINISHED
+					: match.isStarted() ? BinaryFormat.LIVE : BinaryFormat.NOT_STARTED);
+		}
+
+		for (int i = from; i < to; i++) {
+			writer.writeLong(matches.get(i).getStartTimeMillis());
+		}
+
+		for (int i = from; i < to; i++) {
+			writer.writeLong(matches.get(i).getFinishTimeMillis());
+		}
+
+		for (int i = from; i < to; i++) {
+			writer.writeInt(matches.get(i).getTimeline().size());
+		}
+
+		for (int i = from; i < to; i++) {
+			Match match = matches.get(i);
+			MatchTimeline timeline = match.getTimeline();
+
+			for (int event = 0; event < timeline.size(); event++) {
+				long offset = timeline.getTimestampMillis(event) - match.getStartTimeMillis();
+
+				if ((int) offset == offset && offset != BinaryFormat.WIDE_OFFSET) {
+					writer.writeInt((int) offset);
+				} else {
+					writer.writeInt(BinaryFormat.WIDE_OFFSET);
+					writer.writeLong(offset);
+				}
+
+				writer.writeInt(timeline.getHomeScore(event) << 16 | timeline.getAwayScore(event));
+			}
+		}
+	}
+
+	/**
+	 * Gets the UTF-8 encoded name of a team, quoted for CSV if needed.
+	 */
+	private byte[] encodedName(Team team) {
+		byte[] encoded = encodedNames.get(team.getId());
+
+		if (encoded == null) {
+			String name = team.getName();
+
+			if (name.indexOf(',') >= 0 || name.indexOf('"') >= 0 || name.indexOf('\n') >= 0
+					|| name.indexOf('\r') >= 0) {
+				name = "\"" + name.replace("\"", "\"\"") + "\"";
+			}
+
+			encoded = name.getBytes(StandardCharsets.UTF_8);
+			encodedNames.put(team.getId(), encoded);
+		}
+
+		return encoded;
+	}
+
+	private static FileChannel open(Path file) throws IOException {
+		return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+	}
+}
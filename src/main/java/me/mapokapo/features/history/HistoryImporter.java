@@ -0,0 +1,778 @@
+package me.mapokapo.features.history;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import lombok.NonNull;
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.teams.Team;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * Loads historical match results from files into a {@link TeamRepository} and a
+ * {@link MatchRepository}.
+ *
+ * <p>
+ * The CSV format has one finished match per line, with the following fields:
+ * </p>
+ * <ol>
+ * <li>The name of the home team.</li>
+ * <li>The name of the away team.</li>
+ * <li>The final score of the home team.</li>
+ * <li>The final score of the away team.</li>
+ * <li>Optionally, the start time in milliseconds since the epoch.</li>
+ * <li>Optionally, the finish time in milliseconds since the epoch.</li>
+ * </ol>
+ *
+ * <p>
+ * Team names containing commas, quotes or line breaks must be enclosed in
+ * double quotes, with quotes inside them doubled. The file may start with the
+ * {@link #CSV_HEADER} line, which is skipped.
+ * </p>
+ *
+ * <p>
+ * The file is memory-mapped and parsed directly from the mapped bytes into
+ * primitive columns, so no {@link String} is created per field. Team names are
+ * resolved through a hash index over their UTF-8 bytes, and a new {@link Team}
+ * is only created the first time an unknown name is seen. All matches are then
+ * added to the repository in a single {@link MatchRepository#addMatches(List)
+ * bulk operation}. Large files can be split into chunks which are parsed in
+ * parallel.
+ * </p>
+ *
+ * <p>
+ * Files written by {@link HistoryExporter#exportBinary(Path)} can be imported
+ * with {@link #importBinary(Path)}, which restores matches in any state along
+ * with their timelines.
+ * </p>
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+public class HistoryImporter {
+	/**
+	 * The optional header line of the CSV format.
+	 */
+	public static final String CSV_HEADER = "homeTeam,awayTeam,homeScore,awayScore,startTime,finishTime";
+
+	/**
+	 * The maximum length of a single record, in bytes, including the line breaks
+	 * of its quoted names.
+	 */
+	static final int MAX_LINE_LENGTH = 1 << 16;
+
+	/**
+	 * The maximum size of a chunk, which keeps every mapped region below the 2 GiB
+	 * limit of {@link MappedByteBuffer}.
+	 */
+	private static final long MAX_CHUNK_SIZE = 1L << 30;
+
+	private static final byte[] HEADER_BYTES = CSV_HEADER.getBytes(StandardCharsets.US_ASCII);
+
+	private final TeamRepository teamRepository;
+	private final MatchRepository matchRepository;
+
+	public HistoryImporter(@NonNull TeamRepository teamRepository, @NonNull MatchRepository matchRepository) {
+		this.teamRepository = teamRepository;
+		this.matchRepository = matchRepository;
+	}
+
+	/**
+	 * Imports all matches from a CSV file, parsing it on the calling thread.
+	 *
+	 * @param file The file to import.
+	 * @return The number of imported matches.
+	 * @throws IOException              If the file cannot be read.
+	 * @throws IllegalArgumentException If the file is malformed. In that case, no
+	 *                                  match is imported.
+	 */
+	public int importCsv(Path file) throws IOException {
+		return importCsv(file, 1);
+	}
+
+	/**
+	 * Imports all matches from a CSV file, splitting it into the given number of
+	 * chunks which are parsed in parallel in the common fork/join pool.
+	 *
+	 * <p>
+	 * Matches are assigned consecutive IDs starting at
+	 * {@link MatchRepository#getNextIndex()}, in the order in which they appear in
+	 * the file, regardless of the parallelism.
+	 * </p>
+	 *
+	 * @param file        The file to import.
+	 * @param parallelism The number of chunks to parse in parallel.
+	 * @return The number of imported matches.
+	 * @throws IOException              If the file cannot be read.
+	 * @throws IllegalArgumentException If the parallelism is less than one.
+	 * @throws IllegalArgumentException If the file is malformed. In that case, no
+	 *                                  match is imported.
+	 */
+	public int importCsv(@NonNull Path file, int parallelism) throws IOException {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Parallelism must be at least 1.");
+		}
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = channel.size();
+			int chunkCount = (int) Math.max(parallelism, (size + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE);
+			long[] bounds = new long[chunkCount + 1];
+
+			for (int i = 0; i <= chunkCount; i++) {
+				bounds[i] = size * i / chunkCount;
+			}
+
+			boolean[] quoted = quotedAt(channel, bounds, parallelism);
+			List<Callable<CsvChunk>> tasks = new ArrayList<>(chunkCount);
+
+			for (int i = 0; i < chunkCount; i++) {
+				int chunk = i;
+				tasks.add(() -> CsvChunk.parse(channel, bounds[chunk], bounds[chunk + 1], size, quoted[chunk]));
+			}
+
+			return load(run(tasks, parallelism));
+		}
+	}
+
+	/**
+	 * Imports all teams and matches from a file in the binary format written by
+	 * {@link HistoryExporter#exportBinary(Path)}.
+	 *
+	 * <p>
+	 * Matches keep their IDs, states, scores, start and finish times and
+	 * timelines. The timeline of each match is restored by replaying its events
+	 * against a clock set to the recorded times, so the restored matches are
+	 * equal to the exported ones. Matches which are still live record the times
+	 * of later changes using the system clock.
+	 * </p>
+	 *
+	 * <p>
+	 * Teams which were registered when the file was written are added to the
+	 * team repository, unless an equal team is already there.
+	 * </p>
+	 *
+	 * @param file The file to import.
+	 * @return The number of imported matches.
+	 * @throws IOException              If the file cannot be read.
+	 * @throws IllegalArgumentException If the file is not in the binary format, or
+	 *                                  if any of its teams or matches conflicts
+	 *                                  with one already in the repositories. In
+	 *                                  that case, nothing is imported.
+	 */
+	public int importBinary(@NonNull Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			ChannelReader reader = new ChannelReader(channel);
+
+			if (reader.readInt() != BinaryFormat.MAGIC) {
+				throw new IllegalArgumentException("File is not a binary match history.");
+			}
+
+			int version = reader.readInt();
+
+			if (version < 1 || version > BinaryFormat.VERSION) {
+				throw new IllegalArgumentException("Unsupported binary format version " + version + ".");
+			}
+
+			Team[] teams = new Team[reader.readInt()];
+			List<Team> newTeams = new ArrayList<>();
+
+			for (int i = 0; i < teams.length; i++) {
+				boolean registered = reader.readByte() != 0;
+				int id = reader.readInt();
+				byte[] name = new byte[reader.readInt()];
+				reader.readBytes(name);
+				teams[i] = new Team(id, new String(name, StandardCharsets.UTF_8));
+
+				if (registered) {
+					Optional<Team> existing = teamRepository.getTeamById(id);
+
+					if (existing.isEmpty()) {
+						newTeams.add(teams[i]);
+					} else if (!existing.get().equals(teams[i])) {
+						throw new IllegalArgumentException("A different team with ID " + id + " already exists.");
+					}
+				}
+			}
+
+			// Version 1 files have no competitions.
+			String[] competitions = new String[version >= 2 ? reader.readInt() : 0];
+
+			for (int i = 0; i < competitions.length; i++) {
+				byte[] name = new byte[reader.readInt()];
+				reader.readBytes(name);
+				competitions[i] = new String(name, StandardCharsets.UTF_8);
+			}
+
+			int matchCount = reader.readInt();
+			List<Match> batch = new ArrayList<>(matchCount);
+			ReplayClock clock = new ReplayClock(Clock.systemUTC());
+
+			while (batch.size() < matchCount) {
+				readBlock(reader, version, teams, competitions, clock, batch);
+			}
+
+			clock.finishReplay();
+
+			// Matches are added first, since adding them is atomic and fails if any of
+			// their IDs is taken.
+			matchRepository.addMatches(batch);
+
+			for (Team team : newTeams) {
+				teamRepository.addTeam(team);
+			}
+
+			return matchCount;
+		}
+	}
+
+	/**
+	 * Reads a block of matches in the binary format and restores them.
+	 */
+	private static void readBlock(ChannelReader reader, int version, Team[] teams, String[] competitions,
+			ReplayClock clock, List<Match> batch) throws IOException {
+		int rows = reader.readInt();
+		int[] ids = readInts(reader, rows);
+		int[] homeTeams = readInts(reader, rows);
+		int[] awayTeams = readInts(reader, rows);
+		int[] matchCompetitions = version >= 2 ? readInts(reader, rows) : new int[0];
+		int[] homeScores = readInts(reader, rows);
+		int[] awayScores = readInts(reader, rows);
+		byte[] states = new byte[rows];
+		reader.readBytes(states);
+		long[] startTimes = readLongs(reader, rows);
+		long[] finishTimes = readLongs(reader, rows);
+		int[] timelineSizes = readInts(reader, rows);
+
+		for (int row = 0; row < rows; row++) {
+			if (homeTeams[row] < 0 || homeTeams[row] >= teams.length || awayTeams[row] < 0
+					|| awayTeams[row] >= teams.length) {
+				throw new IllegalArgumentException("Match " + ids[row] + " refers to an unknown team.");
+			}
+
+			int competitionIndex = version >= 2 ? matchCompetitions[row] : -1;
+
+			if (competitionIndex < -1 || competitionIndex >= competitions.length) {
+				throw new IllegalArgumentException("Match " + ids[row] + " refers to an unknown competition.");
+			}
+
+			Team homeTeam = teams[homeTeams[row]];
+			Team awayTeam = teams[awayTeams[row]];
+			String competition = competitionIndex < 0 ? null : competitions[competitionIndex];
+
+			if (states[row] == BinaryFormat.FINISHED && timelineSizes[row] == 0) {
+				batch.add(Match.ofFinished(ids[row], homeTeam, awayTeam, competition, homeScores[row],
+						awayScores[row], startTimes[row], finishTimes[row]));
+				continue;
+			}
+
+			Match match = new Match(ids[row], homeTeam, awayTeam, competition, clock);
+
+			if (states[row] != BinaryFormat.NOT_STARTED) {
+				clock.set(startTimes[row]);
+				match.start();
+
+				for (int event = 0; event < timelineSizes[row]; event++) {
+					int offset = reader.readInt();
+					clock.set(startTimes[row]
+							+ (version >= 3 && offset == BinaryFormat.WIDE_OFFSET ? reader.readLong() : offset));
+
+					int scores = reader.readInt();
+					match.setScore(scores >>> 16, scores & 0xFFFF);
+				}
+
+				if (states[row] == BinaryFormat.FINISHED) {
+					clock.set(finishTimes[row]);
+					match.finish();
+				}
+			}
+
+			batch.add(match);
+		}
+	}
+
+	private static int[] readInts(ChannelReader reader, int count) throws IOException {
+		int[] values = new int[count];
+
+		for (int i = 0; i < count; i++) {
+			values[i] = reader.readInt();
+		}
+
+		return values;
+	}
+
+	private static long[] readLongs(ChannelReader reader, int count) throws IOException {
+		long[] values = new long[count];
+
+		for (int i = 0; i < count; i++) {
+			values[i] = reader.readLong();
+		}
+
+		return values;
+	}
+
+	/**
+	 * Resolves the teams of the parsed rows and adds the matches to the
+	 * repository.
+	 */
+	private int load(List<CsvChunk> chunks) {
+		TeamNameIndex teams = new TeamNameIndex();
+
+		for (Team team : teamRepository.getAllTeams()) {
+			teams.add(team);
+		}
+
+		int total = 0;
+
+		for (CsvChunk chunk : chunks) {
+			total += chunk.rows;
+		}
+
+		List<Match> batch = new ArrayList<>(total);
+		List<Team> newTeams = new ArrayList<>();
+		int nextId = matchRepository.getNextIndex();
+
+		for (CsvChunk chunk : chunks) {
+			for (int row = 0; row < chunk.rows; row++) {
+				Team homeTeam = resolve(teams, newTeams, chunk, 2 * row);
+				Team awayTeam = resolve(teams, newTeams, chunk, 2 * row + 1);
+
+				batch.add(Match.ofFinished(nextId++, homeTeam, awayTeam, chunk.homeScores[row],
+						chunk.awayScores[row], chunk.startTimes[row], chunk.finishTimes[row]));
+			}
+		}
+
+		// New teams are only added once every match has been built and added, so a
+		// row which turns out to be invalid leaves the team repository unchanged.
+		matchRepository.addMatches(batch);
+
+		for (Team team : newTeams) {
+			teamRepository.addTeam(team);
+		}
+
+		return total;
+	}
+
+	/**
+	 * Finds the team with the given parsed name, creating it if it does not exist
+	 * yet. New teams are collected in {@code newTeams} rather than added to the
+	 * team repository.
+	 */
+	private Team resolve(TeamNameIndex teams, List<Team> newTeams, CsvChunk chunk, int name) {
+		ByteBuffer buffer = chunk.buffer;
+		int offset = chunk.nameOffsets[name];
+		int length = chunk.nameLengths[name];
+
+		if (chunk.nameEscaped[name]) {
+			// Rare case: the name contains doubled quotes which have to be removed
+			// before it can be compared.
+			byte[] unescaped = unescape(buffer, offset, length);
+			buffer = ByteBuffer.wrap(unescaped);
+			offset = 0;
+			length = unescaped.length;
+		}
+
+		Team team = teams.find(buffer, offset, length);
+
+		if (team == null) {
+			byte[] bytes = new byte[length];
+			buffer.get(offset, bytes);
+			team = new Team(teamRepository.getNextIndex() + newTeams.size(), new String(bytes,
+					StandardCharsets.UTF_8));
+			newTeams.add(team);
+			teams.add(team);
+		}
+
+		return team;
+	}
+
+	private static byte[] unescape(ByteBuffer buffer, int offset, int length) {
+		byte[] result = new byte[length];
+		int size = 0;
+
+		for (int i = offset; i < offset + length; i++) {
+			result[size++] = buffer.get(i);
+
+			if (buffer.get(i) == '"') {
+				i++;
+			}
+		}
+
+		return Arrays.copyOf(result, size);
+	}
+
+	/**
+	 * Finds out whether the start of every chunk lies inside a quoted name. A
+	 * name may contain line breaks, so a chunk cannot tell on its own where its
+	 * first record starts. Every quote opens or closes a quoted name, and a
+	 * doubled quote inside one does both, so the quotes before a position are
+	 * odd in number exactly when it lies inside a quoted name, as long as quotes
+	 * only appear in quoted names, as the format requires. The quotes of the
+	 * chunks are counted in parallel.
+	 *
+	 * @return Whether the start of every chunk lies inside a quoted name.
+	 */
+	private static boolean[] quotedAt(FileChannel channel, long[] bounds, int parallelism) throws IOException {
+		int chunkCount = bounds.length - 1;
+		boolean[] quoted = new boolean[chunkCount];
+
+		if (chunkCount == 1) {
+			return quoted;
+		}
+
+		List<Callable<Long>> tasks = new ArrayList<>(chunkCount - 1);
+
+		for (int i = 0; i < chunkCount - 1; i++) {
+			int chunk = i;
+			tasks.add(() -> countQuotes(channel, bounds[chunk], bounds[chunk + 1]));
+		}
+
+		List<Long> counts = run(tasks, parallelism);
+
+		for (int i = 1; i < chunkCount; i++) {
+			quoted[i] = quoted[i - 1] ^ (counts.get(i - 1) & 1) == 1;
+		}
+
+		return quoted;
+	}
+
+	private static long countQuotes(FileChannel channel, long from, long to) throws IOException {
+		MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+		long quotes = 0;
+
+		for (int i = 0; i < buffer.limit(); i++) {
+			if (buffer.get(i) == '"') {
+				quotes++;
+			}
+		}
+
+		return quotes;
+	}
+
+	/**
+	 * Runs tasks one after another, or in parallel in the common fork/join pool.
+	 *
+	 * @return The results of the tasks, in order.
+	 */
+	private static <T> List<T> run(List<Callable<T>> tasks, int parallelism) throws IOException {
+		List<T> results = new ArrayList<>(tasks.size());
+
+		if (parallelism == 1) {
+			for (Callable<T> task : tasks) {
+				results.add(call(task));
+			}
+		} else {
+			for (Future<T> future : ForkJoinPool.commonPool().invokeAll(tasks)) {
+				results.add(join(future));
+			}
+		}
+
+		return results;
+	}
+
+	private static <T> T call(Callable<T> task) throws IOException {
+		try {
+			return task.call();
+		} catch (IOException | RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static <T> T join(Future<T> future) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Import was interrupted.", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException cause) {
+				throw cause;
+			}
+
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	/**
+	 * The rows of one chunk of a CSV file, parsed into primitive columns.
+	 *
+	 * <p>
+	 * A chunk owns every record which starts within its byte range. A record is
+	 * a line, unless a quoted name in it contains line breaks. Team names are
+	 * not decoded; instead, their position within the mapped {@link #buffer} is
+	 * recorded. Names are stored at index {@code 2 * row} for the home team and
+	 * {@code 2 * row + 1} for the away team.
+	 * </p>
+	 */
+	private static final class CsvChunk {
+		private static final int INITIAL_CAPACITY = 1024;
+
+		final ByteBuffer buffer;
+
+		int rows = 0;
+		int[] nameOffsets = new int[2 * INITIAL_CAPACITY];
+		int[] nameLengths = new int[2 * INITIAL_CAPACITY];
+		boolean[] nameEscaped = new boolean[2 * INITIAL_CAPACITY];
+		int[] homeScores = new int[INITIAL_CAPACITY];
+		int[] awayScores = new int[INITIAL_CAPACITY];
+		long[] startTimes = new long[INITIAL_CAPACITY];
+		long[] finishTimes = new long[INITIAL_CAPACITY];
+
+		/**
+		 * The position of the mapped buffer within the file.
+		 */
+		private final long bufferStart;
+
+		/**
+		 * The read position within the buffer.
+		 */
+		private int position;
+
+		private CsvChunk(ByteBuffer buffer, long bufferStart) {
+			this.buffer = buffer;
+			this.bufferStart = bufferStart;
+		}
+
+		/**
+		 * Maps and parses all records which start in the byte range
+		 * {@code [from, to)} of the file.
+		 *
+		 * @param quoted Whether the start of the range lies inside a quoted name.
+		 */
+		static CsvChunk parse(FileChannel channel, long from, long to, long fileSize, boolean quoted)
+				throws IOException {
+			// Map one byte before the range to check whether the range starts at a
+			// line boundary, and enough bytes after it to finish the last line.
+			long mapStart = Math.max(0, from - 1);
+			long mapEnd = Math.min(fileSize, to + MAX_LINE_LENGTH);
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, mapStart, mapEnd - mapStart);
+			CsvChunk chunk = new CsvChunk(buffer, mapStart);
+			int end = (int) (to - mapStart);
+
+			chunk.position = (int) (from - mapStart);
+
+			if (from > 0 && (quoted || buffer.get(chunk.position - 1) != '\n')) {
+				// The first record started in the previous chunk.
+				chunk.skipRecord(quoted);
+			} else if (from == 0) {
+				chunk.skipHeader();
+			}
+
+			while (chunk.position < end) {
+				chunk.parseLine(mapEnd == fileSize);
+			}
+
+			return chunk;
+		}
+
+		private void skipLine() {
+			while (position < buffer.limit() && buffer.get(position++) != '\n') {
+			}
+		}
+
+		/**
+		 * Skips to the start of the next record, past the next line break which is
+		 * not inside a quoted name.
+		 *
+		 * @param quoted Whether the position lies inside a quoted name.
+		 */
+		private void skipRecord(boolean quoted) {
+			while (position < buffer.limit()) {
+				byte current = buffer.get(position++);
+
+				if (current == '"') {
+					quoted = !quoted;
+				} else if (current == '\n' && !quoted) {
+					return;
+				}
+			}
+		}
+
+		private void skipHeader() {
+			if (buffer.limit() - position < HEADER_BYTES.length) {
+				return;
+			}
+
+			for (int i = 0; i < HEADER_BYTES.length; i++) {
+				if (buffer.get(position + i) != HEADER_BYTES[i]) {
+					return;
+				}
+			}
+
+			skipLine();
+		}
+
+		private void parseLine(boolean lastChunk) {
+			int lineStart = position;
+
+			if (atLineEnd()) {
+				// Skip empty lines.
+				skipLineEnd(lineStart, lastChunk);
+				return;
+			}
+
+			if (rows == homeScores.length) {
+				grow();
+			}
+
+			parseName(2 * rows, lineStart);
+			expect(',', lineStart);
+			parseName(2 * rows + 1, lineStart);
+			expect(',', lineStart);
+			homeScores[rows] = (int) parseNumber(lineStart, Integer.MAX_VALUE);
+			expect(',', lineStart);
+			awayScores[rows] = (int) parseNumber(lineStart, Integer.MAX_VALUE);
+			startTimes[rows] = 0;
+			finishTimes[rows] = 0;
+
+			if (!atLineEnd()) {
+				expect(',', lineStart);
+				startTimes[rows] = parseNumber(lineStart, Long.MAX_VALUE);
+				expect(',', lineStart);
+				finishTimes[rows] = parseNumber(lineStart, Long.MAX_VALUE);
+			}
+
+			skipLineEnd(lineStart, lastChunk);
+			rows++;
+		}
+
+		private void parseName(int name, int lineStart) {
+			boolean escaped = false;
+
+			if (position < buffer.limit() && buffer.get(position) == '"') {
+				int start = ++position;
+
+				while (true) {
+					if (position >= buffer.limit()) {
+						throw malformed(lineStart, "unterminated quoted name");
+					}
+
+					if (buffer.get(position) == '"') {
+						if (position + 1 < buffer.limit() && buffer.get(position + 1) == '"') {
+							escaped = true;
+							position += 2;
+							continue;
+						}
+
+						break;
+					}
+
+					position++;
+				}
+
+				nameOffsets[name] = start;
+				nameLengths[name] = position - start;
+				position++;
+			} else {
+				int start = position;
+
+				while (position < buffer.limit() && buffer.get(position) != ',' && !atLineEnd()) {
+					position++;
+				}
+
+				nameOffsets[name] = start;
+				nameLengths[name] = position - start;
+			}
+
+			if (nameLengths[name] == 0) {
+				throw malformed(lineStart, "empty team name");
+			}
+
+			nameEscaped[name] = escaped;
+		}
+
+		private long parseNumber(int lineStart, long max) {
+			int start = position;
+			long value = 0;
+
+			while (position < buffer.limit()) {
+				int digit = buffer.get(position) - '0';
+
+				if (digit < 0 || digit > 9) {
+					break;
+				}
+
+				if (value > (max - digit) / 10) {
+					throw malformed(lineStart, "number is too large");
+				}
+
+				value = value * 10 + digit;
+				position++;
+			}
+
+			if (position == start) {
+				throw malformed(lineStart, "expected a non-negative number");
+			}
+
+			return value;
+		}
+
+		private void expect(char separator, int lineStart) {
+			if (position >= buffer.limit() || buffer.get(position) != separator) {
+				throw malformed(lineStart, "expected '" + separator + "'");
+			}
+
+			position++;
+		}
+
+		private boolean atLineEnd() {
+			if (position >= buffer.limit()) {
+				return true;
+			}
+
+			byte current = buffer.get(position);
+
+			return current == '\n' || current == '\r';
+		}
+
+		private void skipLineEnd(int lineStart, boolean lastChunk) {
+			if (position < buffer.limit() && buffer.get(position) == '\r') {
+				position++;
+			}
+
+			if (position < buffer.limit() && buffer.get(position) == '\n') {
+				position++;
+			} else if (position < buffer.limit()) {
+				throw malformed(lineStart, "unexpected data after the last field");
+			} else if (!lastChunk) {
+				throw malformed(lineStart, "line is longer than " + MAX_LINE_LENGTH + " bytes");
+			}
+		}
+
+		private void grow() {
+			int capacity = homeScores.length * 2;
+			nameOffsets = Arrays.copyOf(nameOffsets, 2 * capacity);
+			nameLengths = Arrays.copyOf(nameLengths, 2 * capacity);
+			nameEscaped = Arrays.copyOf(nameEscaped, 2 * capacity);
+			homeScores = Arrays.copyOf(homeScores, capacity);
+			awayScores = Arrays.copyOf(awayScores, capacity);
+			startTimes = Arrays.copyOf(startTimes, capacity);
+			finishTimes = Arrays.copyOf(finishTimes, capacity);
+		}
+
+		private IllegalArgumentException malformed(int lineStart, String reason) {
+			return new IllegalArgumentException(
+					"Malformed line at byte offset " + (bufferStart + lineStart) + ": " + reason + ".");
+		}
+	}
+}
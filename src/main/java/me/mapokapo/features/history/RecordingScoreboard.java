@@ -0,0 +1,264 @@
+package me.mapokapo.features.history;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+import lombok.NonNull;
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.scoreboard.Scoreboard;
+import me.mapokapo.features.scoreboard.SummaryQuery;
+import me.mapokapo.features.teams.Team;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * A {@link Scoreboard} which records every call made to it into a compact feed
+ * log, so that the exact sequence of calls can later be replayed by a
+ * {@link FeedReplayer}, for example to reproduce a production issue or to
+ * benchmark real traffic.
+ *
+ * <p>
+ * Adding, starting and finishing matches, score updates, and reads of the
+ * summary, of filtered summaries, of ranks and of summary ranges are recorded
+ * along with the time of the call according to the clock of the scoreboard.
+ * Calls are recorded before they run, so calls which fail are recorded as
+ * well, and fail again when replayed. Changes made directly on {@link Match}
+ * objects, and summaries read in other orderings, are not recorded.
+ * </p>
+ *
+ * <p>
+ * Calls are written through a fixed-size buffer, so recording does not
+ * allocate per call once every team has been written. The log is complete
+ * once the scoreboard is {@link #close() closed}, and {@link #flush()} writes
+ * out everything recorded so far.
+ * </p>
+ *
+ * <p>
+ * Like {@link Scoreboard}, this class is not thread-safe.
+ * </p>
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+public class RecordingScoreboard extends Scoreboard implements Closeable {
+	private final TeamRepository teamRepository;
+	private final Clock clock;
+	private final FileChannel channel;
+	private final ChannelWriter writer;
+
+	/**
+	 * The position of every team already written to the log in its team table.
+	 * Teams are told apart by equality rather than by ID, since a team which is
+	 * not registered may share its ID with one which is.
+	 */
+	private final Map<Team, Integer> writtenTeams = new HashMap<>();
+
+	private long lastMillis;
+
+	/**
+	 * Creates a scoreboard which records its calls into a file. The file is
+	 * created, or truncated if it exists.
+	 *
+	 * @param matchRepository The repository which stores the matches.
+	 * @param teamRepository  The repository which stores the teams.
+	 * @param clock           The clock passed to every match created by this
+	 *                        scoreboard, which also timestamps the calls.
+	 * @param file            The file to record into.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public RecordingScoreboard(MatchRepository matchRepository, TeamRepository teamRepository, @NonNull Clock clock,
+			@NonNull Path file) throws IOException {
+		super(matchRepository, teamRepository, clock);
+
+		this.teamRepository = teamRepository;
+		this.clock = clock;
+		this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		this.writer = new ChannelWriter(channel);
+		this.lastMillis = clock.millis();
+
+		writer.writeInt(FeedLogFormat.MAGIC);
+		writer.writeInt(FeedLogFormat.VERSION);
+		writer.writeLong(lastMillis);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * Every other {@code addMatch} method calls this one, so they are all
+	 * recorded as calls of this method.
+	 * </p>
+	 */
+	@Override
+	public Match addMatch(Team homeTeam, Team awayTeam, String competition) {
+		try {
+			writeTeam(homeTeam);
+			writeTeam(awayTeam);
+			writeCall(FeedLogFormat.ADD_MATCH);
+			writer.writeVarLong(homeTeam == null ? -1 : writtenTeams.get(homeTeam));
+			writer.writeVarLong(awayTeam == null ? -1 : writtenTeams.get(awayTeam));
+			writeString(competition);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		return super.addMatch(homeTeam, awayTeam, competition);
+	}
+
+	@Override
+	public void startMatch(int matchId) {
+		record(FeedLogFormat.START_MATCH, matchId);
+		super.startMatch(matchId);
+	}
+
+	@Override
+	public void finishMatch(int matchId) {
+		record(FeedLogFormat.FINISH_MATCH, matchId);
+		super.finishMatch(matchId);
+	}
+
+	@Override
+	public void updateScore(int matchId, int homeScore, int awayScore) {
+		try {
+			writeCall(FeedLogFormat.UPDATE_SCORE);
+			writer.writeVarLong(matchId);
+			writer.writeVarLong(homeScore);
+			writer.writeVarLong(awayScore);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		super.updateScore(matchId, homeScore, awayScore);
+	}
+
+	@Override
+	public boolean updateScore(int matchId, int homeScore, int awayScore, long sequence) {
+		try {
+			writeCall(FeedLogFormat.UPDATE_SEQUENCED_SCORE);
+			writer.writeVarLong(matchId);
+			writer.writeVarLong(homeScore);
+			writer.writeVarLong(awayScore);
+			writer.writeVarLong(sequence);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		return super.updateScore(matchId, homeScore, awayScore, sequence);
+	}
+
+	@Override
+	public List<Match> getSummary() {
+		try {
+			writeCall(FeedLogFormat.GET_SUMMARY);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		return super.getSummary();
+	}
+
+	@Override
+	public List<Match> getSummary(@NonNull SummaryQuery query) {
+		try {
+			writeCall(FeedLogFormat.GET_FILTERED_SUMMARY);
+			writeString(query.getTeamName());
+			writeString(query.getCompetition());
+			writer.writeVarLong(query.getMinGoals());
+			writer.writeVarLong(query.getMaxGoals());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		return super.getSummary(query);
+	}
+
+	@Override
+	public OptionalInt getRank(int matchId) {
+		record(FeedLogFormat.GET_RANK, matchId);
+
+		return super.getRank(matchId);
+	}
+
+	@Override
+	public List<Match> getSummaryRange(int from, int to) {
+		try {
+			writeCall(FeedLogFormat.GET_SUMMARY_RANGE);
+			writer.writeVarLong(from);
+			writer.writeVarLong(to);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		return super.getSummaryRange(from, to);
+	}
+
+	/**
+	 * Writes every call recorded so far to the file.
+	 *
+	 * @throws IOException If the file cannot be written.
+	 */
+	public void flush() throws IOException {
+		writer.flush();
+	}
+
+	/**
+	 * Writes every call recorded so far to the file and closes it. Calls made
+	 * afterwards fail.
+	 */
+	@Override
+	public void close() throws IOException {
+		try (channel) {
+			writer.flush();
+		}
+	}
+
+	private void record(byte opcode, int matchId) {
+		try {
+			writeCall(opcode);
+			writer.writeVarLong(matchId);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void writeCall(byte opcode) throws IOException {
+		long millis = clock.millis();
+		writer.writeByte(opcode);
+		writer.writeVarLong(millis - lastMillis);
+		lastMillis = millis;
+	}
+
+	private void writeTeam(Team team) throws IOException {
+		if (team == null || writtenTeams.putIfAbsent(team, writtenTeams.size()) != null) {
+			return;
+		}
+
+		boolean registered = teamRepository.getTeamById(team.getId()).filter(team::equals).isPresent();
+		writer.writeByte(FeedLogFormat.TEAM);
+		writer.writeVarLong(team.getId());
+		writer.writeByte(registered ? 1 : 0);
+		writeString(team.getName());
+	}
+
+	private void writeString(String value) throws IOException {
+		if (value == null) {
+			writer.writeVarLong(-1);
+			return;
+		}
+
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writer.writeVarLong(bytes.length);
+		writer.writeBytes(bytes);
+	}
+}
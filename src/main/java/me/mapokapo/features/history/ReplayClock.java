@@ -0,0 +1,66 @@
+package me.mapokapo.features.history;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * A clock used to restore matches by replaying their history. While replaying,
+ * it returns whatever time it was last set to, so the restored timestamps are
+ * exactly the recorded ones. Once replaying is over, it follows the given
+ * delegate clock, so restored matches which are still live keep recording
+ * correct times. Clocks created with {@link #withZone(ZoneId)} share the
+ * replay with the clock they were created from.
+ */
+class ReplayClock extends Clock {
+	/**
+	 * The replay state shared by a clock and its copies in other zones.
+	 */
+	private static class Replay {
+		private boolean replaying = true;
+		private long millis = 0;
+	}
+
+	private final Clock delegate;
+	private final Replay replay;
+
+	ReplayClock(Clock delegate) {
+		this(delegate, new Replay());
+	}
+
+	private ReplayClock(Clock delegate, Replay replay) {
+		this.delegate = delegate;
+		this.replay = replay;
+	}
+
+	void set(long millis) {
+		replay.millis = millis;
+	}
+
+	/**
+	 * Ends the replay, after which the clock follows its delegate.
+	 */
+	void finishReplay() {
+		replay.replaying = false;
+	}
+
+	@Override
+	public long millis() {
+		return replay.replaying ? replay.millis : delegate.millis();
+	}
+
+	@Override
+	public Instant instant() {
+		return Instant.ofEpochMilli(millis());
+	}
+
+	@Override
+	public ZoneId getZone() {
+		return delegate.getZone();
+	}
+
+	@Override
+	public Clock withZone(ZoneId zone) {
+		return new ReplayClock(delegate.withZone(zone), replay);
+	}
+}
@@ -0,0 +1,134 @@
+package me.mapokapo.features.history;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import me.mapokapo.features.teams.Team;
+
+/**
+ * A hash index of teams by their UTF-8 encoded name, which can be queried
+ * directly with a region of a {@link ByteBuffer}. This allows resolving team
+ * names read from a file without creating a {@link String} for every name.
+ *
+ * <p>
+ * The index uses open addressing with linear probing. Names are stored as byte
+ * arrays alongside their hashes, so most failed comparisons are rejected
+ * without looking at the bytes.
+ * </p>
+ */
+class TeamNameIndex {
+	private static final int INITIAL_CAPACITY = 64;
+
+	private byte[][] names = new byte[INITIAL_CAPACITY][];
+	private int[] hashes = new int[INITIAL_CAPACITY];
+	private Team[] teams = new Team[INITIAL_CAPACITY];
+	private int size = 0;
+
+	/**
+	 * Adds a team to the index under its name. If another team with the same
+	 * name is already indexed, it is replaced.
+	 *
+	 * @param team The team to add.
+	 */
+	void add(Team team) {
+		byte[] name = team.getName().getBytes(StandardCharsets.UTF_8);
+		int hash = hash(ByteBuffer.wrap(name), 0, name.length);
+
+		if (2 * (size + 1) > names.length) {
+			resize();
+		}
+
+		int mask = names.length - 1;
+		int slot = hash & mask;
+
+		while (names[slot] != null) {
+			if (hashes[slot] == hash && equals(names[slot], ByteBuffer.wrap(name), 0, name.length)) {
+				teams[slot] = team;
+				return;
+			}
+
+			slot = slot + 1 & mask;
+		}
+
+		names[slot] = name;
+		hashes[slot] = hash;
+		teams[slot] = team;
+		size++;
+	}
+
+	/**
+	 * Finds the team whose UTF-8 encoded name is equal to the given region of a
+	 * buffer.
+	 *
+	 * @param buffer The buffer containing the name.
+	 * @param offset The position of the first byte of the name.
+	 * @param length The length of the name in bytes.
+	 * @return The team with the given name, or null if there is no such team.
+	 */
+	Team find(ByteBuffer buffer, int offset, int length) {
+		int hash = hash(buffer, offset, length);
+		int mask = names.length - 1;
+
+		for (int slot = hash & mask; names[slot] != null; slot = slot + 1 & mask) {
+			if (hashes[slot] == hash && equals(names[slot], buffer, offset, length)) {
+				return teams[slot];
+			}
+		}
+
+		return null;
+	}
+
+	private void resize() {
+		byte[][] oldNames = names;
+		int[] oldHashes = hashes;
+		Team[] oldTeams = teams;
+
+		names = new byte[oldNames.length * 2][];
+		hashes = new int[names.length];
+		teams = new Team[names.length];
+
+		int mask = names.length - 1;
+
+		for (int i = 0; i < oldNames.length; i++) {
+			if (oldNames[i] != null) {
+				int slot = oldHashes[i] & mask;
+
+				while (names[slot] != null) {
+					slot = slot + 1 & mask;
+				}
+
+				names[slot] = oldNames[i];
+				hashes[slot] = oldHashes[i];
+				teams[slot] = oldTeams[i];
+			}
+		}
+	}
+
+	/**
+	 * Computes the FNV-1a hash of a region of a buffer, with the bits mixed
+	 * afterwards so the low bits are usable as a table index.
+	 */
+	private static int hash(ByteBuffer buffer, int offset, int length) {
+		int hash = 0x811C9DC5;
+
+		for (int i = offset; i < offset + length; i++) {
+			hash = (hash ^ buffer.get(i) & 0xFF) * 0x01000193;
+		}
+
+		return hash ^ hash >>> 16;
+	}
+
+	private static boolean equals(byte[] name, ByteBuffer buffer, int offset, int length) {
+		if (name.length != length) {
+			return false;
+		}
+
+		for (int i = 0; i < length; i++) {
+			if (name[i] != buffer.get(offset + i)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+}
@@ -0,0 +1,95 @@
+package me.mapokapo.features.matches;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The reference {@link MatchStore}, which keeps matches in an
+ * {@link ArrayList} in insertion order, and indexes them by ID in an
+ * open-addressing hash table for lookups which take constant time and do not
+ * allocate. Removing a match takes linear time.
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+public class ListMatchStore implements MatchStore {
+	private final List<Match> matches = new ArrayList<>();
+	private final List<Match> view = Collections.unmodifiableList(matches);
+
+	/**
+	 * Index of matches by their ID, used for constant-time lookups.
+	 */
+	private final MatchIdIndex matchesById = new MatchIdIndex();
+
+	@Override
+	public int size() {
+		return matches.size();
+	}
+
+	@Override
+	public Match get(int matchId) {
+		return matchesById.get(matchId);
+	}
+
+	@Override
+	public List<Match> getAll() {
+		return view;
+	}
+
+	@Override
+	public boolean add(Match match) {
+		if (matchesById.get(match.getId()) != null) {
+			return false;
+		}
+
+		matches.add(match);
+		matchesById.put(match);
+
+		return true;
+	}
+
+	@Override
+	public boolean addAll(List<Match> batch) {
+		matchesById.ensureCapacity(matches.size() + batch.size());
+
+		for (int i = 0; i < batch.size(); i++) {
+			Match match = batch.get(i);
+
+			if (matchesById.get(match.getId()) != null) {
+				// Undo the insertions made so far, so the batch is added atomically.
+				for (int j = 0; j < i; j++) {
+					matchesById.remove(batch.get(j).getId());
+				}
+
+				return false;
+			}
+
+			matchesById.put(match);
+		}
+
+		matches.addAll(batch);
+
+		return true;
+	}
+
+	@Override
+	public Match remove(int matchId) {
+		Match match = matchesById.remove(matchId);
+
+		if (match == null) {
+			return null;
+		}
+
+		// Scan from the end by identity, since recently added matches are the ones
+		// usually removed, and comparing references is much cheaper than equals.
+		for (int i = matches.size() - 1; i >= 0; i--) {
+			if (matches.get(i) == match) {
+				matches.remove(i);
+				break;
+			}
+		}
+
+		return match;
+	}
+}
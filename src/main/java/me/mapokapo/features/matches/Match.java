@@ -1,8 +1,17 @@
 package me.mapokapo.features.matches;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
+import lombok.ToString;
 import me.mapokapo.features.teams.Team;
 import lombok.AccessLevel;
 
@@ -12,11 +21,29 @@ import lombok.AccessLevel;
  * The match is not started by default. You must call the {@link #start()}
  * method to start the match.
  * 
+ * <p>
+ * The time at which a match is started and finished is recorded using the
+ * {@link Clock} passed to the constructor (the system UTC clock by default),
+ * which allows tests and simulations to control time.
+ * </p>
+ * 
  * @author Leo Petrović
  * @since 1.0
  */
 @Data
 public class Match {
+	private static final MatchListener[] NO_LISTENERS = new MatchListener[0];
+
+	/**
+	 * The sequence number of a match which has not received a sequenced update
+	 * yet. Every sequence number passed to {@link #setScore(int, int, long)} is
+	 * greater than this one.
+	 */
+	public static final long NO_SEQUENCE = Long.MIN_VALUE;
+
+	private static final AtomicLongFieldUpdater<Match> SEQUENCE = AtomicLongFieldUpdater.newUpdater(Match.class,
+			"sequence");
+
 	/**
 	 * The unique identifier for the match.
 	 */
@@ -34,6 +61,13 @@ public class Match {
 	@NonNull
 	private final Team awayTeam;
 
+	/**
+	 * The competition the match belongs to, or {@code null} if it does not belong
+	 * to any. Use {@link #getCompetition()} to read it.
+	 */
+	@Getter(AccessLevel.NONE)
+	private final String competition;
+
 	/**
 	 * The score of the home team.
 	 * 
@@ -70,9 +104,76 @@ public class Match {
 	@Setter(AccessLevel.NONE)
 	private boolean isFinished = false;
 
+	/**
+	 * The time at which the match was started, in milliseconds since the epoch.
+	 * 
+	 * This value is only meaningful if the match has started. Use
+	 * {@link #getStartTime()} for a safer alternative.
+	 */
+	@Setter(AccessLevel.NONE)
+	private long startTimeMillis = 0;
+
+	/**
+	 * The time at which the match was finished, in milliseconds since the epoch.
+	 * 
+	 * This value is only meaningful if the match has finished. Use
+	 * {@link #getFinishTime()} for a safer alternative.
+	 */
+	@Setter(AccessLevel.NONE)
+	private long finishTimeMillis = 0;
+
+	/**
+	 * The highest sequence number of a score update accepted by
+	 * {@link #setScore(int, int, long)}, or {@link #NO_SEQUENCE} if there was
+	 * none.
+	 * 
+	 * The field is volatile and only ever increases, so stale updates can be
+	 * recognised by {@link #isStale(long)} from any thread without a lock.
+	 */
+	@Setter(AccessLevel.NONE)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private volatile long sequence = NO_SEQUENCE;
+
+	/**
+	 * The append-only timeline of score changes of the match.
+	 * 
+	 * Until the first score change, this is a shared empty timeline, so matches
+	 * whose score never changes (such as imported historical results) do not
+	 * allocate one.
+	 */
+	@Setter(AccessLevel.NONE)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private MatchTimeline timeline = MatchTimeline.EMPTY;
+
+	/**
+	 * The clock used to timestamp the start and the finish of the match, as well
+	 * as the events of its timeline.
+	 */
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private final Clock clock;
+
+	/**
+	 * The listeners which are notified about changes to this match.
+	 * 
+	 * This is a copy-on-write array, so notifying listeners does not allocate.
+	 */
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private MatchListener[] listeners = NO_LISTENERS;
+
 	/**
 	 * Constructs a new match with the given ID, home team, and away team.
 	 * 
+	 * The start and finish times of the match are recorded using the system UTC
+	 * clock.
+	 * 
 	 * @param id       The unique identifier for this match.
 	 * @param homeTeam The home team of the match.
 	 * @param awayTeam The away team of the match.
@@ -81,7 +182,46 @@ public class Match {
 	 *                                  or have the same ID.
 	 */
 	public Match(int id, Team homeTeam, Team awayTeam) {
+		this(id, homeTeam, awayTeam, Clock.systemUTC());
+	}
+
+	/**
+	 * Constructs a new match with the given ID, home team, and away team, which
+	 * records its start and finish times using the given clock.
+	 * 
+	 * @param id       The unique identifier for this match.
+	 * @param homeTeam The home team of the match.
+	 * @param awayTeam The away team of the match.
+	 * @param clock    The clock used to timestamp the start and the finish of the
+	 *                 match.
+	 * 
+	 * @throws IllegalArgumentException If the home team and away team are the same
+	 *                                  or have the same ID.
+	 */
+	public Match(int id, Team homeTeam, Team awayTeam, @NonNull Clock clock) {
+		this(id, homeTeam, awayTeam, null, clock);
+	}
+
+	/**
+	 * Constructs a new match with the given ID, home team, and away team, which
+	 * belongs to the given competition and records its start and finish times
+	 * using the given clock.
+	 * 
+	 * @param id          The unique identifier for this match.
+	 * @param homeTeam    The home team of the match.
+	 * @param awayTeam    The away team of the match.
+	 * @param competition The competition the match belongs to, or {@code null} if
+	 *                    it does not belong to any.
+	 * @param clock       The clock used to timestamp the start and the finish of
+	 *                    the match.
+	 * 
+	 * @throws IllegalArgumentException If the home team and away team are the same
+	 *                                  or have the same ID.
+	 */
+	public Match(int id, Team homeTeam, Team awayTeam, String competition, @NonNull Clock clock) {
 		this.id = id;
+		this.competition = competition;
+		this.clock = clock;
 
 		if (homeTeam.equals(awayTeam) || homeTeam.getId() == awayTeam.getId()) {
 			throw new IllegalArgumentException("Home team and away team cannot be the same.");
@@ -91,15 +231,103 @@ public class Match {
 		this.awayTeam = awayTeam;
 	}
 
+	/**
+	 * Creates a match which has already finished with the given result. This is
+	 * used to load historical results without going through
+	 * {@link #start()}, {@link #setScore(int, int)} and {@link #finish()}.
+	 * 
+	 * The timeline of the returned match is empty, since only its final result is
+	 * known.
+	 * 
+	 * @param id               The unique identifier for the match.
+	 * @param homeTeam         The home team of the match.
+	 * @param awayTeam         The away team of the match.
+	 * @param homeScore        The final score of the home team.
+	 * @param awayScore        The final score of the away team.
+	 * @param startTimeMillis  The time at which the match was started, in
+	 *                         milliseconds since the epoch.
+	 * @param finishTimeMillis The time at which the match was finished, in
+	 *                         milliseconds since the epoch.
+	 * @return The finished match.
+	 * 
+	 * @throws IllegalArgumentException If the home team and away team are the same
+	 *                                  or have the same ID.
+	 * @throws IllegalArgumentException If the score is negative or greater than
+	 *                                  {@link MatchTimeline#MAX_SCORE}.
+	 */
+	public static Match ofFinished(int id, Team homeTeam, Team awayTeam, int homeScore, int awayScore,
+			long startTimeMillis, long finishTimeMillis) {
+		return ofFinished(id, homeTeam, awayTeam, null, homeScore, awayScore, startTimeMillis, finishTimeMillis);
+	}
+
+	/**
+	 * Creates a match which belongs to the given competition and has already
+	 * finished with the given result. See
+	 * {@link #ofFinished(int, Team, Team, int, int, long, long)}.
+	 * 
+	 * @param id               The unique identifier for the match.
+	 * @param homeTeam         The home team of the match.
+	 * @param awayTeam         The away team of the match.
+	 * @param competition      The competition the match belongs to, or
+	 *                         {@code null} if it does not belong to any.
+	 * @param homeScore        The final score of the home team.
+	 * @param awayScore        The final score of the away team.
+	 * @param startTimeMillis  The time at which the match was started, in
+	 *                         milliseconds since the epoch.
+	 * @param finishTimeMillis The time at which the match was finished, in
+	 *                         milliseconds since the epoch.
+	 * @return The finished match.
+	 * 
+	 * @throws IllegalArgumentException If the home team and away team are the same
+	 *                                  or have the same ID.
+	 * @throws IllegalArgumentException If the score is negative or greater than
+	 *                                  {@link MatchTimeline#MAX_SCORE}.
+	 */
+	public static Match ofFinished(int id, Team homeTeam, Team awayTeam, String competition, int homeScore,
+			int awayScore, long startTimeMillis, long finishTimeMillis) {
+		if (homeScore < 0 || awayScore < 0) {
+			throw new IllegalArgumentException("Score cannot be negative.");
+		}
+
+		if (homeScore > MatchTimeline.MAX_SCORE || awayScore > MatchTimeline.MAX_SCORE) {
+			throw new IllegalArgumentException("Score cannot be greater than " + MatchTimeline.MAX_SCORE + ".");
+		}
+
+		Match match = new Match(id, homeTeam, awayTeam, competition, Clock.systemUTC());
+		match.homeScore = homeScore;
+		match.awayScore = awayScore;
+		match.startTimeMillis = startTimeMillis;
+		match.finishTimeMillis = finishTimeMillis;
+		match.isStarted = true;
+		match.isFinished = true;
+
+		return match;
+	}
+
+	/**
+	 * Gets the competition the match belongs to.
+	 * 
+	 * @return The competition, or an empty {@link Optional} if the match does not
+	 *         belong to any.
+	 */
+	public Optional<String> getCompetition() {
+		return Optional.ofNullable(competition);
+	}
+
 	/**
 	 * Sets the absolute score for the match.
 	 * 
+	 * If the score changes, an event is appended to the {@link #getTimeline()
+	 * timeline} of the match.
+	 * 
 	 * @param homeScore The score of the home team.
 	 * @param awayScore The score of the away team.
 	 * 
 	 * @throws IllegalStateException    If the match has not started yet.
 	 * @throws IllegalStateException    If the match has already finished.
 	 * @throws IllegalArgumentException If the score is negative.
+	 * @throws IllegalArgumentException If the score is greater than
+	 *                                  {@link MatchTimeline#MAX_SCORE}.
 	 */
 	public void setScore(int homeScore, int awayScore) {
 		if (!isStarted) {
@@ -114,8 +342,114 @@ public class Match {
 			throw new IllegalArgumentException("Score cannot be negative.");
 		}
 
+		if (homeScore > MatchTimeline.MAX_SCORE || awayScore > MatchTimeline.MAX_SCORE) {
+			throw new IllegalArgumentException("Score cannot be greater than " + MatchTimeline.MAX_SCORE + ".");
+		}
+
+		int previousHomeScore = this.homeScore;
+		int previousAwayScore = this.awayScore;
+
+		if (previousHomeScore == homeScore && previousAwayScore == awayScore) {
+			return;
+		}
+
+		MatchTimeline.Side side;
+
+		if (previousAwayScore == awayScore) {
+			side = MatchTimeline.Side.HOME;
+		} else if (previousHomeScore == homeScore) {
+			side = MatchTimeline.Side.AWAY;
+		} else {
+			side = MatchTimeline.Side.BOTH;
+		}
+
+		if (timeline == MatchTimeline.EMPTY) {
+			timeline = new MatchTimeline();
+		}
+
+		timeline.append(clock.millis(), side, homeScore, awayScore);
+
 		this.homeScore = homeScore;
 		this.awayScore = awayScore;
+
+		for (MatchListener listener : listeners) {
+			listener.onScoreChanged(this, previousHomeScore, previousAwayScore);
+		}
+	}
+
+	/**
+	 * Sets the absolute score for the match from an update which carries a
+	 * sequence number, such as the message sequence number or the source
+	 * timestamp of a feed which may deliver updates more than once or out of
+	 * order.
+	 * 
+	 * The update is applied only if its sequence number is greater than that of
+	 * every update applied before, so a duplicate or a delayed stale update never
+	 * overwrites a newer score. The sequence number is claimed with a
+	 * compare-and-set, without a lock. Calls which are not rejected as stale must
+	 * still not run concurrently with other changes to the match.
+	 * 
+	 * @param homeScore The score of the home team.
+	 * @param awayScore The score of the away team.
+	 * @param sequence  The sequence number of the update.
+	 * @return {@code true} if the update was applied, {@code false} if it was
+	 *         stale or a duplicate and was ignored.
+	 * 
+	 * @throws IllegalStateException    If the match has not started yet.
+	 * @throws IllegalStateException    If the match has already finished.
+	 * @throws IllegalArgumentException If the score is negative.
+	 * @throws IllegalArgumentException If the score is greater than
+	 *                                  {@link MatchTimeline#MAX_SCORE}.
+	 * @throws IllegalArgumentException If the sequence number is
+	 *                                  {@link #NO_SEQUENCE}.
+	 */
+	public boolean setScore(int homeScore, int awayScore, long sequence) {
+		if (sequence == NO_SEQUENCE) {
+			throw new IllegalArgumentException("Sequence number must be greater than " + NO_SEQUENCE + ".");
+		}
+
+		if (!isStarted) {
+			throw new IllegalStateException("Match has not started yet.");
+		}
+
+		if (isFinished) {
+			throw new IllegalStateException("Match has already finished.");
+		}
+
+		if (homeScore < 0 || awayScore < 0) {
+			throw new IllegalArgumentException("Score cannot be negative.");
+		}
+
+		if (homeScore > MatchTimeline.MAX_SCORE || awayScore > MatchTimeline.MAX_SCORE) {
+			throw new IllegalArgumentException("Score cannot be greater than " + MatchTimeline.MAX_SCORE + ".");
+		}
+
+		long current;
+
+		do {
+			current = this.sequence;
+
+			if (sequence <= current) {
+				return false;
+			}
+		} while (!SEQUENCE.compareAndSet(this, current, sequence));
+
+		setScore(homeScore, awayScore);
+
+		return true;
+	}
+
+	/**
+	 * Checks whether an update with the given sequence number would be rejected
+	 * by {@link #setScore(int, int, long)}. This only reads a volatile field, so
+	 * it can be called from any thread to drop stale updates early.
+	 * 
+	 * @param sequence The sequence number of the update.
+	 * @return {@code true} if an update with the same or a greater sequence
+	 *         number has already been applied.
+	 */
+	public boolean isStale(long sequence) {
+		return sequence <= this.sequence;
 	}
 
 	/**
@@ -133,7 +467,12 @@ public class Match {
 			throw new IllegalStateException("Match has already started.");
 		}
 
+		startTimeMillis = clock.millis();
 		isStarted = true;
+
+		for (MatchListener listener : listeners) {
+			listener.onMatchStarted(this);
+		}
 	}
 
 	/**
@@ -151,6 +490,68 @@ public class Match {
 			throw new IllegalStateException("Match has already finished.");
 		}
 
+		finishTimeMillis = clock.millis();
 		isFinished = true;
+
+		for (MatchListener listener : listeners) {
+			listener.onMatchFinished(this);
+		}
+	}
+
+	/**
+	 * Gets the time at which the match was started.
+	 * 
+	 * @return An Optional containing the start time if the match has started,
+	 *         otherwise an empty Optional.
+	 */
+	public Optional<Instant> getStartTime() {
+		return isStarted ? Optional.of(Instant.ofEpochMilli(startTimeMillis)) : Optional.empty();
+	}
+
+	/**
+	 * Gets the time at which the match was finished.
+	 * 
+	 * @return An Optional containing the finish time if the match has finished,
+	 *         otherwise an empty Optional.
+	 */
+	public Optional<Instant> getFinishTime() {
+		return isFinished ? Optional.of(Instant.ofEpochMilli(finishTimeMillis)) : Optional.empty();
+	}
+
+	/**
+	 * Registers a listener which is notified about changes to this match.
+	 * Registering the same listener more than once has no effect.
+	 * 
+	 * @param listener The listener to register.
+	 */
+	public void addListener(@NonNull MatchListener listener) {
+		for (MatchListener existing : listeners) {
+			if (existing == listener) {
+				return;
+			}
+		}
+
+		MatchListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+		updated[listeners.length] = listener;
+		listeners = updated;
+	}
+
+	/**
+	 * Unregisters a listener previously registered with
+	 * {@link #addListener(MatchListener)}. Unregistering a listener which is not
+	 * registered has no effect.
+	 * 
+	 * @param listener The listener to unregister.
+	 */
+	public void removeListener(MatchListener listener) {
+		for (int i = 0; i < listeners.length; i++) {
+			if (listeners[i] == listener) {
+				MatchListener[] updated = new MatchListener[listeners.length - 1];
+				System.arraycopy(listeners, 0, updated, 0, i);
+				System.arraycopy(listeners, i + 1, updated, i, listeners.length - i - 1);
+				listeners = updated;
+				return;
+			}
+		}
 	}
 }
@@ -0,0 +1,132 @@
+package me.mapokapo.features.matches;
+
+/**
+ * An index of {@link Match} objects by their ID, used by the
+ * {@link MatchRepository} for constant-time lookups.
+ *
+ * <p>
+ * This is an open-addressing hash table with linear probing over primitive
+ * {@code int} keys, so neither lookups nor insertions box the ID, and the table
+ * takes two array slots per match instead of a node object per entry.
+ * </p>
+ */
+class MatchIdIndex {
+	private static final int INITIAL_CAPACITY = 16;
+
+	private int[] ids = new int[INITIAL_CAPACITY];
+	private Match[] matches = new Match[INITIAL_CAPACITY];
+	private int size = 0;
+
+	/**
+	 * Gets a match by its ID.
+	 *
+	 * @param id The ID of the match.
+	 * @return The match, or null if there is no match with the given ID.
+	 */
+	Match get(int id) {
+		int mask = matches.length - 1;
+
+		for (int slot = hash(id) & mask; matches[slot] != null; slot = slot + 1 & mask) {
+			if (ids[slot] == id) {
+				return matches[slot];
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Adds a match to the index. The caller must make sure no other match with
+	 * the same ID is indexed.
+	 *
+	 * @param match The match to add.
+	 */
+	void put(Match match) {
+		ensureCapacity(size + 1);
+
+		int mask = matches.length - 1;
+		int slot = hash(match.getId()) & mask;
+
+		while (matches[slot] != null) {
+			slot = slot + 1 & mask;
+		}
+
+		ids[slot] = match.getId();
+		matches[slot] = match;
+		size++;
+	}
+
+	/**
+	 * Removes a match from the index.
+	 *
+	 * @param id The ID of the match to remove.
+	 * @return The removed match, or null if there is no match with the given ID.
+	 */
+	Match remove(int id) {
+		int mask = matches.length - 1;
+		int slot = hash(id) & mask;
+
+		while (matches[slot] != null && ids[slot] != id) {
+			slot = slot + 1 & mask;
+		}
+
+		Match removed = matches[slot];
+
+		if (removed == null) {
+			return null;
+		}
+
+		matches[slot] = null;
+		size--;
+
+		// Re-insert the rest of the probe sequence, so that no lookup stops early
+		// at the slot which was just emptied.
+		for (slot = slot + 1 & mask; matches[slot] != null; slot = slot + 1 & mask) {
+			Match displaced = matches[slot];
+			matches[slot] = null;
+			size--;
+			put(displaced);
+		}
+
+		return removed;
+	}
+
+	/**
+	 * Makes sure the index can hold the given number of matches without exceeding
+	 * a load factor of one half.
+	 *
+	 * @param capacity The number of matches.
+	 */
+	void ensureCapacity(int capacity) {
+		if (2 * capacity <= matches.length) {
+			return;
+		}
+
+		int[] oldIds = ids;
+		Match[] oldMatches = matches;
+		int length = matches.length;
+
+		while (2 * capacity > length) {
+			length *= 2;
+		}
+
+		ids = new int[length];
+		matches = new Match[length];
+		size = 0;
+
+		for (int i = 0; i < oldMatches.length; i++) {
+			if (oldMatches[i] != null) {
+				put(oldMatches[i]);
+			}
+		}
+	}
+
+	/**
+	 * Spreads the high bits of the ID into the low bits. IDs are usually handed
+	 * out sequentially, and this keeps consecutive IDs in consecutive slots, which
+	 * avoids collisions and keeps bulk insertions cache-friendly.
+	 */
+	private static int hash(int id) {
+		return id ^ id >>> 16;
+	}
+}
@@ -0,0 +1,68 @@
+package me.mapokapo.features.matches;
+
+/**
+ * Receives notifications about changes to {@link Match} objects.
+ *
+ * <p>
+ * A listener can be registered either on a single match using
+ * {@link Match#addListener(MatchListener)}, or on a whole
+ * {@link MatchRepository} using
+ * {@link MatchRepository#addListener(MatchListener)}, in which case it is
+ * notified about every match stored in that repository.
+ * </p>
+ *
+ * <p>
+ * All methods have empty default implementations, so implementations only need
+ * to override the notifications they are interested in. Notifications are
+ * delivered synchronously on the thread which caused the change, after the
+ * change has been applied.
+ * </p>
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+public interface MatchListener {
+	/**
+	 * Called after a match has been added to a repository. Only repositories send
+	 * this notification.
+	 *
+	 * @param match The added match.
+	 */
+	default void onMatchAdded(Match match) {
+	}
+
+	/**
+	 * Called after a match has been removed from a repository. Only repositories
+	 * send this notification.
+	 *
+	 * @param match The removed match.
+	 */
+	default void onMatchRemoved(Match match) {
+	}
+
+	/**
+	 * Called after a match has been started.
+	 *
+	 * @param match The started match.
+	 */
+	default void onMatchStarted(Match match) {
+	}
+
+	/**
+	 * Called after the score of a match has been changed.
+	 *
+	 * @param match             The match whose score was changed.
+	 * @param previousHomeScore The home score before the change.
+	 * @param previousAwayScore The away score before the change.
+	 */
+	default void onScoreChanged(Match match, int previousHomeScore, int previousAwayScore) {
+	}
+
+	/**
+	 * Called after a match has been finished.
+	 *
+	 * @param match The finished match.
+	 */
+	default void onMatchFinished(Match match) {
+	}
+}
@@ -1,33 +1,109 @@
 package me.mapokapo.features.matches;
 
+import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
+import lombok.NonNull;
+import me.mapokapo.features.storage.Stores;
+
 /**
  * This class serves as a data repository for {@link Match} objects.
  * 
- * The data source of this repository is a temporary in-memory solution
- * for now, consisting of a simple ArrayList.
+ * The matches are kept in a {@link MatchStore}, which is created by the
+ * storage backend selected with {@link Stores} unless one is passed in.
+ * 
+ * <p>
+ * The repository keeps matches indexed by their start and finish times, which
+ * allows time range queries such as "matches finished in the last 30 minutes"
+ * without scanning every match. It also notifies registered
+ * {@link MatchListener}s about changes to any of its matches.
+ * </p>
  */
 public class MatchRepository {
 	/**
 	 * Data source for matches.
+	 */
+	private final MatchStore store;
+
+	/**
+	 * Index of started matches, ordered by their start time.
+	 */
+	private final MatchTimeIndex startTimeIndex = new MatchTimeIndex();
+
+	/**
+	 * Index of finished matches, ordered by their finish time.
+	 */
+	private final MatchTimeIndex finishTimeIndex = new MatchTimeIndex();
+
+	/**
+	 * The listeners registered on this repository.
+	 * 
+	 * This is a copy-on-write array, so notifying listeners does not allocate.
+	 */
+	private MatchListener[] listeners = new MatchListener[0];
+
+	/**
+	 * The listener registered on every match in this repository. It keeps the
+	 * time indexes up to date and forwards notifications to the listeners
+	 * registered on this repository.
+	 */
+	private final MatchListener matchListener = new MatchListener() {
+		@Override
+		public void onMatchStarted(Match match) {
+			startTimeIndex.add(match.getStartTimeMillis(), match);
+
+			for (MatchListener listener : listeners) {
+				listener.onMatchStarted(match);
+			}
+		}
+
+		@Override
+		public void onScoreChanged(Match match, int previousHomeScore, int previousAwayScore) {
+			for (MatchListener listener : listeners) {
+				listener.onScoreChanged(match, previousHomeScore, previousAwayScore);
+			}
+		}
+
+		@Override
+		public void onMatchFinished(Match match) {
+			finishTimeIndex.add(match.getFinishTimeMillis(), match);
+
+			for (MatchListener listener : listeners) {
+				listener.onMatchFinished(match);
+			}
+		}
+	};
+
+	/**
+	 * Creates a repository which keeps its matches in a store of the selected
+	 * storage backend.
 	 * 
-	 * This is a temporary in-memory solution for now, consisting of a simple
-	 * ArrayList.
+	 * @throws IllegalStateException If the selected backend does not exist.
 	 */
-	private final List<Match> matches = new ArrayList<>();
+	public MatchRepository() {
+		this(Stores.getProvider().createMatchStore());
+	}
 
 	/**
-	 * Gets the next available index for a new match. This is simply the size of
-	 * the current list of matches.
+	 * Creates a repository which keeps its matches in the given store.
+	 * 
+	 * @param store The store, which should be empty.
+	 */
+	public MatchRepository(@NonNull MatchStore store) {
+		this.store = store;
+	}
+
+	/**
+	 * Gets the next available index for a new match. This is simply the number
+	 * of matches in the repository.
 	 * 
 	 * @return The next available index to use for creating a new match.
 	 */
 	public int getNextIndex() {
-		return matches.size();
+		return store.size();
 	}
 
 	/**
@@ -38,7 +114,18 @@ public class MatchRepository {
 	 *         Optional.
 	 */
 	public Optional<Match> getMatchById(int matchId) {
-		return matches.stream().filter(match -> match.getId() == matchId).findFirst();
+		return Optional.ofNullable(store.get(matchId));
+	}
+
+	/**
+	 * Gets a match by its ID without wrapping it in an {@link Optional}, for hot
+	 * paths which look up a match on every call and must not allocate.
+	 * 
+	 * @param matchId The ID of the match to get.
+	 * @return The match, or {@code null} if it was not found.
+	 */
+	public Match getMatchByIdOrNull(int matchId) {
+		return store.get(matchId);
 	}
 
 	/**
@@ -47,7 +134,69 @@ public class MatchRepository {
 	 * @return An unmodifiable list of all matches in the repository.
 	 */
 	public List<Match> getAllMatches() {
-		return Collections.unmodifiableList(matches);
+		return store.getAll();
+	}
+
+	/**
+	 * Gets all matches which were started in the given time range, ordered by
+	 * their start time.
+	 * 
+	 * @param from The start of the time range (inclusive).
+	 * @param to   The end of the time range (exclusive).
+	 * @return A list of matches started in the given time range.
+	 */
+	public List<Match> getMatchesStartedBetween(@NonNull Instant from, @NonNull Instant to) {
+		return startTimeIndex.range(from.toEpochMilli(), to.toEpochMilli());
+	}
+
+	/**
+	 * Gets all matches which were finished in the given time range, ordered by
+	 * their finish time.
+	 * 
+	 * @param from The start of the time range (inclusive).
+	 * @param to   The end of the time range (exclusive).
+	 * @return A list of matches finished in the given time range.
+	 */
+	public List<Match> getMatchesFinishedBetween(@NonNull Instant from, @NonNull Instant to) {
+		return finishTimeIndex.range(from.toEpochMilli(), to.toEpochMilli());
+	}
+
+	/**
+	 * Registers a listener which is notified about changes to any match in this
+	 * repository, as well as about matches being added to or removed from it.
+	 * Registering the same listener more than once has no effect.
+	 * 
+	 * @param listener The listener to register.
+	 */
+	public void addListener(@NonNull MatchListener listener) {
+		for (MatchListener existing : listeners) {
+			if (existing == listener) {
+				return;
+			}
+		}
+
+		MatchListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+		updated[listeners.length] = listener;
+		listeners = updated;
+	}
+
+	/**
+	 * Unregisters a listener previously registered with
+	 * {@link #addListener(MatchListener)}. Unregistering a listener which is not
+	 * registered has no effect.
+	 * 
+	 * @param listener The listener to unregister.
+	 */
+	public void removeListener(MatchListener listener) {
+		for (int i = 0; i < listeners.length; i++) {
+			if (listeners[i] == listener) {
+				MatchListener[] updated = new MatchListener[listeners.length - 1];
+				System.arraycopy(listeners, 0, updated, 0, i);
+				System.arraycopy(listeners, i + 1, updated, i, listeners.length - i - 1);
+				listeners = updated;
+				return;
+			}
+		}
 	}
 
 	/**
@@ -59,15 +208,70 @@ public class MatchRepository {
 	 *                                  repository.
 	 */
 	public Match addMatch(Match match) {
-		if (matches.stream().anyMatch(m -> m.getId() == match.getId())) {
+		if (!store.add(match)) {
 			throw new IllegalArgumentException("Match with ID " + match.getId() + " already exists.");
 		}
 
-		matches.add(match);
+		// The match may have been started or finished before it was added.
+		if (match.isStarted()) {
+			startTimeIndex.add(match.getStartTimeMillis(), match);
+		}
+
+		if (match.isFinished()) {
+			finishTimeIndex.add(match.getFinishTimeMillis(), match);
+		}
+
+		match.addListener(matchListener);
+
+		for (MatchListener listener : listeners) {
+			listener.onMatchAdded(match);
+		}
 
 		return match;
 	}
 
+	/**
+	 * Adds many matches to the repository at once. This is considerably faster
+	 * than calling {@link #addMatch(Match)} for each match, which makes it
+	 * suitable for loading historical results.
+	 * 
+	 * Either all matches are added, or none are.
+	 * 
+	 * @param batch The matches to add.
+	 * @throws IllegalArgumentException if any of the matches already exists in
+	 *                                  the repository, or if the batch contains
+	 *                                  multiple matches with the same ID.
+	 */
+	public void addMatches(List<Match> batch) {
+		if (!store.addAll(batch)) {
+			throw new IllegalArgumentException("A match of the batch already exists.");
+		}
+
+		List<Match> started = new ArrayList<>(batch.size());
+		List<Match> finished = new ArrayList<>(batch.size());
+
+		for (Match match : batch) {
+			if (match.isStarted()) {
+				started.add(match);
+			}
+
+			if (match.isFinished()) {
+				finished.add(match);
+			}
+		}
+
+		startTimeIndex.addAll(started, Match::getStartTimeMillis);
+		finishTimeIndex.addAll(finished, Match::getFinishTimeMillis);
+
+		for (Match match : batch) {
+			match.addListener(matchListener);
+
+			for (MatchListener listener : listeners) {
+				listener.onMatchAdded(match);
+			}
+		}
+	}
+
 	/**
 	 * Removes a match from the repository.
 	 * 
@@ -76,12 +280,24 @@ public class MatchRepository {
 	 *                                  repository.
 	 */
 	public void removeMatch(int matchId) {
-		Optional<Match> match = getMatchById(matchId);
+		Match match = store.remove(matchId);
 
-		if (match.isPresent()) {
-			matches.remove(match.get());
-		} else {
+		if (match == null) {
 			throw new IllegalArgumentException("Match with ID " + matchId + " does not exist.");
 		}
+
+		match.removeListener(matchListener);
+
+		if (match.isStarted()) {
+			startTimeIndex.remove(match.getStartTimeMillis(), match);
+		}
+
+		if (match.isFinished()) {
+			finishTimeIndex.remove(match.getFinishTimeMillis(), match);
+		}
+
+		for (MatchListener listener : listeners) {
+			listener.onMatchRemoved(match);
+		}
 	}
 }
@@ -0,0 +1,77 @@
+package me.mapokapo.features.matches;
+
+import java.util.List;
+
+/**
+ * The storage behind a {@link MatchRepository}. A store only keeps matches and
+ * finds them by ID; the repository validates calls, maintains the time indexes
+ * and notifies listeners on top of it.
+ *
+ * <p>
+ * Stores are created by a {@link me.mapokapo.features.storage.StoreProvider},
+ * which is selected with {@link me.mapokapo.features.storage.Stores}. Every
+ * store must pass the conformance tests of the project, and
+ * {@link ListMatchStore} is the reference implementation.
+ * </p>
+ *
+ * <p>
+ * Stores are used by one thread at a time, like the repository, so they need
+ * not be thread-safe.
+ * </p>
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+public interface MatchStore {
+	/**
+	 * Gets the number of matches in the store.
+	 *
+	 * @return The number of matches.
+	 */
+	int size();
+
+	/**
+	 * Gets a match by its ID. This is called on every score update, so it should
+	 * take constant time and must not allocate.
+	 *
+	 * @param matchId The ID of the match.
+	 * @return The match, or {@code null} if it is not in the store.
+	 */
+	Match get(int matchId);
+
+	/**
+	 * Gets all matches in the store, in the order in which they were added.
+	 *
+	 * @return An unmodifiable view of the matches, which reflects later changes
+	 *         of the store.
+	 */
+	List<Match> getAll();
+
+	/**
+	 * Adds a match to the store.
+	 *
+	 * @param match The match to add.
+	 * @return {@code true} if the match was added, {@code false} if a match with
+	 *         the same ID is already in the store, in which case nothing changes.
+	 */
+	boolean add(Match match);
+
+	/**
+	 * Adds many matches to the store at once, in the order of the batch.
+	 *
+	 * @param batch The matches to add.
+	 * @return {@code true} if the matches were added, {@code false} if a match
+	 *         with the same ID as one of them is already in the store or the
+	 *         batch contains two matches with the same ID, in which case nothing
+	 *         changes.
+	 */
+	boolean addAll(List<Match> batch);
+
+	/**
+	 * Removes a match from the store.
+	 *
+	 * @param matchId The ID of the match to remove.
+	 * @return The removed match, or {@code null} if it was not in the store.
+	 */
+	Match remove(int matchId);
+}
@@ -0,0 +1,195 @@
+package me.mapokapo.features.matches;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * A time-ordered index of {@link Match} objects, used by the
+ * {@link MatchRepository} to answer time range queries.
+ *
+ * <p>
+ * The index is stored as two parallel arrays sorted by timestamp: one holding
+ * the timestamps and one holding the matches. Since timestamps usually come
+ * from a clock which moves forward, most insertions append to the end of the
+ * arrays in amortized constant time. Out-of-order insertions and removals shift
+ * the tail of the arrays.
+ * </p>
+ *
+ * <p>
+ * A range query performs two binary searches and copies the matches in between,
+ * so it runs in O(log n + k) time, where k is the number of returned matches.
+ * </p>
+ */
+class MatchTimeIndex {
+	private static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * The timestamps of the indexed matches, in milliseconds since the epoch,
+	 * sorted in ascending order.
+	 */
+	private long[] times = new long[INITIAL_CAPACITY];
+
+	/**
+	 * The indexed matches, in the same order as {@link #times}.
+	 */
+	private Match[] matches = new Match[INITIAL_CAPACITY];
+
+	/**
+	 * The number of indexed matches.
+	 */
+	private int size = 0;
+
+	/**
+	 * Adds a match to the index.
+	 *
+	 * @param timeMillis The timestamp under which to index the match.
+	 * @param match      The match to add.
+	 */
+	void add(long timeMillis, Match match) {
+		if (size == times.length) {
+			int capacity = times.length * 2;
+			times = Arrays.copyOf(times, capacity);
+			matches = Arrays.copyOf(matches, capacity);
+		}
+
+		// Matches with equal timestamps are kept in insertion order, so the new
+		// match is placed after all matches with a timestamp less than or equal to
+		// its own.
+		int position = size == 0 || times[size - 1] <= timeMillis ? size : upperBound(timeMillis);
+
+		System.arraycopy(times, position, times, position + 1, size - position);
+		System.arraycopy(matches, position, matches, position + 1, size - position);
+		times[position] = timeMillis;
+		matches[position] = match;
+		size++;
+	}
+
+	/**
+	 * Adds many matches to the index at once, which is faster than adding them one
+	 * by one when their timestamps are not in order.
+	 *
+	 * @param batch   The matches to add.
+	 * @param timeKey The function which gives the timestamp under which to index
+	 *                each match.
+	 */
+	void addAll(List<Match> batch, ToLongFunction<Match> timeKey) {
+		Match[] sorted = batch.toArray(new Match[0]);
+
+		// A stable sort keeps matches with equal timestamps in insertion order.
+		Arrays.sort(sorted, Comparator.comparingLong(timeKey));
+
+		int capacity = Math.max(times.length, size + sorted.length);
+		long[] mergedTimes = new long[capacity];
+		Match[] mergedMatches = new Match[capacity];
+		int i = 0;
+		int j = 0;
+		int k = 0;
+
+		// Merge the sorted batch with the existing entries, which come first when
+		// timestamps are equal.
+		while (i < size || j < sorted.length) {
+			if (j == sorted.length || i < size && times[i] <= timeKey.applyAsLong(sorted[j])) {
+				mergedTimes[k] = times[i];
+				mergedMatches[k++] = matches[i++];
+			} else {
+				mergedTimes[k] = timeKey.applyAsLong(sorted[j]);
+				mergedMatches[k++] = sorted[j++];
+			}
+		}
+
+		times = mergedTimes;
+		matches = mergedMatches;
+		size = k;
+	}
+
+	/**
+	 * Removes a match from the index. Removing a match which is not indexed has no
+	 * effect.
+	 *
+	 * @param timeMillis The timestamp under which the match was indexed.
+	 * @param match      The match to remove.
+	 */
+	void remove(long timeMillis, Match match) {
+		for (int i = lowerBound(timeMillis); i < size && times[i] == timeMillis; i++) {
+			if (matches[i] == match) {
+				System.arraycopy(times, i + 1, times, i, size - i - 1);
+				System.arraycopy(matches, i + 1, matches, i, size - i - 1);
+				matches[--size] = null;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Gets all matches indexed under a timestamp in the range
+	 * {@code [fromMillis, toMillis)}, ordered by timestamp.
+	 *
+	 * @param fromMillis The start of the range (inclusive).
+	 * @param toMillis   The end of the range (exclusive).
+	 * @return A list of matches in the given range.
+	 */
+	List<Match> range(long fromMillis, long toMillis) {
+		if (fromMillis >= toMillis) {
+			return new ArrayList<>(0);
+		}
+
+		int from = lowerBound(fromMillis);
+		int to = lowerBound(toMillis);
+
+		return new ArrayList<>(Arrays.asList(matches).subList(from, to));
+	}
+
+	/**
+	 * Gets the number of indexed matches.
+	 *
+	 * @return The number of indexed matches.
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Finds the position of the first timestamp greater than or equal to the given
+	 * one.
+	 */
+	private int lowerBound(long timeMillis) {
+		int low = 0;
+		int high = size;
+
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+
+			if (times[middle] < timeMillis) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+
+		return low;
+	}
+
+	/**
+	 * Finds the position of the first timestamp strictly greater than the given
+	 * one.
+	 */
+	private int upperBound(long timeMillis) {
+		int low = 0;
+		int high = size;
+
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+
+			if (times[middle] <= timeMillis) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+
+		return low;
+	}
+}
@@ -0,0 +1,323 @@
+package me.mapokapo.features.matches;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An append-only timeline of the score changes of a {@link Match}.
+ *
+ * <p>
+ * Every call to {@link Match#setScore(int, int)} which changes the score appends
+ * an event to the timeline of the match. An event consists of the time of the
+ * change, the side whose score changed and the resulting score.
+ * </p>
+ *
+ * <p>
+ * Events are stored in two primitive arrays which double in size when full, so
+ * appending does not box and each event takes 8 bytes: the timestamp is stored
+ * as an {@code int} offset in milliseconds from the first event, and the side
+ * and both scores are packed into another {@code int}. This limits scores to
+ * {@link #MAX_SCORE}. Offsets of up to about 24 days, which is far beyond any
+ * real match, fit into an {@code int}. If an event is further apart from the
+ * first one, for example because the clock of the match jumped, the offsets
+ * are widened to {@code long}s, and every event takes 12 bytes from then on.
+ * </p>
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+public class MatchTimeline {
+	/**
+	 * The highest score which can be stored in a timeline.
+	 */
+	public static final int MAX_SCORE = (1 << 15) - 1;
+
+	private static final int INITIAL_CAPACITY = 4;
+	private static final int[] NO_EVENTS = new int[0];
+	private static final int SCORE_BITS = 15;
+	private static final int SCORE_MASK = MAX_SCORE;
+	private static final Side[] SIDES = Side.values();
+
+	/**
+	 * The timeline shared by all matches whose score has not changed yet. Events
+	 * are never appended to it.
+	 */
+	static final MatchTimeline EMPTY = new MatchTimeline();
+
+	/**
+	 * The side whose score was changed by an event.
+	 */
+	public enum Side {
+		/**
+		 * Only the home score changed.
+		 */
+		HOME,
+
+		/**
+		 * Only the away score changed.
+		 */
+		AWAY,
+
+		/**
+		 * Both scores changed at once.
+		 */
+		BOTH
+	}
+
+	/**
+	 * Receives the events of a timeline, see {@link MatchTimeline#forEach}.
+	 */
+	@FunctionalInterface
+	public interface EventConsumer {
+		/**
+		 * Receives a single event.
+		 *
+		 * @param timestampMillis The time of the event, in milliseconds since the
+		 *                        epoch.
+		 * @param side            The side whose score changed.
+		 * @param homeScore       The home score after the event.
+		 * @param awayScore       The away score after the event.
+		 */
+		void accept(long timestampMillis, Side side, int homeScore, int awayScore);
+	}
+
+	/**
+	 * The timestamp of the first event, which all other timestamps are relative
+	 * to.
+	 */
+	private long baseMillis = 0;
+
+	/**
+	 * The timestamps of the events, as offsets in milliseconds from
+	 * {@link #baseMillis}. The arrays are only allocated once the first event is
+	 * appended, since most historical matches never get one.
+	 */
+	private int[] offsets = NO_EVENTS;
+
+	/**
+	 * The timestamps of the events, as offsets in milliseconds from
+	 * {@link #baseMillis}, once an offset did not fit into {@link #offsets}, or
+	 * {@code null} until then.
+	 */
+	private long[] wideOffsets = null;
+
+	/**
+	 * The side and the resulting scores of the events, packed into a single int.
+	 */
+	private int[] scores = NO_EVENTS;
+
+	/**
+	 * The number of events in the timeline.
+	 */
+	private int size = 0;
+
+	/**
+	 * Appends an event to the timeline.
+	 *
+	 * @param timestampMillis The time of the event, in milliseconds since the
+	 *                        epoch.
+	 * @param side            The side whose score changed.
+	 * @param homeScore       The home score after the event.
+	 * @param awayScore       The away score after the event.
+	 */
+	void append(long timestampMillis, Side side, int homeScore, int awayScore) {
+		if (size == 0) {
+			baseMillis = timestampMillis;
+		}
+
+		long offset = timestampMillis - baseMillis;
+
+		if (wideOffsets == null && (int) offset != offset) {
+			widenOffsets();
+		}
+
+		if (size == scores.length) {
+			int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+			scores = Arrays.copyOf(scores, capacity);
+
+			if (wideOffsets == null) {
+				offsets = Arrays.copyOf(offsets, capacity);
+			} else {
+				wideOffsets = Arrays.copyOf(wideOffsets, capacity);
+			}
+		}
+
+		if (wideOffsets == null) {
+			offsets[size] = (int) offset;
+		} else {
+			wideOffsets[size] = offset;
+		}
+
+		scores[size] = side.ordinal() << (2 * SCORE_BITS) | homeScore << SCORE_BITS | awayScore;
+		size++;
+	}
+
+	/**
+	 * Moves the offsets into {@link #wideOffsets}, with the same capacity.
+	 */
+	private void widenOffsets() {
+		wideOffsets = new long[scores.length];
+
+		for (int i = 0; i < size; i++) {
+			wideOffsets[i] = offsets[i];
+		}
+
+		offsets = NO_EVENTS;
+	}
+
+	/**
+	 * Gets the time of an event, without checking its index.
+	 */
+	private long timestampMillis(int index) {
+		return baseMillis + (wideOffsets == null ? offsets[index] : wideOffsets[index]);
+	}
+
+	/**
+	 * Gets the number of events in the timeline.
+	 *
+	 * @return The number of events.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the time of an event.
+	 *
+	 * @param index The index of the event.
+	 * @return The time of the event, in milliseconds since the epoch.
+	 * @throws IndexOutOfBoundsException If there is no event with the given index.
+	 */
+	public long getTimestampMillis(int index) {
+		return timestampMillis(Objects.checkIndex(index, size));
+	}
+
+	/**
+	 * Gets the time of an event.
+	 *
+	 * @param index The index of the event.
+	 * @return The time of the event.
+	 * @throws IndexOutOfBoundsException If there is no event with the given index.
+	 */
+	public Instant getTimestamp(int index) {
+		return Instant.ofEpochMilli(getTimestampMillis(index));
+	}
+
+	/**
+	 * Gets the side whose score was changed by an event.
+	 *
+	 * @param index The index of the event.
+	 * @return The side whose score changed.
+	 * @throws IndexOutOfBoundsException If there is no event with the given index.
+	 */
+	public Side getSide(int index) {
+		return SIDES[scores[Objects.checkIndex(index, size)] >>> (2 * SCORE_BITS)];
+	}
+
+	/**
+	 * Gets the home score after an event.
+	 *
+	 * @param index The index of the event.
+	 * @return The home score after the event.
+	 * @throws IndexOutOfBoundsException If there is no event with the given index.
+	 */
+	public int getHomeScore(int index) {
+		return scores[Objects.checkIndex(index, size)] >>> SCORE_BITS & SCORE_MASK;
+	}
+
+	/**
+	 * Gets the away score after an event.
+	 *
+	 * @param index The index of the event.
+	 * @return The away score after the event.
+	 * @throws IndexOutOfBoundsException If there is no event with the given index.
+	 */
+	public int getAwayScore(int index) {
+		return scores[Objects.checkIndex(index, size)] & SCORE_MASK;
+	}
+
+	/**
+	 * Checks whether an event corrected a previous score, i.e. whether it lowered
+	 * the score of either side.
+	 *
+	 * @param index The index of the event.
+	 * @return Whether the event is a correction.
+	 * @throws IndexOutOfBoundsException If there is no event with the given index.
+	 */
+	public boolean isCorrection(int index) {
+		Objects.checkIndex(index, size);
+
+		int previousHomeScore = index == 0 ? 0 : getHomeScore(index - 1);
+		int previousAwayScore = index == 0 ? 0 : getAwayScore(index - 1);
+
+		return getHomeScore(index) < previousHomeScore || getAwayScore(index) < previousAwayScore;
+	}
+
+	/**
+	 * Finds the last event which happened at or before the given time. Events are
+	 * assumed to be appended in chronological order.
+	 *
+	 * @param timestampMillis The time, in milliseconds since the epoch.
+	 * @return The index of the last event at or before the given time, or -1 if
+	 *         there is no such event.
+	 */
+	public int indexAt(long timestampMillis) {
+		int low = 0;
+		int high = size;
+
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+
+			if (timestampMillis(middle) <= timestampMillis) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+
+		return low - 1;
+	}
+
+	/**
+	 * Passes every event of the timeline, in order, to the given consumer.
+	 *
+	 * @param consumer The consumer receiving the events.
+	 */
+	public void forEach(EventConsumer consumer) {
+		forEach(0, size, consumer);
+	}
+
+	/**
+	 * Passes the events in the range {@code [fromIndex, toIndex)}, in order, to
+	 * the given consumer.
+	 *
+	 * @param fromIndex The index of the first event (inclusive).
+	 * @param toIndex   The index of the last event (exclusive).
+	 * @param consumer  The consumer receiving the events.
+	 * @throws IndexOutOfBoundsException If the range is out of bounds.
+	 */
+	public void forEach(int fromIndex, int toIndex, EventConsumer consumer) {
+		Objects.checkFromToIndex(fromIndex, toIndex, size);
+
+		for (int i = fromIndex; i < toIndex; i++) {
+			int packed = scores[i];
+			consumer.accept(
+					timestampMillis(i),
+					SIDES[packed >>> (2 * SCORE_BITS)],
+					packed >>> SCORE_BITS & SCORE_MASK,
+					packed & SCORE_MASK);
+		}
+	}
+
+	/**
+	 * Replays the timeline onto another match by applying every recorded score to
+	 * it in order. The target match must be live.
+	 *
+	 * @param target The match to replay the timeline onto.
+	 * @throws IllegalStateException If the target match is not live.
+	 */
+	public void replay(Match target) {
+		forEach((timestampMillis, side, homeScore, awayScore) -> target.setScore(homeScore, awayScore));
+	}
+}
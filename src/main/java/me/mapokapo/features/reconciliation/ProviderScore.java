@@ -0,0 +1,31 @@
+package me.mapokapo.features.reconciliation;
+
+import lombok.Value;
+
+/**
+ * A score together with the version it was reported with, either a single
+ * provider's view of a match or the score a {@link ScoreReconciler} resolved
+ * from all views.
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+@Value
+public class ProviderScore {
+	/**
+	 * The version of the score. For a provider's view this is the version the
+	 * provider sent, and for a resolved score it is the number of updates merged
+	 * into the views it was resolved from.
+	 */
+	long version;
+
+	/**
+	 * The score of the home team.
+	 */
+	int homeScore;
+
+	/**
+	 * The score of the away team.
+	 */
+	int awayScore;
+}
@@ -0,0 +1,308 @@
+package me.mapokapo.features.reconciliation;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import lombok.NonNull;
+import me.mapokapo.features.matches.MatchTimeline;
+import me.mapokapo.features.scoreboard.AsyncScoreboard;
+
+/**
+ * Reconciles the scores several providers report for the same matches, and
+ * applies the result to a scoreboard.
+ *
+ * <p>
+ * Every match keeps one versioned register per provider, which holds the
+ * provider's latest view of the score. An update only replaces the register
+ * of its provider if its version is greater, or, for two different scores with
+ * the same version, if its score is greater. Merging registers like this is
+ * commutative, associative and idempotent, so the registers of a match end up
+ * the same no matter in which order, or how many times, updates arrive.
+ * </p>
+ *
+ * <p>
+ * The score shown on the scoreboard is resolved from the registers alone: the
+ * score reported by the most providers wins, and among scores reported by
+ * equally many providers, the one reported by the provider listed first wins.
+ * The resolved score is applied as a sequenced update, see
+ * {@link AsyncScoreboard#updateScore(int, int, int, long)}, whose sequence
+ * number is the number of updates merged into the registers of the match.
+ * Since every merge is a compare-and-set on the registers, that number grows
+ * with every merge, so a resolution computed from older registers never
+ * overwrites a newer one, and the scoreboard converges to the resolution of
+ * every update received. Matches whose scores are reconciled must therefore
+ * not receive sequenced updates from anywhere else.
+ * </p>
+ *
+ * <p>
+ * This class is thread-safe. The registers of a match are replaced with a
+ * compare-and-set, so providers can be consumed from separate threads without
+ * any coordination.
+ * </p>
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+public class ScoreReconciler {
+	private final AsyncScoreboard scoreboard;
+
+	/**
+	 * The providers, from the highest priority to the lowest.
+	 */
+	private final List<String> providers;
+
+	/**
+	 * The position of every provider in {@link #providers}.
+	 */
+	private final Map<String, Integer> providerIndexes = new HashMap<>();
+
+	private final ConcurrentHashMap<Integer, AtomicReference<Registers>> registers = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a reconciler.
+	 *
+	 * @param scoreboard The scoreboard to apply resolved scores to.
+	 * @param providers  The names of the providers, from the highest priority to
+	 *                   the lowest.
+	 * @throws IllegalArgumentException If there are no providers, or a provider
+	 *                                  is listed more than once.
+	 */
+	public ScoreReconciler(@NonNull AsyncScoreboard scoreboard, @NonNull List<String> providers) {
+		if (providers.isEmpty()) {
+			throw new IllegalArgumentException("There must be at least one provider.");
+		}
+
+		this.scoreboard = scoreboard;
+		this.providers = List.copyOf(providers);
+
+		for (int i = 0; i < this.providers.size(); i++) {
+			if (providerIndexes.putIfAbsent(this.providers.get(i), i) != null) {
+				throw new IllegalArgumentException("Provider " + this.providers.get(i) + " is listed more than once.");
+			}
+		}
+	}
+
+	/**
+	 * Merges a provider's view of the score of a match, and applies the newly
+	 * resolved score to the scoreboard.
+	 *
+	 * @param provider  The provider which reported the score.
+	 * @param matchId   The ID of the match.
+	 * @param version   The version of the view, which must grow with every
+	 *                  update the provider sends for the match.
+	 * @param homeScore The score of the home team.
+	 * @param awayScore The score of the away team.
+	 * @return A future of whether the resolved score was applied, which is
+	 *         {@code false} if the update was stale or a duplicate, or a newer
+	 *         resolution had already been applied. It completes exceptionally if
+	 *         the scoreboard rejects the score, for example because the match has
+	 *         not started.
+	 * @throws IllegalArgumentException If the provider is unknown.
+	 * @throws IllegalArgumentException If the version is negative.
+	 * @throws IllegalArgumentException If the score is negative or greater than
+	 *                                  {@link MatchTimeline#MAX_SCORE}.
+	 */
+	public CompletableFuture<Boolean> update(@NonNull String provider, int matchId, long version, int homeScore,
+			int awayScore) {
+		int index = getProviderIndex(provider);
+
+		if (version < 0) {
+			throw new IllegalArgumentException("Version cannot be negative.");
+		}
+
+		if (homeScore < 0 || awayScore < 0) {
+			throw new IllegalArgumentException("Score cannot be negative.");
+		}
+
+		if (homeScore > MatchTimeline.MAX_SCORE || awayScore > MatchTimeline.MAX_SCORE) {
+			throw new IllegalArgumentException("Score cannot be greater than " + MatchTimeline.MAX_SCORE + ".");
+		}
+
+		AtomicReference<Registers> reference = registers.computeIfAbsent(matchId,
+				id -> new AtomicReference<>(Registers.empty(providers.size())));
+		Registers current;
+		Registers merged;
+
+		do {
+			current = reference.get();
+			merged = current.merge(index, version, homeScore, awayScore);
+
+			if (merged == current) {
+				return CompletableFuture.completedFuture(false);
+			}
+		} while (!reference.compareAndSet(current, merged));
+
+		ProviderScore resolved = merged.resolve().orElseThrow();
+
+		return scoreboard.updateScore(matchId, resolved.getHomeScore(), resolved.getAwayScore(), resolved.getVersion());
+	}
+
+	/**
+	 * Gets a provider's latest view of the score of a match.
+	 *
+	 * @param matchId  The ID of the match.
+	 * @param provider The provider.
+	 * @return The view, or an empty {@link Optional} if the provider has not
+	 *         reported a score for the match.
+	 * @throws IllegalArgumentException If the provider is unknown.
+	 */
+	public Optional<ProviderScore> getView(int matchId, @NonNull String provider) {
+		int index = getProviderIndex(provider);
+		AtomicReference<Registers> reference = registers.get(matchId);
+
+		return reference == null ? Optional.empty() : reference.get().get(index);
+	}
+
+	/**
+	 * Gets the score resolved from every view of a match received so far. This is
+	 * the score the scoreboard shows once every update has been applied.
+	 *
+	 * @param matchId The ID of the match.
+	 * @return The resolved score, or an empty {@link Optional} if no provider has
+	 *         reported a score for the match.
+	 */
+	public Optional<ProviderScore> getResolvedScore(int matchId) {
+		AtomicReference<Registers> reference = registers.get(matchId);
+
+		return reference == null ? Optional.empty() : reference.get().resolve();
+	}
+
+	/**
+	 * Forgets the views of a match, for example once it has finished. The
+	 * revision of the match is kept, so the scores resolved from later updates
+	 * still supersede the ones already applied to the scoreboard.
+	 *
+	 * @param matchId The ID of the match.
+	 */
+	public void forget(int matchId) {
+		AtomicReference<Registers> reference = registers.get(matchId);
+
+		if (reference != null) {
+			reference.updateAndGet(Registers::cleared);
+		}
+	}
+
+	private int getProviderIndex(String provider) {
+		Integer index = providerIndexes.get(provider);
+
+		if (index == null) {
+			throw new IllegalArgumentException("Provider " + provider + " is unknown.");
+		}
+
+		return index;
+	}
+
+	/**
+	 * The registers of a match, one per provider. Instances are immutable, and
+	 * merging an update creates a new instance.
+	 */
+	private static final class Registers {
+		/**
+		 * The number of updates merged into the registers so far.
+		 */
+		private final long revision;
+
+		private final long[] versions;
+		private final int[] homeScores;
+		private final int[] awayScores;
+
+		private Registers(long revision, long[] versions, int[] homeScores, int[] awayScores) {
+			this.revision = revision;
+			this.versions = versions;
+			this.homeScores = homeScores;
+			this.awayScores = awayScores;
+		}
+
+		static Registers empty(int providerCount) {
+			return empty(providerCount, 0);
+		}
+
+		private static Registers empty(int providerCount, long revision) {
+			long[] versions = new long[providerCount];
+			Arrays.fill(versions, -1);
+
+			return new Registers(revision, versions, new int[providerCount], new int[providerCount]);
+		}
+
+		/**
+		 * Clears every register, keeping the revision so that later resolutions
+		 * are not rejected by the scoreboard as stale.
+		 */
+		Registers cleared() {
+			return empty(versions.length, revision);
+		}
+
+		/**
+		 * Merges an update into the register of a provider.
+		 *
+		 * @return The merged registers, or this instance if the update does not
+		 *         replace the register.
+		 */
+		Registers merge(int index, long version, int homeScore, int awayScore) {
+			if (version < versions[index] || version == versions[index]
+					&& compare(homeScore, awayScore, homeScores[index], awayScores[index]) <= 0) {
+				return this;
+			}
+
+			Registers merged = new Registers(revision + 1, versions.clone(), homeScores.clone(),
+					awayScores.clone());
+			merged.versions[index] = version;
+			merged.homeScores[index] = homeScore;
+			merged.awayScores[index] = awayScore;
+
+			return merged;
+		}
+
+		Optional<ProviderScore> get(int index) {
+			return versions[index] < 0 ? Optional.empty()
+					: Optional.of(new ProviderScore(versions[index], homeScores[index], awayScores[index]));
+		}
+
+		/**
+		 * Resolves the score reported by the most providers, preferring providers
+		 * listed first on a tie. There are only a handful of providers, so
+		 * counting votes pairwise is cheaper than a map.
+		 *
+		 * @return The resolved score, or an empty {@link Optional} if every
+		 *         register is empty.
+		 */
+		Optional<ProviderScore> resolve() {
+			int best = -1;
+			int bestVotes = 0;
+
+			for (int i = 0; i < versions.length; i++) {
+				if (versions[i] < 0) {
+					continue;
+				}
+
+				int votes = 0;
+
+				for (int j = 0; j < versions.length; j++) {
+					if (versions[j] >= 0 && homeScores[j] == homeScores[i] && awayScores[j] == awayScores[i]) {
+						votes++;
+					}
+				}
+
+				if (votes > bestVotes) {
+					best = i;
+					bestVotes = votes;
+				}
+			}
+
+			return best < 0 ? Optional.empty()
+					: Optional.of(new ProviderScore(revision, homeScores[best], awayScores[best]));
+		}
+
+		private static int compare(int homeScore, int awayScore, int otherHomeScore, int otherAwayScore) {
+			int comparison = Integer.compare(homeScore, otherHomeScore);
+
+			return comparison != 0 ? comparison : Integer.compare(awayScore, otherAwayScore);
+		}
+	}
+}
@@ -0,0 +1,353 @@
+package me.mapokapo.features.scheduling;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import lombok.NonNull;
+import me.mapokapo.features.scheduling.TimingWheel.Timer;
+import me.mapokapo.features.scoreboard.AsyncScoreboard;
+
+/**
+ * Starts and finishes matches at planned kickoff and full-time instants.
+ *
+ * <p>
+ * Planned transitions are kept in a hashed {@link TimingWheel}, so scheduling
+ * and cancelling them takes O(1) time no matter how many are planned. Time is
+ * divided into ticks, and every transition fires at the first end of a tick
+ * at or after its planned instant, so it fires at most one tick late. All
+ * transitions which fire with the same tick are applied to the scoreboard as a
+ * single batch with {@link AsyncScoreboard#applyTransitions(List, List)}, which
+ * takes the lock of the scoreboard only once.
+ * </p>
+ *
+ * <p>
+ * Once {@link #start() started}, a ticker thread wakes up at the end of every
+ * tick, as measured by the clock, rather than a fixed delay after the previous
+ * one, and does not wait for the batches it submits, so slow batches do not
+ * make later ticks drift. If the ticker falls behind, it fires every
+ * transition due by the time it catches up in one batch. Alternatively, the
+ * ticks can be driven from outside with {@link #fireDueTransitions()}.
+ * </p>
+ *
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+public class MatchScheduler implements AutoCloseable {
+	/**
+	 * The default length of a tick.
+	 */
+	public static final Duration DEFAULT_TICK = Duration.ofMillis(100);
+
+	/**
+	 * The default number of slots of the wheel, which makes a revolution of the
+	 * wheel with the default tick take a little over a minute and a half.
+	 */
+	public static final int DEFAULT_SLOTS = 1_024;
+
+	/**
+	 * A planned transition of a match.
+	 */
+	private static final class Transition {
+		final int matchId;
+		final boolean kickoff;
+
+		Transition(int matchId, boolean kickoff) {
+			this.matchId = matchId;
+			this.kickoff = kickoff;
+		}
+	}
+
+	/**
+	 * The planned transitions of a match which have not fired yet.
+	 */
+	private static final class Schedule {
+		Timer<Transition> kickoff;
+		Timer<Transition> fullTime;
+	}
+
+	private final AsyncScoreboard scoreboard;
+	private final Clock clock;
+	private final long tickMillis;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final TimingWheel<Transition> wheel;
+	private final Map<Integer, Schedule> schedules = new HashMap<>();
+
+	/**
+	 * The last batch submitted to the scoreboard. Every batch is only submitted
+	 * once the previous one has completed, so the full time of a match is never
+	 * applied before its kickoff, even if they fired with different ticks.
+	 */
+	private CompletableFuture<?> lastBatch = CompletableFuture.completedFuture(null);
+
+	private Thread ticker;
+	private volatile boolean closed = false;
+
+	/**
+	 * Creates a scheduler with the system clock, the {@link #DEFAULT_TICK default
+	 * tick} and the {@link #DEFAULT_SLOTS default number of slots}.
+	 *
+	 * @param scoreboard The scoreboard whose matches to start and finish.
+	 */
+	public MatchScheduler(@NonNull AsyncScoreboard scoreboard) {
+		this(scoreboard, Clock.systemUTC(), DEFAULT_TICK, DEFAULT_SLOTS);
+	}
+
+	/**
+	 * Creates a scheduler.
+	 *
+	 * @param scoreboard The scoreboard whose matches to start and finish.
+	 * @param clock      The clock which measures the ticks.
+	 * @param tick       The length of a tick, which is the precision of the
+	 *                   scheduler.
+	 * @param slots      The number of slots of the wheel. Transitions which are
+	 *                   planned further ahead than a revolution of the wheel are
+	 *                   visited once per revolution until they fire.
+	 * @throws IllegalArgumentException If the tick is shorter than a millisecond.
+	 * @throws IllegalArgumentException If the number of slots is not a positive
+	 *                                  power of two.
+	 */
+	public MatchScheduler(@NonNull AsyncScoreboard scoreboard, @NonNull Clock clock, @NonNull Duration tick,
+			int slots) {
+		if (tick.toMillis() < 1) {
+			throw new IllegalArgumentException("Tick must be at least a millisecond.");
+		}
+
+		if (slots <= 0 || Integer.bitCount(slots) != 1) {
+			throw new IllegalArgumentException("Number of slots must be a positive power of two.");
+		}
+
+		this.scoreboard = scoreboard;
+		this.clock = clock;
+		this.tickMillis = tick.toMillis();
+		this.wheel = new TimingWheel<>(slots, Math.floorDiv(clock.millis(), tickMillis));
+	}
+
+	/**
+	 * Plans the kickoff and the full time of a match, replacing any transitions
+	 * planned for it before. A transition planned for an instant which has
+	 * already passed fires with the next tick.
+	 *
+	 * @param matchId  The ID of the match.
+	 * @param kickoff  The instant to start the match at, or {@code null} to not
+	 *                 start it.
+	 * @param fullTime The instant to finish the match at, or {@code null} to not
+	 *                 finish it.
+	 * @throws IllegalArgumentException If neither instant is given.
+	 * @throws IllegalArgumentException If the full time is before the kickoff.
+	 */
+	public void schedule(int matchId, Instant kickoff, Instant fullTime) {
+		if (kickoff == null && fullTime == null) {
+			throw new IllegalArgumentException("Kickoff or full time must be given.");
+		}
+
+		if (kickoff != null && fullTime != null && fullTime.isBefore(kickoff)) {
+			throw new IllegalArgumentException("Full time cannot be before kickoff.");
+		}
+
+		lock.lock();
+
+		try {
+			cancelTimers(schedules.get(matchId));
+
+			Schedule schedule = new Schedule();
+
+			if (kickoff != null) {
+				schedule.kickoff = wheel.add(new Transition(matchId, true), deadlineTick(kickoff));
+			}
+
+			if (fullTime != null) {
+				schedule.fullTime = wheel.add(new Transition(matchId, false), deadlineTick(fullTime));
+			}
+
+			schedules.put(matchId, schedule);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Cancels the transitions planned for a match which have not fired yet.
+	 *
+	 * @param matchId The ID of the match.
+	 * @return {@code true} if any transitions were cancelled.
+	 */
+	public boolean cancel(int matchId) {
+		lock.lock();
+
+		try {
+			Schedule schedule = schedules.remove(matchId);
+			cancelTimers(schedule);
+
+			return schedule != null;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Checks whether a match has transitions planned which have not fired yet.
+	 *
+	 * @param matchId The ID of the match.
+	 * @return Whether the match has planned transitions.
+	 */
+	public boolean isScheduled(int matchId) {
+		lock.lock();
+
+		try {
+			return schedules.containsKey(matchId);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Fires every transition due by the end of the last tick which has ended
+	 * according to the clock, as a single batch. The ticker thread calls this at
+	 * the end of every tick, and it can be called directly to drive the
+	 * scheduler from outside.
+	 *
+	 * @return A future of the number of transitions which happened, see
+	 *         {@link AsyncScoreboard#applyTransitions(List, List)}.
+	 */
+	public CompletableFuture<Integer> fireDueTransitions() {
+		List<Integer> toStart = new ArrayList<>();
+		List<Integer> toFinish = new ArrayList<>();
+		lock.lock();
+
+		try {
+			wheel.advance(Math.floorDiv(clock.millis(), tickMillis), transition -> {
+				Schedule schedule = schedules.get(transition.matchId);
+
+				if (transition.kickoff) {
+					schedule.kickoff = null;
+					toStart.add(transition.matchId);
+				} else {
+					schedule.fullTime = null;
+					toFinish.add(transition.matchId);
+				}
+
+				if (schedule.kickoff == null && schedule.fullTime == null) {
+					schedules.remove(transition.matchId);
+				}
+			});
+
+			if (toStart.isEmpty() && toFinish.isEmpty()) {
+				return CompletableFuture.completedFuture(0);
+			}
+
+			CompletableFuture<Integer> batch = lastBatch.handle((value, error) -> null)
+					.thenCompose(ignored -> scoreboard.applyTransitions(toStart, toFinish));
+			lastBatch = batch;
+
+			return batch;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Starts the ticker thread, which fires due transitions at the end of every
+	 * tick until the scheduler is closed. The ticker sleeps as measured by the
+	 * system, so it should only be started if the clock follows real time.
+	 *
+	 * @throws IllegalStateException If the ticker was already started, or the
+	 *                               scheduler is closed.
+	 */
+	public void start() {
+		lock.lock();
+
+		try {
+			if (ticker != null || closed) {
+				throw new IllegalStateException("Scheduler was already started or is closed");
+			}
+
+			ticker = Thread.ofPlatform().name("match-scheduler").daemon().start(this::tick);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Stops the ticker thread, if it was started, and waits for it to finish.
+	 * Transitions which have not fired yet do not fire anymore.
+	 */
+	@Override
+	public void close() {
+		Thread thread;
+		lock.lock();
+
+		try {
+			closed = true;
+			thread = ticker;
+		} finally {
+			lock.unlock();
+		}
+
+		if (thread != null) {
+			LockSupport.unpark(thread);
+
+			try {
+				thread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private void tick() {
+		while (!closed) {
+			long nextTickMillis;
+			lock.lock();
+
+			try {
+				nextTickMillis = (wheel.currentTick() + 1) * tickMillis;
+			} finally {
+				lock.unlock();
+			}
+
+			long wait = nextTickMillis - clock.millis();
+
+			if (wait > 0) {
+				LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(wait));
+			} else {
+				fireDueTransitions();
+			}
+		}
+	}
+
+	/**
+	 * Gets the tick with which a transition planned for an instant fires. Tick k
+	 * ends, and its transitions fire, at {@code k * tickMillis}, so this is the
+	 * first tick which ends at or after the instant.
+	 */
+	private long deadlineTick(Instant instant) {
+		return Math.floorDiv(instant.toEpochMilli() + tickMillis - 1, tickMillis);
+	}
+
+	private void cancelTimers(Schedule schedule) {
+		if (schedule == null) {
+			return;
+		}
+
+		if (schedule.kickoff != null) {
+			wheel.cancel(schedule.kickoff);
+		}
+
+		if (schedule.fullTime != null) {
+			wheel.cancel(schedule.fullTime);
+		}
+	}
+}
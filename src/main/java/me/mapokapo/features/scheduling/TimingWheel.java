@@ -0,0 +1,157 @@
+package me.mapokapo.features.scheduling;
+
+import java.util.function.Consumer;
+
+/**
+ * A hashed timing wheel: a circular array of slots, each holding a doubly
+ * linked list of the timers which expire in a tick that maps to it.
+ *
+ * <p>
+ * Time is divided into ticks, and a timer which expires in tick t is kept in
+ * slot {@code t mod slots}. Adding and cancelling a timer link and unlink its
+ * node in O(1) time. Advancing the wheel visits the slot of every elapsed tick
+ * and expires the timers in it whose tick has come; timers which are more than
+ * a revolution away stay in their slot until a later revolution. If more than
+ * a revolution has elapsed since the last advance, every slot is visited once.
+ * </p>
+ *
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @param <T> The type of the payload of the timers.
+ */
+class TimingWheel<T> {
+	/**
+	 * A timer in the wheel.
+	 *
+	 * @param <T> The type of the payload.
+	 */
+	static final class Timer<T> {
+		final T payload;
+		final long tick;
+		Timer<T> previous;
+		Timer<T> next;
+
+		/**
+		 * Whether the timer is in the wheel.
+		 */
+		boolean scheduled;
+
+		Timer(T payload, long tick) {
+			this.payload = payload;
+			this.tick = tick;
+		}
+	}
+
+	private final Timer<T>[] heads;
+	private final int mask;
+
+	/**
+	 * The last tick whose timers have expired.
+	 */
+	private long currentTick;
+
+	/**
+	 * Creates a wheel.
+	 *
+	 * @param slots       The number of slots, which must be a power of two.
+	 * @param currentTick The tick the wheel starts at, whose timers are considered
+	 *                    expired already.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	TimingWheel(int slots, long currentTick) {
+		this.heads = new Timer[slots];
+		this.mask = slots - 1;
+		this.currentTick = currentTick;
+	}
+
+	/**
+	 * Gets the last tick whose timers have expired.
+	 *
+	 * @return The tick.
+	 */
+	long currentTick() {
+		return currentTick;
+	}
+
+	/**
+	 * Adds a timer. A timer for a tick which has already expired expires with the
+	 * next tick.
+	 *
+	 * @param payload The payload of the timer.
+	 * @param tick    The tick in which the timer expires.
+	 * @return The timer, which can be passed to {@link #cancel(Timer)}.
+	 */
+	Timer<T> add(T payload, long tick) {
+		Timer<T> timer = new Timer<>(payload, Math.max(tick, currentTick + 1));
+		int slot = (int) (timer.tick & mask);
+		Timer<T> head = heads[slot];
+
+		timer.next = head;
+
+		if (head != null) {
+			head.previous = timer;
+		}
+
+		heads[slot] = timer;
+		timer.scheduled = true;
+
+		return timer;
+	}
+
+	/**
+	 * Removes a timer which has neither expired nor been cancelled yet.
+	 * Cancelling any other timer has no effect.
+	 *
+	 * @param timer The timer to remove.
+	 */
+	void cancel(Timer<T> timer) {
+		if (!timer.scheduled) {
+			return;
+		}
+
+		if (timer.previous == null) {
+			heads[(int) (timer.tick & mask)] = timer.next;
+		} else {
+			timer.previous.next = timer.next;
+		}
+
+		if (timer.next != null) {
+			timer.next.previous = timer.previous;
+		}
+
+		timer.previous = null;
+		timer.next = null;
+		timer.scheduled = false;
+	}
+
+	/**
+	 * Advances the wheel to a tick, and expires every timer due by then.
+	 *
+	 * @param tick     The tick to advance to. Ticks before the current tick are
+	 *                 ignored.
+	 * @param consumer The consumer of the payloads of the expired timers, in no
+	 *                 particular order.
+	 */
+	void advance(long tick, Consumer<T> consumer) {
+		long elapsed = Math.min(tick - currentTick, heads.length);
+
+		for (long i = 1; i <= elapsed; i++) {
+			Timer<T> timer = heads[(int) (currentTick + i & mask)];
+
+			while (timer != null) {
+				Timer<T> next = timer.next;
+
+				if (timer.tick <= tick) {
+					cancel(timer);
+					consumer.accept(timer.payload);
+				}
+
+				timer = next;
+			}
+		}
+
+		currentTick = Math.max(currentTick, tick);
+	}
+}
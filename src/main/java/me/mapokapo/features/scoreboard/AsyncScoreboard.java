@@ -0,0 +1,479 @@
+package me.mapokapo.features.scoreboard;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import lombok.NonNull;
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.teams.Team;
+
+/**
+ * A non-blocking facade over a {@link Scoreboard}. Every operation is run on
+ * an executor, virtual threads by default, and returns a
+ * {@link CompletableFuture} which completes with its result, or exceptionally
+ * with the exception the scoreboard threw.
+ *
+ * <p>
+ * The scoreboard and its repositories are not thread-safe, so operations hold
+ * a lock while they run. The lock is a {@link ReentrantLock} rather than a
+ * {@code synchronized} block, so a virtual thread waiting for it does not pin
+ * its carrier thread.
+ * </p>
+ *
+ * <p>
+ * Operations on the same match run in the order in which they were submitted,
+ * even when they are submitted faster than they run: each one only starts once
+ * the previous one on that match has completed. Operations on different
+ * matches may run in any order.
+ * </p>
+ *
+ * <p>
+ * Summary and match listeners registered on the underlying scoreboard are
+ * notified on the executor threads, while the lock is held. The matches in a
+ * summary are live objects, so their scores may have changed by the time the
+ * caller reads them.
+ * </p>
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+public class AsyncScoreboard implements AutoCloseable {
+	private final Scoreboard scoreboard;
+	private final Executor executor;
+
+	/**
+	 * The executor created by this facade, which is shut down by
+	 * {@link #close()}, or {@code null} if the executor was passed in.
+	 */
+	private final ExecutorService ownedExecutor;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/**
+	 * Held while an operation on several matches takes its place in their
+	 * chains of operations, so batches sharing matches are ordered the same way
+	 * in every chain and can never wait on each other in a cycle.
+	 */
+	private final ReentrantLock batchLock = new ReentrantLock();
+
+	/**
+	 * The last operation submitted for every match which has operations in
+	 * flight. Entries are removed once the last operation completes.
+	 */
+	private final ConcurrentHashMap<Integer, CompletableFuture<?>> tails = new ConcurrentHashMap<>();
+
+	/**
+	 * The highest sequence number submitted with a score update of every match,
+	 * used to drop stale and duplicate updates before they wait for the lock.
+	 * Entries are only added once an update was applied to the live match, and
+	 * are removed once the match finishes.
+	 */
+	private final ConcurrentHashMap<Integer, AtomicLong> sequences = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a facade which runs every operation on its own virtual thread.
+	 *
+	 * @param scoreboard The scoreboard to run operations on. It must not be used
+	 *                   directly while the facade is in use.
+	 */
+	public AsyncScoreboard(@NonNull Scoreboard scoreboard) {
+		this.scoreboard = scoreboard;
+		this.ownedExecutor = Executors.newVirtualThreadPerTaskExecutor();
+		this.executor = ownedExecutor;
+	}
+
+	/**
+	 * Creates a facade which runs operations on the given executor. The executor
+	 * is not shut down by {@link #close()}.
+	 *
+	 * @param scoreboard The scoreboard to run operations on. It must not be used
+	 *                   directly while the facade is in use.
+	 * @param executor   The executor to run operations on.
+	 */
+	public AsyncScoreboard(@NonNull Scoreboard scoreboard, @NonNull Executor executor) {
+		this.scoreboard = scoreboard;
+		this.ownedExecutor = null;
+		this.executor = executor;
+	}
+
+	/**
+	 * Adds a match to the scoreboard. See {@link Scoreboard#addMatch(Team, Team)}.
+	 *
+	 * @param homeTeam The home team.
+	 * @param awayTeam The away team.
+	 * @return A future of the match object created.
+	 */
+	public CompletableFuture<Match> addMatch(Team homeTeam, Team awayTeam) {
+		return submit(() -> scoreboard.addMatch(homeTeam, awayTeam));
+	}
+
+	/**
+	 * Adds a match which belongs to a competition to the scoreboard. See
+	 * {@link Scoreboard#addMatch(Team, Team, String)}.
+	 *
+	 * @param homeTeam    The home team.
+	 * @param awayTeam    The away team.
+	 * @param competition The competition the match belongs to, or {@code null} if
+	 *                    it does not belong to any.
+	 * @return A future of the match object created.
+	 */
+	public CompletableFuture<Match> addMatch(Team homeTeam, Team awayTeam, String competition) {
+		return submit(() -> scoreboard.addMatch(homeTeam, awayTeam, competition));
+	}
+
+	/**
+	 * Adds a match to the scoreboard, creating its teams. See
+	 * {@link Scoreboard#addMatch(String, String)}.
+	 *
+	 * @param homeTeamName The name of the home team.
+	 * @param awayTeamName The name of the away team.
+	 * @return A future of the match object created.
+	 */
+	public CompletableFuture<Match> addMatch(String homeTeamName, String awayTeamName) {
+		return submit(() -> scoreboard.addMatch(homeTeamName, awayTeamName));
+	}
+
+	/**
+	 * Adds a match which belongs to a competition to the scoreboard, creating its
+	 * teams. See {@link Scoreboard#addMatch(String, String, String)}.
+	 *
+	 * @param homeTeamName The name of the home team.
+	 * @param awayTeamName The name of the away team.
+	 * @param competition  The competition the match belongs to, or {@code null}
+	 *                     if it does not belong to any.
+	 * @return A future of the match object created.
+	 */
+	public CompletableFuture<Match> addMatch(String homeTeamName, String awayTeamName, String competition) {
+		return submit(() -> scoreboard.addMatch(homeTeamName, awayTeamName, competition));
+	}
+
+	/**
+	 * Starts a match by ID. See {@link Scoreboard#startMatch(int)}.
+	 *
+	 * @param matchId The ID of the match to start.
+	 * @return A future which completes once the match has started.
+	 */
+	public CompletableFuture<Void> startMatch(int matchId) {
+		return submit(matchId, () -> {
+			scoreboard.startMatch(matchId);
+			return null;
+		});
+	}
+
+	/**
+	 * Updates the score of a match by ID. See
+	 * {@link Scoreboard#updateScore(int, int, int)}.
+	 *
+	 * @param matchId   The ID of the match to update.
+	 * @param homeScore The new home score.
+	 * @param awayScore The new away score.
+	 * @return A future which completes once the score has been updated.
+	 */
+	public CompletableFuture<Void> updateScore(int matchId, int homeScore, int awayScore) {
+		return submit(matchId, () -> {
+			scoreboard.updateScore(matchId, homeScore, awayScore);
+			return null;
+		});
+	}
+
+	/**
+	 * Updates the score of a match by ID from an update which carries a sequence
+	 * number. See {@link Scoreboard#updateScore(int, int, int, long)}.
+	 *
+	 * <p>
+	 * An update whose sequence number is not greater than that of every update
+	 * submitted before for the match is dropped right away, with a
+	 * compare-and-set rather than the lock, so feeds which redeliver messages can
+	 * be consumed by many threads at once without queueing duplicates. Updates
+	 * which pass this check but are overtaken by a newer one are still rejected
+	 * by the match itself. If an update fails, its sequence number no longer
+	 * counts as submitted, so a redelivery of it is applied again. Sequence
+	 * numbers are only remembered for matches which are live.
+	 * </p>
+	 *
+	 * @param matchId   The ID of the match to update.
+	 * @param homeScore The new home score.
+	 * @param awayScore The new away score.
+	 * @param sequence  The sequence number of the update.
+	 * @return A future of whether the score was updated, which is {@code false}
+	 *         if the update was stale or a duplicate.
+	 */
+	public CompletableFuture<Boolean> updateScore(int matchId, int homeScore, int awayScore, long sequence) {
+		AtomicLong submitted = sequences.get(matchId);
+
+		if (submitted == null) {
+			// Nothing was applied to the match yet, so there is nothing to compare
+			// with. The match itself rejects stale updates, and only remembers the
+			// sequence number if it is live.
+			return submit(matchId, () -> {
+				boolean updated = scoreboard.updateScore(matchId, homeScore, awayScore, sequence);
+				sequences.computeIfAbsent(matchId, id -> new AtomicLong(Match.NO_SEQUENCE))
+						.accumulateAndGet(sequence, Math::max);
+				return updated;
+			});
+		}
+
+		long current;
+
+		do {
+			current = submitted.get();
+
+			if (sequence <= current) {
+				return CompletableFuture.completedFuture(false);
+			}
+		} while (!submitted.compareAndSet(current, sequence));
+
+		long previous = current;
+
+		// An update which failed, for example because the match was finished, must
+		// not keep a redelivery of it from being applied.
+		return submit(matchId, () -> scoreboard.updateScore(matchId, homeScore, awayScore, sequence))
+				.whenComplete((updated, error) -> {
+					if (error != null) {
+						submitted.compareAndSet(sequence, previous);
+					}
+				});
+	}
+
+	/**
+	 * Finishes a match by ID. See {@link Scoreboard#finishMatch(int)}.
+	 *
+	 * @param matchId The ID of the match to finish.
+	 * @return A future which completes once the match has finished.
+	 */
+	public CompletableFuture<Void> finishMatch(int matchId) {
+		return submit(matchId, () -> {
+			scoreboard.finishMatch(matchId);
+			sequences.remove(matchId);
+			return null;
+		});
+	}
+
+	/**
+	 * Starts and finishes several matches at once, holding the lock only once,
+	 * for example every match which kicks off or ends at the same moment. The
+	 * matches are started first, and then finished, each in the given order.
+	 *
+	 * <p>
+	 * A transition which the scoreboard rejects, for example because the match
+	 * was already started by hand or does not exist, is skipped, and the others
+	 * still happen. Like the operations on single matches, the batch only runs
+	 * once every operation submitted earlier on any of its matches has completed,
+	 * and operations submitted later on them wait for the batch.
+	 * </p>
+	 *
+	 * @param toStart  The IDs of the matches to start.
+	 * @param toFinish The IDs of the matches to finish.
+	 * @return A future of the number of transitions which happened.
+	 */
+	public CompletableFuture<Integer> applyTransitions(@NonNull List<Integer> toStart,
+			@NonNull List<Integer> toFinish) {
+		Set<Integer> matchIds = new LinkedHashSet<>(toStart);
+		matchIds.addAll(toFinish);
+
+		return submit(matchIds, () -> {
+			int applied = 0;
+
+			for (int matchId : toStart) {
+				try {
+					scoreboard.startMatch(matchId);
+					applied++;
+				} catch (IllegalArgumentException | IllegalStateException e) {
+					// The match cannot be started, which does not concern the others.
+				}
+			}
+
+			for (int matchId : toFinish) {
+				try {
+					scoreboard.finishMatch(matchId);
+					sequences.remove(matchId);
+					applied++;
+				} catch (IllegalArgumentException | IllegalStateException e) {
+					// The match cannot be finished, which does not concern the others.
+				}
+			}
+
+			return applied;
+		});
+	}
+
+	/**
+	 * Gets a summary of all matches in progress. See
+	 * {@link Scoreboard#getSummary()}.
+	 *
+	 * @return A future of the summary.
+	 */
+	public CompletableFuture<List<Match>> getSummary() {
+		return submit(scoreboard::getSummary);
+	}
+
+	/**
+	 * Gets a summary of the matches in progress which satisfy a query. See
+	 * {@link Scoreboard#getSummary(SummaryQuery)}.
+	 *
+	 * @param query The query.
+	 * @return A future of the summary.
+	 */
+	public CompletableFuture<List<Match>> getSummary(@NonNull SummaryQuery query) {
+		return submit(() -> scoreboard.getSummary(query));
+	}
+
+	/**
+	 * Gets the summary as it was at a past instant. See
+	 * {@link Scoreboard#getSummaryAt(Instant)}.
+	 *
+	 * @param instant The instant.
+	 * @return A future of the summary.
+	 */
+	public CompletableFuture<List<SummaryEntry>> getSummaryAt(@NonNull Instant instant) {
+		return submit(() -> scoreboard.getSummaryAt(instant));
+	}
+
+	/**
+	 * Drops the recorded history of the summary before an instant. See
+	 * {@link Scoreboard#trimSummaryHistory(Instant)}.
+	 *
+	 * @param instant The earliest instant the summary must remain readable at.
+	 * @return A future which completes once the history has been trimmed.
+	 */
+	public CompletableFuture<Void> trimSummaryHistory(@NonNull Instant instant) {
+		return submit(() -> {
+			scoreboard.trimSummaryHistory(instant);
+			return null;
+		});
+	}
+
+	/**
+	 * Gets aggregate statistics of the matches in progress. See
+	 * {@link Scoreboard#getLiveStatistics()}. The statistics are read without
+	 * locking, so unlike the other operations this neither waits for the lock nor
+	 * runs on the executor, and it reflects every operation completed so far.
+	 *
+	 * @return The statistics of the live matches.
+	 */
+	public LiveStatistics getLiveStatistics() {
+		return scoreboard.getLiveStatistics();
+	}
+
+	/**
+	 * Shuts down the executor if it was created by this facade. Operations which
+	 * are already running still complete, but operations still waiting for an
+	 * earlier operation on the same match complete exceptionally with a
+	 * {@link RejectedExecutionException}.
+	 */
+	@Override
+	public void close() {
+		if (ownedExecutor != null) {
+			ownedExecutor.shutdown();
+		}
+	}
+
+	/**
+	 * Runs an operation which does not belong to a single match.
+	 */
+	private <T> CompletableFuture<T> submit(Supplier<T> operation) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		execute(operation, result);
+
+		return result.copy();
+	}
+
+	/**
+	 * Runs an operation on a match once every operation previously submitted for
+	 * that match has completed.
+	 */
+	private <T> CompletableFuture<T> submit(int matchId, Supplier<T> operation) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		CompletableFuture<?> previous = tails.put(matchId, result);
+
+		if (previous == null) {
+			execute(operation, result);
+		} else {
+			previous.whenComplete((value, error) -> execute(operation, result));
+		}
+
+		result.whenComplete((value, error) -> tails.remove(matchId, result));
+
+		// Callers get a copy, so completing or cancelling it cannot break the chain
+		// of operations on the match.
+		return result.copy();
+	}
+
+	/**
+	 * Runs an operation on several matches once every operation previously
+	 * submitted for any of them has completed.
+	 */
+	private <T> CompletableFuture<T> submit(Collection<Integer> matchIds, Supplier<T> operation) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		List<CompletableFuture<?>> previous = new ArrayList<>();
+
+		// Batches take their places in the chains of all of their matches at once,
+		// so a batch waits for an earlier batch sharing one of its matches, but two
+		// batches can never wait for each other and deadlock.
+		batchLock.lock();
+
+		try {
+			for (int matchId : matchIds) {
+				CompletableFuture<?> tail = tails.put(matchId, result);
+
+				if (tail != null) {
+					previous.add(tail);
+				}
+			}
+		} finally {
+			batchLock.unlock();
+		}
+
+		if (previous.isEmpty()) {
+			execute(operation, result);
+		} else {
+			CompletableFuture.allOf(previous.toArray(CompletableFuture[]::new))
+					.whenComplete((value, error) -> execute(operation, result));
+		}
+
+		result.whenComplete((value, error) -> {
+			for (int matchId : matchIds) {
+				tails.remove(matchId, result);
+			}
+		});
+
+		return result.copy();
+	}
+
+	private <T> void execute(Supplier<T> operation, CompletableFuture<T> result) {
+		try {
+			executor.execute(() -> {
+				T value;
+				lock.lock();
+
+				try {
+					value = operation.get();
+				} catch (Throwable e) {
+					lock.unlock();
+					result.completeExceptionally(e);
+					return;
+				}
+
+				// Complete the future only after unlocking, since its dependent
+				// stages run on this thread and must not hold the lock.
+				lock.unlock();
+				result.complete(value);
+			});
+		} catch (RejectedExecutionException e) {
+			result.completeExceptionally(e);
+		}
+	}
+}
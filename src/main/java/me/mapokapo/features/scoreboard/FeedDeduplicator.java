@@ -0,0 +1,119 @@
+package me.mapokapo.features.scoreboard;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import lombok.NonNull;
+
+/**
+ * Recognises messages which an at-least-once feed delivers more than once,
+ * using a bounded window of recent message IDs for every source.
+ *
+ * <p>
+ * Every source numbers its messages with increasing, non-negative IDs, which
+ * may arrive out of order. The window of a source remembers the last
+ * {@code windowSize} IDs below the highest one seen, so a message is accepted
+ * exactly once as long as it arrives before the source has sent
+ * {@code windowSize} newer messages. Older messages cannot be told apart from
+ * duplicates and are rejected, which is safe for score updates since they are
+ * stale by then.
+ * </p>
+ *
+ * <p>
+ * A window takes a fixed amount of memory, {@code 8 * windowSize} bytes, no
+ * matter how many messages pass through it. Checking a message does not take a
+ * lock, so many threads can consume the same or different sources at once.
+ * </p>
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+public class FeedDeduplicator {
+	private final int windowSize;
+	private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a deduplicator.
+	 *
+	 * @param windowSize The number of recent message IDs remembered for every
+	 *                   source.
+	 * @throws IllegalArgumentException If the window size is not positive.
+	 */
+	public FeedDeduplicator(int windowSize) {
+		if (windowSize <= 0) {
+			throw new IllegalArgumentException("Window size must be positive.");
+		}
+
+		this.windowSize = windowSize;
+	}
+
+	/**
+	 * Marks a message as received.
+	 *
+	 * @param source    The source which sent the message.
+	 * @param messageId The ID of the message within its source.
+	 * @return {@code true} if this is the first delivery of the message and it
+	 *         should be processed, {@code false} if it is a duplicate or too old
+	 *         to tell.
+	 * @throws IllegalArgumentException If the message ID is negative.
+	 */
+	public boolean accept(@NonNull String source, long messageId) {
+		if (messageId < 0) {
+			throw new IllegalArgumentException("Message ID cannot be negative.");
+		}
+
+		return windows.computeIfAbsent(source, key -> new Window(windowSize)).accept(messageId);
+	}
+
+	/**
+	 * Forgets every message of a source, for example once it restarts its
+	 * numbering.
+	 *
+	 * @param source The source to forget.
+	 */
+	public void reset(@NonNull String source) {
+		windows.remove(source);
+	}
+
+	/**
+	 * The window of a single source. Every ID has a slot, its remainder modulo
+	 * the window size, which holds the highest ID seen with that remainder. An ID
+	 * was seen before if its slot holds it or a newer ID.
+	 */
+	private static final class Window {
+		private static final long EMPTY = -1;
+
+		private final AtomicLongArray slots;
+		private final AtomicLong highest = new AtomicLong(EMPTY);
+
+		Window(int size) {
+			slots = new AtomicLongArray(size);
+
+			for (int i = 0; i < size; i++) {
+				slots.set(i, EMPTY);
+			}
+		}
+
+		boolean accept(long messageId) {
+			int slot = (int) (messageId % slots.length());
+
+			while (true) {
+				if (messageId <= highest.get() - slots.length()) {
+					return false;
+				}
+
+				long current = slots.get(slot);
+
+				if (current >= messageId) {
+					return false;
+				}
+
+				if (slots.compareAndSet(slot, current, messageId)) {
+					highest.accumulateAndGet(messageId, Math::max);
+					return true;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,161 @@
+package me.mapokapo.features.scoreboard;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+import me.mapokapo.features.matches.Match;
+
+/**
+ * Maintains the {@link LiveStatistics} of the live matches incrementally, and
+ * publishes them to readers on other threads.
+ *
+ * <p>
+ * The statistics are guarded by a sequence lock: every change takes the write
+ * lock of a {@link StampedLock}, which bumps its stamp, and readers copy the
+ * fields under an optimistic read, retrying if the stamp changed meanwhile.
+ * Readers therefore never block the thread which changes the scoreboard, and
+ * a change is published in O(1) time without allocating, except when the
+ * histogram has to grow.
+ * </p>
+ */
+class LiveAggregates {
+	private final StampedLock lock = new StampedLock();
+
+	private long version = 0;
+	private int liveMatches = 0;
+	private long totalGoals = 0;
+	private int highestScoringMatchId = -1;
+
+	/**
+	 * The total number of goals of the highest-scoring match, or -1 if there are
+	 * no live matches.
+	 */
+	private int maxGoals = -1;
+
+	/**
+	 * The number of live matches with every total number of goals. It only grows,
+	 * so it may be longer than the highest total.
+	 */
+	private int[] histogram = new int[16];
+
+	/**
+	 * Publishes a match which entered the summary.
+	 *
+	 * @param goals   The total number of goals of the match.
+	 * @param first   The first match of the summary after the change.
+	 * @param version The version of the summary after the change.
+	 */
+	void matchAdded(int goals, Match first, long version) {
+		long stamp = lock.writeLock();
+
+		try {
+			liveMatches++;
+			totalGoals += goals;
+			bucket(goals);
+			histogram[goals]++;
+			setFirst(first, version);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Publishes a match which left the summary.
+	 *
+	 * @param goals   The total number of goals of the match.
+	 * @param first   The first match of the summary after the change, or
+	 *                {@code null} if it is empty.
+	 * @param version The version of the summary after the change.
+	 */
+	void matchRemoved(int goals, Match first, long version) {
+		long stamp = lock.writeLock();
+
+		try {
+			liveMatches--;
+			totalGoals -= goals;
+			histogram[goals]--;
+			setFirst(first, version);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Publishes a change of the total number of goals of a live match.
+	 *
+	 * @param previousGoals The total number of goals before the change.
+	 * @param goals         The total number of goals after the change.
+	 * @param first         The first match of the summary after the change.
+	 * @param version       The version of the summary after the change.
+	 */
+	void goalsChanged(int previousGoals, int goals, Match first, long version) {
+		long stamp = lock.writeLock();
+
+		try {
+			totalGoals += goals - previousGoals;
+			histogram[previousGoals]--;
+			bucket(goals);
+			histogram[goals]++;
+			setFirst(first, version);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Reads the current statistics without locking. The fields are copied under
+	 * an optimistic read, which is retried until no change was published while
+	 * copying them.
+	 *
+	 * @return The statistics.
+	 */
+	LiveStatistics read() {
+		while (true) {
+			long stamp = lock.tryOptimisticRead();
+
+			if (stamp != 0) {
+				long version = this.version;
+				int liveMatches = this.liveMatches;
+				long totalGoals = this.totalGoals;
+				int highestScoringMatchId = this.highestScoringMatchId;
+				int[] histogram = this.histogram;
+
+				// The fields may be torn until the stamp is validated, so the length
+				// is clamped to keep the copy within bounds.
+				int length = Math.max(0, Math.min(this.maxGoals + 1, histogram.length));
+				int[] goalsHistogram = Arrays.copyOf(histogram, length);
+
+				if (lock.validate(stamp)) {
+					return new LiveStatistics(version, liveMatches, totalGoals, highestScoringMatchId, goalsHistogram);
+				}
+			}
+
+			Thread.onSpinWait();
+		}
+	}
+
+	/**
+	 * Updates the highest-scoring match and the version. This must be called
+	 * while holding the write lock.
+	 */
+	private void setFirst(Match first, long version) {
+		if (first == null) {
+			highestScoringMatchId = -1;
+			maxGoals = -1;
+		} else {
+			highestScoringMatchId = first.getId();
+			maxGoals = first.getHomeScore() + first.getAwayScore();
+		}
+
+		this.version = version;
+	}
+
+	/**
+	 * Grows the histogram so it has a bucket for the given total number of goals.
+	 */
+	private void bucket(int goals) {
+		if (goals >= histogram.length) {
+			histogram = Arrays.copyOf(histogram, Math.max(goals + 1, histogram.length * 2));
+		}
+	}
+}
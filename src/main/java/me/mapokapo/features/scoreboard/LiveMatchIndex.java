@@ -0,0 +1,536 @@
+package me.mapokapo.features.scoreboard;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchListener;
+
+/**
+ * Indexes the live matches of a repository by team name, by competition and by
+ * the total number of goals, so that {@link SummaryQuery queries} only have to
+ * look at the matches which can satisfy them. The live matches are also kept
+ * in a {@link SummaryTree} in summary order, which answers rank and range
+ * queries without sorting.
+ *
+ * <p>
+ * The index listens to the repository and is updated whenever a match is
+ * started, finished, added, removed or its score changes. Matches are kept in
+ * identity-based sets, since the hash code of a {@link Match} changes with its
+ * score.
+ * </p>
+ *
+ * <p>
+ * Additional {@link SummaryOrdering orderings} can be registered, each of
+ * which gets its own {@link SummaryTree} which is updated along with the
+ * others. Unregistered orderings are not updated.
+ * </p>
+ *
+ * <p>
+ * Every change of the members of the summary, or of the total goals of a live
+ * match, increments its version, which is also the version of the
+ * {@link LiveStatistics}. Changes of the order or the members are reported to
+ * {@link SummaryChangeListener}s as a list of {@link RankMove}s. The moves are
+ * only computed if there are listeners.
+ * </p>
+ *
+ * <p>
+ * The index also maintains {@link LiveStatistics} of the live matches along
+ * with the summary tree, which other threads can read without locking, and,
+ * once asked to, a {@link SummaryHistory} of the summary.
+ * </p>
+ */
+class LiveMatchIndex implements MatchListener {
+	/**
+	 * The number of team names or competitions an index holds before the sets of
+	 * those without live matches are removed.
+	 */
+	private static final int MAX_RETAINED_KEYS = 1024;
+
+	private final Set<Match> live = newMatchSet();
+	private final Map<String, Set<Match>> byTeamName = new HashMap<>();
+	private final Map<String, Set<Match>> byCompetition = new HashMap<>();
+
+	/**
+	 * The live matches, bucketed by the total number of goals scored in them.
+	 */
+	private final List<Set<Match>> byGoals = new ArrayList<>();
+
+	/**
+	 * The live matches in summary order, keyed by the total number of goals.
+	 */
+	private final SummaryTree summary = new SummaryTree();
+
+	/**
+	 * The aggregate statistics of the live matches, published to readers on
+	 * other threads.
+	 */
+	private final LiveAggregates aggregates = new LiveAggregates();
+
+	/**
+	 * The history of the summary, or {@code null} if it is not recorded.
+	 */
+	private SummaryHistory history;
+
+	/**
+	 * The registered orderings other than {@link SummaryOrdering#TOTAL_GOALS}, and
+	 * the index of each. These are copy-on-write arrays, so updating the indexes
+	 * does not allocate.
+	 */
+	private SummaryOrdering[] orderings = new SummaryOrdering[0];
+	private SummaryTree[] orderingTrees = new SummaryTree[0];
+
+	/**
+	 * Sorts matches into summary order without allocating.
+	 */
+	private final SummarySorter sorter = new SummarySorter();
+
+	/**
+	 * The listeners which are notified about changes to the summary. This is a
+	 * copy-on-write array, so notifying listeners does not allocate.
+	 */
+	private SummaryChangeListener[] listeners = new SummaryChangeListener[0];
+
+	/**
+	 * The number of changes of the members of the summary, or of the total goals
+	 * of a live match, so far.
+	 */
+	private long version = 0;
+
+	LiveMatchIndex(List<Match> matches) {
+		List<Match> liveMatches = new ArrayList<>();
+
+		for (Match match : matches) {
+			if (isLive(match)) {
+				liveMatches.add(match);
+				addToIndexes(match);
+			}
+		}
+
+		// Building the tree from sorted matches is faster than inserting them one
+		// by one.
+		sorter.sort(liveMatches);
+		summary.build(liveMatches, LiveMatchIndex::totalGoals);
+
+		Match first = summary.first();
+
+		for (Match match : liveMatches) {
+			aggregates.matchAdded(totalGoals(match), first, version);
+		}
+	}
+
+	@Override
+	public void onMatchAdded(Match match) {
+		if (isLive(match)) {
+			add(match);
+		}
+	}
+
+	@Override
+	public void onMatchRemoved(Match match) {
+		if (live.contains(match)) {
+			remove(match, totalGoals(match));
+		}
+	}
+
+	@Override
+	public void onMatchStarted(Match match) {
+		add(match);
+	}
+
+	@Override
+	public void onScoreChanged(Match match, int previousHomeScore, int previousAwayScore) {
+		int previousGoals = previousHomeScore + previousAwayScore;
+		int goals = totalGoals(match);
+
+		if (!live.contains(match)) {
+			return;
+		}
+
+		if (history != null) {
+			history.matchLive(match, live);
+		}
+
+		for (int i = 0; i < orderings.length; i++) {
+			orderingTrees[i].update(match, orderings[i].key(match));
+		}
+
+		if (goals == previousGoals) {
+			return;
+		}
+
+		int oldPosition = summary.rank(match);
+
+		goalsBucket(previousGoals).remove(match);
+		goalsBucket(goals).add(match);
+		summary.update(match, goals);
+		version++;
+		aggregates.goalsChanged(previousGoals, goals, summary.first(), version);
+
+		int newPosition = summary.rank(match);
+
+		if (newPosition == oldPosition || listeners.length == 0) {
+			return;
+		}
+
+		// Every match between the old and the new position moves by one, in the
+		// opposite direction.
+		int from = Math.min(oldPosition, newPosition + 1);
+		int to = Math.max(oldPosition + 1, newPosition);
+		int shift = newPosition < oldPosition ? 1 : -1;
+		List<Match> displaced = new ArrayList<>(to - from);
+		summary.range(from, to, displaced);
+
+		List<RankMove> moves = new ArrayList<>(displaced.size() + 1);
+		moves.add(new RankMove(match.getId(), oldPosition, newPosition));
+
+		for (int i = 0; i < displaced.size(); i++) {
+			moves.add(new RankMove(displaced.get(i).getId(), from + i - shift, from + i));
+		}
+
+		notifyListeners(moves);
+	}
+
+	@Override
+	public void onMatchFinished(Match match) {
+		if (live.contains(match)) {
+			remove(match, totalGoals(match));
+		}
+	}
+
+	/**
+	 * Finds the live matches which satisfy a query, in summary order.
+	 *
+	 * <p>
+	 * Of the indexes relevant to the query, the one with the fewest candidate
+	 * matches is used, and the candidates are then checked against the rest of
+	 * the query. The matching matches are then sorted with a
+	 * {@link SummarySorter}.
+	 * </p>
+	 *
+	 * @param query The query.
+	 * @return A modifiable list of the matching live matches.
+	 */
+	List<Match> find(SummaryQuery query) {
+		Collection<Match> candidates = live;
+
+		if (query.getTeamName() != null) {
+			candidates = smaller(candidates, byTeamName.getOrDefault(query.getTeamName(), Collections.emptySet()));
+		}
+
+		if (query.getCompetition() != null) {
+			candidates = smaller(candidates,
+					byCompetition.getOrDefault(query.getCompetition(), Collections.emptySet()));
+		}
+
+		int minGoals = query.getMinGoals();
+		int maxGoals = (int) Math.min(query.getMaxGoals(), byGoals.size() - 1L);
+		int inGoalRange = 0;
+
+		for (int goals = minGoals; goals <= maxGoals; goals++) {
+			inGoalRange += byGoals.get(goals).size();
+		}
+
+		List<Match> result = new ArrayList<>(Math.min(candidates.size(), inGoalRange));
+
+		if (inGoalRange < candidates.size()) {
+			for (int goals = minGoals; goals <= maxGoals; goals++) {
+				collect(byGoals.get(goals), query, result);
+			}
+		} else {
+			collect(candidates, query, result);
+		}
+
+		sorter.sort(result);
+
+		return result;
+	}
+
+	/**
+	 * Registers a listener which is notified about changes to the summary.
+	 * Registering the same listener more than once has no effect.
+	 *
+	 * @param listener The listener to register.
+	 */
+	void addListener(SummaryChangeListener listener) {
+		for (SummaryChangeListener existing : listeners) {
+			if (existing == listener) {
+				return;
+			}
+		}
+
+		SummaryChangeListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+		updated[listeners.length] = listener;
+		listeners = updated;
+	}
+
+	/**
+	 * Unregisters a listener. Unregistering a listener which is not registered has
+	 * no effect.
+	 *
+	 * @param listener The listener to unregister.
+	 */
+	void removeListener(SummaryChangeListener listener) {
+		for (int i = 0; i < listeners.length; i++) {
+			if (listeners[i] == listener) {
+				SummaryChangeListener[] updated = new SummaryChangeListener[listeners.length - 1];
+				System.arraycopy(listeners, 0, updated, 0, i);
+				System.arraycopy(listeners, i + 1, updated, i, listeners.length - i - 1);
+				listeners = updated;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Gets the version of the summary, which is incremented whenever its members
+	 * or the total goals of a live match change.
+	 *
+	 * @return The version of the summary.
+	 */
+	long version() {
+		return version;
+	}
+
+	/**
+	 * Reads the aggregate statistics of the live matches. This is safe to call
+	 * from any thread, and does not lock.
+	 *
+	 * @return The statistics.
+	 */
+	LiveStatistics statistics() {
+		return aggregates.read();
+	}
+
+	/**
+	 * Starts recording the history of the summary, unless it is already being
+	 * recorded.
+	 *
+	 * @param clock The clock which gives the time of every change.
+	 */
+	void recordHistory(Clock clock) {
+		if (history == null) {
+			history = new SummaryHistory(clock, live);
+		}
+	}
+
+	/**
+	 * Gets the history of the summary.
+	 *
+	 * @return The history, or {@code null} if it is not recorded.
+	 */
+	SummaryHistory history() {
+		return history;
+	}
+
+	/**
+	 * Gets the number of live matches.
+	 *
+	 * @return The number of live matches.
+	 */
+	int size() {
+		return summary.size();
+	}
+
+	/**
+	 * Registers an ordering and builds its index from the current live matches.
+	 * Registering {@link SummaryOrdering#TOTAL_GOALS} or an ordering which is
+	 * already registered has no effect.
+	 *
+	 * @param ordering The ordering to register.
+	 */
+	void registerOrdering(SummaryOrdering ordering) {
+		if (ordering == SummaryOrdering.TOTAL_GOALS || indexOf(ordering) >= 0) {
+			return;
+		}
+
+		SummaryTree tree = new SummaryTree();
+
+		for (Match match : live) {
+			tree.insert(ordering.key(match), match);
+		}
+
+		SummaryOrdering[] updatedOrderings = Arrays.copyOf(orderings, orderings.length + 1);
+		SummaryTree[] updatedTrees = Arrays.copyOf(orderingTrees, orderingTrees.length + 1);
+		updatedOrderings[orderings.length] = ordering;
+		updatedTrees[orderingTrees.length] = tree;
+		orderings = updatedOrderings;
+		orderingTrees = updatedTrees;
+	}
+
+	/**
+	 * Unregisters an ordering and discards its index. Unregistering
+	 * {@link SummaryOrdering#TOTAL_GOALS} or an ordering which is not registered
+	 * has no effect.
+	 *
+	 * @param ordering The ordering to unregister.
+	 */
+	void unregisterOrdering(SummaryOrdering ordering) {
+		int index = indexOf(ordering);
+
+		if (index < 0) {
+			return;
+		}
+
+		SummaryOrdering[] updatedOrderings = new SummaryOrdering[orderings.length - 1];
+		SummaryTree[] updatedTrees = new SummaryTree[orderingTrees.length - 1];
+		System.arraycopy(orderings, 0, updatedOrderings, 0, index);
+		System.arraycopy(orderings, index + 1, updatedOrderings, index, orderings.length - index - 1);
+		System.arraycopy(orderingTrees, 0, updatedTrees, 0, index);
+		System.arraycopy(orderingTrees, index + 1, updatedTrees, index, orderingTrees.length - index - 1);
+		orderings = updatedOrderings;
+		orderingTrees = updatedTrees;
+	}
+
+	/**
+	 * Gets the index of a registered ordering.
+	 *
+	 * @param ordering The ordering.
+	 * @return The index of the ordering, or {@code null} if it is not registered.
+	 */
+	SummaryTree tree(SummaryOrdering ordering) {
+		if (ordering == SummaryOrdering.TOTAL_GOALS) {
+			return summary;
+		}
+
+		int index = indexOf(ordering);
+
+		return index < 0 ? null : orderingTrees[index];
+	}
+
+	private int indexOf(SummaryOrdering ordering) {
+		for (int i = 0; i < orderings.length; i++) {
+			if (orderings[i] == ordering) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	private void add(Match match) {
+		addToIndexes(match);
+		summary.insert(totalGoals(match), match);
+		version++;
+		aggregates.matchAdded(totalGoals(match), summary.first(), version);
+
+		if (history != null) {
+			history.matchLive(match, live);
+		}
+
+		for (int i = 0; i < orderings.length; i++) {
+			orderingTrees[i].insert(orderings[i].key(match), match);
+		}
+
+		if (listeners.length > 0) {
+			notifyListeners(List.of(new RankMove(match.getId(), -1, summary.rank(match))));
+		}
+	}
+
+	/**
+	 * Adds a match to every index except the summary tree.
+	 */
+	private void addToIndexes(Match match) {
+		live.add(match);
+		addTo(byTeamName, match.getHomeTeam().getName(), match);
+		addTo(byTeamName, match.getAwayTeam().getName(), match);
+		match.getCompetition().ifPresent(competition -> addTo(byCompetition, competition, match));
+		goalsBucket(totalGoals(match)).add(match);
+	}
+
+	private void remove(Match match, int goals) {
+		int oldPosition = listeners.length > 0 ? summary.rank(match) : -1;
+
+		live.remove(match);
+		removeFrom(byTeamName, match.getHomeTeam().getName(), match);
+		removeFrom(byTeamName, match.getAwayTeam().getName(), match);
+		match.getCompetition().ifPresent(competition -> removeFrom(byCompetition, competition, match));
+		goalsBucket(goals).remove(match);
+		summary.remove(match);
+		version++;
+		aggregates.matchRemoved(goals, summary.first(), version);
+
+		if (history != null) {
+			history.matchGone(match, live);
+		}
+
+		for (SummaryTree tree : orderingTrees) {
+			tree.remove(match);
+		}
+
+		if (listeners.length > 0) {
+			notifyListeners(List.of(new RankMove(match.getId(), oldPosition, -1)));
+		}
+	}
+
+	private void notifyListeners(List<RankMove> moves) {
+		for (SummaryChangeListener listener : listeners) {
+			listener.onSummaryChanged(version, moves);
+		}
+	}
+
+	private Set<Match> goalsBucket(int goals) {
+		while (byGoals.size() <= goals) {
+			byGoals.add(newMatchSet());
+		}
+
+		return byGoals.get(goals);
+	}
+
+	private static void collect(Collection<Match> candidates, SummaryQuery query, List<Match> result) {
+		for (Match match : candidates) {
+			if (query.matches(match)) {
+				result.add(match);
+			}
+		}
+	}
+
+	private static Collection<Match> smaller(Collection<Match> first, Collection<Match> second) {
+		return second.size() < first.size() ? second : first;
+	}
+
+	private static void addTo(Map<String, Set<Match>> index, String key, Match match) {
+		index.computeIfAbsent(key, ignored -> newMatchSet(2)).add(match);
+	}
+
+	/**
+	 * Removes a match from the set of a team name or a competition. Empty sets
+	 * are kept, since the same teams and competitions come back with their next
+	 * match, and recreating the set on every start and finish would make those
+	 * allocate. Once an index holds more than {@link #MAX_RETAINED_KEYS} sets,
+	 * empty ones are removed, so an index of many teams or competitions which
+	 * never come back does not grow without bound. The sets start small, as a
+	 * team rarely plays more than one live match.
+	 */
+	private static void removeFrom(Map<String, Set<Match>> index, String key, Match match) {
+		Set<Match> matches = index.get(key);
+
+		if (matches != null && matches.remove(match) && matches.isEmpty() && index.size() > MAX_RETAINED_KEYS) {
+			index.remove(key);
+		}
+	}
+
+	private static Set<Match> newMatchSet() {
+		return Collections.newSetFromMap(new IdentityHashMap<>());
+	}
+
+	private static Set<Match> newMatchSet(int expectedSize) {
+		return Collections.newSetFromMap(new IdentityHashMap<>(expectedSize));
+	}
+
+	private static boolean isLive(Match match) {
+		return match.isStarted() && !match.isFinished();
+	}
+
+	private static int totalGoals(Match match) {
+		return match.getHomeScore() + match.getAwayScore();
+	}
+}
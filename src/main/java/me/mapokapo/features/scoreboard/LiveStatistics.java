@@ -0,0 +1,82 @@
+package me.mapokapo.features.scoreboard;
+
+import java.util.OptionalInt;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Value;
+
+/**
+ * Aggregate statistics of the matches in progress, as read with
+ * {@link Scoreboard#getLiveStatistics()}.
+ *
+ * <p>
+ * The statistics are a consistent snapshot: they describe exactly the matches
+ * of the {@link Scoreboard#getSummary() summary} after some change of the
+ * scoreboard, never a mix of two changes.
+ * </p>
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public class LiveStatistics {
+	/**
+	 * The version of the summary the statistics describe, as returned by
+	 * {@link Scoreboard#getSummaryVersion()}.
+	 */
+	long version;
+
+	/**
+	 * The number of matches in progress.
+	 */
+	int liveMatches;
+
+	/**
+	 * The total number of goals scored in the matches in progress.
+	 */
+	long totalGoals;
+
+	@Getter(AccessLevel.NONE)
+	int highestScoringMatchId;
+
+	/**
+	 * The number of live matches with every total number of goals, up to the
+	 * total of the highest-scoring match.
+	 */
+	@Getter(AccessLevel.NONE)
+	int[] goalsHistogram;
+
+	/**
+	 * Gets the ID of the match with the most goals, which is the first match of
+	 * the summary. Among matches with equally many goals, this is the one added
+	 * last.
+	 *
+	 * @return The ID of the match, or an empty {@link OptionalInt} if no match is
+	 *         in progress.
+	 */
+	public OptionalInt getHighestScoringMatchId() {
+		return liveMatches == 0 ? OptionalInt.empty() : OptionalInt.of(highestScoringMatchId);
+	}
+
+	/**
+	 * Gets the highest total number of goals of a live match.
+	 *
+	 * @return The number of goals, or -1 if no match is in progress.
+	 */
+	public int getMaxGoals() {
+		return goalsHistogram.length - 1;
+	}
+
+	/**
+	 * Gets the number of live matches with a total number of goals.
+	 *
+	 * @param goals The total number of goals.
+	 * @return The number of matches.
+	 */
+	public int getMatchesWithGoals(int goals) {
+		return goals < 0 || goals >= goalsHistogram.length ? 0 : goalsHistogram[goals];
+	}
+}
@@ -0,0 +1,55 @@
+package me.mapokapo.features.scoreboard;
+
+import lombok.Value;
+
+/**
+ * A change of the position of a match in the scoreboard summary, reported to
+ * {@link SummaryChangeListener}s.
+ * 
+ * <p>
+ * Positions are zero-based. A match which enters the summary has an old
+ * position of -1, and a match which leaves it has a new position of -1.
+ * </p>
+ * 
+ * @author Leo Petrović
+ * @since 1.1
+ */
+@Value
+public class RankMove {
+	/**
+	 * The ID of the match.
+	 */
+	int matchId;
+
+	/**
+	 * The position of the match before the change, or -1 if it was not in the
+	 * summary.
+	 */
+	int oldPosition;
+
+	/**
+	 * The position of the match after the change, or -1 if it is no longer in the
+	 * summary.
+	 */
+	int newPosition;
+
+	/**
+	 * Checks whether the match entered the summary, because it was started or a
+	 * live match was added.
+	 * 
+	 * @return Whether the match entered the summary.
+	 */
+	public boolean isInsertion() {
+		return oldPosition < 0;
+	}
+
+	/**
+	 * Checks whether the match left the summary, because it was finished or
+	 * removed.
+	 * 
+	 * @return Whether the match left the summary.
+	 */
+	public boolean isRemoval() {
+		return newPosition < 0;
+	}
+}
@@ -1,9 +1,13 @@
 package me.mapokapo.features.scoreboard;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
 
+import lombok.NonNull;
 import me.mapokapo.features.matches.Match;
 import me.mapokapo.features.matches.MatchRepository;
 import me.mapokapo.features.teams.Team;
@@ -24,15 +28,46 @@ import me.mapokapo.features.teams.TeamRepository;
  * <li>Finish a match currently in progress, which hides it from the
  * scoreboard summary</li>
  * <li>Get a summary of all matches in progress in a special order</li>
+ * <li>Get a summary filtered by team, competition or number of goals</li>
+ * <li>Get the position of a match in the summary, or a page of the
+ * summary</li>
+ * <li>Listen to changes of the summary as moves of single matches</li>
+ * <li>Get the summary in other orders, such as by goal difference</li>
+ * <li>Read aggregate statistics of the live matches without locking</li>
+ * <li>Record the history of the summary and read it as it was at any past
+ * instant</li>
  * </ul>
  */
 public class Scoreboard {
 	private final MatchRepository matchRepository;
 	private final TeamRepository teamRepository;
+	private final Clock clock;
+
+	/**
+	 * The live matches of the repository, indexed for summary queries.
+	 */
+	private final LiveMatchIndex liveMatches;
 
 	public Scoreboard(MatchRepository matchRepository, TeamRepository teamRepository) {
+		this(matchRepository, teamRepository, Clock.systemUTC());
+	}
+
+	/**
+	 * Creates a scoreboard whose matches record their start and finish times using
+	 * the given clock.
+	 * 
+	 * @param matchRepository The repository which stores the matches.
+	 * @param teamRepository  The repository which stores the teams.
+	 * @param clock           The clock passed to every match created by this
+	 *                        scoreboard.
+	 */
+	public Scoreboard(MatchRepository matchRepository, TeamRepository teamRepository, Clock clock) {
 		this.matchRepository = matchRepository;
 		this.teamRepository = teamRepository;
+		this.clock = clock;
+		this.liveMatches = new LiveMatchIndex(matchRepository.getAllMatches());
+
+		matchRepository.addListener(liveMatches);
 	}
 
 	/**
@@ -52,7 +87,21 @@ public class Scoreboard {
 	 * @return The match object created.
 	 */
 	public Match addMatch(Team homeTeam, Team awayTeam) {
-		Match match = new Match(matchRepository.getNextIndex(), homeTeam, awayTeam);
+		return addMatch(homeTeam, awayTeam, null);
+	}
+
+	/**
+	 * Adds a match which belongs to a competition to the scoreboard. See
+	 * {@link #addMatch(Team, Team)}.
+	 * 
+	 * @param homeTeam    The home team.
+	 * @param awayTeam    The away team.
+	 * @param competition The competition the match belongs to, or {@code null} if
+	 *                    it does not belong to any.
+	 * @return The match object created.
+	 */
+	public Match addMatch(Team homeTeam, Team awayTeam, String competition) {
+		Match match = new Match(matchRepository.getNextIndex(), homeTeam, awayTeam, competition, clock);
 
 		matchRepository.addMatch(match);
 
@@ -69,13 +118,24 @@ public class Scoreboard {
 	 * @return The match object created.
 	 */
 	public Match addMatch(String homeTeamName, String awayTeamName) {
+		return addMatch(homeTeamName, awayTeamName, null);
+	}
+
+	/**
+	 * A shorthand method for adding a match which belongs to a competition to the
+	 * scoreboard. See {@link #addMatch(String, String)}.
+	 * 
+	 * @param homeTeamName The name of the home team.
+	 * @param awayTeamName The name of the away team.
+	 * @param competition  The competition the match belongs to, or {@code null}
+	 *                     if it does not belong to any.
+	 * @return The match object created.
+	 */
+	public Match addMatch(String homeTeamName, String awayTeamName, String competition) {
 		Team homeTeam = teamRepository.addTeam(new Team(teamRepository.getNextIndex(), homeTeamName));
 		Team awayTeam = teamRepository.addTeam(new Team(teamRepository.getNextIndex(), awayTeamName));
-		Match match = new Match(matchRepository.getNextIndex(), homeTeam, awayTeam);
-
-		matchRepository.addMatch(match);
 
-		return match;
+		return addMatch(homeTeam, awayTeam, competition);
 	}
 
 	/**
@@ -87,14 +147,7 @@ public class Scoreboard {
 	 * @throws IllegalStateException    if the match is already started.
 	 */
 	public void startMatch(int matchId) {
-		Optional<Match> maybeMatch = matchRepository.getMatchById(matchId);
-
-		if (maybeMatch.isEmpty()) {
-			throw new IllegalArgumentException("Match does not exist");
-		}
-
-		Match match = maybeMatch.get();
-		match.start();
+		requireMatch(matchId).start();
 	}
 
 	/**
@@ -107,14 +160,7 @@ public class Scoreboard {
 	 * @throws IllegalStateException    if the match has not been started yet.
 	 */
 	public void finishMatch(int matchId) {
-		Optional<Match> maybeMatch = matchRepository.getMatchById(matchId);
-
-		if (maybeMatch.isEmpty()) {
-			throw new IllegalArgumentException("Match does not exist");
-		}
-
-		var match = maybeMatch.get();
-		match.finish();
+		requireMatch(matchId).finish();
 	}
 
 	/**
@@ -130,14 +176,81 @@ public class Scoreboard {
 	 * @throws IllegalArgumentException If the score is negative.
 	 */
 	public void updateScore(int matchId, int homeScore, int awayScore) {
-		Optional<Match> maybeMatch = matchRepository.getMatchById(matchId);
+		requireMatch(matchId).setScore(homeScore, awayScore);
+	}
 
-		if (maybeMatch.isEmpty()) {
-			throw new IllegalArgumentException("Match does not exist");
-		}
+	/**
+	 * Updates the score of a match by ID from an update which carries a sequence
+	 * number, ignoring it if an update with the same or a greater sequence number
+	 * has already been applied. See {@link Match#setScore(int, int, long)}.
+	 *
+	 * @param matchId   The ID of the match to update.
+	 * @param homeScore The new home score.
+	 * @param awayScore The new away score.
+	 * @param sequence  The sequence number of the update.
+	 * @return {@code true} if the score was updated, {@code false} if the update
+	 *         was stale or a duplicate.
+	 * @throws IllegalArgumentException if the match does not exist.
+	 * @throws IllegalStateException    If the match has not started yet.
+	 * @throws IllegalStateException    If the match has already finished.
+	 * @throws IllegalArgumentException If the score is negative.
+	 */
+	public boolean updateScore(int matchId, int homeScore, int awayScore, long sequence) {
+		return requireMatch(matchId).setScore(homeScore, awayScore, sequence);
+	}
 
-		Match match = maybeMatch.get();
-		match.setScore(homeScore, awayScore);
+	/**
+	 * Registers a listener which is notified whenever the order or the members of
+	 * the {@link #getSummary() summary} change. Registering the same listener
+	 * more than once has no effect.
+	 * 
+	 * @param listener The listener to register.
+	 */
+	public void addSummaryListener(@NonNull SummaryChangeListener listener) {
+		liveMatches.addListener(listener);
+	}
+
+	/**
+	 * Unregisters a listener registered with
+	 * {@link #addSummaryListener(SummaryChangeListener)}. Unregistering a listener
+	 * which is not registered has no effect.
+	 * 
+	 * @param listener The listener to unregister.
+	 */
+	public void removeSummaryListener(SummaryChangeListener listener) {
+		liveMatches.removeListener(listener);
+	}
+
+	/**
+	 * Gets the version of the {@link #getSummary() summary}, which is incremented
+	 * whenever its members or the total goals of a live match change, and is the
+	 * version of the {@link #getLiveStatistics() live statistics}. Score changes
+	 * which keep the total goals of a match do not change the version.
+	 * 
+	 * @return The version of the summary.
+	 */
+	public long getSummaryVersion() {
+		return liveMatches.version();
+	}
+
+	/**
+	 * Gets aggregate statistics of the matches in progress: how many there are,
+	 * how many goals were scored in them, which has the most goals, and how many
+	 * have every total number of goals.
+	 *
+	 * <p>
+	 * The statistics are maintained on every start, finish and score change, so
+	 * reading them takes constant time instead of a walk over all matches. They
+	 * are published with a sequence lock, so this method may be called from any
+	 * thread, even while the scoreboard is being changed, without locking and
+	 * without blocking the change. It always returns the statistics of exactly
+	 * the matches of the {@link #getSummary() summary} after some change.
+	 * </p>
+	 *
+	 * @return The statistics of the live matches.
+	 */
+	public LiveStatistics getLiveStatistics() {
+		return liveMatches.statistics();
 	}
 
 	/**
@@ -154,30 +267,256 @@ public class Scoreboard {
 	 * inserted last is listed first.</li>
 	 * </ul>
 	 * 
-	 * @return A list of matches sorted according to special criteria.
+	 * <p>
+	 * The returned list is unmodifiable and is shared between calls until the
+	 * order or the members of the summary change, so reading an unchanged summary
+	 * does not allocate. The matches in it are live objects.
+	 * </p>
+	 * 
+	 * @return An unmodifiable list of matches sorted according to special
+	 *         criteria.
 	 */
 	public List<Match> getSummary() {
-		// Get all matches which are currently in progress (started but not finished).
-		// The returned list of matches is an unmodifiable view of the original,
-		// so we need to create a clone.
-		List<Match> matches = new ArrayList<>(matchRepository.getAllMatches().stream()
-				.filter(match -> match.isStarted() && !match.isFinished()).toList());
-
-		// This method sorts in-place (does not create a new list), so the `matches`
-		// list needs to be modifiable, which is why we cloned it above.
-		matches.sort((match1, match2) -> {
-			int totalGoals1 = match1.getHomeScore() + match1.getAwayScore();
-			int totalGoals2 = match2.getHomeScore() + match2.getAwayScore();
-
-			if (totalGoals1 != totalGoals2) {
-				return Integer.compare(totalGoals2, totalGoals1);
-			}
-
-			// A simple way to sort by insertion order is to use the match ID, which
-			// increments with each new match.
-			return Integer.compare(match2.getId(), match1.getId());
-		});
+		return getSummary(SummaryOrdering.TOTAL_GOALS);
+	}
+
+	/**
+	 * Returns the currently-running matches in the order of a registered
+	 * ordering, without sorting them. Like {@link #getSummary()}, the returned
+	 * list is unmodifiable and shared between calls until the order changes.
+	 * 
+	 * @param ordering The ordering.
+	 * @return An unmodifiable list of matches sorted according to the ordering.
+	 * @throws IllegalArgumentException If the ordering is not registered.
+	 */
+	public List<Match> getSummary(@NonNull SummaryOrdering ordering) {
+		return getTree(ordering).snapshot();
+	}
+
+	/**
+	 * Starts recording the history of the {@link #getSummary() summary}, so it
+	 * can later be read as it was at any instant with {@link #getSummaryAt}.
+	 * Calling this method again has no effect.
+	 *
+	 * <p>
+	 * Recording the history logs every start, finish and score change of a live
+	 * match, at 16 bytes per change, and saves the live matches every so often,
+	 * which together takes at most twice as much memory as the log. Since the log
+	 * grows, changes of the scoreboard allocate once the history is recorded, and
+	 * old history should be dropped with {@link #trimSummaryHistory}.
+	 * </p>
+	 */
+	public void recordHistory() {
+		liveMatches.recordHistory(clock);
+	}
+
+	/**
+	 * Returns the summary as it was at a past instant, with the scores the matches
+	 * had then, after every change made at or before that instant. Changes are
+	 * timed with the clock of the scoreboard.
+	 *
+	 * <p>
+	 * The summary is reconstructed from the last saved state of the live matches
+	 * before the instant and the changes made between them, so this takes
+	 * O(m log m) time, where m is the number of live matches, no matter how long
+	 * the history is.
+	 * </p>
+	 *
+	 * @param instant The instant.
+	 * @return An unmodifiable list of the matches which were in progress at that
+	 *         instant, in summary order.
+	 * @throws IllegalStateException    If the history is not recorded, see
+	 *                                  {@link #recordHistory()}.
+	 * @throws IllegalArgumentException If the instant is before the history was
+	 *                                  started.
+	 */
+	public List<SummaryEntry> getSummaryAt(@NonNull Instant instant) {
+		SummaryHistory history = liveMatches.history();
+
+		if (history == null) {
+			throw new IllegalStateException("History is not being recorded");
+		}
+
+		long millis = instant.toEpochMilli();
+
+		if (millis < history.startMillis()) {
+			throw new IllegalArgumentException("History starts at " + Instant.ofEpochMilli(history.startMillis()));
+		}
+
+		return history.summaryAt(millis);
+	}
+
+	/**
+	 * Drops the recorded history of the {@link #getSummary() summary} which is
+	 * not needed to read it at or after an instant, so a history recorded for a
+	 * long time does not keep growing, or keep finished matches reachable.
+	 *
+	 * <p>
+	 * The history is only cut where the live matches were saved, so the summary
+	 * may still be readable somewhat before the instant. Reading it before the
+	 * new start of the history with {@link #getSummaryAt} throws.
+	 * </p>
+	 *
+	 * @param instant The earliest instant the summary must remain readable at.
+	 * @throws IllegalStateException If the history is not recorded, see
+	 *                               {@link #recordHistory()}.
+	 */
+	public void trimSummaryHistory(@NonNull Instant instant) {
+		SummaryHistory history = liveMatches.history();
+
+		if (history == null) {
+			throw new IllegalStateException("History is not being recorded");
+		}
+
+		history.trim(instant.toEpochMilli());
+	}
+
+	/**
+	 * Gets the position of a match in the {@link #getSummary() summary}, in
+	 * O(log n) time, where n is the number of matches in progress.
+	 * 
+	 * @param matchId The ID of the match.
+	 * @return The zero-based position of the match, or an empty
+	 *         {@link OptionalInt} if the match is not in progress.
+	 * @throws IllegalArgumentException if the match does not exist.
+	 */
+	public OptionalInt getRank(int matchId) {
+		return getRank(SummaryOrdering.TOTAL_GOALS, matchId);
+	}
+
+	/**
+	 * Gets the position of a match in the summary in the order of a registered
+	 * ordering, in O(log n) time, where n is the number of matches in progress.
+	 * 
+	 * @param ordering The ordering.
+	 * @param matchId  The ID of the match.
+	 * @return The zero-based position of the match, or an empty
+	 *         {@link OptionalInt} if the match is not in progress.
+	 * @throws IllegalArgumentException if the match does not exist.
+	 * @throws IllegalArgumentException If the ordering is not registered.
+	 */
+	public OptionalInt getRank(@NonNull SummaryOrdering ordering, int matchId) {
+		SummaryTree tree = getTree(ordering);
+		int rank = tree.rank(requireMatch(matchId));
+
+		return rank < 0 ? OptionalInt.empty() : OptionalInt.of(rank);
+	}
+
+	/**
+	 * Returns the matches at the positions {@code [from, to)} of the
+	 * {@link #getSummary() summary}, in O(log n + k) time, where n is the number
+	 * of matches in progress and k is the number of returned matches. This is
+	 * meant for paging through the summary without building all of it.
+	 * 
+	 * <p>
+	 * The range is clamped to the size of the summary, so asking for a page past
+	 * its end returns fewer matches, or none.
+	 * </p>
+	 * 
+	 * @param from The first position (inclusive).
+	 * @param to   The last position (exclusive).
+	 * @return A list of matches sorted according to special criteria.
+	 * @throws IllegalArgumentException If {@code from} is negative or greater than
+	 *                                  {@code to}.
+	 */
+	public List<Match> getSummaryRange(int from, int to) {
+		return getSummaryRange(SummaryOrdering.TOTAL_GOALS, from, to);
+	}
+
+	/**
+	 * Returns the matches at the positions {@code [from, to)} of the summary in
+	 * the order of a registered ordering. See {@link #getSummaryRange(int, int)}.
+	 * 
+	 * @param ordering The ordering.
+	 * @param from     The first position (inclusive).
+	 * @param to       The last position (exclusive).
+	 * @return A list of matches sorted according to the ordering.
+	 * @throws IllegalArgumentException If {@code from} is negative or greater than
+	 *                                  {@code to}.
+	 * @throws IllegalArgumentException If the ordering is not registered.
+	 */
+	public List<Match> getSummaryRange(@NonNull SummaryOrdering ordering, int from, int to) {
+		if (from < 0 || from > to) {
+			throw new IllegalArgumentException("Invalid summary range [" + from + ", " + to + ").");
+		}
+
+		SummaryTree tree = getTree(ordering);
+		int size = tree.size();
+		List<Match> matches = new ArrayList<>(Math.min(to, size) - Math.min(from, size));
+		tree.range(Math.min(from, size), Math.min(to, size), matches);
 
 		return matches;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Registers an ordering, so the summary can be read in that order. The
+	 * ordering gets its own index, built from the matches in progress and
+	 * updated whenever they change, so registered orderings cost some time on
+	 * every change. {@link SummaryOrdering#TOTAL_GOALS} is always registered.
+	 * Registering an ordering more than once has no effect.
+	 * 
+	 * @param ordering The ordering to register.
+	 */
+	public void registerOrdering(@NonNull SummaryOrdering ordering) {
+		liveMatches.registerOrdering(ordering);
+	}
+
+	/**
+	 * Unregisters an ordering registered with
+	 * {@link #registerOrdering(SummaryOrdering)} and discards its index.
+	 * {@link SummaryOrdering#TOTAL_GOALS} cannot be unregistered. Unregistering
+	 * an ordering which is not registered has no effect.
+	 * 
+	 * @param ordering The ordering to unregister.
+	 */
+	public void unregisterOrdering(SummaryOrdering ordering) {
+		liveMatches.unregisterOrdering(ordering);
+	}
+
+	/**
+	 * Returns the currently-running matches which satisfy a query, in the same
+	 * order as {@link #getSummary()}.
+	 * 
+	 * <p>
+	 * Live matches are indexed by team name, competition and total goals, so a
+	 * narrow query only looks at the matches which can satisfy it instead of
+	 * every match on the scoreboard.
+	 * </p>
+	 * 
+	 * @param query The criteria the matches have to satisfy.
+	 * @return A list of matching matches sorted according to special criteria.
+	 * @throws IllegalArgumentException If the minimum number of goals in the query
+	 *                                  is negative.
+	 */
+	public List<Match> getSummary(@NonNull SummaryQuery query) {
+		if (query.getMinGoals() < 0) {
+			throw new IllegalArgumentException("Minimum number of goals cannot be negative.");
+		}
+
+		return liveMatches.find(query);
+	}
+
+	/**
+	 * Looks up a match without allocating an {@link Optional}, since this runs on
+	 * every update.
+	 */
+	private Match requireMatch(int matchId) {
+		Match match = matchRepository.getMatchByIdOrNull(matchId);
+
+		if (match == null) {
+			throw new IllegalArgumentException("Match does not exist");
+		}
+
+		return match;
+	}
+
+	private SummaryTree getTree(SummaryOrdering ordering) {
+		SummaryTree tree = liveMatches.tree(ordering);
+
+		if (tree == null) {
+			throw new IllegalArgumentException("Ordering is not registered");
+		}
+
+		return tree;
+	}
+}
@@ -0,0 +1,52 @@
+package me.mapokapo.features.scoreboard;
+
+import java.util.List;
+
+/**
+ * Receives the changes of the scoreboard summary as lists of {@link RankMove}s,
+ * which is enough to update a copy of the summary, or animate it, without
+ * fetching and comparing whole summaries.
+ * 
+ * <p>
+ * Every change of the summary is caused by a single match, and is reported as
+ * follows:
+ * </p>
+ * <ul>
+ * <li>When a match enters the summary, a single insertion is reported. Every
+ * match at or after its new position moves down by one.</li>
+ * <li>When a match leaves the summary, a single removal is reported. Every
+ * match after its old position moves up by one.</li>
+ * <li>When the total goals of a match change, its move is reported first,
+ * followed by a move by one position for every match between its old and new
+ * positions, in summary order. Nothing is reported if the position of the
+ * match does not change.</li>
+ * </ul>
+ * 
+ * <p>
+ * The shifts caused by insertions and removals are not listed, since they
+ * follow from the position of the inserted or removed match and listing them
+ * would make every change as large as the summary. The cost of computing a
+ * change is therefore O(log n + k), where n is the number of matches in the
+ * summary and k is the number of reported moves.
+ * </p>
+ * 
+ * <p>
+ * Notifications are delivered synchronously on the thread which caused the
+ * change, after the change has been applied.
+ * </p>
+ * 
+ * @author Leo Petrović
+ * @since 1.1
+ */
+@FunctionalInterface
+public interface SummaryChangeListener {
+	/**
+	 * Called after the summary has changed.
+	 * 
+	 * @param version The version of the summary after the change, as returned by
+	 *                {@link Scoreboard#getSummaryVersion()}.
+	 * @param moves   The moves which make up the change. The list must not be
+	 *                modified.
+	 */
+	void onSummaryChanged(long version, List<RankMove> moves);
+}
@@ -0,0 +1,66 @@
+package me.mapokapo.features.scoreboard;
+
+import java.util.Optional;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Value;
+import me.mapokapo.features.teams.Team;
+
+/**
+ * A match as it was shown in the scoreboard summary at some instant, as
+ * returned by {@link Scoreboard#getSummaryAt(java.time.Instant)}. Unlike a
+ * {@link me.mapokapo.features.matches.Match}, it does not change afterwards.
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+@Value
+public class SummaryEntry {
+	/**
+	 * The ID of the match.
+	 */
+	int matchId;
+
+	/**
+	 * The home team.
+	 */
+	Team homeTeam;
+
+	/**
+	 * The away team.
+	 */
+	Team awayTeam;
+
+	@Getter(AccessLevel.NONE)
+	String competition;
+
+	/**
+	 * The score of the home team at that instant.
+	 */
+	int homeScore;
+
+	/**
+	 * The score of the away team at that instant.
+	 */
+	int awayScore;
+
+	/**
+	 * Gets the competition the match belongs to.
+	 *
+	 * @return The competition, or an empty {@link Optional} if the match does not
+	 *         belong to any.
+	 */
+	public Optional<String> getCompetition() {
+		return Optional.ofNullable(competition);
+	}
+
+	/**
+	 * Gets the total number of goals scored at that instant.
+	 *
+	 * @return The sum of both scores.
+	 */
+	public int getTotalGoals() {
+		return homeScore + awayScore;
+	}
+}
@@ -0,0 +1,292 @@
+package me.mapokapo.features.scoreboard;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import me.mapokapo.features.matches.Match;
+
+/**
+ * A history of the live matches and their scores, which reconstructs the
+ * summary as it was at any instant since the history was started.
+ *
+ * <p>
+ * Every change of the summary is appended to an event log: a match became live
+ * or its score changed, with its score afterwards, or it stopped being live.
+ * Events are stored in primitive arrays which double in size when full, 16
+ * bytes per event. Every now and then, the live matches and their scores are
+ * saved in a checkpoint, so a past summary is reconstructed by finding the last
+ * checkpoint before the instant with a binary search and replaying only the
+ * events between them.
+ * </p>
+ *
+ * <p>
+ * A checkpoint is taken once at least as many events as there are live
+ * matches, and at least {@link #MIN_CHECKPOINT_INTERVAL}, have been logged
+ * since the last one. Checkpoints therefore never take more memory than the
+ * events they follow, and reconstructing a summary replays at most that many
+ * events on top of a checkpoint of the same size.
+ * </p>
+ *
+ * <p>
+ * The log only grows while it is recorded, so old events can be dropped with
+ * {@link #trim(long)}, which cuts the log at a checkpoint.
+ * </p>
+ */
+class SummaryHistory {
+	/**
+	 * The minimum number of events between two checkpoints.
+	 */
+	static final int MIN_CHECKPOINT_INTERVAL = 256;
+
+	private static final int INITIAL_CAPACITY = 1_024;
+
+	/**
+	 * The score of an event after which the match is no longer live.
+	 */
+	private static final int GONE = -1;
+
+	/**
+	 * Orders entries like the summary: by total goals, then by match ID, both in
+	 * descending order.
+	 */
+	private static final Comparator<SummaryEntry> SUMMARY_ORDER = Comparator
+			.comparingInt(SummaryEntry::getTotalGoals).thenComparingInt(SummaryEntry::getMatchId).reversed();
+
+	/**
+	 * The live matches at some point of the log, and their packed scores.
+	 */
+	private static final class Checkpoint {
+		final int eventIndex;
+		final Match[] matches;
+		final int[] scores;
+
+		Checkpoint(int eventIndex, Match[] matches, int[] scores) {
+			this.eventIndex = eventIndex;
+			this.matches = matches;
+			this.scores = scores;
+		}
+	}
+
+	private final Clock clock;
+
+	/**
+	 * The time the history was started, or the earliest time it still covers
+	 * after it was trimmed, in milliseconds since the epoch.
+	 */
+	private long startMillis;
+
+	private long[] times = new long[INITIAL_CAPACITY];
+	private Match[] matches = new Match[INITIAL_CAPACITY];
+	private int[] scores = new int[INITIAL_CAPACITY];
+	private int size = 0;
+
+	private final List<Checkpoint> checkpoints = new ArrayList<>();
+
+	/**
+	 * Starts a history.
+	 *
+	 * @param clock The clock which gives the time of every event.
+	 * @param live  The matches which are live when the history starts.
+	 */
+	SummaryHistory(Clock clock, Collection<Match> live) {
+		this.clock = clock;
+		this.startMillis = clock.millis();
+		checkpoint(live);
+	}
+
+	/**
+	 * Gets the earliest time the history covers, which is the time it was
+	 * started, unless it was trimmed since.
+	 *
+	 * @return The time, in milliseconds since the epoch.
+	 */
+	long startMillis() {
+		return startMillis;
+	}
+
+	/**
+	 * Logs that a match became live, or that the score of a live match changed.
+	 *
+	 * @param match The match.
+	 * @param live  The matches which are live after the change.
+	 */
+	void matchLive(Match match, Collection<Match> live) {
+		append(match, pack(match.getHomeScore(), match.getAwayScore()), live);
+	}
+
+	/**
+	 * Logs that a match stopped being live.
+	 *
+	 * @param match The match.
+	 * @param live  The matches which are live after the change.
+	 */
+	void matchGone(Match match, Collection<Match> live) {
+		append(match, GONE, live);
+	}
+
+	/**
+	 * Reconstructs the summary as it was at an instant, after every change made at
+	 * or before it.
+	 *
+	 * @param millis The instant, in milliseconds since the epoch. It must not be
+	 *               before the history was started.
+	 * @return An unmodifiable list of the matches which were live, with their
+	 *         scores at that instant, in summary order.
+	 */
+	List<SummaryEntry> summaryAt(long millis) {
+		int end = eventsUntil(millis);
+		Checkpoint checkpoint = checkpointBefore(end);
+		Map<Match, Integer> state = new IdentityHashMap<>(2 * checkpoint.matches.length);
+
+		for (int i = 0; i < checkpoint.matches.length; i++) {
+			state.put(checkpoint.matches[i], checkpoint.scores[i]);
+		}
+
+		for (int i = checkpoint.eventIndex; i < end; i++) {
+			if (scores[i] == GONE) {
+				state.remove(matches[i]);
+			} else {
+				state.put(matches[i], scores[i]);
+			}
+		}
+
+		List<SummaryEntry> summary = new ArrayList<>(state.size());
+
+		for (Map.Entry<Match, Integer> entry : state.entrySet()) {
+			Match match = entry.getKey();
+			int score = entry.getValue();
+			summary.add(new SummaryEntry(match.getId(), match.getHomeTeam(), match.getAwayTeam(),
+					match.getCompetition().orElse(null), score >>> 16, score & 0xFFFF));
+		}
+
+		summary.sort(SUMMARY_ORDER);
+
+		return Collections.unmodifiableList(summary);
+	}
+
+	/**
+	 * Drops the events and checkpoints which are not needed to reconstruct the
+	 * summary at or after an instant. The log is cut at the last checkpoint whose
+	 * events all happened at or before the instant, and the history then starts
+	 * at the last event before that checkpoint, so it may still cover some time
+	 * before the instant.
+	 *
+	 * @param millis The instant, in milliseconds since the epoch.
+	 */
+	void trim(long millis) {
+		int checkpointIndex = checkpointIndexBefore(eventsUntil(millis));
+		int first = checkpoints.get(checkpointIndex).eventIndex;
+
+		if (first == 0) {
+			return;
+		}
+
+		startMillis = times[first - 1];
+		int remaining = size - first;
+		int capacity = Math.max(INITIAL_CAPACITY, remaining);
+
+		// The arrays are copied rather than shifted, so they shrink again and the
+		// dropped matches can be garbage collected.
+		times = Arrays.copyOfRange(times, first, first + capacity);
+		matches = Arrays.copyOfRange(matches, first, first + capacity);
+		scores = Arrays.copyOfRange(scores, first, first + capacity);
+		size = remaining;
+
+		List<Checkpoint> kept = new ArrayList<>(checkpoints.subList(checkpointIndex, checkpoints.size()));
+		checkpoints.clear();
+
+		for (Checkpoint checkpoint : kept) {
+			checkpoints.add(new Checkpoint(checkpoint.eventIndex - first, checkpoint.matches, checkpoint.scores));
+		}
+	}
+
+	private void append(Match match, int score, Collection<Match> live) {
+		if (size == times.length) {
+			times = Arrays.copyOf(times, size * 2);
+			matches = Arrays.copyOf(matches, size * 2);
+			scores = Arrays.copyOf(scores, size * 2);
+		}
+
+		// The log is searched by time, so a clock which goes back is not allowed
+		// to make it unordered.
+		long now = clock.millis();
+		times[size] = size == 0 ? Math.max(now, startMillis) : Math.max(now, times[size - 1]);
+		matches[size] = match;
+		scores[size] = score;
+		size++;
+
+		int sinceCheckpoint = size - checkpoints.get(checkpoints.size() - 1).eventIndex;
+
+		if (sinceCheckpoint >= Math.max(MIN_CHECKPOINT_INTERVAL, live.size())) {
+			checkpoint(live);
+		}
+	}
+
+	private void checkpoint(Collection<Match> live) {
+		Match[] liveMatches = new Match[live.size()];
+		int[] liveScores = new int[live.size()];
+		int i = 0;
+
+		for (Match match : live) {
+			liveMatches[i] = match;
+			liveScores[i++] = pack(match.getHomeScore(), match.getAwayScore());
+		}
+
+		checkpoints.add(new Checkpoint(size, liveMatches, liveScores));
+	}
+
+	/**
+	 * Counts the events which happened at or before an instant.
+	 */
+	private int eventsUntil(long millis) {
+		int low = 0;
+		int high = size;
+
+		while (low < high) {
+			int middle = low + high >>> 1;
+
+			if (times[middle] <= millis) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+
+		return low;
+	}
+
+	/**
+	 * Finds the last checkpoint taken after at most the given number of events.
+	 */
+	private Checkpoint checkpointBefore(int eventIndex) {
+		return checkpoints.get(checkpointIndexBefore(eventIndex));
+	}
+
+	private int checkpointIndexBefore(int eventIndex) {
+		int low = 0;
+		int high = checkpoints.size();
+
+		while (low < high) {
+			int middle = low + high >>> 1;
+
+			if (checkpoints.get(middle).eventIndex <= eventIndex) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+
+		return low - 1;
+	}
+
+	private static int pack(int homeScore, int awayScore) {
+		return homeScore << 16 | awayScore;
+	}
+}
@@ -0,0 +1,64 @@
+package me.mapokapo.features.scoreboard;
+
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchTimeline;
+
+/**
+ * A strategy which orders the live matches of a scoreboard summary.
+ *
+ * <p>
+ * An ordering reduces every match to a {@code long} key. Matches with a higher
+ * key come first, and matches with equal keys are ordered by ID in descending
+ * order, so the match which was inserted last comes first. The key may only
+ * depend on the state of the match, and is recomputed whenever the match is
+ * started or its score changes.
+ * </p>
+ *
+ * <p>
+ * Every ordering registered with
+ * {@link Scoreboard#registerOrdering(SummaryOrdering)} is served from its own
+ * index, which is updated incrementally, so reading the summary in that order
+ * never requires sorting. Orderings which are not registered cost nothing.
+ * {@link #TOTAL_GOALS} is always registered.
+ * </p>
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+@FunctionalInterface
+public interface SummaryOrdering {
+	/**
+	 * Orders matches by the total number of goals, which is the order of
+	 * {@link Scoreboard#getSummary()}.
+	 */
+	SummaryOrdering TOTAL_GOALS = match -> match.getHomeScore() + match.getAwayScore();
+
+	/**
+	 * Orders matches by the difference between the scores of the two teams, most
+	 * one-sided matches first.
+	 */
+	SummaryOrdering GOAL_DIFFERENCE = match -> Math.abs(match.getHomeScore() - match.getAwayScore());
+
+	/**
+	 * Orders matches by the time of their last score change, or their start time
+	 * if their score has not changed, most recently updated matches first.
+	 */
+	SummaryOrdering MOST_RECENTLY_UPDATED = match -> {
+		MatchTimeline timeline = match.getTimeline();
+
+		return timeline.size() > 0 ? timeline.getTimestampMillis(timeline.size() - 1) : match.getStartTimeMillis();
+	};
+
+	/**
+	 * Orders matches by their start time, earliest kickoffs first.
+	 */
+	SummaryOrdering KICKOFF = match -> -match.getStartTimeMillis();
+
+	/**
+	 * Computes the key of a live match.
+	 *
+	 * @param match The match.
+	 * @return The key of the match. Matches with a higher key come first.
+	 */
+	long key(Match match);
+}
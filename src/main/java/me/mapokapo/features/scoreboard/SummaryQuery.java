@@ -0,0 +1,73 @@
+package me.mapokapo.features.scoreboard;
+
+import lombok.Builder;
+import lombok.Value;
+import me.mapokapo.features.matches.Match;
+
+/**
+ * A filter for the scoreboard summary, used with
+ * {@link Scoreboard#getSummary(SummaryQuery)}.
+ *
+ * <p>
+ * Every criterion is optional, and a match has to satisfy all given criteria
+ * to be included. For example, the following query selects the live matches of
+ * Spain in the World Cup with at least three goals:
+ * </p>
+ *
+ * <pre>
+ * SummaryQuery.builder().teamName("Spain").competition("World Cup").minGoals(3).build()
+ * </pre>
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+@Value
+@Builder
+public class SummaryQuery {
+	/**
+	 * A query which matches every live match.
+	 */
+	public static final SummaryQuery ALL = SummaryQuery.builder().build();
+
+	/**
+	 * The name of a team which has to play in the match, either at home or away,
+	 * or {@code null} to match any team.
+	 */
+	String teamName;
+
+	/**
+	 * The competition the match has to belong to, or {@code null} to match any
+	 * competition, including none.
+	 */
+	String competition;
+
+	/**
+	 * The minimum number of goals scored in the match by both teams together
+	 * (inclusive).
+	 */
+	@Builder.Default
+	int minGoals = 0;
+
+	/**
+	 * The maximum number of goals scored in the match by both teams together
+	 * (inclusive).
+	 */
+	@Builder.Default
+	int maxGoals = Integer.MAX_VALUE;
+
+	/**
+	 * Checks whether a match satisfies all criteria of this query. The state of
+	 * the match is not checked.
+	 *
+	 * @param match The match to check.
+	 * @return Whether the match satisfies the query.
+	 */
+	boolean matches(Match match) {
+		int goals = match.getHomeScore() + match.getAwayScore();
+
+		return goals >= minGoals && goals <= maxGoals
+				&& (teamName == null || teamName.equals(match.getHomeTeam().getName())
+						|| teamName.equals(match.getAwayTeam().getName()))
+				&& (competition == null || competition.equals(match.getCompetition().orElse(null)));
+	}
+}
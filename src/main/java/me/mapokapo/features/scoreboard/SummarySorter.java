@@ -0,0 +1,208 @@
+package me.mapokapo.features.scoreboard;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import lombok.NonNull;
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchTimeline;
+
+/**
+ * Sorts matches into the order of the scoreboard summary: by total goals in
+ * descending order, then by match ID in descending order.
+ *
+ * <p>
+ * Instead of comparing {@link Match} objects, every match is packed into a
+ * single {@code long} key which sorts in ascending order, and the keys are
+ * sorted as primitives. Lists of up to {@link #PARALLEL_THRESHOLD} matches are
+ * sorted with a least-significant-digit radix sort which moves the matches
+ * along with their keys. Larger lists are sorted with
+ * {@link Arrays#parallelSort(long[], int, int)}, after which the matches are
+ * placed in parallel by a binary search for their keys, unless the common fork/join pool has
+ * a single thread, in which case the radix sort is faster.
+ * </p>
+ *
+ * <p>
+ * All buffers are kept between calls and only grow, so once a sorter has seen
+ * a list of a given size, sorting lists of up to that size below the parallel
+ * threshold does not allocate. {@link Arrays#sort(long[])} is not used for
+ * that, since it allocates merge buffers for partially sorted input, which is
+ * what summaries usually are.
+ * </p>
+ *
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+public class SummarySorter {
+	/**
+	 * The number of matches from which sorting is done in parallel.
+	 */
+	public static final int PARALLEL_THRESHOLD = 1 << 17;
+
+	/**
+	 * The number of matches below which an insertion sort is used.
+	 */
+	private static final int INSERTION_SORT_THRESHOLD = 32;
+
+	/**
+	 * The number of bytes of a key which can differ: two for the total goals and
+	 * four for the ID.
+	 */
+	private static final int KEY_BYTES = 6;
+
+	private static final int MAX_GOALS = 2 * MatchTimeline.MAX_SCORE;
+
+	private long[] keys = new long[0];
+	private long[] keyBuffer = new long[0];
+	private Match[] matches = new Match[0];
+	private Match[] matchBuffer = new Match[0];
+	private final int[] counts = new int[KEY_BYTES << 8];
+
+	/**
+	 * Sorts a list of matches in place into summary order.
+	 *
+	 * @param list The list to sort. It must support {@link List#set(int, Object)},
+	 *             and no two matches in it may have the same ID.
+	 */
+	public void sort(@NonNull List<Match> list) {
+		int size = list.size();
+		ensureCapacity(size);
+
+		for (int i = 0; i < size; i++) {
+			matches[i] = list.get(i);
+			keys[i] = key(matches[i]);
+		}
+
+		if (size >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1) {
+			sortParallel(size);
+		} else if (size < INSERTION_SORT_THRESHOLD) {
+			insertionSort(size);
+		} else {
+			radixSort(size);
+		}
+
+		for (int i = 0; i < size; i++) {
+			list.set(i, matches[i]);
+		}
+
+		// Do not keep matches reachable after they are sorted.
+		Arrays.fill(matches, 0, size, null);
+		Arrays.fill(matchBuffer, 0, size, null);
+	}
+
+	/**
+	 * Packs the position of a match in the summary order into a key, so that keys
+	 * in ascending order correspond to matches in summary order.
+	 *
+	 * @param match The match.
+	 * @return The key of the match.
+	 */
+	static long key(Match match) {
+		long goals = MAX_GOALS - (match.getHomeScore() + match.getAwayScore());
+
+		// Flipping the sign bit orders IDs as unsigned numbers, and inverting them
+		// orders them from the highest to the lowest.
+		return goals << 32 | ~(match.getId() ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+	}
+
+	private void insertionSort(int size) {
+		for (int i = 1; i < size; i++) {
+			long key = keys[i];
+			Match match = matches[i];
+			int j = i - 1;
+
+			while (j >= 0 && keys[j] > key) {
+				keys[j + 1] = keys[j];
+				matches[j + 1] = matches[j];
+				j--;
+			}
+
+			keys[j + 1] = key;
+			matches[j + 1] = match;
+		}
+	}
+
+	private void radixSort(int size) {
+		Arrays.fill(counts, 0);
+
+		// Count the occurrences of every byte value at every position in one pass.
+		for (int i = 0; i < size; i++) {
+			long key = keys[i];
+
+			for (int digit = 0; digit < KEY_BYTES; digit++) {
+				counts[digit << 8 | (int) (key >>> (digit << 3)) & 0xFF]++;
+			}
+		}
+
+		long[] sourceKeys = keys;
+		long[] targetKeys = keyBuffer;
+		Match[] sourceMatches = matches;
+		Match[] targetMatches = matchBuffer;
+
+		for (int digit = 0; digit < KEY_BYTES; digit++) {
+			int base = digit << 8;
+			int shift = digit << 3;
+
+			// Skip the pass if every key has the same byte at this position, which
+			// is common for the total goals.
+			if (counts[base | (int) (sourceKeys[0] >>> shift) & 0xFF] == size) {
+				continue;
+			}
+
+			// Turn the counts into the starting positions of every byte value.
+			int position = 0;
+
+			for (int value = 0; value < 256; value++) {
+				int count = counts[base | value];
+				counts[base | value] = position;
+				position += count;
+			}
+
+			for (int i = 0; i < size; i++) {
+				int target = counts[base | (int) (sourceKeys[i] >>> shift) & 0xFF]++;
+				targetKeys[target] = sourceKeys[i];
+				targetMatches[target] = sourceMatches[i];
+			}
+
+			long[] swapKeys = sourceKeys;
+			sourceKeys = targetKeys;
+			targetKeys = swapKeys;
+
+			Match[] swapMatches = sourceMatches;
+			sourceMatches = targetMatches;
+			targetMatches = swapMatches;
+		}
+
+		if (sourceKeys != keys) {
+			System.arraycopy(sourceKeys, 0, keys, 0, size);
+			System.arraycopy(sourceMatches, 0, matches, 0, size);
+		}
+	}
+
+	private void sortParallel(int size) {
+		System.arraycopy(matches, 0, matchBuffer, 0, size);
+		Arrays.parallelSort(keys, 0, size);
+
+		// Keys are unique, since IDs are, so every match has exactly one position
+		// and the matches can be placed in parallel.
+		IntStream.range(0, size).parallel()
+				.forEach(i -> matches[Arrays.binarySearch(keys, 0, size, key(matchBuffer[i]))] = matchBuffer[i]);
+	}
+
+	private void ensureCapacity(int size) {
+		if (keys.length >= size) {
+			return;
+		}
+
+		keys = new long[size];
+		keyBuffer = new long[size];
+		matches = new Match[size];
+		matchBuffer = new Match[size];
+	}
+}
@@ -0,0 +1,407 @@
+package me.mapokapo.features.scoreboard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+import me.mapokapo.features.matches.Match;
+
+/**
+ * An order-statistic tree of matches, ordered by a {@code long} key in
+ * descending order and then by match ID in descending order.
+ *
+ * <p>
+ * The tree is a treap: a binary search tree whose nodes also carry a random
+ * priority and form a heap by it, which keeps the tree balanced with high
+ * probability. Every node stores the size of its subtree, so the position of a
+ * match in the order and the matches at a range of positions can be found in
+ * O(log n) and O(log n + k) time respectively, where k is the number of
+ * returned matches.
+ * </p>
+ *
+ * <p>
+ * The tree remembers the node of every match, so callers do not have to keep
+ * track of the key under which a match was added. Changing the key of a match
+ * reuses its node, so it does not allocate.
+ * </p>
+ *
+ * <p>
+ * The list of all matches in order is cached until the tree changes, since the
+ * full summary is read far more often than the order changes.
+ * </p>
+ */
+class SummaryTree {
+	private static final class Node {
+		long key;
+		final int id;
+		final Match match;
+		final int priority;
+		Node left;
+		Node right;
+		int size = 1;
+
+		Node(long key, Match match, int priority) {
+			this.key = key;
+			this.id = match.getId();
+			this.match = match;
+			this.priority = priority;
+		}
+	}
+
+	private Node root;
+
+	/**
+	 * The node of every match in the tree.
+	 */
+	private final Map<Match, Node> nodes = new IdentityHashMap<>();
+
+	/**
+	 * The state of the xorshift generator of node priorities. A fixed seed keeps
+	 * the shape of the tree reproducible.
+	 */
+	private int seed = 0x2545F491;
+
+	/**
+	 * All matches of the tree in order, or {@code null} if the tree changed since
+	 * they were last listed.
+	 */
+	private List<Match> snapshot;
+
+	/**
+	 * Gets the number of matches in the tree.
+	 *
+	 * @return The number of matches.
+	 */
+	int size() {
+		return size(root);
+	}
+
+	/**
+	 * Adds a match to the tree.
+	 *
+	 * @param key   The key under which to order the match.
+	 * @param match The match to add. It must not be in the tree already.
+	 */
+	void insert(long key, Match match) {
+		snapshot = null;
+		Node node = new Node(key, match, nextPriority());
+		nodes.put(match, node);
+		root = insert(root, node);
+	}
+
+	/**
+	 * Replaces the contents of the tree with the given matches, in O(n) time.
+	 *
+	 * @param sorted The matches, already in the order of the tree.
+	 * @param key    The function which gives the key of every match.
+	 */
+	void build(List<Match> sorted, ToLongFunction<Match> key) {
+		snapshot = null;
+		nodes.clear();
+
+		// Build the treap as a Cartesian tree: keep the right spine of the tree
+		// built so far on a stack, and hang each new node, which comes last in the
+		// order, below the last spine node with a higher priority.
+		Node[] spine = new Node[sorted.size()];
+		int depth = 0;
+
+		for (Match match : sorted) {
+			Node node = new Node(key.applyAsLong(match), match, nextPriority());
+			Node last = null;
+			nodes.put(match, node);
+
+			while (depth > 0 && spine[depth - 1].priority < node.priority) {
+				last = spine[--depth];
+			}
+
+			node.left = last;
+
+			if (depth > 0) {
+				spine[depth - 1].right = node;
+			}
+
+			spine[depth++] = node;
+		}
+
+		root = depth > 0 ? spine[0] : null;
+		updateSizes(root);
+	}
+
+	/**
+	 * Changes the key of a match in the tree.
+	 *
+	 * @param match The match.
+	 * @param key   The new key of the match.
+	 * @return Whether the key changed. Nothing happens if the match is not in the
+	 *         tree or the key is the same.
+	 */
+	boolean update(Match match, long key) {
+		Node node = nodes.get(match);
+
+		if (node == null || node.key == key) {
+			return false;
+		}
+
+		snapshot = null;
+		root = remove(root, node.key, node.id);
+		node.key = key;
+		node.left = null;
+		node.right = null;
+		node.size = 1;
+		root = insert(root, node);
+
+		return true;
+	}
+
+	/**
+	 * Removes a match from the tree.
+	 *
+	 * @param match The match to remove.
+	 * @return Whether the match was in the tree.
+	 */
+	boolean remove(Match match) {
+		Node node = nodes.remove(match);
+
+		if (node == null) {
+			return false;
+		}
+
+		snapshot = null;
+		root = remove(root, node.key, node.id);
+
+		return true;
+	}
+
+	/**
+	 * Gets the position of a match in the order.
+	 *
+	 * @param match The match.
+	 * @return The zero-based position of the match, or -1 if it is not in the
+	 *         tree.
+	 */
+	int rank(Match match) {
+		Node target = nodes.get(match);
+
+		if (target == null) {
+			return -1;
+		}
+
+		Node node = root;
+		int rank = 0;
+
+		while (node != target) {
+			if (compare(target.key, target.id, node) < 0) {
+				node = node.left;
+			} else {
+				rank += size(node.left) + 1;
+				node = node.right;
+			}
+		}
+
+		return rank + size(node.left);
+	}
+
+	/**
+	 * Adds the matches at the positions {@code [from, to)} to a list, in order.
+	 * The range must be within the bounds of the tree.
+	 *
+	 * @param from   The first position (inclusive).
+	 * @param to     The last position (exclusive).
+	 * @param result The list to add the matches to.
+	 */
+	void range(int from, int to, List<Match> result) {
+		range(root, 0, from, to, result);
+	}
+
+	/**
+	 * Gets the first match of the tree, in O(log n) time.
+	 *
+	 * @return The first match, or {@code null} if the tree is empty.
+	 */
+	Match first() {
+		Node node = root;
+
+		if (node == null) {
+			return null;
+		}
+
+		while (node.left != null) {
+			node = node.left;
+		}
+
+		return node.match;
+	}
+
+	/**
+	 * Gets all matches of the tree in order. The list is cached until the tree
+	 * changes, so listing an unchanged tree does not allocate.
+	 *
+	 * @return An unmodifiable list of the matches.
+	 */
+	List<Match> snapshot() {
+		if (snapshot == null) {
+			List<Match> matches = new ArrayList<>(size());
+			range(0, size(), matches);
+			snapshot = Collections.unmodifiableList(matches);
+		}
+
+		return snapshot;
+	}
+
+	private static void range(Node node, int offset, int from, int to, List<Match> result) {
+		// The offset is the position of the first match in the subtree.
+		while (node != null) {
+			int position = offset + size(node.left);
+
+			if (from < position) {
+				range(node.left, offset, from, to, result);
+			}
+
+			if (position >= to) {
+				return;
+			}
+
+			if (position >= from) {
+				result.add(node.match);
+			}
+
+			offset = position + 1;
+			node = node.right;
+		}
+	}
+
+	private static Node insert(Node node, Node inserted) {
+		if (node == null) {
+			return inserted;
+		}
+
+		// Insert as in a plain binary search tree, then rotate the new node up
+		// until the heap order of the priorities is restored.
+		if (compare(inserted.key, inserted.id, node) < 0) {
+			node.left = insert(node.left, inserted);
+
+			if (node.left.priority > node.priority) {
+				return rotateRight(node);
+			}
+		} else {
+			node.right = insert(node.right, inserted);
+
+			if (node.right.priority > node.priority) {
+				return rotateLeft(node);
+			}
+		}
+
+		update(node);
+
+		return node;
+	}
+
+	private static Node remove(Node node, long key, int id) {
+		if (node == null) {
+			return null;
+		}
+
+		int order = compare(key, id, node);
+
+		if (order == 0) {
+			return merge(node.left, node.right);
+		}
+
+		if (order < 0) {
+			node.left = remove(node.left, key, id);
+		} else {
+			node.right = remove(node.right, key, id);
+		}
+
+		update(node);
+
+		return node;
+	}
+
+	/**
+	 * Merges two subtrees, where every node of the first one is ordered before
+	 * every node of the second one.
+	 */
+	private static Node merge(Node first, Node second) {
+		if (first == null) {
+			return second;
+		}
+
+		if (second == null) {
+			return first;
+		}
+
+		if (first.priority > second.priority) {
+			first.right = merge(first.right, second);
+			update(first);
+
+			return first;
+		}
+
+		second.left = merge(first, second.left);
+		update(second);
+
+		return second;
+	}
+
+	private static Node rotateRight(Node node) {
+		Node left = node.left;
+		node.left = left.right;
+		left.right = node;
+		update(node);
+		update(left);
+
+		return left;
+	}
+
+	private static Node rotateLeft(Node node) {
+		Node right = node.right;
+		node.right = right.left;
+		right.left = node;
+		update(node);
+		update(right);
+
+		return right;
+	}
+
+	/**
+	 * Compares a key and ID to a node. The result is negative if the key and ID
+	 * are ordered before the node.
+	 */
+	private static int compare(long key, int id, Node node) {
+		if (key != node.key) {
+			return Long.compare(node.key, key);
+		}
+
+		return Integer.compare(node.id, id);
+	}
+
+	private static int updateSizes(Node node) {
+		if (node == null) {
+			return 0;
+		}
+
+		node.size = 1 + updateSizes(node.left) + updateSizes(node.right);
+
+		return node.size;
+	}
+
+	private static void update(Node node) {
+		node.size = 1 + size(node.left) + size(node.right);
+	}
+
+	private static int size(Node node) {
+		return node == null ? 0 : node.size;
+	}
+
+	private int nextPriority() {
+		seed ^= seed << 13;
+		seed ^= seed >>> 17;
+		seed ^= seed << 5;
+
+		return seed;
+	}
+}
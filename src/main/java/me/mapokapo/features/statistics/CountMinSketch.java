@@ -0,0 +1,115 @@
+package me.mapokapo.features.statistics;
+
+/**
+ * A Count-Min sketch, which estimates the weight of any item of a stream in a
+ * fixed amount of memory.
+ *
+ * <p>
+ * The sketch has {@code depth} rows of {@code width} counters, and every row
+ * hashes an item to one of its counters with its own hash function. Adding
+ * weight to an item adds it to its counter in every row, and the estimate of
+ * an item is the smallest of its counters. As long as the weight of every item
+ * stays non-negative, weight may also be taken away, and an estimate never
+ * underestimates its item. With a width of at least {@code e / epsilon} and a
+ * depth of at least {@code ln(1 / delta)}, it overestimates its item by more
+ * than {@code epsilon * N}, for a total weight of {@code N}, with a probability
+ * of at most {@code delta}.
+ * </p>
+ *
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ */
+class CountMinSketch {
+	private final long[][] rows;
+	private final long[] seeds;
+	private final int shift;
+
+	/**
+	 * Creates a sketch.
+	 *
+	 * @param epsilon The error of an estimate, relative to the total weight.
+	 * @param delta   The probability of an estimate exceeding that error.
+	 */
+	CountMinSketch(double epsilon, double delta) {
+		int width = Math.max(2, Integer.highestOneBit((int) Math.ceil(Math.E / epsilon) - 1) << 1);
+		int depth = Math.max(1, (int) Math.ceil(Math.log(1 / delta)));
+
+		this.rows = new long[depth][width];
+		this.seeds = new long[depth];
+		this.shift = Long.SIZE - Integer.numberOfTrailingZeros(width);
+
+		// Fixed odd seeds, so estimates are reproducible.
+		long seed = 0x9E3779B97F4A7C15L;
+
+		for (int row = 0; row < depth; row++) {
+			seed = mix(seed + 0x9E3779B97F4A7C15L);
+			seeds[row] = seed | 1;
+		}
+	}
+
+	/**
+	 * Adds weight to an item.
+	 *
+	 * @param key    The key of the item.
+	 * @param weight The weight to add, which is negative to take weight away.
+	 */
+	void add(int key, long weight) {
+		for (int row = 0; row < rows.length; row++) {
+			rows[row][index(row, key)] += weight;
+		}
+	}
+
+	/**
+	 * Estimates the weight of an item.
+	 *
+	 * @param key The key of the item.
+	 * @return The estimate, which is never below the weight of the item.
+	 */
+	long estimate(int key) {
+		long estimate = Long.MAX_VALUE;
+
+		for (int row = 0; row < rows.length; row++) {
+			estimate = Math.min(estimate, rows[row][index(row, key)]);
+		}
+
+		return Math.max(estimate, 0);
+	}
+
+	/**
+	 * Gets the number of counters in every row.
+	 *
+	 * @return The width.
+	 */
+	int width() {
+		return rows[0].length;
+	}
+
+	/**
+	 * Gets the number of rows.
+	 *
+	 * @return The depth.
+	 */
+	int depth() {
+		return rows.length;
+	}
+
+	/**
+	 * Multiply-shift hashing of the mixed key, taking the highest bits of the
+	 * product.
+	 */
+	private int index(int row, int key) {
+		return (int) (mix(key) * seeds[row] >>> shift);
+	}
+
+	/**
+	 * The finalizer of SplitMix64, which spreads every bit of its input over the
+	 * whole result.
+	 */
+	private static long mix(long value) {
+		value = (value ^ value >>> 30) * 0xBF58476D1CE4E5B9L;
+		value = (value ^ value >>> 27) * 0x94D049BB133111EBL;
+
+		return value ^ value >>> 31;
+	}
+}
@@ -0,0 +1,57 @@
+package me.mapokapo.features.statistics;
+
+import lombok.Value;
+
+/**
+ * The aggregated results of all finished matches between two teams, from the
+ * perspective of the first team.
+ * 
+ * @author Leo Petrović
+ * @since 1.1
+ */
+@Value
+public class HeadToHead {
+	/**
+	 * The ID of the team whose perspective the results are given from.
+	 */
+	int teamId;
+
+	/**
+	 * The ID of the opponent.
+	 */
+	int opponentId;
+
+	/**
+	 * The number of matches the team won against the opponent.
+	 */
+	int won;
+
+	/**
+	 * The number of matches between the two teams which ended in a draw.
+	 */
+	int drawn;
+
+	/**
+	 * The number of matches the team lost against the opponent.
+	 */
+	int lost;
+
+	/**
+	 * The number of goals the team scored against the opponent.
+	 */
+	int goalsFor;
+
+	/**
+	 * The number of goals the team conceded against the opponent.
+	 */
+	int goalsAgainst;
+
+	/**
+	 * Gets the number of finished matches between the two teams.
+	 * 
+	 * @return The number of matches played.
+	 */
+	public int getPlayed() {
+		return won + drawn + lost;
+	}
+}
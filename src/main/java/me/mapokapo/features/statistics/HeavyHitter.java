@@ -0,0 +1,39 @@
+package me.mapokapo.features.statistics;
+
+import lombok.Value;
+
+/**
+ * An item reported by {@link ScoringHeavyHitters} as one of the most frequent
+ * in its stream, with an estimate of its count and the error the estimate may
+ * have.
+ *
+ * @param <T> The type of the item.
+ * @author Leo Petrović
+ * @since 1.1
+ */
+@Value
+public class HeavyHitter<T> {
+	/**
+	 * The item.
+	 */
+	T item;
+
+	/**
+	 * The estimated count of the item, which is never below its exact count.
+	 */
+	long count;
+
+	/**
+	 * The most the estimated count can exceed the exact count by.
+	 */
+	long error;
+
+	/**
+	 * Gets the count the item is guaranteed to have at least.
+	 *
+	 * @return The estimated count minus its error.
+	 */
+	public long getGuaranteedCount() {
+		return count - error;
+	}
+}
@@ -0,0 +1,22 @@
+package me.mapokapo.features.statistics;
+
+import lombok.Value;
+
+/**
+ * The final score of a match, as counted by {@link ScoringHeavyHitters}.
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+@Value
+public class Scoreline {
+	/**
+	 * The score of the home team.
+	 */
+	int homeScore;
+
+	/**
+	 * The score of the away team.
+	 */
+	int awayScore;
+}
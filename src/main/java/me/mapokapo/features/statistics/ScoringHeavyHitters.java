@@ -0,0 +1,278 @@
+package me.mapokapo.features.statistics;
+
+import java.util.List;
+
+import lombok.NonNull;
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchListener;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.teams.Team;
+
+/**
+ * Tracks the top scoring teams and the most frequent final scorelines of an
+ * unbounded stream of matches, approximately and in a fixed amount of memory.
+ *
+ * <p>
+ * The engine listens to a {@link MatchRepository}. Every goal, as a score
+ * change, counts for the team which scored it, and every finished match counts
+ * for its final scoreline. Both streams are summarised twice:
+ * </p>
+ *
+ * <ul>
+ * <li>A Space-Saving summary with {@code capacity} counters answers the top-N
+ * queries. For a total of {@code N} goals, every reported count exceeds the
+ * exact one by at most its {@link HeavyHitter error}, which is at most
+ * {@code N / capacity}, and every team with more than
+ * {@code N / capacity} goals is reported. The same holds for scorelines, with
+ * {@code N} the number of finished matches.</li>
+ * <li>A Count-Min sketch estimates the count of any team or scoreline, whether
+ * it is among the top ones or not. An estimate is never too low, and with a
+ * probability of at least {@code 1 - delta}, it is too high by at most
+ * {@code epsilon * N}.</li>
+ * </ul>
+ *
+ * <p>
+ * Score corrections which take goals away, and removed matches, take their
+ * goals and scorelines away again. Above, {@code N} then still counts the
+ * goals of the Space-Saving summary which were taken away, but not those of
+ * the Count-Min sketch.
+ * </p>
+ *
+ * <p>
+ * Matches which are already in the repository are counted when the engine is
+ * created. Every update takes O(log capacity) time, and queries take
+ * O(capacity log capacity) time, no matter how many matches have been
+ * counted. Like the repository it observes, this class is not thread-safe.
+ * </p>
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+public class ScoringHeavyHitters {
+	/**
+	 * The default number of teams and scorelines monitored for the top-N
+	 * queries.
+	 */
+	public static final int DEFAULT_CAPACITY = 256;
+
+	/**
+	 * The default error of a Count-Min estimate, relative to the total count.
+	 */
+	public static final double DEFAULT_EPSILON = 0.001;
+
+	/**
+	 * The default probability of a Count-Min estimate exceeding its error.
+	 */
+	public static final double DEFAULT_DELTA = 0.01;
+
+	private final MatchRepository matchRepository;
+	private final SpaceSaving<Team> topTeams;
+	private final CountMinSketch teamGoals;
+	private final SpaceSaving<Scoreline> topScorelines;
+	private final CountMinSketch scorelineCounts;
+
+	private long totalGoals = 0;
+	private long finishedMatchCount = 0;
+
+	/**
+	 * Keeps the summaries up to date as goals are scored and matches are
+	 * finished, added and removed.
+	 */
+	private final MatchListener matchListener = new MatchListener() {
+		@Override
+		public void onMatchAdded(Match match) {
+			count(match, 1);
+		}
+
+		@Override
+		public void onMatchRemoved(Match match) {
+			count(match, -1);
+		}
+
+		@Override
+		public void onScoreChanged(Match match, int previousHomeScore, int previousAwayScore) {
+			addGoals(match.getHomeTeam(), match.getHomeScore() - previousHomeScore);
+			addGoals(match.getAwayTeam(), match.getAwayScore() - previousAwayScore);
+		}
+
+		@Override
+		public void onMatchFinished(Match match) {
+			addScoreline(match.getHomeScore(), match.getAwayScore(), 1);
+		}
+	};
+
+	/**
+	 * Creates an engine over the given repository with the
+	 * {@link #DEFAULT_CAPACITY default capacity} and the
+	 * {@link #DEFAULT_EPSILON default error}, counts the matches in it and starts
+	 * keeping the summaries up to date.
+	 *
+	 * @param matchRepository The repository to track.
+	 */
+	public ScoringHeavyHitters(@NonNull MatchRepository matchRepository) {
+		this(matchRepository, DEFAULT_CAPACITY, DEFAULT_EPSILON, DEFAULT_DELTA);
+	}
+
+	/**
+	 * Creates an engine over the given repository, counts the matches in it and
+	 * starts keeping the summaries up to date.
+	 *
+	 * @param matchRepository The repository to track.
+	 * @param capacity        The number of teams and scorelines monitored for the
+	 *                        top-N queries.
+	 * @param epsilon         The error of a Count-Min estimate, relative to the
+	 *                        total count.
+	 * @param delta           The probability of a Count-Min estimate exceeding
+	 *                        its error.
+	 * @throws IllegalArgumentException If the capacity is not positive.
+	 * @throws IllegalArgumentException If epsilon or delta is not between 0 and
+	 *                                  1.
+	 */
+	public ScoringHeavyHitters(@NonNull MatchRepository matchRepository, int capacity, double epsilon,
+			double delta) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive.");
+		}
+
+		if (!(epsilon > 0 && epsilon < 1) || !(delta > 0 && delta < 1)) {
+			throw new IllegalArgumentException("Epsilon and delta must be between 0 and 1.");
+		}
+
+		this.matchRepository = matchRepository;
+		this.topTeams = new SpaceSaving<>(capacity);
+		this.teamGoals = new CountMinSketch(epsilon, delta);
+		this.topScorelines = new SpaceSaving<>(capacity);
+		this.scorelineCounts = new CountMinSketch(epsilon, delta);
+
+		for (Match match : matchRepository.getAllMatches()) {
+			count(match, 1);
+		}
+
+		matchRepository.addListener(matchListener);
+	}
+
+	/**
+	 * Stops keeping the summaries up to date. The counts so far remain readable.
+	 */
+	public void close() {
+		matchRepository.removeListener(matchListener);
+	}
+
+	/**
+	 * Gets the teams which scored the most goals.
+	 *
+	 * @param limit The maximum number of teams to return.
+	 * @return The teams, by estimated goals from the most, with at most as many
+	 *         teams as the capacity.
+	 * @throws IllegalArgumentException If the limit is negative.
+	 */
+	public List<HeavyHitter<Team>> getTopScoringTeams(int limit) {
+		if (limit < 0) {
+			throw new IllegalArgumentException("Limit cannot be negative.");
+		}
+
+		return topTeams.top(limit);
+	}
+
+	/**
+	 * Gets the final scorelines which occurred most often.
+	 *
+	 * @param limit The maximum number of scorelines to return.
+	 * @return The scorelines, by estimated occurrences from the most, with at
+	 *         most as many scorelines as the capacity.
+	 * @throws IllegalArgumentException If the limit is negative.
+	 */
+	public List<HeavyHitter<Scoreline>> getMostFrequentScorelines(int limit) {
+		if (limit < 0) {
+			throw new IllegalArgumentException("Limit cannot be negative.");
+		}
+
+		return topScorelines.top(limit);
+	}
+
+	/**
+	 * Estimates the number of goals a team scored.
+	 *
+	 * @param teamId The ID of the team.
+	 * @return The estimate, which is never below the exact number.
+	 */
+	public long estimateGoals(int teamId) {
+		return teamGoals.estimate(teamId);
+	}
+
+	/**
+	 * Estimates the number of finished matches which ended with a scoreline.
+	 *
+	 * @param homeScore The score of the home team.
+	 * @param awayScore The score of the away team.
+	 * @return The estimate, which is never below the exact number.
+	 */
+	public long estimateScorelineCount(int homeScore, int awayScore) {
+		return scorelineCounts.estimate(scorelineKey(homeScore, awayScore));
+	}
+
+	/**
+	 * Gets the number of goals scored in all counted matches.
+	 *
+	 * @return The number of goals.
+	 */
+	public long getTotalGoals() {
+		return totalGoals;
+	}
+
+	/**
+	 * Gets the number of counted finished matches.
+	 *
+	 * @return The number of matches.
+	 */
+	public long getFinishedMatchCount() {
+		return finishedMatchCount;
+	}
+
+	/**
+	 * Counts the goals and the scoreline of a whole match, or takes them away.
+	 *
+	 * @param sign 1 to count the match, -1 to take it away.
+	 */
+	private void count(Match match, int sign) {
+		addGoals(match.getHomeTeam(), sign * match.getHomeScore());
+		addGoals(match.getAwayTeam(), sign * match.getAwayScore());
+
+		if (match.isFinished()) {
+			addScoreline(match.getHomeScore(), match.getAwayScore(), sign);
+		}
+	}
+
+	private void addGoals(Team team, int goals) {
+		if (goals > 0) {
+			topTeams.add(team.getId(), team, goals);
+		} else if (goals < 0) {
+			topTeams.subtract(team.getId(), -goals);
+		}
+
+		teamGoals.add(team.getId(), goals);
+		totalGoals += goals;
+	}
+
+	private void addScoreline(int homeScore, int awayScore, int sign) {
+		int key = scorelineKey(homeScore, awayScore);
+
+		if (sign > 0) {
+			topScorelines.add(key, new Scoreline(homeScore, awayScore), 1);
+		} else {
+			topScorelines.subtract(key, 1);
+		}
+
+		scorelineCounts.add(key, sign);
+		finishedMatchCount += sign;
+	}
+
+	/**
+	 * Packs a scoreline into a key. Scores are at most
+	 * {@link me.mapokapo.features.matches.MatchTimeline#MAX_SCORE}, so both
+	 * fit into 16 bits.
+	 */
+	private static int scorelineKey(int homeScore, int awayScore) {
+		return homeScore << 16 | awayScore;
+	}
+}
@@ -0,0 +1,280 @@
+package me.mapokapo.features.statistics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The Space-Saving algorithm for the heavy hitters of a weighted stream, with
+ * a fixed number of counters.
+ *
+ * <p>
+ * Every monitored item has a counter and the error the counter may have. An
+ * item which is not monitored takes over the counter of the monitored item
+ * with the smallest count, and that count becomes its error. A counter
+ * therefore never underestimates its item, and overestimates it by at most
+ * its error, which is at most {@code N / capacity} for a total weight of
+ * {@code N}. Any item heavier than that is always monitored.
+ * </p>
+ *
+ * <p>
+ * The counters are kept in a binary min-heap by count, and an open-addressing
+ * table maps the key of every monitored item to its position in the heap, so
+ * an update takes O(log capacity) time and allocates nothing.
+ * </p>
+ *
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @param <T> The type of the items.
+ */
+class SpaceSaving<T> {
+	private static final int EMPTY = 0;
+
+	private final int capacity;
+	private final int[] keys;
+	private final long[] counts;
+	private final long[] errors;
+	private final Object[] items;
+	private int size = 0;
+
+	/**
+	 * Positions in the heap plus one, or {@link #EMPTY}, by the hash of their
+	 * key, with linear probing.
+	 */
+	private final int[] table;
+	private final int mask;
+
+	/**
+	 * Creates an instance.
+	 *
+	 * @param capacity The number of counters.
+	 */
+	SpaceSaving(int capacity) {
+		this.capacity = capacity;
+		this.keys = new int[capacity];
+		this.counts = new long[capacity];
+		this.errors = new long[capacity];
+		this.items = new Object[capacity];
+		this.table = new int[Integer.highestOneBit(capacity) << 2];
+		this.mask = table.length - 1;
+	}
+
+	/**
+	 * Adds weight to an item.
+	 *
+	 * @param key    The key of the item.
+	 * @param item   The item, which is kept while it is monitored.
+	 * @param weight The weight to add, which must be positive.
+	 */
+	void add(int key, T item, long weight) {
+		int position = positionOf(key);
+
+		if (position >= 0) {
+			counts[position] += weight;
+			siftDown(position);
+		} else if (size < capacity) {
+			keys[size] = key;
+			items[size] = item;
+			counts[size] = weight;
+			errors[size] = 0;
+			insertSlot(key, size);
+			siftUp(size++);
+		} else {
+			// The item takes over the counter with the smallest count, at the root.
+			deleteSlot(slotOf(keys[0]));
+			keys[0] = key;
+			items[0] = item;
+			errors[0] = counts[0];
+			counts[0] += weight;
+			insertSlot(key, 0);
+			siftDown(0);
+		}
+	}
+
+	/**
+	 * Takes weight away from an item which was added before, if it is
+	 * monitored. Its counter drops by the same amount, so it still does not
+	 * underestimate the item, and its error does not grow.
+	 *
+	 * @param key    The key of the item.
+	 * @param weight The weight to take away, which must be positive.
+	 */
+	void subtract(int key, long weight) {
+		int position = positionOf(key);
+
+		if (position < 0) {
+			return;
+		}
+
+		counts[position] = Math.max(counts[position] - weight, 0);
+		errors[position] = Math.min(errors[position], counts[position]);
+		siftUp(position);
+	}
+
+	/**
+	 * Gets the monitored items with the highest counts.
+	 *
+	 * @param limit The maximum number of items to return.
+	 * @return The items, by count from the highest.
+	 */
+	@SuppressWarnings("unchecked")
+	List<HeavyHitter<T>> top(int limit) {
+		Integer[] order = new Integer[size];
+
+		for (int i = 0; i < size; i++) {
+			order[i] = i;
+		}
+
+		Arrays.sort(order, Comparator.<Integer>comparingLong(i -> counts[i]).reversed());
+
+		List<HeavyHitter<T>> top = new ArrayList<>(Math.min(limit, size));
+
+		for (int i = 0; i < Math.min(limit, size); i++) {
+			int position = order[i];
+			top.add(new HeavyHitter<>((T) items[position], counts[position], errors[position]));
+		}
+
+		return top;
+	}
+
+	/**
+	 * Gets the smallest count of a monitored item, which bounds the count of any
+	 * item which is not monitored.
+	 *
+	 * @return The smallest count, or 0 if not every counter is used yet.
+	 */
+	long minimumCount() {
+		return size < capacity ? 0 : counts[0];
+	}
+
+	private void siftUp(int position) {
+		while (position > 0) {
+			int parent = (position - 1) >>> 1;
+
+			if (counts[parent] <= counts[position]) {
+				break;
+			}
+
+			swap(position, parent);
+			position = parent;
+		}
+	}
+
+	private void siftDown(int position) {
+		while (true) {
+			int child = 2 * position + 1;
+
+			if (child >= size) {
+				break;
+			}
+
+			if (child + 1 < size && counts[child + 1] < counts[child]) {
+				child++;
+			}
+
+			if (counts[position] <= counts[child]) {
+				break;
+			}
+
+			swap(position, child);
+			position = child;
+		}
+	}
+
+	private void swap(int a, int b) {
+		table[slotOf(keys[a])] = b + 1;
+		table[slotOf(keys[b])] = a + 1;
+
+		int key = keys[a];
+		keys[a] = keys[b];
+		keys[b] = key;
+
+		long count = counts[a];
+		counts[a] = counts[b];
+		counts[b] = count;
+
+		long error = errors[a];
+		errors[a] = errors[b];
+		errors[b] = error;
+
+		Object item = items[a];
+		items[a] = items[b];
+		items[b] = item;
+	}
+
+	private static int hash(int key) {
+		int h = key * 0x9E3779B9;
+
+		return h ^ h >>> 16;
+	}
+
+	/**
+	 * Gets the position of a monitored item in the heap.
+	 *
+	 * @return The position, or -1 if the item is not monitored.
+	 */
+	private int positionOf(int key) {
+		for (int slot = hash(key) & mask; table[slot] != EMPTY; slot = slot + 1 & mask) {
+			if (keys[table[slot] - 1] == key) {
+				return table[slot] - 1;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Gets the slot of the table holding a monitored item.
+	 */
+	private int slotOf(int key) {
+		int slot = hash(key) & mask;
+
+		while (keys[table[slot] - 1] != key) {
+			slot = slot + 1 & mask;
+		}
+
+		return slot;
+	}
+
+	private void insertSlot(int key, int position) {
+		int slot = hash(key) & mask;
+
+		while (table[slot] != EMPTY) {
+			slot = slot + 1 & mask;
+		}
+
+		table[slot] = position + 1;
+	}
+
+	/**
+	 * Empties a slot of the table, moving later entries of the same probe
+	 * sequence back so that lookups still find them.
+	 */
+	private void deleteSlot(int slot) {
+		int next = slot;
+
+		while (true) {
+			next = next + 1 & mask;
+
+			if (table[next] == EMPTY) {
+				break;
+			}
+
+			int home = hash(keys[table[next] - 1]) & mask;
+
+			// The entry can move back to the empty slot unless its home lies
+			// cyclically after the empty slot and at or before its own slot.
+			boolean stays = slot <= next ? slot < home && home <= next : slot < home || home <= next;
+
+			if (!stays) {
+				table[slot] = table[next];
+				slot = next;
+			}
+		}
+
+		table[slot] = EMPTY;
+	}
+}
@@ -0,0 +1,273 @@
+package me.mapokapo.features.statistics;
+
+import java.util.Arrays;
+
+import me.mapokapo.features.matches.Match;
+
+/**
+ * Mutable per-team and head-to-head counters, stored in primitive arrays.
+ *
+ * <p>
+ * Per-team counters are kept in one array per statistic, indexed by team ID.
+ * Head-to-head counters are kept in an open-addressing hash table keyed by the
+ * pair of team IDs, with the lower ID first, so each pair of teams occupies a
+ * single slot regardless of which team played at home.
+ * </p>
+ *
+ * <p>
+ * Instances can be {@link #merge(TeamAggregates) merged}, which is how partial
+ * results computed in parallel are combined.
+ * </p>
+ */
+class TeamAggregates {
+	private static final int INITIAL_TEAM_CAPACITY = 16;
+	private static final int INITIAL_PAIR_CAPACITY = 64;
+
+	/**
+	 * An unused slot in the head-to-head table. Team IDs are non-negative, so no
+	 * real pair of teams produces this key.
+	 */
+	private static final long EMPTY = -1;
+
+	// Offsets of the head-to-head counters within a slot, from the perspective of
+	// the team with the lower ID.
+	private static final int PAIR_WON = 0;
+	private static final int PAIR_DRAWN = 1;
+	private static final int PAIR_LOST = 2;
+	private static final int PAIR_GOALS_FOR = 3;
+	private static final int PAIR_GOALS_AGAINST = 4;
+	private static final int PAIR_FIELDS = 5;
+
+	int[] played = new int[INITIAL_TEAM_CAPACITY];
+	int[] won = new int[INITIAL_TEAM_CAPACITY];
+	int[] drawn = new int[INITIAL_TEAM_CAPACITY];
+	int[] lost = new int[INITIAL_TEAM_CAPACITY];
+	int[] goalsFor = new int[INITIAL_TEAM_CAPACITY];
+	int[] goalsAgainst = new int[INITIAL_TEAM_CAPACITY];
+
+	private long[] pairKeys = newPairKeys(INITIAL_PAIR_CAPACITY);
+	private int[] pairValues = new int[INITIAL_PAIR_CAPACITY * PAIR_FIELDS];
+	private int pairCount = 0;
+
+	/**
+	 * Adds the result of a finished match to the counters.
+	 *
+	 * @param match The finished match.
+	 */
+	void add(Match match) {
+		apply(match, 1);
+	}
+
+	/**
+	 * Removes the result of a finished match from the counters.
+	 *
+	 * @param match The finished match.
+	 */
+	void subtract(Match match) {
+		apply(match, -1);
+	}
+
+	/**
+	 * Adds all counters of another instance to this one.
+	 *
+	 * @param other The instance to merge into this one.
+	 */
+	void merge(TeamAggregates other) {
+		ensureTeamCapacity(other.played.length - 1);
+
+		for (int i = 0; i < other.played.length; i++) {
+			played[i] += other.played[i];
+			won[i] += other.won[i];
+			drawn[i] += other.drawn[i];
+			lost[i] += other.lost[i];
+			goalsFor[i] += other.goalsFor[i];
+			goalsAgainst[i] += other.goalsAgainst[i];
+		}
+
+		for (int slot = 0; slot < other.pairKeys.length; slot++) {
+			if (other.pairKeys[slot] != EMPTY) {
+				int target = pairSlot(other.pairKeys[slot]) * PAIR_FIELDS;
+				int source = slot * PAIR_FIELDS;
+
+				for (int field = 0; field < PAIR_FIELDS; field++) {
+					pairValues[target + field] += other.pairValues[source + field];
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the counters of a team.
+	 *
+	 * @param teamId The ID of the team.
+	 * @return The counters of the team, all zero if it has not played.
+	 */
+	TeamRecord record(int teamId) {
+		if (teamId < 0 || teamId >= played.length) {
+			return new TeamRecord(teamId, 0, 0, 0, 0, 0, 0);
+		}
+
+		return new TeamRecord(teamId, played[teamId], won[teamId], drawn[teamId], lost[teamId], goalsFor[teamId],
+				goalsAgainst[teamId]);
+	}
+
+	/**
+	 * Gets the head-to-head counters of two teams.
+	 *
+	 * @param teamId     The ID of the team whose perspective to use.
+	 * @param opponentId The ID of the opponent.
+	 * @return The head-to-head counters, all zero if the teams have not played.
+	 */
+	HeadToHead headToHead(int teamId, int opponentId) {
+		int slot = teamId < 0 || opponentId < 0 ? -1 : findPairSlot(pairKey(teamId, opponentId));
+
+		if (slot < 0) {
+			return new HeadToHead(teamId, opponentId, 0, 0, 0, 0, 0);
+		}
+
+		int base = slot * PAIR_FIELDS;
+		int pairWon = pairValues[base + PAIR_WON];
+		int pairDrawn = pairValues[base + PAIR_DRAWN];
+		int pairLost = pairValues[base + PAIR_LOST];
+		int pairGoalsFor = pairValues[base + PAIR_GOALS_FOR];
+		int pairGoalsAgainst = pairValues[base + PAIR_GOALS_AGAINST];
+
+		// The counters are stored from the perspective of the lower ID.
+		return teamId < opponentId
+				? new HeadToHead(teamId, opponentId, pairWon, pairDrawn, pairLost, pairGoalsFor, pairGoalsAgainst)
+				: new HeadToHead(teamId, opponentId, pairLost, pairDrawn, pairWon, pairGoalsAgainst, pairGoalsFor);
+	}
+
+	private void apply(Match match, int sign) {
+		int home = match.getHomeTeam().getId();
+		int away = match.getAwayTeam().getId();
+		int homeScore = match.getHomeScore();
+		int awayScore = match.getAwayScore();
+
+		if (home < 0 || away < 0) {
+			throw new IllegalArgumentException("Team IDs must be non-negative.");
+		}
+
+		ensureTeamCapacity(Math.max(home, away));
+
+		played[home] += sign;
+		played[away] += sign;
+		goalsFor[home] += sign * homeScore;
+		goalsAgainst[home] += sign * awayScore;
+		goalsFor[away] += sign * awayScore;
+		goalsAgainst[away] += sign * homeScore;
+
+		if (homeScore > awayScore) {
+			won[home] += sign;
+			lost[away] += sign;
+		} else if (homeScore < awayScore) {
+			lost[home] += sign;
+			won[away] += sign;
+		} else {
+			drawn[home] += sign;
+			drawn[away] += sign;
+		}
+
+		// Convert the result to the perspective of the team with the lower ID.
+		int lowScore = home < away ? homeScore : awayScore;
+		int highScore = home < away ? awayScore : homeScore;
+		int base = pairSlot(pairKey(home, away)) * PAIR_FIELDS;
+
+		pairValues[base + (lowScore > highScore ? PAIR_WON : lowScore < highScore ? PAIR_LOST : PAIR_DRAWN)] += sign;
+		pairValues[base + PAIR_GOALS_FOR] += sign * lowScore;
+		pairValues[base + PAIR_GOALS_AGAINST] += sign * highScore;
+	}
+
+	private void ensureTeamCapacity(int teamId) {
+		if (teamId < played.length) {
+			return;
+		}
+
+		int capacity = Math.max(played.length * 2, teamId + 1);
+		played = Arrays.copyOf(played, capacity);
+		won = Arrays.copyOf(won, capacity);
+		drawn = Arrays.copyOf(drawn, capacity);
+		lost = Arrays.copyOf(lost, capacity);
+		goalsFor = Arrays.copyOf(goalsFor, capacity);
+		goalsAgainst = Arrays.copyOf(goalsAgainst, capacity);
+	}
+
+	private static long pairKey(int teamId, int opponentId) {
+		int low = Math.min(teamId, opponentId);
+		int high = Math.max(teamId, opponentId);
+
+		return (long) low << 32 | high;
+	}
+
+	private static long[] newPairKeys(int capacity) {
+		long[] keys = new long[capacity];
+		Arrays.fill(keys, EMPTY);
+
+		return keys;
+	}
+
+	private static int hash(long key, int mask) {
+		long mixed = key * 0x9E3779B97F4A7C15L;
+
+		return (int) (mixed ^ mixed >>> 32) & mask;
+	}
+
+	/**
+	 * Finds the slot of a pair, or -1 if the pair is not in the table.
+	 */
+	private int findPairSlot(long key) {
+		int mask = pairKeys.length - 1;
+
+		for (int slot = hash(key, mask);; slot = slot + 1 & mask) {
+			if (pairKeys[slot] == key) {
+				return slot;
+			}
+
+			if (pairKeys[slot] == EMPTY) {
+				return -1;
+			}
+		}
+	}
+
+	/**
+	 * Finds the slot of a pair, inserting the pair if it is not in the table.
+	 */
+	private int pairSlot(long key) {
+		int mask = pairKeys.length - 1;
+
+		for (int slot = hash(key, mask);; slot = slot + 1 & mask) {
+			if (pairKeys[slot] == key) {
+				return slot;
+			}
+
+			if (pairKeys[slot] == EMPTY) {
+				// Keep the load factor at or below one half.
+				if (2 * (pairCount + 1) > pairKeys.length) {
+					resizePairs();
+					return pairSlot(key);
+				}
+
+				pairKeys[slot] = key;
+				pairCount++;
+
+				return slot;
+			}
+		}
+	}
+
+	private void resizePairs() {
+		long[] oldKeys = pairKeys;
+		int[] oldValues = pairValues;
+
+		pairKeys = newPairKeys(oldKeys.length * 2);
+		pairValues = new int[pairKeys.length * PAIR_FIELDS];
+		pairCount = 0;
+
+		for (int slot = 0; slot < oldKeys.length; slot++) {
+			if (oldKeys[slot] != EMPTY) {
+				System.arraycopy(oldValues, slot * PAIR_FIELDS, pairValues, pairSlot(oldKeys[slot]) * PAIR_FIELDS,
+						PAIR_FIELDS);
+			}
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package me.mapokapo.features.statistics;
+
+import lombok.Value;
+
+/**
+ * The aggregated results of a team over all of its finished matches.
+ * 
+ * @author Leo Petrović
+ * @since 1.1
+ */
+@Value
+public class TeamRecord {
+	/**
+	 * The ID of the team.
+	 */
+	int teamId;
+
+	/**
+	 * The number of finished matches the team played.
+	 */
+	int played;
+
+	/**
+	 * The number of matches the team won.
+	 */
+	int won;
+
+	/**
+	 * The number of matches which ended in a draw.
+	 */
+	int drawn;
+
+	/**
+	 * The number of matches the team lost.
+	 */
+	int lost;
+
+	/**
+	 * The number of goals the team scored.
+	 */
+	int goalsFor;
+
+	/**
+	 * The number of goals the team conceded.
+	 */
+	int goalsAgainst;
+
+	/**
+	 * Gets the goal difference of the team.
+	 * 
+	 * @return The number of goals scored minus the number of goals conceded.
+	 */
+	public int getGoalDifference() {
+		return goalsFor - goalsAgainst;
+	}
+}
@@ -0,0 +1,204 @@
+package me.mapokapo.features.statistics;
+
+import java.io.Serial;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import lombok.NonNull;
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchListener;
+import me.mapokapo.features.matches.MatchRepository;
+
+/**
+ * Computes per-team and head-to-head statistics over all finished matches in a
+ * {@link MatchRepository}.
+ *
+ * <p>
+ * The statistics are built once when the engine is created, using a fork/join
+ * parallel reduction: the list of matches is split into chunks, each chunk is
+ * aggregated into its own primitive arrays indexed by team ID, and the partial
+ * results are merged pairwise. After that, the engine listens to the repository
+ * and updates the statistics incrementally whenever a match is finished, or a
+ * finished match is added or removed, so reading them never requires iterating
+ * over the match history.
+ * </p>
+ *
+ * <p>
+ * Team IDs must be non-negative. Like the repository it observes, this class is
+ * not thread-safe.
+ * </p>
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+public class TeamStatisticsEngine {
+	/**
+	 * The minimum number of matches below which a chunk is aggregated
+	 * sequentially instead of being split further.
+	 */
+	private static final int SEQUENTIAL_THRESHOLD = 1 << 14;
+
+	/**
+	 * The number of chunks created per worker thread. Each chunk has its own
+	 * arrays which have to be merged, so creating more chunks than needed to
+	 * balance the load only adds merging work.
+	 */
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	private final MatchRepository matchRepository;
+
+	/**
+	 * The current statistics.
+	 */
+	private TeamAggregates aggregates;
+
+	/**
+	 * Keeps the statistics up to date as matches are finished, added and removed.
+	 */
+	private final MatchListener matchListener = new MatchListener() {
+		@Override
+		public void onMatchAdded(Match match) {
+			if (match.isFinished()) {
+				aggregates.add(match);
+			}
+		}
+
+		@Override
+		public void onMatchRemoved(Match match) {
+			if (match.isFinished()) {
+				aggregates.subtract(match);
+			}
+		}
+
+		@Override
+		public void onMatchFinished(Match match) {
+			aggregates.add(match);
+		}
+	};
+
+	/**
+	 * Creates an engine over the given repository, builds the statistics in
+	 * parallel using the common fork/join pool and starts keeping them up to
+	 * date.
+	 *
+	 * @param matchRepository The repository to compute the statistics for.
+	 */
+	public TeamStatisticsEngine(@NonNull MatchRepository matchRepository) {
+		this.matchRepository = matchRepository;
+		this.aggregates = buildParallel(matchRepository.getAllMatches(), ForkJoinPool.commonPool());
+
+		matchRepository.addListener(matchListener);
+	}
+
+	/**
+	 * Discards the current statistics and builds them again from scratch in
+	 * parallel, using the given fork/join pool.
+	 *
+	 * @param pool The pool to run the build in.
+	 */
+	public void rebuild(@NonNull ForkJoinPool pool) {
+		aggregates = buildParallel(matchRepository.getAllMatches(), pool);
+	}
+
+	/**
+	 * Discards the current statistics and builds them again from scratch on the
+	 * calling thread.
+	 */
+	public void rebuildSequentially() {
+		aggregates = buildSequentially(matchRepository.getAllMatches(), 0, matchRepository.getAllMatches().size());
+	}
+
+	/**
+	 * Stops keeping the statistics up to date. The statistics computed so far
+	 * remain readable.
+	 */
+	public void close() {
+		matchRepository.removeListener(matchListener);
+	}
+
+	/**
+	 * Gets the statistics of a team.
+	 *
+	 * @param teamId The ID of the team.
+	 * @return The statistics of the team. All values are zero if the team has not
+	 *         finished any match.
+	 */
+	public TeamRecord getRecord(int teamId) {
+		return aggregates.record(teamId);
+	}
+
+	/**
+	 * Gets the head-to-head statistics of two teams.
+	 *
+	 * @param teamId     The ID of the team whose perspective to use.
+	 * @param opponentId The ID of the opponent.
+	 * @return The head-to-head statistics. All values are zero if the two teams
+	 *         have not finished any match against each other.
+	 */
+	public HeadToHead getHeadToHead(int teamId, int opponentId) {
+		return aggregates.headToHead(teamId, opponentId);
+	}
+
+	private static TeamAggregates buildParallel(List<Match> matches, ForkJoinPool pool) {
+		int threshold = Math.max(SEQUENTIAL_THRESHOLD, matches.size() / (pool.getParallelism() * CHUNKS_PER_THREAD));
+
+		return pool.invoke(new BuildTask(matches, 0, matches.size(), threshold));
+	}
+
+	private static TeamAggregates buildSequentially(List<Match> matches, int from, int to) {
+		TeamAggregates result = new TeamAggregates();
+
+		for (int i = from; i < to; i++) {
+			Match match = matches.get(i);
+
+			if (match.isFinished()) {
+				result.add(match);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Aggregates a range of matches, splitting it in half until it is small
+	 * enough to be aggregated sequentially.
+	 */
+	private static class BuildTask extends RecursiveTask<TeamAggregates> {
+		@Serial
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * The matches to aggregate. Tasks are never serialized, so the list is not
+		 * required to be serializable.
+		 */
+		private final transient List<Match> matches;
+		private final int from;
+		private final int to;
+		private final int threshold;
+
+		BuildTask(List<Match> matches, int from, int to, int threshold) {
+			this.matches = matches;
+			this.from = from;
+			this.to = to;
+			this.threshold = threshold;
+		}
+
+		@Override
+		protected TeamAggregates compute() {
+			if (to - from <= threshold) {
+				return buildSequentially(matches, from, to);
+			}
+
+			int middle = (from + to) >>> 1;
+			BuildTask left = new BuildTask(matches, from, middle, threshold);
+			left.fork();
+
+			TeamAggregates right = new BuildTask(matches, middle, to, threshold).compute();
+			TeamAggregates result = left.join();
+			result.merge(right);
+
+			return result;
+		}
+	}
+}
@@ -0,0 +1,35 @@
+package me.mapokapo.features.storage;
+
+import me.mapokapo.features.matches.ListMatchStore;
+import me.mapokapo.features.matches.MatchStore;
+import me.mapokapo.features.teams.ListTeamStore;
+import me.mapokapo.features.teams.TeamStore;
+
+/**
+ * The default storage backend, which creates the reference
+ * {@link ListMatchStore} and {@link ListTeamStore}.
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+public class ListStoreProvider implements StoreProvider {
+	/**
+	 * The name of this backend.
+	 */
+	public static final String NAME = "list";
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public MatchStore createMatchStore() {
+		return new ListMatchStore();
+	}
+
+	@Override
+	public TeamStore createTeamStore() {
+		return new ListTeamStore();
+	}
+}
@@ -0,0 +1,43 @@
+package me.mapokapo.features.storage;
+
+import me.mapokapo.features.matches.MatchStore;
+import me.mapokapo.features.teams.TeamStore;
+
+/**
+ * A storage backend for the repositories, discovered with
+ * {@link java.util.ServiceLoader}.
+ *
+ * <p>
+ * To add a backend, implement this interface with a public no-argument
+ * constructor, list the class in
+ * {@code META-INF/services/me.mapokapo.features.storage.StoreProvider}, and
+ * select it by its {@link #getName() name} with the {@value Stores#PROPERTY}
+ * system property. The stores it creates must pass the conformance tests of
+ * the project, which are published in its {@code tests} jar, see the README.
+ * </p>
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+public interface StoreProvider {
+	/**
+	 * Gets the name which selects this backend.
+	 *
+	 * @return The name of the backend.
+	 */
+	String getName();
+
+	/**
+	 * Creates an empty match store.
+	 *
+	 * @return The match store.
+	 */
+	MatchStore createMatchStore();
+
+	/**
+	 * Creates an empty team store.
+	 *
+	 * @return The team store.
+	 */
+	TeamStore createTeamStore();
+}
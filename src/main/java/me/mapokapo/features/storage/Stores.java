@@ -0,0 +1,76 @@
+package me.mapokapo.features.storage;
+
+import java.util.List;
+import java.util.ServiceLoader;
+
+import lombok.NonNull;
+
+/**
+ * Selects the storage backend of the repositories among the
+ * {@link StoreProvider}s on the class path.
+ *
+ * <p>
+ * The backend is selected by the {@value #PROPERTY} system property, and is
+ * {@value ListStoreProvider#NAME} if the property is not set. Providers are
+ * discovered once, when this class is first used.
+ * </p>
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+public final class Stores {
+	/**
+	 * The system property which selects the backend by name.
+	 */
+	public static final String PROPERTY = "scoreboard.store";
+
+	private static final class Holder {
+		static final List<StoreProvider> PROVIDERS = ServiceLoader.load(StoreProvider.class).stream()
+				.map(ServiceLoader.Provider::get).toList();
+	}
+
+	private Stores() {
+	}
+
+	/**
+	 * Gets every provider on the class path.
+	 *
+	 * @return An unmodifiable list of the providers.
+	 */
+	public static List<StoreProvider> getProviders() {
+		return Holder.PROVIDERS;
+	}
+
+	/**
+	 * Gets the provider selected by the {@value #PROPERTY} system property.
+	 *
+	 * @return The selected provider.
+	 * @throws IllegalStateException If no provider has the selected name.
+	 */
+	public static StoreProvider getProvider() {
+		String name = System.getProperty(PROPERTY, ListStoreProvider.NAME);
+
+		try {
+			return getProvider(name);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalStateException("The " + PROPERTY + " system property selects an unknown store.", e);
+		}
+	}
+
+	/**
+	 * Gets a provider by name.
+	 *
+	 * @param name The name of the provider.
+	 * @return The provider.
+	 * @throws IllegalArgumentException If no provider has the given name.
+	 */
+	public static StoreProvider getProvider(@NonNull String name) {
+		for (StoreProvider provider : Holder.PROVIDERS) {
+			if (provider.getName().equals(name)) {
+				return provider;
+			}
+		}
+
+		throw new IllegalArgumentException("Store " + name + " does not exist.");
+	}
+}
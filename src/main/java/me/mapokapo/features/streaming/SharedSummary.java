@@ -0,0 +1,42 @@
+package me.mapokapo.features.streaming;
+
+import java.util.List;
+
+import lombok.Value;
+import me.mapokapo.features.scoreboard.SummaryEntry;
+
+/**
+ * A consistent snapshot of a summary published by a
+ * {@link SharedSummaryPublisher}, as read by a {@link SharedSummaryReader}.
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+@Value
+public class SharedSummary {
+	/**
+	 * The version of the summary, which increases by one with every change.
+	 */
+	long version;
+
+	/**
+	 * The number of matches in the summary, including any which did not fit into
+	 * the file.
+	 */
+	int liveMatches;
+
+	/**
+	 * The matches of the summary which fit into the file, in the order of the
+	 * summary.
+	 */
+	List<SummaryEntry> matches;
+
+	/**
+	 * Checks whether some matches of the summary did not fit into the file.
+	 *
+	 * @return Whether the summary was cut short.
+	 */
+	public boolean isTruncated() {
+		return matches.size() < liveMatches;
+	}
+}
@@ -0,0 +1,66 @@
+package me.mapokapo.features.streaming;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Constants of the shared summary file written by
+ * {@link SharedSummaryPublisher} and read by {@link SharedSummaryReader}.
+ *
+ * <p>
+ * The file is a header of {@link #HEADER_SIZE} bytes followed by a data area
+ * of the capacity given in the header. All numbers are little-endian. The
+ * header holds the magic number {@link #MAGIC}, the format {@link #VERSION},
+ * the sequence of the seqlock, the capacity of the data area, the length of
+ * the published data, the version of the published summary, the number of
+ * matches in the data area and the number of matches in the summary, which is
+ * larger if not every match fit.
+ * </p>
+ *
+ * <p>
+ * The data area holds as many matches of the summary as fit, in the order of
+ * the summary. Every match is its ID, the ID and the name of its home team,
+ * the ID and the name of its away team, its competition and its home and away
+ * scores. IDs and scores are four-byte integers, and strings are their UTF-8
+ * encoded length as a four-byte integer followed by the bytes, or a length of
+ * -1 for {@code null}.
+ * </p>
+ *
+ * <p>
+ * The sequence is odd while the publisher writes, and is increased to the
+ * next even number once it is done. Everything after the sequence, including
+ * the rest of the header, is only consistent if the sequence was the same
+ * even number before and after reading it.
+ * </p>
+ */
+final class SharedSummaryFormat {
+	static final int MAGIC = 0x4C465353; // "LFSS"
+	static final int VERSION = 1;
+
+	static final int MAGIC_OFFSET = 0;
+	static final int VERSION_OFFSET = 4;
+	static final int SEQUENCE_OFFSET = 8;
+	static final int CAPACITY_OFFSET = 16;
+	static final int LENGTH_OFFSET = 20;
+	static final int SUMMARY_VERSION_OFFSET = 24;
+	static final int MATCH_COUNT_OFFSET = 32;
+	static final int LIVE_MATCHES_OFFSET = 36;
+	static final int HEADER_SIZE = 64;
+
+	static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+	/**
+	 * Atomic access to the sequence, which is aligned since mappings start at a
+	 * page boundary.
+	 */
+	static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ORDER);
+
+	/**
+	 * Atomic access to the magic number.
+	 */
+	static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ORDER);
+
+	private SharedSummaryFormat() {
+	}
+}
@@ -0,0 +1,294 @@
+package me.mapokapo.features.streaming;
+
+import static me.mapokapo.features.streaming.SharedSummaryFormat.CAPACITY_OFFSET;
+import static me.mapokapo.features.streaming.SharedSummaryFormat.HEADER_SIZE;
+import static me.mapokapo.features.streaming.SharedSummaryFormat.INT;
+import static me.mapokapo.features.streaming.SharedSummaryFormat.LENGTH_OFFSET;
+import static me.mapokapo.features.streaming.SharedSummaryFormat.LIVE_MATCHES_OFFSET;
+import static me.mapokapo.features.streaming.SharedSummaryFormat.LONG;
+import static me.mapokapo.features.streaming.SharedSummaryFormat.MAGIC;
+import static me.mapokapo.features.streaming.SharedSummaryFormat.MAGIC_OFFSET;
+import static me.mapokapo.features.streaming.SharedSummaryFormat.MATCH_COUNT_OFFSET;
+import static me.mapokapo.features.streaming.SharedSummaryFormat.ORDER;
+import static me.mapokapo.features.streaming.SharedSummaryFormat.SEQUENCE_OFFSET;
+import static me.mapokapo.features.streaming.SharedSummaryFormat.SUMMARY_VERSION_OFFSET;
+import static me.mapokapo.features.streaming.SharedSummaryFormat.VERSION;
+import static me.mapokapo.features.streaming.SharedSummaryFormat.VERSION_OFFSET;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.NonNull;
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchListener;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.scoreboard.Scoreboard;
+import me.mapokapo.features.teams.Team;
+
+/**
+ * Publishes the summary of a {@link Scoreboard} into a memory-mapped file, from
+ * which other processes on the same host read it with a
+ * {@link SharedSummaryReader}.
+ *
+ * <p>
+ * The summary is published when the publisher is created, then again whenever
+ * a match in the summary starts, changes its score or finishes, and whenever a
+ * live match is added or removed. It is written
+ * straight into the mapping, which the operating system shares with every
+ * process that maps the same file, so neither publishing nor reading takes a
+ * system call. The file is guarded by a seqlock: its sequence is odd while the
+ * summary is being written, and readers retry until they have read the whole
+ * summary between two observations of the same even sequence. Readers never
+ * block the publisher, and a slow reader only ever delays itself.
+ * </p>
+ *
+ * <p>
+ * The size of the file is fixed when the publisher is created. If the summary
+ * does not fit, only as many of its first matches as fit are published, and
+ * readers can tell the summary was cut short from
+ * {@link SharedSummary#isTruncated()}.
+ * </p>
+ *
+ * <p>
+ * The publisher must be created on the thread which owns the scoreboard, and
+ * the scoreboard must only be changed on that thread, or under the lock of an
+ * {@link me.mapokapo.features.scoreboard.AsyncScoreboard}.
+ * </p>
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+public class SharedSummaryPublisher implements AutoCloseable {
+	/**
+	 * The default capacity of the data area of the file, which holds the summary
+	 * of around ten thousand matches.
+	 */
+	public static final int DEFAULT_CAPACITY = 1 << 20;
+
+	/**
+	 * The size of a match in the data area, apart from its strings.
+	 */
+	private static final int MATCH_SIZE = 8 * Integer.BYTES;
+
+	private final MatchRepository matchRepository;
+	private final Scoreboard scoreboard;
+	private final FileChannel channel;
+	private final MappedByteBuffer buffer;
+	private final int capacity;
+
+	/**
+	 * The UTF-8 encoded names of teams and competitions, so each name is only
+	 * encoded once.
+	 */
+	private final Map<Team, byte[]> encodedNames = new HashMap<>();
+	private final Map<String, byte[]> encodedCompetitions = new HashMap<>();
+
+	private long sequence;
+	private long version = 0;
+	private boolean closed = false;
+
+	private final MatchListener matchListener = new MatchListener() {
+		@Override
+		public void onMatchAdded(Match match) {
+			if (match.isStarted() && !match.isFinished()) {
+				publish();
+			}
+		}
+
+		@Override
+		public void onMatchRemoved(Match match) {
+			if (match.isStarted() && !match.isFinished()) {
+				publish();
+			}
+		}
+
+		@Override
+		public void onMatchStarted(Match match) {
+			publish();
+		}
+
+		@Override
+		public void onScoreChanged(Match match, int previousHomeScore, int previousAwayScore) {
+			publish();
+		}
+
+		@Override
+		public void onMatchFinished(Match match) {
+			publish();
+		}
+	};
+
+	/**
+	 * Creates a publisher with the {@link #DEFAULT_CAPACITY default capacity}.
+	 *
+	 * @param matchRepository The repository of the matches of the scoreboard,
+	 *                        whose changes are published.
+	 * @param scoreboard      The scoreboard whose summary is published.
+	 * @param file            The file to publish the summary into, which is
+	 *                        created if it does not exist.
+	 * @throws IOException If the file cannot be created or mapped.
+	 */
+	public SharedSummaryPublisher(@NonNull MatchRepository matchRepository, @NonNull Scoreboard scoreboard,
+			@NonNull Path file) throws IOException {
+		this(matchRepository, scoreboard, file, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a publisher.
+	 *
+	 * @param matchRepository The repository of the matches of the scoreboard,
+	 *                        whose changes are published.
+	 * @param scoreboard      The scoreboard whose summary is published.
+	 * @param file            The file to publish the summary into, which is
+	 *                        created if it does not exist.
+	 * @param capacity        The capacity of the data area of the file in bytes.
+	 * @throws IllegalArgumentException If the capacity is not positive.
+	 * @throws IOException              If the file cannot be created or mapped.
+	 */
+	public SharedSummaryPublisher(@NonNull MatchRepository matchRepository, @NonNull Scoreboard scoreboard,
+			@NonNull Path file, int capacity) throws IOException {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive.");
+		}
+
+		this.matchRepository = matchRepository;
+		this.scoreboard = scoreboard;
+		this.capacity = capacity;
+		this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+
+		try {
+			channel.truncate(HEADER_SIZE + capacity);
+			this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + capacity);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+
+		buffer.order(ORDER);
+
+		// Readers which still map the file of a previous publisher keep reading
+		// through its header, so its sequence is continued rather than reset, and
+		// they never see the same sequence twice.
+		long previous = (long) LONG.getVolatile(buffer, SEQUENCE_OFFSET);
+		sequence = previous + (previous & 1);
+
+		INT.setVolatile(buffer, MAGIC_OFFSET, 0);
+		buffer.putInt(VERSION_OFFSET, VERSION);
+		buffer.putInt(CAPACITY_OFFSET, capacity);
+		publish(scoreboard.getSummary());
+		INT.setRelease(buffer, MAGIC_OFFSET, MAGIC);
+
+		matchRepository.addListener(matchListener);
+	}
+
+	/**
+	 * Gets the version of the published summary, which is 0 for the summary
+	 * published before any change.
+	 *
+	 * @return The version.
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * Stops publishing changes of the summary. The file is left in place with
+	 * the last published summary, so readers can still read it.
+	 *
+	 * @throws IOException If the file cannot be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+
+		closed = true;
+		matchRepository.removeListener(matchListener);
+		channel.close();
+	}
+
+	private void publish() {
+		version++;
+		publish(scoreboard.getSummary());
+	}
+
+	/**
+	 * Writes a summary into the file under the seqlock.
+	 */
+	private void publish(List<Match> summary) {
+		LONG.setVolatile(buffer, SEQUENCE_OFFSET, sequence + 1);
+		// The sequence must become odd before any of the writes below.
+		VarHandle.storeStoreFence();
+
+		int position = HEADER_SIZE;
+		int end = HEADER_SIZE + capacity;
+		int matchCount = 0;
+
+		for (Match match : summary) {
+			byte[] homeName = encodedName(match.getHomeTeam());
+			byte[] awayName = encodedName(match.getAwayTeam());
+			byte[] competition = match.getCompetition().map(this::encodedCompetition).orElse(null);
+			long size = (long) MATCH_SIZE + homeName.length + awayName.length
+					+ (competition == null ? 0 : competition.length);
+
+			if (size > end - position) {
+				break;
+			}
+
+			buffer.putInt(position, match.getId());
+			buffer.putInt(position + 4, match.getHomeTeam().getId());
+			position = putBytes(position + 8, homeName);
+			buffer.putInt(position, match.getAwayTeam().getId());
+			position = putBytes(position + 4, awayName);
+			position = putBytes(position, competition);
+			buffer.putInt(position, match.getHomeScore());
+			buffer.putInt(position + 4, match.getAwayScore());
+			position += 8;
+			matchCount++;
+		}
+
+		buffer.putInt(LENGTH_OFFSET, position - HEADER_SIZE);
+		buffer.putLong(SUMMARY_VERSION_OFFSET, version);
+		buffer.putInt(MATCH_COUNT_OFFSET, matchCount);
+		buffer.putInt(LIVE_MATCHES_OFFSET, summary.size());
+
+		sequence += 2;
+		LONG.setRelease(buffer, SEQUENCE_OFFSET, sequence);
+	}
+
+	/**
+	 * Writes a string as its length followed by its bytes.
+	 *
+	 * @return The position after the string.
+	 */
+	private int putBytes(int position, byte[] bytes) {
+		if (bytes == null) {
+			buffer.putInt(position, -1);
+
+			return position + 4;
+		}
+
+		buffer.putInt(position, bytes.length);
+		buffer.put(position + 4, bytes);
+
+		return position + 4 + bytes.length;
+	}
+
+	private byte[] encodedName(Team team) {
+		return encodedNames.computeIfAbsent(team, key -> key.getName().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private byte[] encodedCompetition(String competition) {
+		return encodedCompetitions.computeIfAbsent(competition, key -> key.getBytes(StandardCharsets.UTF_8));
+	}
+}
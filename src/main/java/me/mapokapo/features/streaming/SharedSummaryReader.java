@@ -0,0 +1,325 @@
+package me.mapokapo.features.streaming;
+
+import static me.mapokapo.features.streaming.SharedSummaryFormat.CAPACITY_OFFSET;
+import static me.mapokapo.features.streaming.SharedSummaryFormat.HEADER_SIZE;
+import static me.mapokapo.features.streaming.SharedSummaryFormat.INT;
+import static me.mapokapo.features.streaming.SharedSummaryFormat.LENGTH_OFFSET;
+import static me.mapokapo.features.streaming.SharedSummaryFormat.LIVE_MATCHES_OFFSET;
+import static me.mapokapo.features.streaming.SharedSummaryFormat.LONG;
+import static me.mapokapo.features.streaming.SharedSummaryFormat.MAGIC;
+import static me.mapokapo.features.streaming.SharedSummaryFormat.MAGIC_OFFSET;
+import static me.mapokapo.features.streaming.SharedSummaryFormat.MATCH_COUNT_OFFSET;
+import static me.mapokapo.features.streaming.SharedSummaryFormat.ORDER;
+import static me.mapokapo.features.streaming.SharedSummaryFormat.SEQUENCE_OFFSET;
+import static me.mapokapo.features.streaming.SharedSummaryFormat.SUMMARY_VERSION_OFFSET;
+import static me.mapokapo.features.streaming.SharedSummaryFormat.VERSION;
+import static me.mapokapo.features.streaming.SharedSummaryFormat.VERSION_OFFSET;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import lombok.NonNull;
+import me.mapokapo.features.scoreboard.SummaryEntry;
+import me.mapokapo.features.teams.Team;
+
+/**
+ * Reads the summary published by a {@link SharedSummaryPublisher}, possibly in
+ * another process on the same host.
+ *
+ * <p>
+ * The file is mapped read-only, so reading the summary takes no system call.
+ * Every read decodes the summary from the mapping and checks the sequence of
+ * the seqlock before and after. If the publisher was writing at the same time,
+ * the read is retried, so a read only ever returns a summary exactly as it was
+ * published. Reading never blocks the publisher. If the publisher stops while
+ * writing, for example because its process died, reads keep failing until the
+ * timeout of the reader runs out, and then throw.
+ * </p>
+ *
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+public class SharedSummaryReader implements AutoCloseable {
+	/**
+	 * The size of a match in the data area, apart from its strings.
+	 */
+	private static final int MATCH_SIZE = 8 * Integer.BYTES;
+
+	/**
+	 * The default time a read is retried for while the publisher is writing.
+	 */
+	public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(1);
+
+	private final FileChannel channel;
+	private final MappedByteBuffer buffer;
+	private final int capacity;
+	private final long timeoutNanos;
+
+	private volatile boolean closed = false;
+
+	/**
+	 * Creates a reader of a file written by a {@link SharedSummaryPublisher},
+	 * with the {@link #DEFAULT_TIMEOUT default timeout}.
+	 *
+	 * @param file The file to read the summary from.
+	 * @throws IOException If the file cannot be mapped, or it does not hold a
+	 *                     published summary.
+	 */
+	public SharedSummaryReader(@NonNull Path file) throws IOException {
+		this(file, DEFAULT_TIMEOUT);
+	}
+
+	/**
+	 * Creates a reader of a file written by a {@link SharedSummaryPublisher}.
+	 *
+	 * @param file    The file to read the summary from.
+	 * @param timeout The time a read is retried for while the publisher is
+	 *                writing, before it fails.
+	 * @throws IOException              If the file cannot be mapped, or it does
+	 *                                  not hold a published summary.
+	 * @throws IllegalArgumentException If the timeout is not positive.
+	 */
+	public SharedSummaryReader(@NonNull Path file, @NonNull Duration timeout) throws IOException {
+		if (timeout.isNegative() || timeout.isZero()) {
+			throw new IllegalArgumentException("Timeout must be positive.");
+		}
+
+		this.timeoutNanos = timeout.toNanos();
+		this.channel = FileChannel.open(file, StandardOpenOption.READ);
+
+		try {
+			long size = channel.size();
+
+			if (size < HEADER_SIZE) {
+				throw new IOException("File does not hold a shared summary");
+			}
+
+			MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+			header.order(ORDER);
+
+			// The publisher sets the magic number last, once the header and the first
+			// summary have been written.
+			if ((int) INT.getAcquire(header, MAGIC_OFFSET) != MAGIC) {
+				throw new IOException("File does not hold a shared summary");
+			}
+
+			if (header.getInt(VERSION_OFFSET) != VERSION) {
+				throw new IOException("Unsupported shared summary version " + header.getInt(VERSION_OFFSET));
+			}
+
+			this.capacity = header.getInt(CAPACITY_OFFSET);
+
+			if (capacity <= 0 || size < HEADER_SIZE + (long) capacity) {
+				throw new IOException("Shared summary file is truncated");
+			}
+
+			this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE + capacity);
+			buffer.order(ORDER);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Gets the version of the published summary, without reading the summary
+	 * itself. Polling this is cheaper than {@link #read()} to find out whether
+	 * the summary has changed.
+	 *
+	 * @return The version.
+	 * @throws IllegalStateException If the reader is closed, or the publisher
+	 *                               was writing for longer than the timeout.
+	 */
+	public long getVersion() {
+		ensureOpen();
+		long deadline = 0;
+
+		while (true) {
+			long before = (long) LONG.getAcquire(buffer, SEQUENCE_OFFSET);
+
+			if ((before & 1) == 0) {
+				long version = buffer.getLong(SUMMARY_VERSION_OFFSET);
+				VarHandle.loadLoadFence();
+
+				if ((long) LONG.getAcquire(buffer, SEQUENCE_OFFSET) == before) {
+					return version;
+				}
+			}
+
+			deadline = retry(deadline);
+		}
+	}
+
+	/**
+	 * Reads the published summary.
+	 *
+	 * @return The summary, exactly as it was published.
+	 * @throws IllegalStateException If the reader is closed, the file is corrupt,
+	 *                               or the publisher was writing for longer than
+	 *                               the timeout.
+	 */
+	public SharedSummary read() {
+		ensureOpen();
+		long deadline = 0;
+
+		while (true) {
+			long before = (long) LONG.getAcquire(buffer, SEQUENCE_OFFSET);
+
+			if ((before & 1) == 0) {
+				SharedSummary summary = decode();
+				VarHandle.loadLoadFence();
+
+				if ((long) LONG.getAcquire(buffer, SEQUENCE_OFFSET) == before) {
+					if (summary == null) {
+						throw new IllegalStateException("Shared summary file is corrupt");
+					}
+
+					return summary;
+				}
+			}
+
+			deadline = retry(deadline);
+		}
+	}
+
+	/**
+	 * Closes the file. The mapping itself is released once the reader is garbage
+	 * collected.
+	 *
+	 * @throws IOException If the file cannot be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		closed = true;
+		channel.close();
+	}
+
+	private void ensureOpen() {
+		if (closed) {
+			throw new IllegalStateException("Reader is closed");
+		}
+	}
+
+	/**
+	 * Waits briefly before a read is retried. The deadline is only set once the
+	 * first attempt failed, so reads which succeed right away do not read the
+	 * time.
+	 *
+	 * @param deadline The deadline of the read, or 0 if it is not set yet.
+	 * @return The deadline of the read.
+	 */
+	private long retry(long deadline) {
+		if (deadline == 0) {
+			deadline = System.nanoTime() + timeoutNanos;
+		} else if (System.nanoTime() - deadline > 0) {
+			throw new IllegalStateException("Shared summary is still being written, the publisher may have died");
+		}
+
+		Thread.onSpinWait();
+
+		return deadline;
+	}
+
+	/**
+	 * Decodes the summary. Since the publisher may be writing at the same time,
+	 * every length is checked before it is used.
+	 *
+	 * @return The summary, or {@code null} if the data is not consistent.
+	 */
+	private SharedSummary decode() {
+		int length = buffer.getInt(LENGTH_OFFSET);
+		long version = buffer.getLong(SUMMARY_VERSION_OFFSET);
+		int matchCount = buffer.getInt(MATCH_COUNT_OFFSET);
+		int liveMatches = buffer.getInt(LIVE_MATCHES_OFFSET);
+
+		if (length < 0 || length > capacity || matchCount < 0 || matchCount > length / MATCH_SIZE
+				|| liveMatches < matchCount) {
+			return null;
+		}
+
+		List<SummaryEntry> matches = new ArrayList<>(matchCount);
+		int end = HEADER_SIZE + length;
+		int[] position = { HEADER_SIZE };
+
+		for (int i = 0; i < matchCount; i++) {
+			if (end - position[0] < MATCH_SIZE) {
+				return null;
+			}
+
+			int matchId = buffer.getInt(position[0]);
+			int homeTeamId = buffer.getInt(position[0] + 4);
+			position[0] += 8;
+			String homeName = getString(position, end);
+
+			if (homeName == null || end - position[0] < 8) {
+				return null;
+			}
+
+			int awayTeamId = buffer.getInt(position[0]);
+			position[0] += 4;
+			String awayName = getString(position, end);
+
+			if (awayName == null || end - position[0] < 4) {
+				return null;
+			}
+
+			String competition = null;
+
+			if (buffer.getInt(position[0]) == -1) {
+				position[0] += 4;
+			} else if ((competition = getString(position, end)) == null) {
+				return null;
+			}
+
+			if (end - position[0] < 8) {
+				return null;
+			}
+
+			int homeScore = buffer.getInt(position[0]);
+			int awayScore = buffer.getInt(position[0] + 4);
+			position[0] += 8;
+
+			matches.add(new SummaryEntry(matchId, new Team(homeTeamId, homeName), new Team(awayTeamId, awayName),
+					competition, homeScore, awayScore));
+		}
+
+		return new SharedSummary(version, liveMatches, Collections.unmodifiableList(matches));
+	}
+
+	/**
+	 * Reads a string which is not {@code null}, and moves the position past it.
+	 *
+	 * @return The string, or {@code null} if its length does not fit before the
+	 *         end.
+	 */
+	private String getString(int[] position, int end) {
+		if (end - position[0] < 4) {
+			return null;
+		}
+
+		int length = buffer.getInt(position[0]);
+
+		if (length < 0 || length > end - position[0] - 4) {
+			return null;
+		}
+
+		byte[] bytes = new byte[length];
+		buffer.get(position[0] + 4, bytes);
+		position[0] += 4 + length;
+
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,314 @@
+package me.mapokapo.features.streaming;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import lombok.NonNull;
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchListener;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.scoreboard.Scoreboard;
+
+/**
+ * An embedded HTTP server which streams the summary of a {@link Scoreboard} to
+ * its subscribers as Server-Sent Events.
+ *
+ * <p>
+ * Subscribers connect to {@value #PATH} and receive one {@code summary} event
+ * with the current summary, then another one whenever a match in the summary
+ * starts, changes its score or finishes, and whenever a live match is added or
+ * removed. Every event carries the whole summary
+ * as a JSON array, and its ID is the version of the stream, which increases by
+ * one with every change.
+ * </p>
+ *
+ * <p>
+ * Every change is encoded once, on the thread which changed the scoreboard,
+ * and the same bytes are written to every subscriber. Each subscriber is
+ * served by its own virtual thread, which always writes the latest event. A
+ * slow subscriber therefore never delays the others or the scoreboard, and
+ * nothing is buffered for it: while it is busy receiving one event, later
+ * events are conflated, and it skips straight to the latest one.
+ * </p>
+ *
+ * <p>
+ * The server must be created on the thread which owns the scoreboard, and the
+ * scoreboard must only be changed on that thread, or under the lock of an
+ * {@link me.mapokapo.features.scoreboard.AsyncScoreboard}.
+ * </p>
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+public class SummaryStreamServer implements AutoCloseable {
+	/**
+	 * The path of the event stream.
+	 */
+	public static final String PATH = "/summary";
+
+	/**
+	 * The number of pending connections the server accepts, high enough for many
+	 * subscribers connecting at once, such as after a restart.
+	 */
+	private static final int BACKLOG = 4096;
+
+	/**
+	 * An encoded event, shared by every subscriber.
+	 */
+	private static final class Frame {
+		final long version;
+		final byte[] bytes;
+
+		Frame(long version, byte[] bytes) {
+			this.version = version;
+			this.bytes = bytes;
+		}
+	}
+
+	private final MatchRepository matchRepository;
+	private final Scoreboard scoreboard;
+	private final HttpServer server;
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+	private final StringBuilder builder = new StringBuilder();
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition changed = lock.newCondition();
+	private final AtomicInteger subscriberCount = new AtomicInteger();
+
+	private volatile Frame latest;
+	private volatile boolean closed;
+
+	private final MatchListener matchListener = new MatchListener() {
+		@Override
+		public void onMatchAdded(Match match) {
+			if (match.isStarted() && !match.isFinished()) {
+				publish();
+			}
+		}
+
+		@Override
+		public void onMatchRemoved(Match match) {
+			if (match.isStarted() && !match.isFinished()) {
+				publish();
+			}
+		}
+
+		@Override
+		public void onMatchStarted(Match match) {
+			publish();
+		}
+
+		@Override
+		public void onScoreChanged(Match match, int previousHomeScore, int previousAwayScore) {
+			publish();
+		}
+
+		@Override
+		public void onMatchFinished(Match match) {
+			publish();
+		}
+	};
+
+	/**
+	 * Creates a server and starts listening for subscribers.
+	 *
+	 * @param matchRepository The repository of the matches of the scoreboard,
+	 *                        whose changes are streamed.
+	 * @param scoreboard      The scoreboard whose summary is streamed.
+	 * @param address         The address to listen on. A port of 0 picks a free
+	 *                        port.
+	 * @throws IOException If the server cannot listen on the address.
+	 */
+	public SummaryStreamServer(@NonNull MatchRepository matchRepository, @NonNull Scoreboard scoreboard,
+			@NonNull InetSocketAddress address) throws IOException {
+		this.matchRepository = matchRepository;
+		this.scoreboard = scoreboard;
+		this.latest = new Frame(0, encode(0, scoreboard.getSummary()));
+		this.server = HttpServer.create(address, BACKLOG);
+
+		server.setExecutor(executor);
+		server.createContext(PATH, this::subscribe);
+		matchRepository.addListener(matchListener);
+		server.start();
+	}
+
+	/**
+	 * Gets the port the server listens on.
+	 *
+	 * @return The port.
+	 */
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * Gets the number of connected subscribers.
+	 *
+	 * @return The number of subscribers.
+	 */
+	public int getSubscriberCount() {
+		return subscriberCount.get();
+	}
+
+	/**
+	 * Gets the version of the latest event, which is 0 for the event sent before
+	 * any change.
+	 *
+	 * @return The version.
+	 */
+	public long getVersion() {
+		return latest.version;
+	}
+
+	/**
+	 * Stops the server and disconnects every subscriber.
+	 */
+	@Override
+	public void close() {
+		matchRepository.removeListener(matchListener);
+		closed = true;
+		signal();
+		server.stop(0);
+		executor.shutdown();
+	}
+
+	/**
+	 * Encodes the current summary and wakes up every subscriber.
+	 */
+	private void publish() {
+		long version = latest.version + 1;
+		latest = new Frame(version, encode(version, scoreboard.getSummary()));
+		signal();
+	}
+
+	private void signal() {
+		lock.lock();
+
+		try {
+			changed.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Waits for an event newer than the given version.
+	 *
+	 * @return The latest event, or {@code null} if the server was closed.
+	 */
+	private Frame awaitNewer(long version) throws InterruptedException {
+		lock.lock();
+
+		try {
+			while (!closed && latest.version == version) {
+				changed.await();
+			}
+
+			return closed ? null : latest;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void subscribe(HttpExchange exchange) throws IOException {
+		subscriberCount.incrementAndGet();
+
+		try (exchange) {
+			if (!"GET".equals(exchange.getRequestMethod())) {
+				exchange.sendResponseHeaders(405, -1);
+				return;
+			}
+
+			exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+			exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+			exchange.sendResponseHeaders(200, 0);
+
+			OutputStream body = exchange.getResponseBody();
+			long version = -1;
+			Frame frame;
+
+			while ((frame = awaitNewer(version)) != null) {
+				body.write(frame.bytes);
+				body.flush();
+				version = frame.version;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (IOException e) {
+			// The subscriber disconnected.
+		} finally {
+			subscriberCount.decrementAndGet();
+		}
+	}
+
+	private byte[] encode(long version, List<Match> summary) {
+		builder.setLength(0);
+		builder.append("id: ").append(version).append("\nevent: summary\ndata: [");
+
+		for (int i = 0; i < summary.size(); i++) {
+			Match match = summary.get(i);
+
+			if (i > 0) {
+				builder.append(',');
+			}
+
+			builder.append("{\"id\":").append(match.getId());
+			builder.append(",\"homeTeam\":");
+			appendJsonString(builder, match.getHomeTeam().getName());
+			builder.append(",\"awayTeam\":");
+			appendJsonString(builder, match.getAwayTeam().getName());
+			builder.append(",\"homeScore\":").append(match.getHomeScore());
+			builder.append(",\"awayScore\":").append(match.getAwayScore());
+			match.getCompetition().ifPresent(competition -> {
+				builder.append(",\"competition\":");
+				appendJsonString(builder, competition);
+			});
+			builder.append('}');
+		}
+
+		builder.append("]\n\n");
+
+		return builder.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Appends a string as a quoted JSON string. Line breaks are escaped too, so
+	 * the result always fits on a single {@code data} line.
+	 */
+	private static void appendJsonString(StringBuilder builder, String value) {
+		builder.append('"');
+
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+
+			switch (c) {
+				case '"' -> builder.append("\\\"");
+				case '\\' -> builder.append("\\\\");
+				case '\n' -> builder.append("\\n");
+				case '\r' -> builder.append("\\r");
+				case '\t' -> builder.append("\\t");
+				default -> {
+					if (c < 0x20) {
+						builder.append(String.format("\\u%04x", (int) c));
+					} else {
+						builder.append(c);
+					}
+				}
+			}
+		}
+
+		builder.append('"');
+	}
+}
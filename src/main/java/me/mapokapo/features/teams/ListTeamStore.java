@@ -0,0 +1,61 @@
+package me.mapokapo.features.teams;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The reference {@link TeamStore}, which keeps teams in an {@link ArrayList} in
+ * insertion order, and indexes them by ID in a {@link HashMap}.
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+public class ListTeamStore implements TeamStore {
+	private final List<Team> teams = new ArrayList<>();
+	private final List<Team> view = Collections.unmodifiableList(teams);
+
+	/**
+	 * Index of teams by their ID, used for constant-time lookups.
+	 */
+	private final Map<Integer, Team> teamsById = new HashMap<>();
+
+	@Override
+	public int size() {
+		return teams.size();
+	}
+
+	@Override
+	public Team get(int teamId) {
+		return teamsById.get(teamId);
+	}
+
+	@Override
+	public List<Team> getAll() {
+		return view;
+	}
+
+	@Override
+	public boolean add(Team team) {
+		if (teamsById.putIfAbsent(team.getId(), team) != null) {
+			return false;
+		}
+
+		teams.add(team);
+
+		return true;
+	}
+
+	@Override
+	public Team remove(int teamId) {
+		Team team = teamsById.remove(teamId);
+
+		if (team != null) {
+			teams.remove(team);
+		}
+
+		return team;
+	}
+}
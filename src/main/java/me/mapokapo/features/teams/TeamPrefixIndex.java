@@ -0,0 +1,270 @@
+package me.mapokapo.features.teams;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An index of teams by their normalized name, which finds the teams whose
+ * names start with a prefix, as an operator types it.
+ *
+ * <p>
+ * Names are normalized by lower-casing them and removing diacritics, so
+ * "cote" finds "Côte d'Ivoire" and "MUNCH" finds "München". The normalized
+ * names are kept in a sorted array, next to an array of their teams, so a
+ * lookup is a binary search for the first name not below the prefix followed
+ * by a scan of the names which start with it, in O(log n + k) time, where k is
+ * the number of returned teams.
+ * </p>
+ *
+ * <p>
+ * New teams go to a small sorted buffer, which is merged into the main array
+ * once it is full, so adding a team shifts at most the buffer, and the main
+ * array is copied once for every buffer full of teams rather than shifted for
+ * every team. Lookups search both arrays and merge their results. Removing a
+ * team shifts the array it is in.
+ * </p>
+ *
+ * <p>
+ * Teams with the same normalized name are ordered by ID.
+ * </p>
+ */
+class TeamPrefixIndex {
+	/**
+	 * The number of teams the buffer holds before it is merged into the main run.
+	 */
+	private static final int BUFFER_CAPACITY = 1_024;
+
+	/**
+	 * A run of teams sorted by normalized name and then by ID, in two parallel
+	 * arrays.
+	 */
+	private static final class Run {
+		String[] names;
+		Team[] teams;
+		int size = 0;
+
+		Run(int capacity) {
+			names = new String[capacity];
+			teams = new Team[capacity];
+		}
+
+		/**
+		 * Finds the first position whose entry is not below the given name and ID.
+		 */
+		int search(String name, int id) {
+			int low = 0;
+			int high = size;
+
+			while (low < high) {
+				int middle = low + high >>> 1;
+				int comparison = names[middle].compareTo(name);
+
+				if (comparison < 0 || comparison == 0 && teams[middle].getId() < id) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+
+			return low;
+		}
+
+		void insert(int position, String name, Team team) {
+			if (size == names.length) {
+				names = Arrays.copyOf(names, Math.max(INITIAL_CAPACITY, size * 2));
+				teams = Arrays.copyOf(teams, names.length);
+			}
+
+			System.arraycopy(names, position, names, position + 1, size - position);
+			System.arraycopy(teams, position, teams, position + 1, size - position);
+			names[position] = name;
+			teams[position] = team;
+			size++;
+		}
+
+		/**
+		 * Removes a team, if it is at the given position.
+		 *
+		 * @return Whether the team was removed.
+		 */
+		boolean remove(int position, Team team) {
+			if (position == size || teams[position] != team) {
+				return false;
+			}
+
+			System.arraycopy(names, position + 1, names, position, size - position - 1);
+			System.arraycopy(teams, position + 1, teams, position, size - position - 1);
+			size--;
+			names[size] = null;
+			teams[size] = null;
+
+			return true;
+		}
+
+		/**
+		 * Checks whether the entry at a position exists and comes before the entry
+		 * at a position of another run.
+		 */
+		boolean isBefore(int position, Run other, int otherPosition) {
+			if (position == size) {
+				return false;
+			}
+
+			if (otherPosition == other.size) {
+				return true;
+			}
+
+			int comparison = names[position].compareTo(other.names[otherPosition]);
+
+			return comparison < 0 || comparison == 0 && teams[position].getId() < other.teams[otherPosition].getId();
+		}
+	}
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * Most of the teams.
+	 */
+	private Run main = new Run(INITIAL_CAPACITY);
+
+	/**
+	 * The teams added since the buffer was last merged into the main run. Adding
+	 * a team only shifts this small run, so adding many teams in a row, such as
+	 * when importing them, does not shift the main run every time.
+	 */
+	private Run buffer = new Run(BUFFER_CAPACITY);
+
+	/**
+	 * Adds a team to the index.
+	 *
+	 * @param team The team to add. It must not be in the index already.
+	 */
+	void add(Team team) {
+		String name = normalize(team.getName());
+		buffer.insert(buffer.search(name, team.getId()), name, team);
+
+		if (buffer.size == BUFFER_CAPACITY) {
+			mergeBuffer();
+		}
+	}
+
+	/**
+	 * Removes a team from the index. Removing a team which is not in the index has
+	 * no effect.
+	 *
+	 * @param team The team to remove.
+	 */
+	void remove(Team team) {
+		String name = normalize(team.getName());
+
+		if (!buffer.remove(buffer.search(name, team.getId()), team)) {
+			main.remove(main.search(name, team.getId()), team);
+		}
+	}
+
+	/**
+	 * Finds the teams whose normalized names start with the normalized prefix, in
+	 * the order of their normalized names. Both runs are searched, and the teams
+	 * found in them are merged in order.
+	 *
+	 * @param prefix The prefix.
+	 * @param limit  The maximum number of teams to return.
+	 * @return A modifiable list of at most {@code limit} teams.
+	 */
+	List<Team> find(String prefix, int limit) {
+		String key = normalize(prefix);
+		int mainPosition = main.search(key, Integer.MIN_VALUE);
+		int bufferPosition = buffer.search(key, Integer.MIN_VALUE);
+		List<Team> result = new ArrayList<>();
+
+		while (result.size() < limit) {
+			Team team;
+
+			if (main.isBefore(mainPosition, buffer, bufferPosition)) {
+				if (!main.names[mainPosition].startsWith(key)) {
+					break;
+				}
+
+				team = main.teams[mainPosition++];
+			} else if (bufferPosition < buffer.size && buffer.names[bufferPosition].startsWith(key)) {
+				team = buffer.teams[bufferPosition++];
+			} else {
+				break;
+			}
+
+			result.add(team);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Merges the buffer into the main run. Every buffered team is placed with a
+	 * binary search, and the teams of the main run between them are copied in
+	 * bulk, so the merge compares O(b log n) names instead of all of them.
+	 */
+	private void mergeBuffer() {
+		Run merged = new Run(main.size + buffer.size);
+		int copied = 0;
+
+		for (int i = 0; i < buffer.size; i++) {
+			int position = main.search(buffer.names[i], buffer.teams[i].getId());
+			copy(main, copied, merged, position - copied);
+			copied = position;
+			merged.names[merged.size] = buffer.names[i];
+			merged.teams[merged.size++] = buffer.teams[i];
+		}
+
+		copy(main, copied, merged, main.size - copied);
+		main = merged;
+		Arrays.fill(buffer.names, 0, buffer.size, null);
+		Arrays.fill(buffer.teams, 0, buffer.size, null);
+		buffer.size = 0;
+	}
+
+	private static void copy(Run from, int position, Run to, int length) {
+		System.arraycopy(from.names, position, to.names, to.size, length);
+		System.arraycopy(from.teams, position, to.teams, to.size, length);
+		to.size += length;
+	}
+
+	/**
+	 * Normalizes a name for prefix searches: letters are lower-cased and stripped
+	 * of diacritics, and the few Latin letters which do not decompose into a base
+	 * letter and a diacritic are spelled out.
+	 *
+	 * @param name The name, or {@code null}, which is treated as empty.
+	 * @return The normalized name.
+	 */
+	static String normalize(String name) {
+		if (name == null) {
+			return "";
+		}
+
+		String decomposed = Normalizer.normalize(name, Normalizer.Form.NFD);
+		StringBuilder normalized = new StringBuilder(decomposed.length());
+
+		for (int i = 0; i < decomposed.length(); i++) {
+			char c = decomposed.charAt(i);
+
+			if (Character.getType(c) == Character.NON_SPACING_MARK) {
+				continue;
+			}
+
+			switch (Character.toLowerCase(c)) {
+				case 'ß' -> normalized.append("ss");
+				case 'æ' -> normalized.append("ae");
+				case 'œ' -> normalized.append("oe");
+				case 'ø' -> normalized.append('o');
+				case 'đ', 'ð' -> normalized.append('d');
+				case 'ł' -> normalized.append('l');
+				case 'ı' -> normalized.append('i');
+				default -> normalized.append(Character.toLowerCase(c));
+			}
+		}
+
+		return normalized.toString();
+	}
+}
@@ -1,33 +1,59 @@
 package me.mapokapo.features.teams;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
+import lombok.NonNull;
+import me.mapokapo.features.storage.Stores;
+
 /**
  * This class serves as a data repository for {@link Team} objects.
  * 
- * The data source of this repository is a temporary in-memory solution
- * for now, consisting of a simple ArrayList.
+ * The teams are kept in a {@link TeamStore}, which is created by the storage
+ * backend selected with {@link Stores} unless one is passed in.
  */
 public class TeamRepository {
 	/**
 	 * Data source for teams.
+	 */
+	private final TeamStore store;
+
+	/**
+	 * The teams, indexed for prefix searches by name.
+	 */
+	private final TeamPrefixIndex prefixIndex = new TeamPrefixIndex();
+
+	/**
+	 * Creates a repository which keeps its teams in a store of the selected
+	 * storage backend.
+	 * 
+	 * @throws IllegalStateException If the selected backend does not exist.
+	 */
+	public TeamRepository() {
+		this(Stores.getProvider().createTeamStore());
+	}
+
+	/**
+	 * Creates a repository which keeps its teams in the given store.
 	 * 
-	 * This is a temporary in-memory solution for now, consisting of a simple
-	 * ArrayList.
+	 * @param store The store, which should be empty.
 	 */
-	private final List<Team> teams = new ArrayList<>();
+	public TeamRepository(@NonNull TeamStore store) {
+		this.store = store;
+
+		for (Team team : store.getAll()) {
+			prefixIndex.add(team);
+		}
+	}
 
 	/**
-	 * Gets the next available index for a new team. This is simply the size of
-	 * the current list of teams.
+	 * Gets the next available index for a new team. This is simply the number of
+	 * teams in the repository.
 	 * 
 	 * @return The next available index to use for creating a new team.
 	 */
 	public int getNextIndex() {
-		return teams.size();
+		return store.size();
 	}
 
 	/**
@@ -38,7 +64,7 @@ public class TeamRepository {
 	 *         Optional.
 	 */
 	public Optional<Team> getTeamById(int teamId) {
-		return teams.stream().filter(team -> team.getId() == teamId).findFirst();
+		return Optional.ofNullable(store.get(teamId));
 	}
 
 	/**
@@ -47,7 +73,33 @@ public class TeamRepository {
 	 * @return A list of all teams.
 	 */
 	public List<Team> getAllTeams() {
-		return Collections.unmodifiableList(teams);
+		return store.getAll();
+	}
+
+	/**
+	 * Finds the teams whose names start with a prefix, ignoring case and
+	 * diacritics, so that "cote" finds "Côte d'Ivoire". This is meant for
+	 * searching teams as the user types.
+	 * 
+	 * <p>
+	 * The teams are indexed by name, so a search takes O(log n + k) time, where n
+	 * is the number of teams and k is the number of returned teams, instead of a
+	 * scan over all teams.
+	 * </p>
+	 * 
+	 * @param prefix The prefix. An empty prefix matches every team.
+	 * @param limit  The maximum number of teams to return.
+	 * @return The first {@code limit} matching teams in the alphabetical order of
+	 *         their names without diacritics, with teams of the same name ordered
+	 *         by ID.
+	 * @throws IllegalArgumentException If the limit is negative.
+	 */
+	public List<Team> findTeamsByPrefix(@NonNull String prefix, int limit) {
+		if (limit < 0) {
+			throw new IllegalArgumentException("Limit cannot be negative.");
+		}
+
+		return prefixIndex.find(prefix, limit);
 	}
 
 	/**
@@ -59,11 +111,11 @@ public class TeamRepository {
 	 *                                  repository.
 	 */
 	public Team addTeam(Team team) {
-		if (teams.stream().anyMatch(t -> t.getId() == team.getId())) {
+		if (!store.add(team)) {
 			throw new IllegalArgumentException("Team with ID " + team.getId() + " already exists.");
 		}
 
-		teams.add(team);
+		prefixIndex.add(team);
 
 		return team;
 	}
@@ -76,12 +128,12 @@ public class TeamRepository {
 	 *                                  repository.
 	 */
 	public void removeTeam(int teamId) {
-		Optional<Team> team = getTeamById(teamId);
+		Team team = store.remove(teamId);
 
-		if (team.isPresent()) {
-			teams.remove(team.get());
-		} else {
+		if (team == null) {
 			throw new IllegalArgumentException("Team with ID " + teamId + " does not exist.");
 		}
+
+		prefixIndex.remove(team);
 	}
 }
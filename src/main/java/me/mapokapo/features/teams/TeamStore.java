@@ -0,0 +1,59 @@
+package me.mapokapo.features.teams;
+
+import java.util.List;
+
+/**
+ * The storage behind a {@link TeamRepository}. A store only keeps teams and
+ * finds them by ID; the repository validates calls on top of it.
+ *
+ * <p>
+ * Stores are created by a {@link me.mapokapo.features.storage.StoreProvider},
+ * which is selected with {@link me.mapokapo.features.storage.Stores}. Every
+ * store must pass the conformance tests of the project, and
+ * {@link ListTeamStore} is the reference implementation.
+ * </p>
+ *
+ * @author Leo Petrović
+ * @since 1.1
+ */
+public interface TeamStore {
+	/**
+	 * Gets the number of teams in the store.
+	 *
+	 * @return The number of teams.
+	 */
+	int size();
+
+	/**
+	 * Gets a team by its ID.
+	 *
+	 * @param teamId The ID of the team.
+	 * @return The team, or {@code null} if it is not in the store.
+	 */
+	Team get(int teamId);
+
+	/**
+	 * Gets all teams in the store, in the order in which they were added.
+	 *
+	 * @return An unmodifiable view of the teams, which reflects later changes of
+	 *         the store.
+	 */
+	List<Team> getAll();
+
+	/**
+	 * Adds a team to the store.
+	 *
+	 * @param team The team to add.
+	 * @return {@code true} if the team was added, {@code false} if a team with the
+	 *         same ID is already in the store, in which case nothing changes.
+	 */
+	boolean add(Team team);
+
+	/**
+	 * Removes a team from the store.
+	 *
+	 * @param teamId The ID of the team to remove.
+	 * @return The removed team, or {@code null} if it was not in the store.
+	 */
+	Team remove(int teamId);
+}
@@ -0,0 +1,77 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.scoreboard.AsyncScoreboard;
+import me.mapokapo.features.scoreboard.Scoreboard;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * Benchmarks for the throughput of the {@link AsyncScoreboard} class with a
+ * hundred thousand requests in flight at once.
+ */
+@Tag("benchmark")
+public class AsyncScoreboardBenchmark {
+	private static final int MATCH_COUNT = 10_000;
+	private static final int REQUEST_COUNT = 100_000;
+	private static final int ROUNDS = 5;
+
+	/**
+	 * Submits all requests without waiting for any of them, then waits for all of
+	 * them, and prints the throughput of the last round.
+	 */
+	private static void run(String name, AsyncScoreboard asyncScoreboard) {
+		List<Match> matches = new ArrayList<>(MATCH_COUNT);
+
+		for (int i = 0; i < MATCH_COUNT; i++) {
+			Match match = asyncScoreboard.addMatch("Home " + i, "Away " + i).join();
+			asyncScoreboard.startMatch(match.getId()).join();
+			matches.add(match);
+		}
+
+		long elapsed = 0;
+
+		for (int round = 0; round < ROUNDS; round++) {
+			int offset = round;
+			elapsed = Benchmarks.time(name + ": " + REQUEST_COUNT + " requests", () -> {
+				CompletableFuture<?>[] futures = new CompletableFuture<?>[REQUEST_COUNT];
+
+				for (int i = 0; i < REQUEST_COUNT; i++) {
+					Match match = matches.get((int) (i * 7919L % MATCH_COUNT));
+					futures[i] = asyncScoreboard.updateScore(match.getId(), (i + offset) % 5, i % 3);
+				}
+
+				CompletableFuture.allOf(futures).join();
+			});
+		}
+
+		System.out.printf("%-60s %12.0f ops/s%n", name + ": throughput", REQUEST_COUNT / (elapsed / 1e9));
+		assertTrue(asyncScoreboard.getSummary().join().size() == MATCH_COUNT);
+	}
+
+	@Test
+	void benchmarkVirtualThreads() {
+		try (var asyncScoreboard = new AsyncScoreboard(new Scoreboard(new MatchRepository(), new TeamRepository()))) {
+			run("Virtual threads", asyncScoreboard);
+		}
+	}
+
+	@Test
+	void benchmarkPlatformThreadPool() {
+		try (var executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors())) {
+			var asyncScoreboard = new AsyncScoreboard(new Scoreboard(new MatchRepository(), new TeamRepository()),
+					executor);
+			run("Platform thread pool", asyncScoreboard);
+		}
+	}
+}
@@ -0,0 +1,246 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.scoreboard.AsyncScoreboard;
+import me.mapokapo.features.scoreboard.Scoreboard;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * Tests for the {@link AsyncScoreboard} class.
+ */
+public class AsyncScoreboardTest {
+	private Scoreboard scoreboard;
+	private AsyncScoreboard asyncScoreboard;
+
+	@BeforeEach
+	void init() {
+		scoreboard = new Scoreboard(new MatchRepository(), new TeamRepository());
+		asyncScoreboard = new AsyncScoreboard(scoreboard);
+	}
+
+	@AfterEach
+	void close() {
+		asyncScoreboard.close();
+	}
+
+	@Test
+	void givenManyUpdatesOfOneMatch_whenSubmittingWithoutWaiting_thenUpdatesApplyInSubmissionOrder() {
+		// Arrange
+		var match = asyncScoreboard.addMatch("Spain", "Brazil").join();
+		asyncScoreboard.startMatch(match.getId());
+		List<CompletableFuture<Void>> updates = new ArrayList<>();
+
+		// Act
+		for (int i = 1; i <= 1_000; i++) {
+			updates.add(asyncScoreboard.updateScore(match.getId(), i, 0));
+		}
+
+		CompletableFuture.allOf(updates.toArray(CompletableFuture[]::new)).join();
+
+		// Assert
+		var timeline = match.getTimeline();
+		assertTrue(match.getHomeScore() == 1_000);
+		assertTrue(timeline.size() == 1_000);
+
+		for (int i = 0; i < timeline.size(); i++) {
+			assertTrue(timeline.getHomeScore(i) == i + 1);
+		}
+	}
+
+	@Test
+	void givenConcurrentClients_whenUpdatingManyMatches_thenSummaryIsConsistent() {
+		// Arrange
+		List<Match> matches = new ArrayList<>();
+
+		for (int i = 0; i < 100; i++) {
+			var match = asyncScoreboard.addMatch("Home " + i, "Away " + i).join();
+			asyncScoreboard.startMatch(match.getId());
+			matches.add(match);
+		}
+
+		// Act
+		try (var clients = Executors.newFixedThreadPool(4)) {
+			for (int client = 0; client < 4; client++) {
+				int offset = client;
+				clients.execute(() -> {
+					for (int i = offset; i < matches.size(); i += 4) {
+						for (int goals = 1; goals <= i % 7; goals++) {
+							asyncScoreboard.updateScore(matches.get(i).getId(), goals, 0);
+						}
+					}
+				});
+			}
+		}
+
+		for (var match : matches) {
+			// An operation submitted last completes after all earlier ones on the
+			// same match.
+			asyncScoreboard.updateScore(match.getId(), match.getId() % 7, 0).join();
+		}
+
+		var summary = asyncScoreboard.getSummary().join();
+
+		// Assert
+		assertTrue(summary.equals(scoreboard.getSummary()));
+		assertTrue(summary.size() == 100);
+
+		for (var match : matches) {
+			assertTrue(match.getHomeScore() == match.getId() % 7);
+		}
+	}
+
+	@Test
+	void givenRedeliveredAndReorderedUpdates_whenConsumingInParallel_thenNewestScoreWins() {
+		// Arrange
+		var match = asyncScoreboard.addMatch("Spain", "Brazil").join();
+		asyncScoreboard.startMatch(match.getId()).join();
+		List<CompletableFuture<Boolean>> updates = new ArrayList<>();
+		var applied = new AtomicInteger();
+
+		// Act
+		try (var consumers = Executors.newFixedThreadPool(4)) {
+			for (int consumer = 0; consumer < 4; consumer++) {
+				int offset = consumer;
+				consumers.execute(() -> {
+					// Every consumer sees every update, in a different order.
+					for (int i = 0; i < 1_000; i++) {
+						int sequence = (i * 7 + offset * 250) % 1_000 + 1;
+						var update = asyncScoreboard.updateScore(match.getId(), sequence, 0, sequence);
+
+						synchronized (updates) {
+							updates.add(update);
+						}
+					}
+				});
+			}
+		}
+
+		for (var update : updates) {
+			if (update.join()) {
+				applied.incrementAndGet();
+			}
+		}
+
+		// Assert
+		assertTrue(updates.size() == 4_000);
+		assertTrue(match.getHomeScore() == 1_000);
+		assertTrue(match.getSequence() == 1_000);
+		assertTrue(applied.get() == match.getTimeline().size());
+
+		var timeline = match.getTimeline();
+
+		for (int i = 1; i < timeline.size(); i++) {
+			assertTrue(timeline.getHomeScore(i) > timeline.getHomeScore(i - 1));
+		}
+	}
+
+	@Test
+	void givenFailedSequencedUpdate_whenRedelivered_thenUpdateIsApplied() {
+		// Arrange
+		var match = asyncScoreboard.addMatch("Spain", "Brazil").join();
+		var notStarted = asyncScoreboard.updateScore(match.getId(), 1, 0, 1);
+		assertThrows(CompletionException.class, notStarted::join);
+		asyncScoreboard.startMatch(match.getId()).join();
+		var redelivered = asyncScoreboard.updateScore(match.getId(), 1, 0, 1).join();
+		var invalid = asyncScoreboard.updateScore(match.getId(), -1, 0, 2);
+		assertThrows(CompletionException.class, invalid::join);
+
+		// Act
+		var corrected = asyncScoreboard.updateScore(match.getId(), 2, 0, 2).join();
+		var duplicate = asyncScoreboard.updateScore(match.getId(), 2, 0, 2).join();
+
+		// Assert
+		assertTrue(redelivered && corrected && !duplicate);
+		assertTrue(match.getHomeScore() == 2 && match.getSequence() == 2);
+	}
+
+	@Test
+	void givenNonexistentMatch_whenUpdatingScore_thenFutureCompletesExceptionally() {
+		// Act
+		var future = asyncScoreboard.updateScore(42, 1, 0);
+
+		// Assert
+		var exception = assertThrows(CompletionException.class, future::join);
+		assertTrue(exception.getCause() instanceof IllegalArgumentException);
+	}
+
+	@Test
+	void givenFailedOperation_whenSubmittingNextOperationOnSameMatch_thenNextOperationRuns() {
+		// Arrange
+		var match = asyncScoreboard.addMatch("Spain", "Brazil").join();
+
+		// Act
+		var failed = asyncScoreboard.updateScore(match.getId(), 1, 0);
+		asyncScoreboard.startMatch(match.getId());
+		asyncScoreboard.updateScore(match.getId(), 2, 1).join();
+
+		// Assert
+		assertTrue(failed.isCompletedExceptionally());
+		assertTrue(match.getHomeScore() == 2 && match.getAwayScore() == 1);
+	}
+
+	@Test
+	void givenCustomExecutor_whenRunningOperations_thenExecutorIsUsed() {
+		// Arrange
+		var executed = new AtomicInteger();
+		Executor executor = runnable -> {
+			executed.incrementAndGet();
+			runnable.run();
+		};
+		var custom = new AsyncScoreboard(scoreboard, executor);
+
+		// Act
+		var match = custom.addMatch("Spain", "Brazil").join();
+		custom.startMatch(match.getId()).join();
+		var summary = custom.getSummary().join();
+
+		// Assert
+		assertTrue(executed.get() == 3);
+		assertTrue(summary.equals(List.of(match)));
+	}
+
+	@Test
+	void givenPendingUpdate_whenApplyingTransitionsOnSameMatch_thenBatchRunsAfterUpdate() {
+		// Arrange
+		// The executor runs the most recently queued task first, so operations
+		// only apply in order if they wait for each other.
+		Deque<Runnable> queued = new ArrayDeque<>();
+		var custom = new AsyncScoreboard(scoreboard, queued::push);
+		var match = scoreboard.addMatch("Spain", "Brazil");
+		var other = scoreboard.addMatch("Mexico", "Canada");
+		scoreboard.startMatch(match.getId());
+
+		// Act
+		var update = custom.updateScore(match.getId(), 1, 0);
+		var batch = custom.applyTransitions(List.of(other.getId()), List.of(match.getId()));
+		var next = custom.updateScore(other.getId(), 2, 0);
+
+		while (!queued.isEmpty()) {
+			queued.pop().run();
+		}
+
+		// Assert
+		assertTrue(update.isDone() && !update.isCompletedExceptionally() && batch.join() == 2);
+		assertTrue(next.isDone() && !next.isCompletedExceptionally());
+		assertTrue(match.isFinished() && match.getHomeScore() == 1);
+		assertTrue(other.isStarted() && other.getHomeScore() == 2);
+	}
+}
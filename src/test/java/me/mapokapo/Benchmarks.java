@@ -0,0 +1,68 @@
+package me.mapokapo;
+
+import java.util.function.IntToLongFunction;
+
+/**
+ * Minimal helpers shared by the benchmarks.
+ * 
+ * <p>
+ * Benchmarks are regular JUnit tests tagged with {@code @Tag("benchmark")}.
+ * They are excluded from the default build and can be run with
+ * {@code mvn test -Pbenchmark}.
+ * </p>
+ */
+public final class Benchmarks {
+	/**
+	 * Accumulates the results of benchmarked operations so the JIT compiler cannot
+	 * eliminate them as dead code.
+	 */
+	private static long sink;
+
+	private Benchmarks() {
+	}
+
+	/**
+	 * Runs an operation repeatedly, first to warm up and then to measure it, and
+	 * prints the average time per operation.
+	 * 
+	 * @param name       The name of the benchmark, printed with the result.
+	 * @param iterations The number of measured iterations. The same number of
+	 *                   iterations is run beforehand to warm up.
+	 * @param operation  The benchmarked operation. It receives the iteration index
+	 *                   and returns a value which is consumed to prevent dead code
+	 *                   elimination.
+	 * @return The average time per operation in nanoseconds.
+	 */
+	public static double measure(String name, int iterations, IntToLongFunction operation) {
+		for (int i = 0; i < iterations; i++) {
+			sink += operation.applyAsLong(i);
+		}
+
+		long start = System.nanoTime();
+
+		for (int i = 0; i < iterations; i++) {
+			sink += operation.applyAsLong(i);
+		}
+
+		double nanosPerOperation = (double) (System.nanoTime() - start) / iterations;
+		System.out.printf("%-60s %12.1f ns/op%n", name, nanosPerOperation);
+
+		return nanosPerOperation;
+	}
+
+	/**
+	 * Times a single run of an operation and prints the elapsed time.
+	 * 
+	 * @param name      The name of the benchmark, printed with the result.
+	 * @param operation The benchmarked operation.
+	 * @return The elapsed time in nanoseconds.
+	 */
+	public static long time(String name, Runnable operation) {
+		long start = System.nanoTime();
+		operation.run();
+		long elapsed = System.nanoTime() - start;
+		System.out.printf("%-60s %12.3f ms%n", name, elapsed / 1e6);
+
+		return elapsed;
+	}
+}
@@ -0,0 +1,89 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import me.mapokapo.features.scoreboard.FeedDeduplicator;
+
+/**
+ * Tests for the {@link FeedDeduplicator} class.
+ */
+public class FeedDeduplicatorTest {
+	@Test
+	void givenRedeliveredMessages_whenAccepting_thenAcceptEveryMessageOnce() {
+		// Arrange
+		var deduplicator = new FeedDeduplicator(16);
+
+		// Act
+		boolean first = deduplicator.accept("opta", 5);
+		boolean outOfOrder = deduplicator.accept("opta", 3);
+		boolean duplicate = deduplicator.accept("opta", 5);
+		boolean otherSource = deduplicator.accept("sportradar", 5);
+
+		// Assert
+		assertTrue(first && outOfOrder && !duplicate && otherSource);
+	}
+
+	@Test
+	void givenMessageOlderThanWindow_whenAccepting_thenRejectMessage() {
+		// Arrange
+		var deduplicator = new FeedDeduplicator(16);
+		deduplicator.accept("opta", 100);
+
+		// Act
+		boolean insideWindow = deduplicator.accept("opta", 85);
+		boolean outsideWindow = deduplicator.accept("opta", 84);
+
+		// Assert
+		assertTrue(insideWindow && !outsideWindow);
+	}
+
+	@Test
+	void givenResetSource_whenAcceptingSameMessage_thenAcceptMessageAgain() {
+		// Arrange
+		var deduplicator = new FeedDeduplicator(16);
+		deduplicator.accept("opta", 1);
+
+		// Act
+		deduplicator.reset("opta");
+
+		// Assert
+		assertTrue(deduplicator.accept("opta", 1));
+	}
+
+	@Test
+	void givenConcurrentConsumersOfSameFeed_whenAccepting_thenEveryMessageIsAcceptedExactlyOnce() {
+		// Arrange
+		var deduplicator = new FeedDeduplicator(1 << 16);
+		var accepted = new AtomicInteger();
+
+		// Act
+		try (var consumers = Executors.newFixedThreadPool(4)) {
+			for (int consumer = 0; consumer < 4; consumer++) {
+				int offset = consumer;
+				consumers.execute(() -> {
+					for (int i = 0; i < 50_000; i++) {
+						if (deduplicator.accept("opta", (i + offset * 12_500) % 50_000)) {
+							accepted.incrementAndGet();
+						}
+					}
+				});
+			}
+		}
+
+		// Assert
+		assertTrue(accepted.get() == 50_000);
+	}
+
+	@Test
+	void givenInvalidArguments_whenUsingDeduplicator_thenThrowError() {
+		// Act & Assert
+		assertThrows(IllegalArgumentException.class, () -> new FeedDeduplicator(0));
+		assertThrows(IllegalArgumentException.class, () -> new FeedDeduplicator(16).accept("opta", -1));
+	}
+}
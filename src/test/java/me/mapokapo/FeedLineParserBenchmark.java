@@ -0,0 +1,116 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import me.mapokapo.features.feed.FeedCommandHandler;
+import me.mapokapo.features.feed.FeedLineParser;
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.scoreboard.Scoreboard;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * Benchmarks for the {@link FeedLineParser} class, against decoding the same
+ * lines into strings, splitting them and parsing the parts with
+ * {@link Integer#parseInt(String)}.
+ */
+@Tag("benchmark")
+public class FeedLineParserBenchmark {
+	private static final int MATCH_COUNT = 100;
+	private static final int LINE_COUNT = 10_000;
+
+	/**
+	 * A handler which only sums up its arguments, so the benchmark measures
+	 * decoding alone.
+	 */
+	private static final class SummingHandler implements FeedCommandHandler {
+		long sum;
+
+		@Override
+		public void startMatch(int matchId) {
+			sum += matchId;
+		}
+
+		@Override
+		public void finishMatch(int matchId) {
+			sum += matchId;
+		}
+
+		@Override
+		public void updateScore(int matchId, int homeScore, int awayScore) {
+			sum += matchId + homeScore + awayScore;
+		}
+
+		@Override
+		public void updateScore(int matchId, int homeScore, int awayScore, long sequence) {
+			sum += matchId + homeScore + awayScore + sequence;
+		}
+	}
+
+	private static ByteBuffer lines(List<Match> matches) {
+		StringBuilder lines = new StringBuilder();
+
+		for (int i = 0; i < LINE_COUNT; i++) {
+			Match match = matches.get(i % MATCH_COUNT);
+			lines.append("S ").append(match.getId()).append(' ').append(i / MATCH_COUNT % 2 + 1).append(" 0\n");
+		}
+
+		byte[] bytes = lines.toString().getBytes(StandardCharsets.US_ASCII);
+
+		return ByteBuffer.allocateDirect(bytes.length).put(bytes);
+	}
+
+	@Test
+	void benchmarkParsing() {
+		var scoreboard = new Scoreboard(new MatchRepository(), new TeamRepository());
+		List<Match> matches = new ArrayList<>();
+
+		for (int i = 0; i < MATCH_COUNT; i++) {
+			Match match = scoreboard.addMatch("Home " + i, "Away " + i);
+			scoreboard.startMatch(match.getId());
+			matches.add(match);
+		}
+
+		ByteBuffer buffer = lines(matches);
+		var handler = new SummingHandler();
+		var parser = new FeedLineParser(handler);
+
+		double parsed = Benchmarks.measure("Parse " + LINE_COUNT + " lines from a buffer", 2_000, i -> {
+			buffer.clear();
+			return parser.parse(buffer);
+		});
+
+		double split = Benchmarks.measure("Decode, split and parseInt " + LINE_COUNT + " lines", 2_000, i -> {
+			buffer.clear();
+			String[] lines = StandardCharsets.US_ASCII.decode(buffer).toString().split("\n");
+
+			for (String line : lines) {
+				String[] parts = line.split(" ");
+				handler.updateScore(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]),
+						Integer.parseInt(parts[3]));
+			}
+
+			return lines.length;
+		});
+
+		var scoreboardParser = new FeedLineParser(scoreboard);
+		double applied = Benchmarks.measure("Parse " + LINE_COUNT + " lines and update the scoreboard", 500, i -> {
+			buffer.clear();
+			return scoreboardParser.parse(buffer);
+		});
+
+		System.out.printf("%-60s %12.2f M lines/s%n", "  parser throughput", LINE_COUNT / parsed * 1e3);
+		System.out.printf("%-60s %12.2f M lines/s%n", "  split throughput", LINE_COUNT / split * 1e3);
+		System.out.printf("%-60s %12.2f M lines/s%n", "  scoreboard throughput", LINE_COUNT / applied * 1e3);
+
+		assertTrue(parser.getMalformedLineCount() == 0 && scoreboardParser.getRejectedCommandCount() == 0);
+	}
+}
@@ -0,0 +1,293 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import me.mapokapo.features.feed.FeedCommandHandler;
+import me.mapokapo.features.feed.FeedLineParser;
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.scoreboard.Scoreboard;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * Tests for the {@link FeedLineParser} class.
+ */
+public class FeedLineParserTest {
+	private static final Pattern START_OR_FINISH = Pattern.compile("([KF]) (\\d{1,18})");
+	private static final Pattern SCORE = Pattern.compile("S (\\d{1,18}) (\\d{1,18}) (\\d{1,18})(?: (\\d{1,18}))?");
+
+	private Scoreboard scoreboard;
+	private FeedLineParser parser;
+
+	@BeforeEach
+	void init() {
+		scoreboard = new Scoreboard(new MatchRepository(), new TeamRepository());
+		parser = new FeedLineParser(scoreboard);
+	}
+
+	/**
+	 * A handler which records the commands it receives as text.
+	 */
+	private static final class RecordingHandler implements FeedCommandHandler {
+		final List<String> commands = new ArrayList<>();
+
+		@Override
+		public void startMatch(int matchId) {
+			commands.add("K " + matchId);
+		}
+
+		@Override
+		public void finishMatch(int matchId) {
+			commands.add("F " + matchId);
+		}
+
+		@Override
+		public void updateScore(int matchId, int homeScore, int awayScore) {
+			commands.add("S " + matchId + " " + homeScore + " " + awayScore);
+		}
+
+		@Override
+		public void updateScore(int matchId, int homeScore, int awayScore, long sequence) {
+			commands.add("S " + matchId + " " + homeScore + " " + awayScore + " " + sequence);
+		}
+	}
+
+	private static ByteBuffer bytes(String text) {
+		return ByteBuffer.wrap(text.getBytes(StandardCharsets.ISO_8859_1));
+	}
+
+	/**
+	 * Feeds bytes to a parser in chunks of random sizes, through a buffer which
+	 * is compacted after every call, as a reader of a socket would.
+	 */
+	private static void feed(FeedLineParser parser, byte[] input, Random random) {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(FeedLineParser.MAX_LINE_LENGTH * 2 + 2);
+		int offset = 0;
+
+		while (offset < input.length) {
+			int length = Math.min(Math.min(1 + random.nextInt(64), buffer.remaining()), input.length - offset);
+			buffer.put(input, offset, length);
+			offset += length;
+			buffer.flip();
+			parser.parse(buffer);
+			buffer.compact();
+		}
+	}
+
+	/**
+	 * Parses the complete lines of an input with regular expressions, as a
+	 * reference for the parser.
+	 *
+	 * @return The number of malformed lines.
+	 */
+	private static int referenceParse(String input, List<String> commands) {
+		int malformed = 0;
+		int lineEnd = input.lastIndexOf('\n');
+
+		if (lineEnd < 0) {
+			return 0;
+		}
+
+		for (String line : input.substring(0, lineEnd).split("\n", -1)) {
+			if (line.endsWith("\r")) {
+				line = line.substring(0, line.length() - 1);
+			}
+
+			if (line.isEmpty()) {
+				continue;
+			}
+
+			Matcher startOrFinish = START_OR_FINISH.matcher(line);
+			Matcher score = SCORE.matcher(line);
+
+			if (line.length() <= FeedLineParser.MAX_LINE_LENGTH && startOrFinish.matches()
+					&& Long.parseLong(startOrFinish.group(2)) <= Integer.MAX_VALUE) {
+				commands.add(startOrFinish.group(1) + " " + Long.parseLong(startOrFinish.group(2)));
+			} else if (line.length() <= FeedLineParser.MAX_LINE_LENGTH && score.matches()
+					&& Long.parseLong(score.group(1)) <= Integer.MAX_VALUE
+					&& Long.parseLong(score.group(2)) <= Integer.MAX_VALUE
+					&& Long.parseLong(score.group(3)) <= Integer.MAX_VALUE) {
+				commands.add("S " + Long.parseLong(score.group(1)) + " " + Long.parseLong(score.group(2)) + " "
+						+ Long.parseLong(score.group(3))
+						+ (score.group(4) == null ? "" : " " + Long.parseLong(score.group(4))));
+			} else {
+				malformed++;
+			}
+		}
+
+		return malformed;
+	}
+
+	@Test
+	void givenValidCommands_whenParsing_thenApplyThemToScoreboard() {
+		// Arrange
+		Match first = scoreboard.addMatch("Mexico", "Canada");
+		Match second = scoreboard.addMatch("Spain", "Brazil");
+		ByteBuffer buffer = bytes("K " + first.getId() + "\nK " + second.getId() + "\r\nS " + first.getId()
+				+ " 2 1\n\nS " + second.getId() + " 0 3 7\nF " + second.getId() + "\n");
+
+		// Act
+		int dispatched = parser.parse(buffer);
+
+		// Assert
+		assertTrue(dispatched == 5 && parser.getCommandCount() == 5 && !buffer.hasRemaining());
+		assertTrue(first.getHomeScore() == 2 && first.getAwayScore() == 1 && !first.isFinished());
+		assertTrue(second.getAwayScore() == 3 && second.isFinished());
+		assertTrue(parser.getMalformedLineCount() == 0 && parser.getRejectedCommandCount() == 0);
+	}
+
+	@Test
+	void givenIncompleteLine_whenParsing_thenLeaveItInBuffer() {
+		// Arrange
+		Match match = scoreboard.addMatch("Mexico", "Canada");
+		scoreboard.startMatch(match.getId());
+		ByteBuffer buffer = ByteBuffer.allocate(64);
+		buffer.put(("S " + match.getId() + " 1 0\nS " + match.getId() + " 2").getBytes(StandardCharsets.US_ASCII));
+		buffer.flip();
+
+		// Act
+		int first = parser.parse(buffer);
+		int leftOver = buffer.remaining();
+		buffer.compact();
+		buffer.put(" 0\n".getBytes(StandardCharsets.US_ASCII));
+		buffer.flip();
+		int second = parser.parse(buffer);
+
+		// Assert
+		assertTrue(first == 1 && leftOver == ("S " + match.getId() + " 2").length() && second == 1);
+		assertTrue(match.getHomeScore() == 2 && !buffer.hasRemaining());
+	}
+
+	@Test
+	void givenMalformedLines_whenParsing_thenSkipThemAndParseTheRest() {
+		// Arrange
+		Match match = scoreboard.addMatch("Mexico", "Canada");
+		scoreboard.startMatch(match.getId());
+		String[] malformed = { "X 0", "K", "K ", "K  0", "K 0 ", "K -1", "K 0x1", "K 2147483648", "S 0 1", "S 0 1 ",
+				"S 0 1 -2", "S 0 1 2 3 4", "S 0 99999999999 0", "s 0 1 2", "\r\r", "F 0 0",
+				"S 0 1 2 1234567890123456789" };
+		StringBuilder input = new StringBuilder();
+
+		for (String line : malformed) {
+			input.append(line).append('\n');
+		}
+
+		input.append("S ").append(match.getId()).append(" 4 4\n");
+
+		// Act
+		int dispatched = parser.parse(bytes(input.toString()));
+
+		// Assert
+		assertTrue(dispatched == 1 && match.getHomeScore() == 4);
+		assertTrue(parser.getMalformedLineCount() == malformed.length && parser.getRejectedCommandCount() == 0);
+	}
+
+	@Test
+	void givenOverlongLine_whenParsingInChunks_thenSkipItWholly() {
+		// Arrange
+		Match match = scoreboard.addMatch("Mexico", "Canada");
+		scoreboard.startMatch(match.getId());
+		String input = "S " + match.getId() + " 1 1 " + "9".repeat(1_000) + "\nS " + match.getId() + " 2 2\n";
+
+		// Act
+		feed(parser, input.getBytes(StandardCharsets.US_ASCII), new Random(49));
+
+		// Assert
+		assertTrue(match.getHomeScore() == 2 && parser.getCommandCount() == 1);
+		assertTrue(parser.getMalformedLineCount() == 1);
+	}
+
+	@Test
+	void givenRejectedCommands_whenParsing_thenCountThemAndGoOn() {
+		// Arrange
+		Match match = scoreboard.addMatch("Mexico", "Canada");
+		String input = "S " + match.getId() + " 1 0\nK 999\nK " + match.getId() + "\nK " + match.getId() + "\nS "
+				+ match.getId() + " 40000 0\nS " + match.getId() + " 1 0\n";
+
+		// Act
+		int dispatched = parser.parse(bytes(input));
+
+		// Assert
+		// The first update comes before kickoff, then an unknown match, a second
+		// kickoff and a score above the maximum.
+		assertTrue(dispatched == 2 && parser.getRejectedCommandCount() == 4);
+		assertTrue(match.isStarted() && match.getHomeScore() == 1);
+	}
+
+	@Test
+	void givenMutatedValidLines_whenParsingInChunks_thenMatchReferenceParser() {
+		// Arrange
+		Random random = new Random(4_049);
+		String[] templates = { "K 12", "F 7", "S 3 1 0", "S 2147483647 32767 0", "S 5 2 2 18", "\r", "" };
+		byte[] noise = " \r\nKFS-0123456789ÿ".getBytes(StandardCharsets.ISO_8859_1);
+
+		for (int round = 0; round < 200; round++) {
+			StringBuilder input = new StringBuilder();
+
+			for (int i = 0; i < 200; i++) {
+				char[] line = (templates[random.nextInt(templates.length)] + "\n").toCharArray();
+
+				// Mutate some lines by overwriting, inserting or deleting a byte.
+				if (random.nextInt(3) == 0) {
+					int at = random.nextInt(line.length);
+					char value = (char) (noise[random.nextInt(noise.length)] & 0xFF);
+
+					switch (random.nextInt(3)) {
+						case 0 -> line[at] = value;
+						case 1 -> line = (new String(line, 0, at) + value + new String(line, at, line.length - at))
+								.toCharArray();
+						default -> line = (new String(line, 0, at) + new String(line, at + 1, line.length - at - 1))
+								.toCharArray();
+					}
+				}
+
+				if (random.nextInt(50) == 0) {
+					input.append("S 1 ".repeat(random.nextInt(60)));
+				}
+
+				input.append(line);
+			}
+
+			List<String> expected = new ArrayList<>();
+			int expectedMalformed = referenceParse(input.toString(), expected);
+			var handler = new RecordingHandler();
+			var fuzzedParser = new FeedLineParser(handler);
+
+			// Act
+			feed(fuzzedParser, input.toString().getBytes(StandardCharsets.ISO_8859_1), random);
+
+			// Assert
+			assertTrue(handler.commands.equals(expected), "Round " + round);
+			assertTrue(fuzzedParser.getMalformedLineCount() == expectedMalformed, "Round " + round);
+		}
+	}
+
+	@Test
+	void givenRandomBytes_whenParsingInChunks_thenNeverThrow() {
+		// Arrange
+		Random random = new Random(49);
+		Match match = scoreboard.addMatch("Mexico", "Canada");
+		scoreboard.startMatch(match.getId());
+
+		for (int round = 0; round < 1_000; round++) {
+			byte[] input = new byte[random.nextInt(2_000)];
+			random.nextBytes(input);
+
+			// Act & Assert
+			feed(parser, input, random);
+		}
+
+		assertTrue(parser.getMalformedLineCount() > 0);
+	}
+}
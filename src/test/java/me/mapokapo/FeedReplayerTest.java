@@ -0,0 +1,145 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import me.mapokapo.features.history.FeedReplayer;
+import me.mapokapo.features.history.HistoryExporter;
+import me.mapokapo.features.history.RecordingScoreboard;
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.scoreboard.SummaryQuery;
+import me.mapokapo.features.teams.Team;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * Tests for the {@link RecordingScoreboard} and {@link FeedReplayer} classes.
+ */
+public class FeedReplayerTest {
+	@TempDir
+	Path directory;
+
+	/**
+	 * Records random traffic, including calls which fail, into a feed log.
+	 * 
+	 * @return The number of calls which failed.
+	 */
+	private static int recordTraffic(RecordingScoreboard scoreboard, TeamRepository teamRepository, TestClock clock,
+			int calls, long seed) {
+		var random = new Random(seed);
+		List<Match> matches = new ArrayList<>();
+		var unregistered = new Team(1_000, "Côte d'Ivoire");
+		int failures = 0;
+
+		for (int i = 0; i < calls; i++) {
+			clock.advance(Duration.ofMillis(random.nextInt(50)));
+
+			try {
+				int call = random.nextInt(10);
+
+				if (call == 0 || matches.isEmpty()) {
+					String competition = random.nextBoolean() ? "World Cup" : null;
+					matches.add(matches.isEmpty() || random.nextBoolean()
+							? scoreboard.addMatch("Home " + i, "Away " + i, competition)
+							: scoreboard.addMatch(teamRepository.getTeamById(0).get(), unregistered, competition));
+					continue;
+				}
+
+				var match = matches.get(random.nextInt(matches.size()));
+
+				switch (call) {
+					case 1 -> scoreboard.startMatch(match.getId());
+					case 2 -> scoreboard.finishMatch(match.getId());
+					case 3 -> scoreboard.getSummary();
+					case 4 -> scoreboard.getSummary(SummaryQuery.builder().competition("World Cup").minGoals(1).build());
+					case 5 -> scoreboard.getRank(match.getId());
+					case 6 -> scoreboard.getSummaryRange(random.nextInt(5), 5 + random.nextInt(5));
+					case 7 -> scoreboard.updateScore(match.getId(), random.nextInt(5), random.nextInt(5), random.nextInt(i + 1));
+					default -> scoreboard.updateScore(match.getId(), random.nextInt(5), random.nextInt(5));
+				}
+			} catch (IllegalArgumentException | IllegalStateException e) {
+				failures++;
+			}
+		}
+
+		return failures;
+	}
+
+	@Test
+	void givenRecordedTraffic_whenReplayingAtMaxSpeed_thenEndStateIsIdentical() throws IOException {
+		// Arrange
+		var log = directory.resolve("feed.log");
+		var teamRepository = new TeamRepository();
+		var matchRepository = new MatchRepository();
+		var clock = new TestClock(1_700_000_000_000L);
+		int failures;
+
+		try (var scoreboard = new RecordingScoreboard(matchRepository, teamRepository, clock, log)) {
+			failures = recordTraffic(scoreboard, teamRepository, clock, 20_000, 39);
+		}
+
+		var recorded = directory.resolve("recorded.bin");
+		new HistoryExporter(teamRepository, matchRepository).exportBinary(recorded);
+
+		var replayedTeams = new TeamRepository();
+		var replayedMatches = new MatchRepository();
+
+		// Act
+		var result = new FeedReplayer(replayedTeams, replayedMatches).replay(log, FeedReplayer.MAX_SPEED);
+
+		// Assert
+		var replayed = directory.resolve("replayed.bin");
+		new HistoryExporter(replayedTeams, replayedMatches).exportBinary(replayed);
+		assertTrue(Files.mismatch(recorded, replayed) == -1);
+		assertTrue(result.getWrites() + result.getReads() == 20_000);
+		assertTrue(result.getFailures() == failures);
+		assertTrue(failures > 0);
+	}
+
+	@Test
+	void givenSpeed_whenReplaying_thenCallsAreSpacedAsRecordedDividedBySpeed() throws IOException {
+		// Arrange
+		var log = directory.resolve("feed.log");
+		var clock = new TestClock(0);
+
+		try (var scoreboard = new RecordingScoreboard(new MatchRepository(), new TeamRepository(), clock, log)) {
+			var match = scoreboard.addMatch("Spain", "Brazil");
+			scoreboard.startMatch(match.getId());
+
+			for (int i = 1; i <= 10; i++) {
+				clock.advance(Duration.ofSeconds(1));
+				scoreboard.updateScore(match.getId(), i, 0);
+			}
+		}
+
+		// Act
+		var result = new FeedReplayer(new TeamRepository(), new MatchRepository()).replay(log, 50);
+
+		// Assert
+		assertTrue(result.getElapsedNanos() >= Duration.ofMillis(200).toNanos());
+		assertTrue(result.getWrites() == 12);
+	}
+
+	@Test
+	void givenFileWhichIsNotAFeedLog_whenReplaying_thenThrowError() throws IOException {
+		// Arrange
+		var file = directory.resolve("feed.log");
+		Files.write(file, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+		var replayer = new FeedReplayer(new TeamRepository(), new MatchRepository());
+
+		// Act & Assert
+		assertThrows(IOException.class, () -> replayer.replay(file, FeedReplayer.MAX_SPEED));
+		assertThrows(IllegalArgumentException.class, () -> replayer.replay(file, 0));
+	}
+}
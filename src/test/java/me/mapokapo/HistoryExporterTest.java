@@ -0,0 +1,278 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import me.mapokapo.features.history.HistoryExporter;
+import me.mapokapo.features.history.HistoryImporter;
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.matches.MatchTimeline;
+import me.mapokapo.features.teams.Team;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * Tests for the {@link HistoryExporter} class.
+ */
+public class HistoryExporterTest {
+	private static final String[] TEAM_NAMES = {
+			"Mexico", "Canada", "Spain", "Korea, Republic of", "The \"Best\" Team", "Côte d'Ivoire", "Türkiye"
+	};
+
+	private static final String[] COMPETITIONS = { "World Cup", "Copa América" };
+
+	@TempDir
+	Path directory;
+
+	private TeamRepository teamRepository;
+	private MatchRepository matchRepository;
+	private HistoryExporter exporter;
+
+	@BeforeEach
+	public void setUp() {
+		teamRepository = new TeamRepository();
+		matchRepository = new MatchRepository();
+		exporter = new HistoryExporter(teamRepository, matchRepository);
+
+		for (String name : TEAM_NAMES) {
+			teamRepository.addTeam(new Team(teamRepository.getNextIndex(), name));
+		}
+	}
+
+	/**
+	 * Fills the match repository with matches in every state, some of which have
+	 * timelines with corrections or belong to a competition.
+	 */
+	private void generateMatches(int count, long seed) {
+		var random = new Random(seed);
+		var clock = new TestClock(1_700_000_000_000L);
+		List<Team> teams = teamRepository.getAllTeams();
+
+		for (int i = 0; i < count; i++) {
+			int home = random.nextInt(teams.size());
+			int away = (home + 1 + random.nextInt(teams.size() - 1)) % teams.size();
+			int state = random.nextInt(4);
+			String competition = random.nextBoolean() ? null : COMPETITIONS[random.nextInt(COMPETITIONS.length)];
+
+			clock.advance(Duration.ofMinutes(1));
+
+			if (state == 0) {
+				matchRepository.addMatch(Match.ofFinished(i, teams.get(home), teams.get(away), competition,
+						random.nextInt(5), random.nextInt(5), clock.millis(), clock.millis() + 5_400_000L));
+				continue;
+			}
+
+			var match = new Match(i, teams.get(home), teams.get(away), competition, clock);
+
+			if (state > 1) {
+				match.start();
+
+				for (int event = random.nextInt(6); event > 0; event--) {
+					clock.advance(Duration.ofSeconds(1 + random.nextInt(600)));
+					match.setScore(random.nextInt(5), random.nextInt(5));
+				}
+			}
+
+			if (state == 3) {
+				clock.advance(Duration.ofMinutes(90));
+				match.finish();
+			}
+
+			matchRepository.addMatch(match);
+		}
+	}
+
+	private static boolean sameTimeline(MatchTimeline expected, MatchTimeline actual) {
+		if (expected.size() != actual.size()) {
+			return false;
+		}
+
+		for (int i = 0; i < expected.size(); i++) {
+			if (expected.getTimestampMillis(i) != actual.getTimestampMillis(i)
+					|| expected.getSide(i) != actual.getSide(i)
+					|| expected.getHomeScore(i) != actual.getHomeScore(i)
+					|| expected.getAwayScore(i) != actual.getAwayScore(i)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	@Test
+	public void givenMatchesInEveryState_whenExportedAndImportedAsBinary_thenMatchesAreRestoredExactly()
+			throws IOException {
+		// Arrange
+		// More matches than fit in a single block.
+		generateMatches(10_000, 42);
+		var file = directory.resolve("history.bin");
+		var restoredTeams = new TeamRepository();
+		var restoredMatches = new MatchRepository();
+
+		// Act
+		int exported = exporter.exportBinary(file);
+		int imported = new HistoryImporter(restoredTeams, restoredMatches).importBinary(file);
+
+		// Assert
+		assertTrue(exported == 10_000);
+		assertTrue(imported == 10_000);
+		assertTrue(restoredTeams.getAllTeams().equals(teamRepository.getAllTeams()));
+		assertTrue(restoredMatches.getAllMatches().equals(matchRepository.getAllMatches()));
+
+		for (Match match : matchRepository.getAllMatches()) {
+			Match restored = restoredMatches.getMatchById(match.getId()).get();
+			assertTrue(sameTimeline(match.getTimeline(), restored.getTimeline()));
+		}
+	}
+
+	@Test
+	public void givenMatchWithUnregisteredTeam_whenExportedAndImportedAsBinary_thenTeamIsNotRegistered()
+			throws IOException {
+		// Arrange
+		var guest = new Team(100, "Guest");
+		matchRepository.addMatch(Match.ofFinished(0, teamRepository.getAllTeams().get(0), guest, 1, 0, 0, 1));
+		var file = directory.resolve("history.bin");
+		var restoredTeams = new TeamRepository();
+		var restoredMatches = new MatchRepository();
+
+		// Act
+		exporter.exportBinary(file);
+		new HistoryImporter(restoredTeams, restoredMatches).importBinary(file);
+
+		// Assert
+		assertTrue(restoredTeams.getAllTeams().equals(teamRepository.getAllTeams()));
+		assertTrue(restoredMatches.getMatchById(0).get().getAwayTeam().equals(guest));
+	}
+
+	@Test
+	public void givenRestoredLiveMatch_whenScoreIsUpdated_thenTimelineContinues() throws IOException {
+		// Arrange
+		// Restored matches record later changes using the system clock.
+		long startTime = System.currentTimeMillis() - Duration.ofHours(1).toMillis();
+		var clock = new TestClock(startTime);
+		var match = new Match(0, teamRepository.getAllTeams().get(0), teamRepository.getAllTeams().get(1), clock);
+		match.start();
+		clock.advance(Duration.ofMinutes(10));
+		match.setScore(1, 0);
+		matchRepository.addMatch(match);
+		var file = directory.resolve("history.bin");
+		var restoredMatches = new MatchRepository();
+
+		// Act
+		exporter.exportBinary(file);
+		new HistoryImporter(new TeamRepository(), restoredMatches).importBinary(file);
+		var restored = restoredMatches.getMatchById(0).get();
+		restored.setScore(1, 1);
+
+		// Assert
+		assertTrue(restored.getTimeline().size() == 2);
+		assertTrue(restored.getTimeline().getTimestampMillis(0) == startTime + 600_000L);
+		assertTrue(restored.getTimeline().getTimestampMillis(1) > startTime + 600_000L);
+	}
+
+	@Test
+	public void givenTimelineLongerThanIntOffsets_whenExportedAndImportedAsBinary_thenTimelineIsRestored()
+			throws IOException {
+		// Arrange
+		var clock = new TestClock(1_700_000_000_000L);
+		var match = new Match(0, teamRepository.getAllTeams().get(0), teamRepository.getAllTeams().get(1), clock);
+		match.start();
+		clock.advance(Duration.ofMinutes(10));
+		match.setScore(1, 0);
+		clock.advance(Duration.ofDays(30));
+		match.setScore(1, 1);
+		clock.advance(Duration.ofDays(30));
+		match.setScore(2, 1);
+		clock.advance(Duration.ofMinutes(1));
+		match.finish();
+		matchRepository.addMatch(match);
+		var file = directory.resolve("history.bin");
+		var restoredMatches = new MatchRepository();
+
+		// Act
+		exporter.exportBinary(file);
+		new HistoryImporter(new TeamRepository(), restoredMatches).importBinary(file);
+		var restored = restoredMatches.getMatchById(0).get();
+
+		// Assert
+		assertTrue(restored.getTimeline().size() == 3 && restored.isFinished());
+		assertTrue(restored.getHomeScore() == 2 && restored.getAwayScore() == 1);
+
+		for (int event = 0; event < 3; event++) {
+			assertTrue(restored.getTimeline().getTimestampMillis(event) == match.getTimeline().getTimestampMillis(event));
+		}
+
+		assertTrue(restored.getFinishTimeMillis() == match.getFinishTimeMillis());
+	}
+
+	@Test
+	public void givenMatches_whenExportedAsCsv_thenFinishedMatchesCanBeImported() throws IOException {
+		// Arrange
+		generateMatches(1_000, 7);
+		var file = directory.resolve("history.csv");
+		var restoredMatches = new MatchRepository();
+		List<Match> finished = matchRepository.getAllMatches().stream().filter(Match::isFinished).toList();
+
+		// Act
+		int exported = exporter.exportMatchesCsv(file);
+		int imported = new HistoryImporter(teamRepository, restoredMatches).importCsv(file);
+
+		// Assert
+		assertTrue(exported == finished.size());
+		assertTrue(imported == finished.size());
+		assertTrue(teamRepository.getAllTeams().size() == TEAM_NAMES.length);
+
+		for (int i = 0; i < finished.size(); i++) {
+			Match expected = finished.get(i);
+			Match actual = restoredMatches.getAllMatches().get(i);
+
+			assertTrue(actual.getHomeTeam().equals(expected.getHomeTeam()));
+			assertTrue(actual.getAwayTeam().equals(expected.getAwayTeam()));
+			assertTrue(actual.getHomeScore() == expected.getHomeScore());
+			assertTrue(actual.getAwayScore() == expected.getAwayScore());
+			assertTrue(actual.getStartTimeMillis() == expected.getStartTimeMillis());
+			assertTrue(actual.getFinishTimeMillis() == expected.getFinishTimeMillis());
+		}
+	}
+
+	@Test
+	public void givenTeams_whenExportedAsCsv_thenFileContainsQuotedNames() throws IOException {
+		// Arrange
+		var file = directory.resolve("teams.csv");
+
+		// Act
+		int exported = exporter.exportTeamsCsv(file);
+		List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+
+		// Assert
+		assertTrue(exported == TEAM_NAMES.length);
+		assertTrue(lines.get(0).equals("id,name"));
+		assertTrue(lines.get(1).equals("0,Mexico"));
+		assertTrue(lines.get(4).equals("3,\"Korea, Republic of\""));
+		assertTrue(lines.get(5).equals("4,\"The \"\"Best\"\" Team\""));
+		assertTrue(lines.get(6).equals("5,Côte d'Ivoire"));
+	}
+
+	@Test
+	public void givenFileInAnotherFormat_whenImportedAsBinary_thenThrowsException() throws IOException {
+		// Arrange
+		var file = directory.resolve("history.csv");
+		Files.writeString(file, HistoryImporter.CSV_HEADER + "\n");
+		var importer = new HistoryImporter(new TeamRepository(), new MatchRepository());
+
+		// Assert
+		assertThrows(IllegalArgumentException.class, () -> importer.importBinary(file));
+	}
+}
@@ -0,0 +1,80 @@
+package me.mapokapo;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import me.mapokapo.features.history.HistoryImporter;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * Benchmarks for the {@link HistoryImporter} class, importing a generated file
+ * of two million historical results.
+ */
+@Tag("benchmark")
+public class HistoryImporterBenchmark {
+	private static final int ROW_COUNT = 2_000_000;
+	private static final int TEAM_COUNT = 2_000;
+
+	@TempDir
+	static Path directory;
+
+	private static Path file;
+
+	@BeforeAll
+	static void init() throws IOException {
+		var random = new Random(42);
+		file = directory.resolve("history.csv");
+
+		try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			writer.write(HistoryImporter.CSV_HEADER + "\n");
+
+			for (int i = 0; i < ROW_COUNT; i++) {
+				int home = random.nextInt(TEAM_COUNT);
+				int away = (home + 1 + random.nextInt(TEAM_COUNT - 1)) % TEAM_COUNT;
+				long startTime = 1_700_000_000_000L + i * 60_000L;
+
+				writer.write("Team " + home + ",Team " + away + "," + random.nextInt(6) + "," + random.nextInt(6)
+						+ "," + startTime + "," + (startTime + 5_400_000L) + "\n");
+			}
+		}
+	}
+
+	private static void importFile(int parallelism) {
+		var teamRepository = new TeamRepository();
+		var matchRepository = new MatchRepository();
+		var importer = new HistoryImporter(teamRepository, matchRepository);
+
+		// Collect the garbage of the previous run so it does not skew this one.
+		System.gc();
+
+		long elapsed = Benchmarks.time("Import " + ROW_COUNT + " rows, parallelism " + parallelism, () -> {
+			try {
+				importer.importCsv(file, parallelism);
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+		});
+
+		System.out.printf("%-60s %12.2f M rows/s%n", "  throughput", ROW_COUNT / (elapsed / 1e9) / 1e6);
+	}
+
+	@Test
+	void benchmarkImport() throws IOException {
+		System.out.printf("%-60s %12.1f MB%n", "File size", Files.size(file) / 1e6);
+
+		// Warm up before measuring.
+		importFile(1);
+		importFile(1);
+		importFile(Runtime.getRuntime().availableProcessors());
+	}
+}
@@ -0,0 +1,251 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import me.mapokapo.features.history.HistoryImporter;
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.teams.Team;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * Tests for the {@link HistoryImporter} class.
+ */
+public class HistoryImporterTest {
+	private static final String[] TEAM_NAMES = {
+			"Mexico", "Canada", "Spain", "Brazil", "Côte d'Ivoire", "Korea, Republic of", "The \"Best\" Team",
+			"Curaçao", "Türkiye", "España"
+	};
+
+	@TempDir
+	Path directory;
+
+	private TeamRepository teamRepository;
+	private MatchRepository matchRepository;
+	private HistoryImporter importer;
+
+	/**
+	 * A row of the generated file, kept to verify the imported matches.
+	 */
+	private record Row(String home, String away, int homeScore, int awayScore, long startTime, long finishTime) {
+	}
+
+	/**
+	 * Generates a CSV file with the given number of random rows.
+	 */
+	private List<Row> generateFile(Path file, int rows, long seed) throws IOException {
+		return generateFile(file, rows, seed, TEAM_NAMES);
+	}
+
+	/**
+	 * Generates a CSV file with the given number of random rows between teams
+	 * with the given names.
+	 */
+	private List<Row> generateFile(Path file, int rows, long seed, String[] teamNames) throws IOException {
+		var random = new Random(seed);
+		List<Row> generated = new ArrayList<>(rows);
+
+		try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			writer.write(HistoryImporter.CSV_HEADER + "\n");
+
+			for (int i = 0; i < rows; i++) {
+				int home = random.nextInt(teamNames.length);
+				int away = (home + 1 + random.nextInt(teamNames.length - 1)) % teamNames.length;
+				long startTime = 1_700_000_000_000L + i * 60_000L;
+				var row = new Row(teamNames[home], teamNames[away], random.nextInt(8), random.nextInt(8), startTime,
+						startTime + 5_400_000L);
+				generated.add(row);
+
+				writer.write(quote(row.home()) + "," + quote(row.away()) + "," + row.homeScore() + ","
+						+ row.awayScore() + "," + row.startTime() + "," + row.finishTime());
+
+				// Mix line endings to make sure both are supported.
+				writer.write(i % 3 == 0 ? "\r\n" : "\n");
+			}
+		}
+
+		return generated;
+	}
+
+	private static String quote(String name) {
+		if (name.contains(",") || name.contains("\"") || name.contains("\n")) {
+			return "\"" + name.replace("\"", "\"\"") + "\"";
+		}
+
+		return name;
+	}
+
+	@BeforeEach
+	void init() {
+		teamRepository = new TeamRepository();
+		matchRepository = new MatchRepository();
+		importer = new HistoryImporter(teamRepository, matchRepository);
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 1, 2, 7 })
+	void givenGeneratedFile_whenImporting_thenAllMatchesImportedInOrder(int parallelism) throws IOException {
+		// Arrange
+		var file = directory.resolve("history.csv");
+		var rows = generateFile(file, 20_000, 42);
+
+		// Act
+		int imported = importer.importCsv(file, parallelism);
+
+		// Assert
+		assertTrue(imported == rows.size());
+		assertTrue(matchRepository.getAllMatches().size() == rows.size());
+		assertTrue(teamRepository.getAllTeams().size() == TEAM_NAMES.length);
+
+		for (int i = 0; i < rows.size(); i++) {
+			var row = rows.get(i);
+			var match = matchRepository.getMatchById(i).get();
+
+			assertTrue(match.getHomeTeam().getName().equals(row.home()));
+			assertTrue(match.getAwayTeam().getName().equals(row.away()));
+			assertTrue(match.getHomeScore() == row.homeScore());
+			assertTrue(match.getAwayScore() == row.awayScore());
+			assertTrue(match.getStartTimeMillis() == row.startTime());
+			assertTrue(match.getFinishTimeMillis() == row.finishTime());
+			assertTrue(match.isStarted() && match.isFinished());
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 2, 7 })
+	void givenMultiLineNames_whenImportingInParallel_thenAllMatchesImportedInOrder(int parallelism)
+			throws IOException {
+		// Arrange
+		// Most of the file is inside quoted names with line breaks, so chunks are
+		// bound to start inside one.
+		String[] teamNames = {
+				"Bosnia\nand\nHerzegovina".repeat(8), "Trinidad\r\nand \"Tobago\"\n".repeat(8),
+				"Saint Kitts\n,and Nevis".repeat(8), "Mexico"
+		};
+		var file = directory.resolve("history.csv");
+		var rows = generateFile(file, 2_000, 43, teamNames);
+
+		// Act
+		int imported = importer.importCsv(file, parallelism);
+
+		// Assert
+		assertTrue(imported == rows.size());
+		assertTrue(teamRepository.getAllTeams().size() == teamNames.length);
+
+		for (int i = 0; i < rows.size(); i++) {
+			var row = rows.get(i);
+			var match = matchRepository.getMatchById(i).get();
+
+			assertTrue(match.getHomeTeam().getName().equals(row.home()));
+			assertTrue(match.getAwayTeam().getName().equals(row.away()));
+			assertTrue(match.getHomeScore() == row.homeScore() && match.getAwayScore() == row.awayScore());
+			assertTrue(match.getFinishTimeMillis() == row.finishTime());
+		}
+	}
+
+	@Test
+	void givenImportedFile_whenQueryingByFinishTime_thenImportedMatchesIndexed() throws IOException {
+		// Arrange
+		var file = directory.resolve("history.csv");
+		var rows = generateFile(file, 100, 7);
+
+		// Act
+		importer.importCsv(file);
+
+		// Assert
+		var lastRow = rows.get(rows.size() - 1);
+		var matches = matchRepository.getMatchesFinishedBetween(Instant.ofEpochMilli(lastRow.finishTime()),
+				Instant.ofEpochMilli(lastRow.finishTime() + 1));
+		assertTrue(matches.size() == 1);
+		assertTrue(matches.get(0).getId() == rows.size() - 1);
+	}
+
+	@Test
+	void givenExistingTeams_whenImporting_thenExistingTeamsReused() throws IOException {
+		// Arrange
+		var mexico = teamRepository.addTeam(new Team(0, "Mexico"));
+		var file = directory.resolve("history.csv");
+		Files.writeString(file, "Mexico,Canada,1,0\nCanada,Mexico,2,2\n");
+
+		// Act
+		importer.importCsv(file);
+
+		// Assert
+		assertTrue(teamRepository.getAllTeams().size() == 2);
+		assertTrue(matchRepository.getMatchById(0).get().getHomeTeam() == mexico);
+		assertTrue(matchRepository.getMatchById(1).get().getAwayTeam() == mexico);
+		assertTrue(matchRepository.getMatchById(1).get().getStartTimeMillis() == 0);
+	}
+
+	@Test
+	void givenExistingMatches_whenImporting_thenIdsContinueFromNextIndex() throws IOException {
+		// Arrange
+		matchRepository.addMatch(new Match(0, new Team(10, "Team A"), new Team(11, "Team B")));
+		var file = directory.resolve("history.csv");
+		Files.writeString(file, "Mexico,Canada,1,0");
+
+		// Act
+		importer.importCsv(file);
+
+		// Assert
+		assertTrue(matchRepository.getMatchById(1).get().getHomeTeam().getName().equals("Mexico"));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"Mexico,Canada,1\n",
+			"Mexico,Canada,1,x\n",
+			"Mexico,,1,0\n",
+			"Mexico,Canada,-1,0\n",
+			"Mexico,Canada,1,0,5\n",
+			"\"Mexico,Canada,1,0\n",
+			"Mexico,Canada,1,0,1,2,3\n",
+			"Mexico,Canada,99999999999,0\n",
+			"Mexico,Canada,40000,0\n",
+			"Mexico,Mexico,1,0\n"
+	})
+	void givenMalformedLine_whenImporting_thenThrowErrorAndImportNothing(String line) throws IOException {
+		// Arrange
+		var file = directory.resolve("history.csv");
+		Files.writeString(file, "Spain,Brazil,1,0\n" + line);
+		teamRepository.addTeam(new Team(0, "Germany"));
+
+		// Act & Assert
+		assertThrows(IllegalArgumentException.class, () -> {
+			importer.importCsv(file);
+		});
+		assertTrue(matchRepository.getAllMatches().isEmpty());
+		assertTrue(teamRepository.getAllTeams().equals(List.of(new Team(0, "Germany"))));
+	}
+
+	@Test
+	void givenEmptyFile_whenImporting_thenImportNothing() throws IOException {
+		// Arrange
+		var file = directory.resolve("history.csv");
+		Files.writeString(file, "");
+
+		// Act
+		int imported = importer.importCsv(file, 4);
+
+		// Assert
+		assertTrue(imported == 0);
+		assertTrue(matchRepository.getAllMatches().isEmpty());
+	}
+}
@@ -0,0 +1,187 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.management.ThreadMXBean;
+
+import me.mapokapo.features.feed.FeedLineParser;
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.scoreboard.Scoreboard;
+import me.mapokapo.features.teams.Team;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * Allocation regression tests for the hot paths of the {@link Scoreboard}
+ * class. They count the bytes the test thread allocates while calling a hot
+ * path many times, after warming it up so that the JIT compiler has optimised
+ * it.
+ */
+public class HotPathAllocationTest {
+	private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+	private static final int MATCH_COUNT = 100;
+	private static final int CALLS = 100_000;
+
+	/**
+	 * The number of warm-up score changes of every match, one more than a power of
+	 * two. The timelines of the matches have then grown to twice that, so the
+	 * measured changes fit without growing them again.
+	 */
+	private static final int WARM_UP_CHANGES = 1_025;
+
+	private Scoreboard scoreboard;
+	private List<Match> matches;
+
+	@BeforeEach
+	void init() {
+		scoreboard = new Scoreboard(new MatchRepository(), new TeamRepository());
+		matches = new ArrayList<>();
+
+		for (int i = 0; i < MATCH_COUNT; i++) {
+			var match = scoreboard.addMatch("Home " + i, "Away " + i);
+			scoreboard.startMatch(match.getId());
+			matches.add(match);
+		}
+	}
+
+	/**
+	 * Calls an operation with the arguments {@code [0, warmUp)}, and then measures
+	 * the bytes allocated while calling it with the arguments
+	 * {@code [warmUp, warmUp + calls)}.
+	 */
+	private static long allocatedBytes(int warmUp, int calls, IntConsumer operation) {
+		for (int i = 0; i < warmUp; i++) {
+			operation.accept(i);
+		}
+
+		long before = THREADS.getCurrentThreadAllocatedBytes();
+
+		for (int i = warmUp; i < warmUp + calls; i++) {
+			operation.accept(i);
+		}
+
+		return THREADS.getCurrentThreadAllocatedBytes() - before;
+	}
+
+	@Test
+	void givenLiveMatches_whenUpdatingScores_thenNothingIsAllocated() {
+		// Act
+		// Every update moves the total goals of a match between 1 and 2, so the
+		// summary indexes change too.
+		long allocated = allocatedBytes(WARM_UP_CHANGES * MATCH_COUNT, CALLS,
+				i -> scoreboard.updateScore(matches.get(i % MATCH_COUNT).getId(), i / MATCH_COUNT % 2 + 1, 0));
+
+		// Assert
+		assertTrue(allocated < CALLS, "Score updates allocated " + allocated + " bytes");
+	}
+
+	@Test
+	void givenLiveMatches_whenApplyingSequencedUpdates_thenNothingIsAllocated() {
+		// Act
+		long allocated = allocatedBytes(WARM_UP_CHANGES * MATCH_COUNT, CALLS, i -> {
+			var match = matches.get(i % MATCH_COUNT);
+			scoreboard.updateScore(match.getId(), i / MATCH_COUNT % 2 + 1, 0, i);
+			scoreboard.updateScore(match.getId(), 0, 0, i);
+		});
+
+		// Assert
+		assertTrue(allocated < CALLS, "Sequenced updates allocated " + allocated + " bytes");
+	}
+
+	@Test
+	void givenFeedLines_whenParsing_thenNothingIsAllocated() {
+		// Arrange
+		// Every pass over the buffer moves the total goals of every match between 1
+		// and 2 and back.
+		StringBuilder lines = new StringBuilder();
+
+		for (var match : matches) {
+			lines.append("S ").append(match.getId()).append(" 1 0\n");
+		}
+
+		for (var match : matches) {
+			lines.append("S ").append(match.getId()).append(" 2 0\r\n");
+		}
+
+		byte[] bytes = lines.toString().getBytes(StandardCharsets.US_ASCII);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length).put(bytes);
+		var parser = new FeedLineParser(scoreboard);
+		int passChanges = 2 * MATCH_COUNT;
+
+		// Act
+		long allocated = allocatedBytes(WARM_UP_CHANGES / 2 + 1, CALLS / passChanges, i -> {
+			buffer.clear();
+			parser.parse(buffer);
+		});
+
+		// Assert
+		assertTrue(parser.getCommandCount() == (long) (WARM_UP_CHANGES / 2 + 1 + CALLS / passChanges) * passChanges);
+		assertTrue(allocated < CALLS, "Parsing feed lines allocated " + allocated + " bytes");
+	}
+
+	@Test
+	void givenUnchangedSummary_whenGettingSummary_thenNothingIsAllocated() {
+		// Arrange
+		scoreboard.updateScore(matches.get(0).getId(), 1, 0);
+
+		// Act
+		long allocated = allocatedBytes(CALLS, CALLS, i -> scoreboard.getSummary());
+
+		// Assert
+		assertTrue(allocated < CALLS, "Summary reads allocated " + allocated + " bytes");
+	}
+
+	@Test
+	void givenScoreChangeWhichKeepsOrder_whenGettingSummary_thenSameListIsReturned() {
+		// Arrange
+		scoreboard.updateScore(matches.get(MATCH_COUNT - 1).getId(), 1, 0);
+		var before = scoreboard.getSummary();
+
+		// Act
+		scoreboard.updateScore(matches.get(MATCH_COUNT - 1).getId(), 0, 1);
+		var unchanged = scoreboard.getSummary();
+		scoreboard.updateScore(matches.get(0).getId(), 2, 0);
+		var changed = scoreboard.getSummary();
+
+		// Assert
+		assertTrue(unchanged == before);
+		assertTrue(changed != before && changed.get(0) == matches.get(0));
+		assertTrue(changed.get(1) == matches.get(MATCH_COUNT - 1));
+	}
+
+	@Test
+	void givenRecurringTeams_whenStartingAndFinishingMatches_thenOnlyIndexEntriesAreAllocated() {
+		// Arrange
+		List<Team> teams = new ArrayList<>();
+		List<Match> fixtures = new ArrayList<>();
+
+		for (int i = 0; i < 20; i++) {
+			teams.add(new Team(1_000 + i, "Team " + i));
+		}
+
+		for (int i = 0; i < 2 * CALLS; i++) {
+			fixtures.add(scoreboard.addMatch(teams.get(i % 20), teams.get((i + 1) % 20)));
+		}
+
+		// Act
+		long allocated = allocatedBytes(CALLS, CALLS, i -> {
+			scoreboard.startMatch(fixtures.get(i).getId());
+			scoreboard.finishMatch(fixtures.get(i).getId());
+		});
+
+		// Assert
+		// A match gets a node in the summary tree and entries in the start and
+		// finish time indexes, whose arrays grow by doubling.
+		assertTrue(allocated < 256L * CALLS, "Starting and finishing allocated " + allocated / CALLS + " bytes per match");
+	}
+}
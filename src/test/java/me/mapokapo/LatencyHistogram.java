@@ -0,0 +1,130 @@
+package me.mapokapo;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread-safe histogram of latencies in nanoseconds, used by the benchmarks
+ * and load tests to report percentiles.
+ * 
+ * <p>
+ * Like HdrHistogram, it has a fixed number of buckets whose width grows with
+ * the value: values below 128 get a bucket each, and every power of two above
+ * that is split into 64 buckets, so every recorded value is reported with a
+ * relative error below 1.6%, whatever its magnitude. Recording a value does not
+ * allocate.
+ * </p>
+ */
+public final class LatencyHistogram {
+	private static final int SUB_BUCKET_BITS = 6;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int LINEAR_BUCKETS = 2 * SUB_BUCKETS;
+	private static final int BUCKET_COUNT = LINEAR_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong sum = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Records a latency.
+	 * 
+	 * @param nanos The latency in nanoseconds. Negative values are recorded as 0.
+	 */
+	public void record(long nanos) {
+		long value = Math.max(0, nanos);
+		counts.incrementAndGet(bucket(value));
+		count.incrementAndGet();
+		sum.addAndGet(value);
+		max.accumulateAndGet(value, Math::max);
+	}
+
+	/**
+	 * Adds every value recorded by another histogram to this one.
+	 * 
+	 * @param other The other histogram.
+	 */
+	public void add(LatencyHistogram other) {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts.addAndGet(i, other.counts.get(i));
+		}
+
+		count.addAndGet(other.count.get());
+		sum.addAndGet(other.sum.get());
+		max.accumulateAndGet(other.max.get(), Math::max);
+	}
+
+	public long getCount() {
+		return count.get();
+	}
+
+	public long getMax() {
+		return max.get();
+	}
+
+	public double getMean() {
+		long recorded = count.get();
+
+		return recorded == 0 ? 0 : (double) sum.get() / recorded;
+	}
+
+	/**
+	 * Gets the value below which the given percentage of the recorded values
+	 * fall.
+	 * 
+	 * @param percentile The percentile, between 0 and 100.
+	 * @return The highest value of the bucket which contains the percentile, or 0
+	 *         if nothing was recorded.
+	 */
+	public long getValueAtPercentile(double percentile) {
+		long recorded = count.get();
+		long target = Math.max(1, (long) Math.ceil(percentile / 100 * recorded));
+		long seen = 0;
+
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += counts.get(i);
+
+			if (seen >= target) {
+				return Math.min(highestValue(i), max.get());
+			}
+		}
+
+		return max.get();
+	}
+
+	/**
+	 * Prints the count, the mean and the usual percentiles, in microseconds.
+	 * 
+	 * @param out  The stream to print to.
+	 * @param name The name printed with the results.
+	 */
+	public void print(PrintStream out, String name) {
+		out.printf("%-40s n=%-10d mean=%9.1f p50=%9.1f p90=%9.1f p99=%9.1f p99.9=%9.1f max=%9.1f us%n",
+				name, getCount(), getMean() / 1e3, getValueAtPercentile(50) / 1e3,
+				getValueAtPercentile(90) / 1e3, getValueAtPercentile(99) / 1e3,
+				getValueAtPercentile(99.9) / 1e3, getMax() / 1e3);
+	}
+
+	private static int bucket(long value) {
+		if (value < LINEAR_BUCKETS) {
+			return (int) value;
+		}
+
+		// Shift the value so that it has SUB_BUCKET_BITS + 1 significant bits.
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+
+		return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+	}
+
+	private static long highestValue(int bucket) {
+		if (bucket < LINEAR_BUCKETS) {
+			return bucket;
+		}
+
+		int shift = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + 1;
+		long subBucket = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+
+		return ((subBucket + 1) << shift) - 1;
+	}
+}
@@ -0,0 +1,15 @@
+package me.mapokapo;
+
+import me.mapokapo.features.matches.ListMatchStore;
+import me.mapokapo.features.matches.MatchStore;
+
+/**
+ * Runs the {@link MatchStoreConformanceTest conformance tests} against the
+ * reference {@link ListMatchStore}.
+ */
+public class ListMatchStoreTest extends MatchStoreConformanceTest {
+	@Override
+	protected MatchStore createStore() {
+		return new ListMatchStore();
+	}
+}
@@ -0,0 +1,15 @@
+package me.mapokapo;
+
+import me.mapokapo.features.teams.ListTeamStore;
+import me.mapokapo.features.teams.TeamStore;
+
+/**
+ * Runs the {@link TeamStoreConformanceTest conformance tests} against the
+ * reference {@link ListTeamStore}.
+ */
+public class ListTeamStoreTest extends TeamStoreConformanceTest {
+	@Override
+	protected TeamStore createStore() {
+		return new ListTeamStore();
+	}
+}
@@ -0,0 +1,245 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.scoreboard.LiveStatistics;
+import me.mapokapo.features.scoreboard.Scoreboard;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * Tests for the {@link LiveStatistics} maintained by the {@link Scoreboard}
+ * class.
+ */
+public class LiveStatisticsTest {
+	/**
+	 * Checks that statistics describe exactly the given summary.
+	 */
+	private static boolean describes(LiveStatistics statistics, List<Match> summary) {
+		long totalGoals = 0;
+		int[] histogram = new int[summary.isEmpty() ? 0 : goals(summary.get(0)) + 1];
+
+		for (Match match : summary) {
+			totalGoals += goals(match);
+			histogram[goals(match)]++;
+		}
+
+		for (int goals = 0; goals < histogram.length; goals++) {
+			if (statistics.getMatchesWithGoals(goals) != histogram[goals]) {
+				return false;
+			}
+		}
+
+		OptionalInt highestScoring = summary.isEmpty() ? OptionalInt.empty() : OptionalInt.of(summary.get(0).getId());
+
+		return statistics.getLiveMatches() == summary.size() && statistics.getTotalGoals() == totalGoals
+				&& statistics.getMaxGoals() == histogram.length - 1
+				&& statistics.getHighestScoringMatchId().equals(highestScoring);
+	}
+
+	/**
+	 * Checks that statistics are consistent with themselves, which they are only
+	 * if they were not torn by a concurrent change.
+	 */
+	private static boolean isConsistent(LiveStatistics statistics) {
+		int liveMatches = 0;
+		long totalGoals = 0;
+
+		for (int goals = 0; goals <= statistics.getMaxGoals(); goals++) {
+			liveMatches += statistics.getMatchesWithGoals(goals);
+			totalGoals += (long) goals * statistics.getMatchesWithGoals(goals);
+		}
+
+		boolean topBucketUsed = statistics.getMaxGoals() < 0
+				|| statistics.getMatchesWithGoals(statistics.getMaxGoals()) > 0;
+
+		return liveMatches == statistics.getLiveMatches() && totalGoals == statistics.getTotalGoals()
+				&& topBucketUsed && statistics.getHighestScoringMatchId().isPresent() == (liveMatches > 0);
+	}
+
+	private static int goals(Match match) {
+		return match.getHomeScore() + match.getAwayScore();
+	}
+
+	/**
+	 * Makes a random change: starts a match, finishes a live one and adds a new
+	 * one in its place, or changes the score of a live one.
+	 */
+	private static void change(Scoreboard scoreboard, List<Match> notStarted, List<Match> live, Random random) {
+		int action = random.nextInt(10);
+
+		if (!notStarted.isEmpty() && (live.isEmpty() || action == 0)) {
+			Match match = notStarted.remove(notStarted.size() - 1);
+			scoreboard.startMatch(match.getId());
+			live.add(match);
+		} else if (action == 1 && !live.isEmpty()) {
+			scoreboard.finishMatch(live.remove(random.nextInt(live.size())).getId());
+			notStarted.add(scoreboard.addMatch("Home", "Away"));
+		} else if (!live.isEmpty()) {
+			scoreboard.updateScore(live.get(random.nextInt(live.size())).getId(), random.nextInt(5),
+					random.nextInt(5));
+		}
+	}
+
+	@Test
+	void givenNoLiveMatches_whenGettingStatistics_thenStatisticsAreEmpty() {
+		// Arrange
+		var scoreboard = new Scoreboard(new MatchRepository(), new TeamRepository());
+		scoreboard.addMatch("Mexico", "Canada");
+
+		// Act
+		LiveStatistics statistics = scoreboard.getLiveStatistics();
+
+		// Assert
+		assertTrue(statistics.getLiveMatches() == 0 && statistics.getTotalGoals() == 0
+				&& statistics.getMaxGoals() == -1 && statistics.getHighestScoringMatchId().isEmpty());
+	}
+
+	@Test
+	void givenLiveMatches_whenGettingStatistics_thenAggregateLiveMatchesOnly() {
+		// Arrange
+		var scoreboard = new Scoreboard(new MatchRepository(), new TeamRepository());
+		Match mexico = scoreboard.addMatch("Mexico", "Canada");
+		Match spain = scoreboard.addMatch("Spain", "Brazil");
+		Match germany = scoreboard.addMatch("Germany", "France");
+		scoreboard.startMatch(mexico.getId());
+		scoreboard.startMatch(spain.getId());
+		scoreboard.startMatch(germany.getId());
+		scoreboard.updateScore(mexico.getId(), 0, 5);
+		scoreboard.updateScore(spain.getId(), 10, 2);
+		scoreboard.updateScore(germany.getId(), 2, 2);
+		scoreboard.finishMatch(spain.getId());
+
+		// Act
+		LiveStatistics statistics = scoreboard.getLiveStatistics();
+
+		// Assert
+		assertTrue(statistics.getLiveMatches() == 2 && statistics.getTotalGoals() == 9
+				&& statistics.getMaxGoals() == 5 && statistics.getMatchesWithGoals(4) == 1
+				&& statistics.getMatchesWithGoals(5) == 1 && statistics.getMatchesWithGoals(12) == 0
+				&& statistics.getHighestScoringMatchId().equals(OptionalInt.of(mexico.getId())));
+	}
+
+	@Test
+	void givenMatchesWithEquallyManyGoals_whenGettingStatistics_thenHighestScoringMatchIsFirstOfSummary() {
+		// Arrange
+		var scoreboard = new Scoreboard(new MatchRepository(), new TeamRepository());
+		Match mexico = scoreboard.addMatch("Mexico", "Canada");
+		Match spain = scoreboard.addMatch("Spain", "Brazil");
+		scoreboard.startMatch(mexico.getId());
+		scoreboard.startMatch(spain.getId());
+		scoreboard.updateScore(mexico.getId(), 1, 1);
+		scoreboard.updateScore(spain.getId(), 2, 0);
+
+		// Act
+		LiveStatistics statistics = scoreboard.getLiveStatistics();
+
+		// Assert
+		assertTrue(describes(statistics, scoreboard.getSummary())
+				&& statistics.getHighestScoringMatchId().equals(OptionalInt.of(spain.getId())));
+	}
+
+	@Test
+	void givenRepositoryWithLiveMatches_whenCreatingScoreboard_thenStatisticsIncludeThem() {
+		// Arrange
+		var matchRepository = new MatchRepository();
+		var teamRepository = new TeamRepository();
+		var first = new Scoreboard(matchRepository, teamRepository);
+		Match match = first.addMatch("Mexico", "Canada");
+		first.startMatch(match.getId());
+		first.updateScore(match.getId(), 3, 1);
+
+		// Act
+		var second = new Scoreboard(matchRepository, teamRepository);
+
+		// Assert
+		assertTrue(describes(second.getLiveStatistics(), second.getSummary()));
+	}
+
+	@Test
+	void givenRandomChanges_whenGettingStatistics_thenStatisticsDescribeSummaryAfterEveryChange() {
+		// Arrange
+		var scoreboard = new Scoreboard(new MatchRepository(), new TeamRepository());
+		var random = new Random(44);
+		List<Match> notStarted = new ArrayList<>();
+		List<Match> live = new ArrayList<>();
+
+		for (int i = 0; i < 200; i++) {
+			notStarted.add(scoreboard.addMatch("Home " + i, "Away " + i));
+		}
+
+		boolean described = true;
+		long previousVersion = scoreboard.getLiveStatistics().getVersion();
+		boolean versionGrew = true;
+		boolean versionMatches = true;
+
+		// Act
+		for (int i = 0; i < 5_000; i++) {
+			change(scoreboard, notStarted, live, random);
+			LiveStatistics statistics = scoreboard.getLiveStatistics();
+			described &= describes(statistics, scoreboard.getSummary());
+			versionGrew &= statistics.getVersion() >= previousVersion;
+			versionMatches &= statistics.getVersion() == scoreboard.getSummaryVersion();
+			previousVersion = statistics.getVersion();
+		}
+
+		// Assert
+		assertTrue(described && versionGrew && versionMatches);
+	}
+
+	@Test
+	void givenConcurrentChanges_whenReadingStatistics_thenEverySnapshotIsConsistent() throws Exception {
+		// Arrange
+		var scoreboard = new Scoreboard(new MatchRepository(), new TeamRepository());
+		var random = new Random(7);
+		List<Match> notStarted = new ArrayList<>();
+		List<Match> live = new ArrayList<>();
+
+		for (int i = 0; i < 2_000; i++) {
+			notStarted.add(scoreboard.addMatch("Home " + i, "Away " + i));
+		}
+
+		var done = new AtomicBoolean();
+		List<CompletableFuture<Boolean>> readers = new ArrayList<>();
+
+		// Act
+		for (int reader = 0; reader < 3; reader++) {
+			readers.add(CompletableFuture.supplyAsync(() -> {
+				boolean consistent = true;
+				long previousVersion = -1;
+
+				while (!done.get()) {
+					LiveStatistics statistics = scoreboard.getLiveStatistics();
+					consistent &= isConsistent(statistics) && statistics.getVersion() >= previousVersion;
+					previousVersion = statistics.getVersion();
+				}
+
+				return consistent;
+			}));
+		}
+
+		for (int i = 0; i < 200_000; i++) {
+			change(scoreboard, notStarted, live, random);
+		}
+
+		done.set(true);
+		boolean consistent = true;
+
+		for (CompletableFuture<Boolean> reader : readers) {
+			consistent &= reader.get();
+		}
+
+		// Assert
+		assertTrue(consistent && describes(scoreboard.getLiveStatistics(), scoreboard.getSummary()));
+	}
+}
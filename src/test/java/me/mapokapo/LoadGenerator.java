@@ -0,0 +1,406 @@
+package me.mapokapo;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+import com.sun.management.GarbageCollectorMXBean;
+import com.sun.management.GcInfo;
+import com.sun.management.ThreadMXBean;
+
+import lombok.Value;
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.scoreboard.AsyncScoreboard;
+import me.mapokapo.features.scoreboard.Scoreboard;
+import me.mapokapo.features.teams.Team;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * Simulates the traffic of a tournament day against a {@link Scoreboard},
+ * through an {@link AsyncScoreboard}, and reports how the scoreboard copes.
+ *
+ * <p>
+ * A feed thread kicks off waves of matches, scores goals as a Poisson process,
+ * sometimes repeats a goal in a burst of duplicate messages, and finishes the
+ * matches, while a number of virtual threads read the summary at a fixed rate.
+ * Everything runs in memory, without any network or external service.
+ * </p>
+ *
+ * <p>
+ * Every {@link LoadProfile#getReportInterval() report interval}, the throughput
+ * and latency percentiles of the writes and the reads in that interval are
+ * printed to the {@link LoadProfile#getReportStream() report stream}, along
+ * with the allocation rate of the whole JVM and the heap used after the last
+ * garbage collection. A steadily growing heap over a long run points to a
+ * leak.
+ * </p>
+ */
+public class LoadGenerator {
+	private static final String[] COMPETITIONS = { "World Cup", "Champions League", "Copa America", "Euro" };
+	private static final int TEAM_COUNT = 48;
+	private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	/**
+	 * The outcome of a run.
+	 */
+	@Value
+	public static class Result {
+		long writes;
+		long reads;
+		long failures;
+		LatencyHistogram writeLatency;
+		LatencyHistogram readLatency;
+		long allocatedBytes;
+		long heapGrowthBytes;
+	}
+
+	/**
+	 * A scheduled step of the simulation, at a simulated time.
+	 */
+	private static final class Event implements Comparable<Event> {
+		static final int WAVE = 0;
+		static final int GOAL = 1;
+		static final int FINISH = 2;
+
+		final long time;
+		final int type;
+		final LiveMatch match;
+
+		Event(long time, int type, LiveMatch match) {
+			this.time = time;
+			this.type = type;
+			this.match = match;
+		}
+
+		@Override
+		public int compareTo(Event other) {
+			return Long.compare(time, other.time);
+		}
+	}
+
+	/**
+	 * The score of a live match as known by the feed.
+	 */
+	private static final class LiveMatch {
+		final Match match;
+		final long finishTime;
+		int homeScore;
+		int awayScore;
+
+		LiveMatch(Match match, long finishTime) {
+			this.match = match;
+			this.finishTime = finishTime;
+		}
+	}
+
+	private final LoadProfile profile;
+	private final Scoreboard scoreboard;
+	private final AsyncScoreboard asyncScoreboard;
+	private final List<Team> teams = new ArrayList<>(TEAM_COUNT);
+	private final Random random;
+
+	/**
+	 * The steps of the simulation, only used by the feed thread.
+	 */
+	private final PriorityQueue<Event> events = new PriorityQueue<>();
+
+	/**
+	 * Matches which have kicked off, but whose goals are not scheduled yet.
+	 */
+	private final ConcurrentLinkedQueue<LiveMatch> kickedOff = new ConcurrentLinkedQueue<>();
+
+	private final LatencyHistogram writeLatency = new LatencyHistogram();
+	private final LatencyHistogram readLatency = new LatencyHistogram();
+	private final AtomicReference<LatencyHistogram> intervalWriteLatency = new AtomicReference<>(
+			new LatencyHistogram());
+	private final AtomicReference<LatencyHistogram> intervalReadLatency = new AtomicReference<>(
+			new LatencyHistogram());
+	private final AtomicLong pendingWrites = new AtomicLong();
+	private final AtomicLong failures = new AtomicLong();
+	private final AtomicLong liveMatches = new AtomicLong();
+
+	private volatile boolean running;
+	private long startNanos;
+
+	public LoadGenerator(LoadProfile profile) {
+		this.profile = profile;
+		this.random = new Random(profile.getSeed());
+
+		var teamRepository = new TeamRepository();
+
+		for (int i = 0; i < TEAM_COUNT; i++) {
+			teams.add(teamRepository.addTeam(new Team(i, "Team " + i)));
+		}
+
+		this.scoreboard = new Scoreboard(new MatchRepository(), teamRepository);
+		this.asyncScoreboard = new AsyncScoreboard(scoreboard);
+	}
+
+	/**
+	 * Gets the scoreboard the load is generated against. It must not be used
+	 * while the generator runs.
+	 *
+	 * @return The scoreboard.
+	 */
+	public Scoreboard getScoreboard() {
+		return scoreboard;
+	}
+
+	/**
+	 * Runs the simulation for the duration of the profile on the calling thread,
+	 * printing a report every report interval, and waits for every write to
+	 * complete. A generator can only be run once.
+	 *
+	 * @return The totals of the run.
+	 */
+	public Result run() {
+		var threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		System.gc();
+		long heapBefore = heapAfterLastGc();
+		long allocatedBefore = threads.getTotalThreadAllocatedBytes();
+
+		running = true;
+		startNanos = System.nanoTime();
+		List<Thread> readers = startReaders();
+		events.add(new Event(0, Event.WAVE, null));
+
+		long durationNanos = profile.getDuration().toNanos();
+		long reportIntervalNanos = profile.getReportInterval().toNanos();
+		long nextReport = startNanos + reportIntervalNanos;
+		long lastAllocated = allocatedBefore;
+
+		for (long now = startNanos; now - startNanos < durationNanos; now = System.nanoTime()) {
+			step(simulatedMillis(now));
+
+			if (now >= nextReport) {
+				long allocated = threads.getTotalThreadAllocatedBytes();
+				report(now, allocated - lastAllocated, reportIntervalNanos);
+				lastAllocated = allocated;
+				nextReport += reportIntervalNanos;
+			}
+
+			LockSupport.parkNanos(TICK_NANOS);
+		}
+
+		running = false;
+
+		for (Thread reader : readers) {
+			try {
+				reader.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		while (pendingWrites.get() > 0) {
+			LockSupport.parkNanos(TICK_NANOS);
+		}
+
+		asyncScoreboard.close();
+
+		long allocated = threads.getTotalThreadAllocatedBytes() - allocatedBefore;
+		System.gc();
+		long heapGrowth = heapAfterLastGc() - heapBefore;
+		var result = new Result(writeLatency.getCount(), readLatency.getCount(), failures.get(),
+				writeLatency, readLatency, allocated, heapGrowth);
+
+		PrintStream out = profile.getReportStream();
+		writeLatency.print(out, "Total writes");
+		readLatency.print(out, "Total reads");
+		out.printf("%-40s failures=%d allocated=%.1f MB heap growth=%.2f MB%n", "Total", result.getFailures(),
+				allocated / 1e6, heapGrowth / 1e6);
+
+		return result;
+	}
+
+	/**
+	 * Runs every step of the simulation which is due at the given simulated
+	 * time.
+	 */
+	private void step(long now) {
+		LiveMatch started;
+
+		while ((started = kickedOff.poll()) != null) {
+			scheduleGoal(started, now);
+			events.add(new Event(started.finishTime, Event.FINISH, started));
+		}
+
+		while (!events.isEmpty() && events.peek().time <= now) {
+			Event event = events.poll();
+
+			switch (event.type) {
+				case Event.WAVE -> kickOffWave(event.time);
+				case Event.GOAL -> scoreGoal(event.match, event.time);
+				case Event.FINISH -> write(asyncScoreboard.finishMatch(event.match.match.getId()))
+						.thenRun(liveMatches::decrementAndGet);
+				default -> throw new IllegalStateException("Unknown event " + event.type);
+			}
+		}
+	}
+
+	private void kickOffWave(long now) {
+		long finishTime = now + profile.getMatchDuration().toMillis();
+
+		for (int i = 0; i < profile.getMatchesPerWave(); i++) {
+			Team home = teams.get(random.nextInt(TEAM_COUNT));
+			Team away = teams.get((home.getId() + 1 + random.nextInt(TEAM_COUNT - 1)) % TEAM_COUNT);
+			String competition = COMPETITIONS[random.nextInt(COMPETITIONS.length)];
+
+			write(asyncScoreboard.addMatch(home, away, competition)
+					.thenCompose(match -> asyncScoreboard.startMatch(match.getId()).thenApply(ignored -> match)))
+					.thenAccept(match -> {
+						liveMatches.incrementAndGet();
+						kickedOff.add(new LiveMatch(match, finishTime));
+					});
+		}
+
+		events.add(new Event(now + profile.getWaveInterval().toMillis(), Event.WAVE, null));
+	}
+
+	private void scoreGoal(LiveMatch live, long now) {
+		if (random.nextBoolean()) {
+			live.homeScore++;
+		} else {
+			live.awayScore++;
+		}
+
+		int messages = random.nextDouble() < profile.getBurstProbability() ? profile.getBurstSize() : 1;
+
+		for (int i = 0; i < messages; i++) {
+			write(asyncScoreboard.updateScore(live.match.getId(), live.homeScore, live.awayScore));
+		}
+
+		scheduleGoal(live, now);
+	}
+
+	/**
+	 * Schedules the next goal of a match, unless it would come after the final
+	 * whistle.
+	 */
+	private void scheduleGoal(LiveMatch live, long now) {
+		double goalsPerMilli = profile.getGoalsPerMatch() / profile.getMatchDuration().toMillis();
+		long time = now + (long) (-Math.log(1 - random.nextDouble()) / goalsPerMilli);
+
+		if (time < live.finishTime) {
+			events.add(new Event(time, Event.GOAL, live));
+		}
+	}
+
+	/**
+	 * Tracks the latency and the outcome of a write.
+	 */
+	private <T> CompletableFuture<T> write(CompletableFuture<T> future) {
+		long start = System.nanoTime();
+		pendingWrites.incrementAndGet();
+
+		return future.whenComplete((value, error) -> {
+			long latency = System.nanoTime() - start;
+			writeLatency.record(latency);
+			intervalWriteLatency.get().record(latency);
+
+			if (error != null) {
+				failures.incrementAndGet();
+			}
+
+			pendingWrites.decrementAndGet();
+		});
+	}
+
+	private List<Thread> startReaders() {
+		List<Thread> readers = new ArrayList<>(profile.getReaderCount());
+		long intervalNanos = TimeUnit.SECONDS.toNanos(1) / profile.getReadsPerSecond();
+
+		for (int i = 0; i < profile.getReaderCount(); i++) {
+			// Spread the readers over the interval, so they do not all read at once.
+			long offset = intervalNanos * i / profile.getReaderCount();
+
+			readers.add(Thread.ofVirtual().start(() -> {
+				long next = startNanos + offset;
+
+				while (running) {
+					LockSupport.parkNanos(next - System.nanoTime());
+					long start = System.nanoTime();
+					asyncScoreboard.getSummary().join();
+					long latency = System.nanoTime() - start;
+					readLatency.record(latency);
+					intervalReadLatency.get().record(latency);
+					next += intervalNanos;
+				}
+			}));
+		}
+
+		return readers;
+	}
+
+	private void report(long now, long allocatedBytes, long intervalNanos) {
+		LatencyHistogram writes = intervalWriteLatency.getAndSet(new LatencyHistogram());
+		LatencyHistogram reads = intervalReadLatency.getAndSet(new LatencyHistogram());
+		double seconds = intervalNanos / 1e9;
+
+		profile.getReportStream().printf(
+				"[%6ds] writes %8.0f/s p50 %7.3f p99 %7.3f p99.9 %7.3f max %7.3f ms | reads %7.0f/s p50 %7.3f "
+						+ "p99 %7.3f max %7.3f ms | alloc %7.1f MB/s | heap %7.1f MB | live %d%n",
+				Duration.ofNanos(now - startNanos).toSeconds(), writes.getCount() / seconds,
+				writes.getValueAtPercentile(50) / 1e6, writes.getValueAtPercentile(99) / 1e6,
+				writes.getValueAtPercentile(99.9) / 1e6, writes.getMax() / 1e6, reads.getCount() / seconds,
+				reads.getValueAtPercentile(50) / 1e6, reads.getValueAtPercentile(99) / 1e6, reads.getMax() / 1e6,
+				allocatedBytes / seconds / 1e6, heapAfterLastGc() / 1e6, liveMatches.get());
+	}
+
+	private long simulatedMillis(long nanos) {
+		return (long) ((nanos - startNanos) / 1e6 * profile.getTimeScale());
+	}
+
+	/**
+	 * Gets the heap used right after the last garbage collection, which, unlike
+	 * the heap used right now, does not depend on how much garbage happens to be
+	 * waiting to be collected.
+	 */
+	private static long heapAfterLastGc() {
+		Set<String> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+				.filter(pool -> pool.getType() == MemoryType.HEAP).map(MemoryPoolMXBean::getName)
+				.collect(Collectors.toSet());
+		GcInfo last = null;
+
+		for (var collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			if (collector instanceof GarbageCollectorMXBean gc) {
+				GcInfo info = gc.getLastGcInfo();
+
+				if (info != null && (last == null || info.getEndTime() > last.getEndTime())) {
+					last = info;
+				}
+			}
+		}
+
+		if (last == null) {
+			return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+		}
+
+		long used = 0;
+
+		for (Map.Entry<String, MemoryUsage> pool : last.getMemoryUsageAfterGc().entrySet()) {
+			if (heapPools.contains(pool.getKey())) {
+				used += pool.getValue().getUsed();
+			}
+		}
+
+		return used;
+	}
+}
@@ -0,0 +1,44 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link LoadGenerator} class, which make sure the load harness
+ * keeps working without running it for long.
+ */
+public class LoadGeneratorTest {
+	@Test
+	void givenShortAcceleratedRun_whenRunning_thenMatchesArePlayedWithoutFailures() {
+		// Arrange
+		var profile = LoadProfile.builder()
+				.duration(Duration.ofSeconds(2))
+				.reportInterval(Duration.ofSeconds(1))
+				.matchesPerWave(8)
+				.readerCount(4)
+				.goalsPerMatch(20)
+				.timeScale(3_600)
+				.reportStream(new PrintStream(OutputStream.nullOutputStream()))
+				.build();
+		var generator = new LoadGenerator(profile);
+
+		// Act
+		var result = generator.run();
+
+		// Assert
+		var scoreboard = generator.getScoreboard();
+		assertTrue(result.getFailures() == 0);
+		assertTrue(result.getWrites() > 100);
+		assertTrue(result.getReads() > 0);
+		assertTrue(result.getWriteLatency().getCount() == result.getWrites());
+
+		// Two hours of simulated time: the first waves have finished, and the last
+		// ones are still live.
+		assertTrue(scoreboard.getSummary().size() > 0 && scoreboard.getSummary().size() < 5 * 8);
+	}
+}
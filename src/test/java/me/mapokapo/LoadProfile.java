@@ -0,0 +1,99 @@
+package me.mapokapo;
+
+import java.io.PrintStream;
+import java.time.Duration;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * The shape of the traffic simulated by a {@link LoadGenerator}.
+ *
+ * <p>
+ * Times of the tournament, such as {@link #waveInterval} and
+ * {@link #matchDuration}, are simulated, and run {@link #timeScale} times faster
+ * than real time. Times of the run, such as {@link #duration}, are real.
+ * </p>
+ */
+@Value
+@Builder
+public class LoadProfile {
+	/**
+	 * The number of matches which kick off together in every wave.
+	 */
+	@Builder.Default
+	int matchesPerWave = 16;
+
+	/**
+	 * The simulated time between two kickoff waves.
+	 */
+	@Builder.Default
+	Duration waveInterval = Duration.ofMinutes(30);
+
+	/**
+	 * The simulated duration of a match, including stoppage time.
+	 */
+	@Builder.Default
+	Duration matchDuration = Duration.ofMinutes(95);
+
+	/**
+	 * The average number of goals in a match. Goals arrive as a Poisson process.
+	 */
+	@Builder.Default
+	double goalsPerMatch = 2.7;
+
+	/**
+	 * The probability that the feed sends a goal in a burst of duplicate
+	 * messages, as feeds do when they retry or replay.
+	 */
+	@Builder.Default
+	double burstProbability = 0.1;
+
+	/**
+	 * The number of duplicate messages in a burst.
+	 */
+	@Builder.Default
+	int burstSize = 20;
+
+	/**
+	 * The number of concurrent summary readers.
+	 */
+	@Builder.Default
+	int readerCount = 64;
+
+	/**
+	 * The number of summaries every reader requests per second.
+	 */
+	@Builder.Default
+	int readsPerSecond = 20;
+
+	/**
+	 * The number of simulated seconds which pass in a real second.
+	 */
+	@Builder.Default
+	double timeScale = 60;
+
+	/**
+	 * The real duration of the run.
+	 */
+	@Builder.Default
+	Duration duration = Duration.ofMinutes(1);
+
+	/**
+	 * The real time between two printed reports.
+	 */
+	@Builder.Default
+	Duration reportInterval = Duration.ofSeconds(10);
+
+	/**
+	 * The stream the reports are printed to.
+	 */
+	@Builder.Default
+	PrintStream reportStream = System.out;
+
+	/**
+	 * The seed of the random traffic, so runs are reproducible.
+	 */
+	@Builder.Default
+	long seed = 38;
+}
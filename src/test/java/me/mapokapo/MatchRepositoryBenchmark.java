@@ -0,0 +1,84 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.teams.Team;
+
+/**
+ * Benchmarks for the time range queries of the {@link MatchRepository} class,
+ * over a history of a million matches.
+ */
+@Tag("benchmark")
+public class MatchRepositoryBenchmark {
+	private static final int MATCH_COUNT = 1_000_000;
+	private static final long MINUTE = 60_000;
+
+	private static MatchRepository matchRepository;
+
+	@BeforeAll
+	static void init() {
+		var clock = new TestClock(0);
+		matchRepository = new MatchRepository();
+
+		Benchmarks.time("Add, start and finish " + MATCH_COUNT + " matches", () -> {
+			var home = new Team(0, "Home Team");
+			var away = new Team(1, "Away Team");
+
+			// A new match kicks off every minute and lasts 90 minutes.
+			for (int i = 0; i < MATCH_COUNT; i++) {
+				clock.set(i * MINUTE);
+				var match = matchRepository.addMatch(new Match(i, home, away, clock));
+				match.start();
+				clock.set(i * MINUTE + 90 * MINUTE);
+				match.finish();
+			}
+		});
+	}
+
+	@Test
+	void benchmarkFinishedInLastThirtyMinutes() {
+		long end = MATCH_COUNT * MINUTE;
+
+		Benchmarks.measure("Indexed: matches finished in a 30 minute window", 10_000, i -> {
+			long to = end - (i % 1_000) * MINUTE;
+			return matchRepository.getMatchesFinishedBetween(Instant.ofEpochMilli(to - 30 * MINUTE),
+					Instant.ofEpochMilli(to)).size();
+		});
+
+		Benchmarks.measure("Full scan: matches finished in a 30 minute window", 20, i -> {
+			long to = end - (i % 1_000) * MINUTE;
+			long from = to - 30 * MINUTE;
+			long count = 0;
+
+			for (Match match : matchRepository.getAllMatches()) {
+				if (match.isFinished() && match.getFinishTimeMillis() >= from && match.getFinishTimeMillis() < to) {
+					count++;
+				}
+			}
+
+			return count;
+		});
+
+		assertTrue(matchRepository.getMatchesFinishedBetween(Instant.ofEpochMilli(end - 30 * MINUTE),
+				Instant.ofEpochMilli(end)).size() == 30);
+	}
+
+	@Test
+	void benchmarkStartedInOneDay() {
+		long day = 24 * 60 * MINUTE;
+
+		Benchmarks.measure("Indexed: matches started in a one day window", 1_000, i -> {
+			long from = (i % 500) * day / 10;
+			return matchRepository.getMatchesStartedBetween(Instant.ofEpochMilli(from),
+					Instant.ofEpochMilli(from + day)).size();
+		});
+	}
+}
@@ -3,6 +3,9 @@ package me.mapokapo;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -199,4 +202,134 @@ public class MatchRepositoryTest {
             matchRepository.removeMatch(1);
         });
     }
+
+    @Test
+    void givenStartedMatches_whenGettingMatchesStartedBetween_thenReturnMatchesInRange() {
+        // Arrange
+        var clock = new TestClock(0);
+        var home = new Team(0, "Home Team");
+        var away = new Team(1, "Away Team");
+        var match1 = matchRepository.addMatch(new Match(0, home, away, clock));
+        var match2 = matchRepository.addMatch(new Match(1, home, away, clock));
+        var match3 = matchRepository.addMatch(new Match(2, home, away, clock));
+
+        // Act
+        clock.set(1_000);
+        match1.start();
+        clock.set(2_000);
+        match2.start();
+        clock.set(3_000);
+        match3.start();
+
+        // Assert
+        var matches = matchRepository.getMatchesStartedBetween(Instant.ofEpochMilli(1_500),
+                Instant.ofEpochMilli(3_000));
+        assertTrue(matches.equals(List.of(match2)));
+        assertTrue(matchRepository.getMatchesStartedBetween(Instant.ofEpochMilli(0), Instant.ofEpochMilli(5_000))
+                .equals(List.of(match1, match2, match3)));
+    }
+
+    @Test
+    void givenFinishedMatches_whenGettingMatchesFinishedBetween_thenReturnMatchesOrderedByFinishTime() {
+        // Arrange
+        var clock = new TestClock(0);
+        var home = new Team(0, "Home Team");
+        var away = new Team(1, "Away Team");
+        var match1 = matchRepository.addMatch(new Match(0, home, away, clock));
+        var match2 = matchRepository.addMatch(new Match(1, home, away, clock));
+        match1.start();
+        match2.start();
+
+        // Act
+        clock.advance(Duration.ofMinutes(90));
+        match2.finish();
+        clock.advance(Duration.ofMinutes(5));
+        match1.finish();
+
+        // Assert
+        var matches = matchRepository.getMatchesFinishedBetween(Instant.ofEpochMilli(0),
+                Instant.ofEpochMilli(Duration.ofHours(2).toMillis()));
+        assertTrue(matches.equals(List.of(match2, match1)));
+    }
+
+    @Test
+    void givenOutOfOrderStartTimes_whenGettingMatchesStartedBetween_thenReturnMatchesOrderedByStartTime() {
+        // Arrange
+        var clock = new TestClock(0);
+        var home = new Team(0, "Home Team");
+        var away = new Team(1, "Away Team");
+        var match1 = matchRepository.addMatch(new Match(0, home, away, clock));
+        var match2 = matchRepository.addMatch(new Match(1, home, away, clock));
+
+        // Act
+        clock.set(2_000);
+        match1.start();
+        clock.set(1_000);
+        match2.start();
+
+        // Assert
+        var matches = matchRepository.getMatchesStartedBetween(Instant.ofEpochMilli(0), Instant.ofEpochMilli(3_000));
+        assertTrue(matches.equals(List.of(match2, match1)));
+    }
+
+    @Test
+    void givenRemovedMatch_whenGettingMatchesStartedBetween_thenMatchNotReturned() {
+        // Arrange
+        var clock = new TestClock(1_000);
+        var match = matchRepository.addMatch(new Match(0, new Team(0, "Home Team"), new Team(1, "Away Team"), clock));
+        match.start();
+
+        // Act
+        matchRepository.removeMatch(match.getId());
+
+        // Assert
+        assertTrue(matchRepository.getMatchesStartedBetween(Instant.ofEpochMilli(0), Instant.ofEpochMilli(5_000))
+                .isEmpty());
+    }
+
+    @Test
+    void givenMatchStartedBeforeBeingAdded_whenGettingMatchesStartedBetween_thenReturnMatch() {
+        // Arrange
+        var clock = new TestClock(1_000);
+        var match = new Match(0, new Team(0, "Home Team"), new Team(1, "Away Team"), clock);
+        match.start();
+
+        // Act
+        matchRepository.addMatch(match);
+
+        // Assert
+        assertTrue(matchRepository.getMatchesStartedBetween(Instant.ofEpochMilli(0), Instant.ofEpochMilli(5_000))
+                .equals(List.of(match)));
+    }
+
+    @Test
+    void givenBatchOfMatches_whenAddingMatches_thenAllMatchesAddedAndIndexed() {
+        // Arrange
+        var home = new Team(0, "Home Team");
+        var away = new Team(1, "Away Team");
+        var match1 = Match.ofFinished(0, home, away, 1, 0, 3_000, 4_000);
+        var match2 = Match.ofFinished(1, home, away, 2, 2, 1_000, 2_000);
+
+        // Act
+        matchRepository.addMatches(List.of(match1, match2));
+
+        // Assert
+        assertTrue(matchRepository.getAllMatches().equals(List.of(match1, match2)));
+        assertTrue(matchRepository.getMatchById(1).get() == match2);
+        assertTrue(matchRepository.getMatchesFinishedBetween(Instant.ofEpochMilli(0), Instant.ofEpochMilli(5_000))
+                .equals(List.of(match2, match1)));
+    }
+
+    @Test
+    void givenBatchWithDuplicateIds_whenAddingMatches_thenThrowErrorAndAddNothing() {
+        // Arrange
+        var home = new Team(0, "Home Team");
+        var away = new Team(1, "Away Team");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> {
+            matchRepository.addMatches(List.of(new Match(0, home, away), new Match(0, home, away)));
+        });
+        assertTrue(matchRepository.getAllMatches().isEmpty());
+    }
 }
@@ -0,0 +1,74 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.scheduling.MatchScheduler;
+import me.mapokapo.features.scoreboard.AsyncScoreboard;
+import me.mapokapo.features.scoreboard.Scoreboard;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * Benchmarks for the {@link MatchScheduler} class, with a hundred thousand
+ * matches planned over a day.
+ */
+@Tag("benchmark")
+public class MatchSchedulerBenchmark {
+	private static final int MATCH_COUNT = 100_000;
+	private static final long DAY = Duration.ofDays(1).toMillis();
+
+	@Test
+	void benchmarkScheduleAndCancel() {
+		var clock = new TestClock(0);
+		var scoreboard = new Scoreboard(new MatchRepository(), new TeamRepository(), clock);
+
+		try (var asyncScoreboard = new AsyncScoreboard(scoreboard);
+				var scheduler = new MatchScheduler(asyncScoreboard, clock, MatchScheduler.DEFAULT_TICK,
+						MatchScheduler.DEFAULT_SLOTS)) {
+			Benchmarks.measure("Schedule a match", MATCH_COUNT, i -> {
+				long kickoff = (long) i * DAY / MATCH_COUNT;
+				scheduler.schedule(i, Instant.ofEpochMilli(kickoff), Instant.ofEpochMilli(kickoff + 6_300_000));
+				return i;
+			});
+
+			Benchmarks.measure("Reschedule a match", MATCH_COUNT, i -> {
+				long kickoff = (long) i * DAY / MATCH_COUNT + 60_000;
+				scheduler.schedule(i, Instant.ofEpochMilli(kickoff), Instant.ofEpochMilli(kickoff + 6_300_000));
+				return i;
+			});
+
+			Benchmarks.measure("Cancel a match", MATCH_COUNT, i -> scheduler.cancel(i) ? 1 : 0);
+
+			assertTrue(!scheduler.isScheduled(0));
+		}
+	}
+
+	@Test
+	void benchmarkEmptyTicks() {
+		var clock = new TestClock(0);
+		var scoreboard = new Scoreboard(new MatchRepository(), new TeamRepository(), clock);
+
+		try (var asyncScoreboard = new AsyncScoreboard(scoreboard);
+				var scheduler = new MatchScheduler(asyncScoreboard, clock, MatchScheduler.DEFAULT_TICK,
+						MatchScheduler.DEFAULT_SLOTS)) {
+			for (int i = 0; i < MATCH_COUNT; i++) {
+				scheduler.schedule(i, Instant.ofEpochMilli(DAY + i), null);
+			}
+
+			// Ticks before the planned kickoffs, which visit slots holding timers of
+			// later revolutions without firing them.
+			Benchmarks.measure("Tick without due transitions", 200_000, i -> {
+				clock.set(clock.millis() + 100);
+				return scheduler.fireDueTransitions().join();
+			});
+
+			assertTrue(scheduler.isScheduled(0));
+		}
+	}
+}
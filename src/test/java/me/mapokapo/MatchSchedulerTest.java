@@ -0,0 +1,237 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.scheduling.MatchScheduler;
+import me.mapokapo.features.scoreboard.AsyncScoreboard;
+import me.mapokapo.features.scoreboard.Scoreboard;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * Tests for the {@link MatchScheduler} class.
+ */
+public class MatchSchedulerTest {
+	private static final Duration TICK = Duration.ofSeconds(1);
+
+	private TestClock clock;
+	private Scoreboard scoreboard;
+	private AsyncScoreboard asyncScoreboard;
+	private MatchScheduler scheduler;
+
+	@BeforeEach
+	void init() {
+		clock = new TestClock(0);
+		scoreboard = new Scoreboard(new MatchRepository(), new TeamRepository(), clock);
+		asyncScoreboard = new AsyncScoreboard(scoreboard);
+		scheduler = new MatchScheduler(asyncScoreboard, clock, TICK, 64);
+	}
+
+	@AfterEach
+	void close() {
+		scheduler.close();
+		asyncScoreboard.close();
+	}
+
+	private static Instant at(long seconds) {
+		return Instant.ofEpochSecond(seconds);
+	}
+
+	@Test
+	void givenScheduledMatch_whenKickoffAndFullTimePass_thenStartAndFinishMatch() {
+		// Arrange
+		Match match = scoreboard.addMatch("Mexico", "Canada");
+		scheduler.schedule(match.getId(), at(10), at(20));
+
+		// Act
+		clock.set(9_999);
+		int early = scheduler.fireDueTransitions().join();
+		boolean startedEarly = match.isStarted();
+		clock.set(10_000);
+		int kickoff = scheduler.fireDueTransitions().join();
+		boolean started = match.isStarted() && !match.isFinished();
+		clock.set(20_500);
+		int fullTime = scheduler.fireDueTransitions().join();
+
+		// Assert
+		assertTrue(early == 0 && !startedEarly && kickoff == 1 && started && fullTime == 1);
+		assertTrue(match.isFinished() && !scheduler.isScheduled(match.getId()));
+	}
+
+	@Test
+	void givenTransitionBetweenTicks_whenFiring_thenFireAtEndOfItsTick() {
+		// Arrange
+		Match match = scoreboard.addMatch("Mexico", "Canada");
+		scheduler.schedule(match.getId(), Instant.ofEpochMilli(10_200), null);
+
+		// Act
+		clock.set(10_999);
+		scheduler.fireDueTransitions().join();
+		boolean startedBeforeTickEnded = match.isStarted();
+		clock.set(11_000);
+		scheduler.fireDueTransitions().join();
+
+		// Assert
+		assertTrue(!startedBeforeTickEnded && match.isStarted());
+	}
+
+	@Test
+	void givenManyMatchesWithSameKickoff_whenFiring_thenStartThemInOneBatch() {
+		// Arrange
+		List<Match> matches = new ArrayList<>();
+
+		for (int i = 0; i < 100; i++) {
+			Match match = scoreboard.addMatch("Home " + i, "Away " + i);
+			scheduler.schedule(match.getId(), at(5), at(100));
+			matches.add(match);
+		}
+
+		long versionBefore = scoreboard.getSummaryVersion();
+
+		// Act
+		clock.set(5_000);
+		int started = scheduler.fireDueTransitions().join();
+
+		// Assert
+		assertTrue(started == 100 && matches.stream().allMatch(Match::isStarted));
+		assertTrue(scoreboard.getSummaryVersion() == versionBefore + 100);
+	}
+
+	@Test
+	void givenCancelledSchedule_whenFiring_thenMatchIsNotStarted() {
+		// Arrange
+		Match match = scoreboard.addMatch("Mexico", "Canada");
+		scheduler.schedule(match.getId(), at(10), at(20));
+
+		// Act
+		boolean cancelled = scheduler.cancel(match.getId());
+		boolean cancelledAgain = scheduler.cancel(match.getId());
+		clock.set(30_000);
+		int fired = scheduler.fireDueTransitions().join();
+
+		// Assert
+		assertTrue(cancelled && !cancelledAgain && fired == 0 && !match.isStarted());
+	}
+
+	@Test
+	void givenRescheduledMatch_whenFiring_thenOnlyFireNewTransitions() {
+		// Arrange
+		Match match = scoreboard.addMatch("Mexico", "Canada");
+		scheduler.schedule(match.getId(), at(10), at(20));
+		scheduler.schedule(match.getId(), at(15), at(25));
+
+		// Act
+		clock.set(12_000);
+		scheduler.fireDueTransitions().join();
+		boolean startedAtOldKickoff = match.isStarted();
+		clock.set(15_000);
+		scheduler.fireDueTransitions().join();
+
+		// Assert
+		assertTrue(!startedAtOldKickoff && match.isStarted() && scheduler.isScheduled(match.getId()));
+	}
+
+	@Test
+	void givenTransitionsSeveralRevolutionsAhead_whenClockJumps_thenFireEveryDueTransition() {
+		// Arrange
+		// A revolution of the wheel takes 64 seconds.
+		Match first = scoreboard.addMatch("Mexico", "Canada");
+		Match second = scoreboard.addMatch("Spain", "Brazil");
+		Match third = scoreboard.addMatch("Germany", "France");
+		scheduler.schedule(first.getId(), at(3), at(70));
+		scheduler.schedule(second.getId(), at(67), at(200));
+		scheduler.schedule(third.getId(), at(1_000), null);
+
+		// Act
+		clock.set(100_000);
+		int fired = scheduler.fireDueTransitions().join();
+
+		// Assert
+		assertTrue(fired == 3 && first.isFinished() && second.isStarted() && !second.isFinished()
+				&& !third.isStarted());
+	}
+
+	@Test
+	void givenMatchStartedByHand_whenKickoffPasses_thenOtherTransitionsStillHappen() {
+		// Arrange
+		Match first = scoreboard.addMatch("Mexico", "Canada");
+		Match second = scoreboard.addMatch("Spain", "Brazil");
+		scheduler.schedule(first.getId(), at(10), null);
+		scheduler.schedule(second.getId(), at(10), null);
+		scoreboard.startMatch(first.getId());
+
+		// Act
+		clock.set(10_000);
+		int fired = scheduler.fireDueTransitions().join();
+
+		// Assert
+		assertTrue(fired == 1 && second.isStarted());
+	}
+
+	@Test
+	void givenInvalidSchedule_whenScheduling_thenThrowError() {
+		// Act & Assert
+		assertThrows(IllegalArgumentException.class, () -> {
+			scheduler.schedule(0, null, null);
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			scheduler.schedule(0, at(20), at(10));
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			new MatchScheduler(asyncScoreboard, clock, TICK, 100);
+		});
+	}
+
+	@Test
+	void givenStartedScheduler_whenTransitionsAreDue_thenFireThemOnTime() throws InterruptedException {
+		// Arrange
+		var realScoreboard = new Scoreboard(new MatchRepository(), new TeamRepository());
+		List<Match> matches = new ArrayList<>();
+
+		for (int i = 0; i < 1_000; i++) {
+			matches.add(realScoreboard.addMatch("Home " + i, "Away " + i));
+		}
+
+		try (var realAsyncScoreboard = new AsyncScoreboard(realScoreboard);
+				var realScheduler = new MatchScheduler(realAsyncScoreboard, Clock.systemUTC(), Duration.ofMillis(10),
+						256)) {
+			Instant now = Instant.now();
+
+			for (int i = 0; i < matches.size(); i++) {
+				realScheduler.schedule(matches.get(i).getId(), now.plusMillis(50 + i % 100),
+						now.plusMillis(200 + i % 100));
+			}
+
+			// Act
+			realScheduler.start();
+			Thread.sleep(1_000);
+
+			// Assert
+			assertTrue(matches.stream().allMatch(Match::isFinished));
+
+			// Every match was started at or after its kickoff, and within a second
+			// even on a loaded machine.
+			boolean onTime = true;
+
+			for (int i = 0; i < matches.size(); i++) {
+				long kickoff = now.toEpochMilli() + 50 + i % 100;
+				long started = matches.get(i).getStartTimeMillis();
+				onTime &= started >= kickoff && started < kickoff + 1_000;
+			}
+
+			assertTrue(onTime);
+		}
+	}
+}
@@ -0,0 +1,232 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.management.ThreadMXBean;
+
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchStore;
+import me.mapokapo.features.teams.Team;
+
+/**
+ * The conformance tests every {@link MatchStore} must pass. A backend is
+ * tested by extending this class and implementing {@link #createStore()}.
+ * Backends in other projects get this class from the {@code tests} jar of the
+ * project.
+ */
+public abstract class MatchStoreConformanceTest {
+	private static final Team HOME = new Team(0, "Home Team");
+	private static final Team AWAY = new Team(1, "Away Team");
+
+	private MatchStore store;
+
+	/**
+	 * Creates an empty store of the backend under test.
+	 * 
+	 * @return The store.
+	 */
+	protected abstract MatchStore createStore();
+
+	@BeforeEach
+	void init() {
+		store = createStore();
+	}
+
+	private static Match match(int id) {
+		return new Match(id, HOME, AWAY);
+	}
+
+	@Test
+	void givenEmptyStore_whenGettingMatches_thenStoreIsEmpty() {
+		// Act & Assert
+		assertTrue(store.size() == 0);
+		assertTrue(store.getAll().isEmpty());
+		assertTrue(store.get(0) == null);
+	}
+
+	@Test
+	void givenAddedMatch_whenGettingMatchById_thenReturnSameMatch() {
+		// Arrange
+		var match = match(42);
+
+		// Act
+		boolean added = store.add(match);
+
+		// Assert
+		assertTrue(added);
+		assertTrue(store.get(42) == match);
+		assertTrue(store.get(43) == null);
+		assertTrue(store.size() == 1);
+	}
+
+	@Test
+	void givenExistingMatchId_whenAddingMatch_thenRejectMatchAndKeepOriginal() {
+		// Arrange
+		var original = match(0);
+		store.add(original);
+
+		// Act
+		boolean added = store.add(match(0));
+
+		// Assert
+		assertTrue(!added);
+		assertTrue(store.get(0) == original);
+		assertTrue(store.getAll().size() == 1);
+	}
+
+	@Test
+	void givenAllMatches_whenModifyingThem_thenThrowError() {
+		// Arrange
+		store.add(match(0));
+
+		// Act & Assert
+		assertThrows(UnsupportedOperationException.class, () -> store.getAll().add(match(1)));
+		assertThrows(UnsupportedOperationException.class, () -> store.getAll().remove(0));
+	}
+
+	@Test
+	void givenAllMatches_whenStoreChanges_thenViewReflectsChanges() {
+		// Arrange
+		var all = store.getAll();
+
+		// Act
+		store.add(match(0));
+		store.add(match(1));
+		store.remove(0);
+
+		// Assert
+		assertTrue(all.size() == 1 && all.get(0).getId() == 1);
+	}
+
+	@Test
+	void givenMatches_whenRemovingOne_thenOthersKeepInsertionOrder() {
+		// Arrange
+		for (int id : new int[] { 5, 3, 9, 1 }) {
+			store.add(match(id));
+		}
+
+		// Act
+		var removed = store.remove(3);
+		var missing = store.remove(3);
+
+		// Assert
+		assertTrue(removed.getId() == 3 && missing == null);
+		assertTrue(store.get(3) == null);
+		assertTrue(ids(store.getAll()).equals(List.of(5, 9, 1)));
+	}
+
+	@Test
+	void givenBatchOfMatches_whenAddingAll_thenAddThemInOrder() {
+		// Arrange
+		store.add(match(7));
+
+		// Act
+		boolean added = store.addAll(List.of(match(2), match(8), match(0)));
+
+		// Assert
+		assertTrue(added);
+		assertTrue(ids(store.getAll()).equals(List.of(7, 2, 8, 0)));
+		assertTrue(store.get(8).getId() == 8);
+	}
+
+	@Test
+	void givenBatchWithExistingOrDuplicateIds_whenAddingAll_thenAddNothing() {
+		// Arrange
+		store.add(match(7));
+
+		// Act
+		boolean withExisting = store.addAll(List.of(match(1), match(7)));
+		boolean withDuplicates = store.addAll(List.of(match(2), match(3), match(2)));
+
+		// Assert
+		assertTrue(!withExisting && !withDuplicates);
+		assertTrue(ids(store.getAll()).equals(List.of(7)));
+		assertTrue(store.get(1) == null && store.get(2) == null && store.get(3) == null);
+	}
+
+	@Test
+	void givenRandomOperations_whenComparingWithModel_thenStoreBehavesLikeModel() {
+		// Arrange
+		var random = new Random(43);
+		Map<Integer, Match> model = new LinkedHashMap<>();
+
+		// Act & Assert
+		for (int step = 0; step < 20_000; step++) {
+			// IDs are sparse and may be negative, to exercise hashing.
+			int id = (random.nextInt(2_000) - 1_000) * 7_919;
+			int operation = random.nextInt(10);
+
+			if (operation < 5) {
+				var match = match(id);
+				assertTrue(store.add(match) == (model.putIfAbsent(id, match) == null));
+			} else if (operation < 8) {
+				assertTrue(store.remove(id) == model.remove(id));
+			} else if (operation < 9) {
+				List<Match> batch = new ArrayList<>();
+
+				for (int i = 0; i < 5; i++) {
+					batch.add(match(id + i));
+				}
+
+				boolean fits = batch.stream().noneMatch(match -> model.containsKey(match.getId()));
+				assertTrue(store.addAll(batch) == fits);
+
+				if (fits) {
+					batch.forEach(match -> model.put(match.getId(), match));
+				}
+			} else {
+				assertTrue(store.get(id) == model.get(id));
+			}
+
+			assertTrue(store.size() == model.size());
+		}
+
+		assertTrue(store.getAll().equals(new ArrayList<>(model.values())));
+	}
+
+	@Test
+	void givenManyMatches_whenLookingThemUp_thenNothingIsAllocated() {
+		// Arrange
+		var threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		List<Match> matches = new ArrayList<>();
+
+		for (int i = 0; i < 10_000; i++) {
+			matches.add(match(i * 31));
+		}
+
+		store.addAll(matches);
+		long found = 0;
+
+		for (int i = 0; i < 100_000; i++) {
+			found += store.get(i % 20_000 * 31) == null ? 0 : 1;
+		}
+
+		// Act
+		long before = threads.getCurrentThreadAllocatedBytes();
+
+		for (int i = 0; i < 100_000; i++) {
+			found += store.get(i % 20_000 * 31) == null ? 0 : 1;
+		}
+
+		long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+		// Assert
+		assertTrue(found == 100_000);
+		assertTrue(allocated < 100_000, "Lookups allocated " + allocated + " bytes");
+	}
+
+	private static List<Integer> ids(List<Match> matches) {
+		return matches.stream().map(Match::getId).toList();
+	}
+}
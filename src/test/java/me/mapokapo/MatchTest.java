@@ -3,9 +3,15 @@ package me.mapokapo;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchListener;
 import me.mapokapo.features.teams.Team;
 
 /**
@@ -157,4 +163,116 @@ public class MatchTest {
             match.finish();
         });
     }
+
+    @Test
+    void givenClock_whenStartingAndFinishingMatch_thenTimesRecorded() {
+        // Arrange
+        var clock = new TestClock(1_000);
+        var match = new Match(0, new Team(0, "Home Team"), new Team(1, "Away Team"), clock);
+
+        // Act
+        match.start();
+        clock.advance(Duration.ofMinutes(90));
+        match.finish();
+
+        // Assert
+        assertTrue(match.getStartTime().get().equals(Instant.ofEpochMilli(1_000)));
+        assertTrue(match.getFinishTime().get().equals(Instant.ofEpochMilli(1_000 + 90 * 60 * 1_000)));
+    }
+
+    @Test
+    void givenNotStartedMatch_whenGettingTimes_thenReturnEmpty() {
+        // Arrange & Act
+        var match = createSampleMatch();
+
+        // Assert
+        assertTrue(match.getStartTime().isEmpty());
+        assertTrue(match.getFinishTime().isEmpty());
+    }
+
+    @Test
+    void givenListener_whenChangingMatch_thenListenerNotified() {
+        // Arrange
+        var match = createSampleMatch();
+        List<String> events = new ArrayList<>();
+        match.addListener(new MatchListener() {
+            @Override
+            public void onMatchStarted(Match match) {
+                events.add("started");
+            }
+
+            @Override
+            public void onScoreChanged(Match match, int previousHomeScore, int previousAwayScore) {
+                events.add(previousHomeScore + "-" + previousAwayScore);
+            }
+
+            @Override
+            public void onMatchFinished(Match match) {
+                events.add("finished");
+            }
+        });
+
+        // Act
+        match.start();
+        match.setScore(1, 0);
+        match.setScore(1, 0);
+        match.setScore(1, 1);
+        match.finish();
+
+        // Assert
+        assertTrue(events.equals(List.of("started", "0-0", "1-0", "finished")));
+    }
+
+    @Test
+    void givenRemovedListener_whenChangingMatch_thenListenerNotNotified() {
+        // Arrange
+        var match = createSampleMatch();
+        List<String> events = new ArrayList<>();
+        MatchListener listener = new MatchListener() {
+            @Override
+            public void onMatchStarted(Match match) {
+                events.add("started");
+            }
+        };
+        match.addListener(listener);
+
+        // Act
+        match.removeListener(listener);
+        match.start();
+
+        // Assert
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void givenSequencedUpdates_whenSettingScoreOutOfOrder_thenStaleAndDuplicateUpdatesAreIgnored() {
+        // Arrange
+        var match = createSampleMatch();
+        match.start();
+
+        // Act
+        boolean first = match.setScore(1, 0, 10);
+        boolean newer = match.setScore(2, 0, 12);
+        boolean stale = match.setScore(1, 1, 11);
+        boolean duplicate = match.setScore(2, 0, 12);
+
+        // Assert
+        assertTrue(first && newer && !stale && !duplicate);
+        assertTrue(match.getHomeScore() == 2 && match.getAwayScore() == 0);
+        assertTrue(match.getSequence() == 12);
+        assertTrue(match.isStale(12) && !match.isStale(13));
+        assertTrue(match.getTimeline().size() == 2);
+    }
+
+    @Test
+    void givenNotStartedMatch_whenSettingSequencedScore_thenThrowErrorAndKeepSequence() {
+        // Arrange
+        var match = createSampleMatch();
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> {
+            match.setScore(1, 0, 1);
+        });
+        assertTrue(match.getSequence() == Match.NO_SEQUENCE);
+    }
 }
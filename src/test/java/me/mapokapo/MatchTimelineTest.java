@@ -0,0 +1,194 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchTimeline;
+import me.mapokapo.features.matches.MatchTimeline.Side;
+import me.mapokapo.features.teams.Team;
+
+/**
+ * Tests for the {@link MatchTimeline} class.
+ */
+public class MatchTimelineTest {
+	private TestClock clock;
+	private Match match;
+
+	@BeforeEach
+	void init() {
+		clock = new TestClock(0);
+		match = new Match(0, new Team(0, "Home Team"), new Team(1, "Away Team"), clock);
+		match.start();
+	}
+
+	@Test
+	void givenNewMatch_whenGettingTimeline_thenTimelineEmpty() {
+		// Act
+		var timeline = match.getTimeline();
+
+		// Assert
+		assertTrue(timeline.size() == 0);
+		assertTrue(timeline.indexAt(Long.MAX_VALUE) == -1);
+	}
+
+	@Test
+	void givenScoreChanges_whenGettingTimeline_thenEventsRecorded() {
+		// Act
+		clock.set(60_000);
+		match.setScore(1, 0);
+		clock.set(120_000);
+		match.setScore(1, 1);
+		clock.set(180_000);
+		match.setScore(3, 2);
+
+		// Assert
+		var timeline = match.getTimeline();
+		assertTrue(timeline.size() == 3);
+		assertTrue(timeline.getTimestampMillis(0) == 60_000);
+		assertTrue(timeline.getSide(0) == Side.HOME);
+		assertTrue(timeline.getHomeScore(0) == 1 && timeline.getAwayScore(0) == 0);
+		assertTrue(timeline.getTimestampMillis(1) == 120_000);
+		assertTrue(timeline.getSide(1) == Side.AWAY);
+		assertTrue(timeline.getHomeScore(1) == 1 && timeline.getAwayScore(1) == 1);
+		assertTrue(timeline.getTimestampMillis(2) == 180_000);
+		assertTrue(timeline.getSide(2) == Side.BOTH);
+		assertTrue(timeline.getHomeScore(2) == 3 && timeline.getAwayScore(2) == 2);
+	}
+
+	@Test
+	void givenUnchangedScore_whenSettingScore_thenNoEventRecorded() {
+		// Act
+		match.setScore(1, 0);
+		match.setScore(1, 0);
+
+		// Assert
+		assertTrue(match.getTimeline().size() == 1);
+	}
+
+	@Test
+	void givenLoweredScore_whenCheckingCorrection_thenEventIsCorrection() {
+		// Act
+		match.setScore(2, 0);
+		match.setScore(1, 0);
+
+		// Assert
+		assertTrue(!match.getTimeline().isCorrection(0));
+		assertTrue(match.getTimeline().isCorrection(1));
+	}
+
+	@Test
+	void givenManyEvents_whenGettingTimeline_thenAllEventsKept() {
+		// Act
+		for (int i = 1; i <= 1_000; i++) {
+			clock.advance(Duration.ofSeconds(1));
+			match.setScore(i, i - 1);
+		}
+
+		// Assert
+		var timeline = match.getTimeline();
+		assertTrue(timeline.size() == 1_000);
+		assertTrue(timeline.getHomeScore(999) == 1_000);
+		assertTrue(timeline.getAwayScore(999) == 999);
+		assertTrue(timeline.getTimestampMillis(999) == 1_000_000);
+	}
+
+	@Test
+	void givenEvents_whenIteratingTimeline_thenEventsPassedInOrder() {
+		// Arrange
+		clock.set(1_000);
+		match.setScore(1, 0);
+		clock.set(2_000);
+		match.setScore(1, 1);
+		List<String> events = new ArrayList<>();
+
+		// Act
+		match.getTimeline().forEach((timestampMillis, side, homeScore, awayScore) -> {
+			events.add(timestampMillis + " " + side + " " + homeScore + "-" + awayScore);
+		});
+
+		// Assert
+		assertTrue(events.equals(List.of("1000 HOME 1-0", "2000 AWAY 1-1")));
+	}
+
+	@Test
+	void givenEvents_whenFindingIndexAtTime_thenReturnLastEventAtOrBeforeTime() {
+		// Arrange
+		clock.set(1_000);
+		match.setScore(1, 0);
+		clock.set(2_000);
+		match.setScore(2, 0);
+		var timeline = match.getTimeline();
+
+		// Act & Assert
+		assertTrue(timeline.indexAt(999) == -1);
+		assertTrue(timeline.indexAt(1_000) == 0);
+		assertTrue(timeline.indexAt(1_999) == 0);
+		assertTrue(timeline.indexAt(5_000) == 1);
+	}
+
+	@Test
+	void givenEventsMonthsApart_whenGettingTimeline_thenTimestampsKept() {
+		// Arrange
+		long month = Duration.ofDays(30).toMillis();
+
+		// Act
+		for (int i = 1; i <= 10; i++) {
+			clock.set(i == 10 ? -month : i * month);
+			match.setScore(i, 0);
+		}
+
+		// Assert
+		var timeline = match.getTimeline();
+		List<Long> timestamps = new ArrayList<>();
+		timeline.forEach((timestampMillis, side, homeScore, awayScore) -> timestamps.add(timestampMillis));
+		assertTrue(timeline.size() == 10);
+		assertTrue(timeline.getTimestampMillis(0) == month && timeline.getTimestampMillis(8) == 9 * month);
+		assertTrue(timeline.getTimestampMillis(9) == -month && timestamps.get(4) == 5 * month);
+		assertTrue(timeline.getHomeScore(9) == 10);
+	}
+
+	@Test
+	void givenEvents_whenReplayingTimeline_thenTargetHasSameScoreAndTimeline() {
+		// Arrange
+		match.setScore(1, 0);
+		match.setScore(1, 1);
+		match.setScore(2, 1);
+		var target = new Match(1, new Team(0, "Home Team"), new Team(1, "Away Team"), clock);
+		target.start();
+
+		// Act
+		match.getTimeline().replay(target);
+
+		// Assert
+		assertTrue(target.getHomeScore() == 2);
+		assertTrue(target.getAwayScore() == 1);
+		assertTrue(target.getTimeline().size() == 3);
+	}
+
+	@Test
+	void givenNonexistentIndex_whenGettingEvent_thenThrowError() {
+		// Arrange
+		match.setScore(1, 0);
+
+		// Act & Assert
+		assertThrows(IndexOutOfBoundsException.class, () -> {
+			match.getTimeline().getHomeScore(1);
+		});
+	}
+
+	@Test
+	void givenTooHighScore_whenSettingScore_thenThrowError() {
+		// Act & Assert
+		assertThrows(IllegalArgumentException.class, () -> {
+			match.setScore(MatchTimeline.MAX_SCORE + 1, 0);
+		});
+	}
+}
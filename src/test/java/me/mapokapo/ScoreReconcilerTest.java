@@ -0,0 +1,196 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.reconciliation.ProviderScore;
+import me.mapokapo.features.reconciliation.ScoreReconciler;
+import me.mapokapo.features.scoreboard.AsyncScoreboard;
+import me.mapokapo.features.scoreboard.Scoreboard;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * Tests for the {@link ScoreReconciler} class.
+ */
+public class ScoreReconcilerTest {
+	private static final List<String> PROVIDERS = List.of("opta", "sportradar", "statsperform");
+
+	private record Update(String provider, int matchId, long version, int homeScore, int awayScore) {
+	}
+
+	private Scoreboard scoreboard;
+	private AsyncScoreboard asyncScoreboard;
+	private ScoreReconciler reconciler;
+
+	@BeforeEach
+	void init() {
+		scoreboard = new Scoreboard(new MatchRepository(), new TeamRepository());
+		asyncScoreboard = new AsyncScoreboard(scoreboard);
+		reconciler = new ScoreReconciler(asyncScoreboard, PROVIDERS);
+	}
+
+	@AfterEach
+	void close() {
+		asyncScoreboard.close();
+	}
+
+	private Match createStartedMatch() {
+		var match = scoreboard.addMatch("Spain", "Brazil");
+		scoreboard.startMatch(match.getId());
+
+		return match;
+	}
+
+	@Test
+	void givenTwoProvidersAgainstOne_whenReconciling_thenMajorityScoreWins() {
+		// Arrange
+		var match = createStartedMatch();
+
+		// Act
+		reconciler.update("opta", match.getId(), 1, 1, 0).join();
+		reconciler.update("sportradar", match.getId(), 1, 2, 0).join();
+		reconciler.update("statsperform", match.getId(), 1, 2, 0).join();
+
+		// Assert
+		assertTrue(match.getHomeScore() == 2 && match.getAwayScore() == 0);
+		assertTrue(reconciler.getView(match.getId(), "opta").get().equals(new ProviderScore(1, 1, 0)));
+	}
+
+	@Test
+	void givenProvidersWhichAllDisagree_whenReconciling_thenHighestPriorityProviderWins() {
+		// Arrange
+		var match = createStartedMatch();
+
+		// Act
+		reconciler.update("statsperform", match.getId(), 1, 3, 0).join();
+		reconciler.update("sportradar", match.getId(), 1, 2, 0).join();
+		reconciler.update("opta", match.getId(), 1, 1, 0).join();
+
+		// Assert
+		assertTrue(match.getHomeScore() == 1);
+	}
+
+	@Test
+	void givenStaleAndDuplicateUpdates_whenReconciling_thenIgnoreThem() {
+		// Arrange
+		var match = createStartedMatch();
+		reconciler.update("opta", match.getId(), 5, 2, 1).join();
+
+		// Act
+		boolean stale = reconciler.update("opta", match.getId(), 4, 1, 1).join();
+		boolean duplicate = reconciler.update("opta", match.getId(), 5, 2, 1).join();
+
+		// Assert
+		assertTrue(!stale && !duplicate);
+		assertTrue(match.getHomeScore() == 2 && match.getAwayScore() == 1);
+		assertTrue(reconciler.getView(match.getId(), "sportradar").isEmpty());
+	}
+
+	@Test
+	void givenForgottenMatch_whenUpdating_thenResolvedScoreIsApplied() {
+		// Arrange
+		var match = createStartedMatch();
+		reconciler.update("opta", match.getId(), 1, 1, 0).join();
+		reconciler.update("sportradar", match.getId(), 1, 1, 0).join();
+		reconciler.forget(match.getId());
+
+		// Act
+		boolean applied = reconciler.update("opta", match.getId(), 1, 2, 0).join();
+
+		// Assert
+		assertTrue(applied);
+		assertTrue(match.getHomeScore() == 2 && match.getAwayScore() == 0);
+		assertTrue(reconciler.getView(match.getId(), "sportradar").isEmpty());
+		assertTrue(reconciler.getResolvedScore(match.getId()).get().getVersion() == 3);
+	}
+
+	@Test
+	void givenSameUpdatesInDifferentOrders_whenReconcilingConcurrently_thenBoardsConverge() {
+		// Arrange
+		var random = new Random(41);
+		List<Match> matches = new ArrayList<>();
+		List<Update> updates = new ArrayList<>();
+
+		for (int i = 0; i < 20; i++) {
+			var match = scoreboard.addMatch("Home " + i, "Away " + i);
+			scoreboard.startMatch(match.getId());
+			matches.add(match);
+
+			for (var provider : PROVIDERS) {
+				for (int version = 0; version < 50; version++) {
+					updates.add(new Update(provider, match.getId(), random.nextInt(40), random.nextInt(3),
+							random.nextInt(3)));
+				}
+			}
+		}
+
+		var otherMatchRepository = new MatchRepository();
+		var otherScoreboard = new Scoreboard(otherMatchRepository, new TeamRepository());
+
+		for (var match : matches) {
+			var copy = otherScoreboard.addMatch(match.getHomeTeam(), match.getAwayTeam());
+			otherScoreboard.startMatch(copy.getId());
+		}
+
+		List<Update> shuffled = new ArrayList<>(updates);
+		Collections.shuffle(shuffled, random);
+
+		// Act
+		try (var otherAsyncScoreboard = new AsyncScoreboard(otherScoreboard)) {
+			var otherReconciler = new ScoreReconciler(otherAsyncScoreboard, PROVIDERS);
+			List<CompletableFuture<Boolean>> futures = Collections.synchronizedList(new ArrayList<>());
+
+			try (var consumers = Executors.newFixedThreadPool(PROVIDERS.size() * 2)) {
+				for (var provider : PROVIDERS) {
+					consumers.execute(() -> apply(reconciler, updates, provider, futures));
+					consumers.execute(() -> apply(otherReconciler, shuffled, provider, futures));
+				}
+			}
+
+			futures.forEach(CompletableFuture::join);
+
+			// Assert
+			for (var match : matches) {
+				var copy = otherMatchRepository.getMatchById(match.getId()).get();
+				var resolved = reconciler.getResolvedScore(match.getId()).get();
+				assertTrue(match.getHomeScore() == resolved.getHomeScore());
+				assertTrue(match.getAwayScore() == resolved.getAwayScore());
+				assertTrue(copy.getHomeScore() == match.getHomeScore());
+				assertTrue(copy.getAwayScore() == match.getAwayScore());
+			}
+		}
+	}
+
+	private static void apply(ScoreReconciler reconciler, List<Update> updates, String provider,
+			List<CompletableFuture<Boolean>> futures) {
+		for (var update : updates) {
+			if (update.provider().equals(provider)) {
+				futures.add(reconciler.update(provider, update.matchId(), update.version(), update.homeScore(),
+						update.awayScore()));
+			}
+		}
+	}
+
+	@Test
+	void givenInvalidArguments_whenReconciling_thenThrowError() {
+		// Act & Assert
+		assertThrows(IllegalArgumentException.class, () -> reconciler.update("espn", 0, 1, 0, 0));
+		assertThrows(IllegalArgumentException.class, () -> reconciler.update("opta", 0, -1, 0, 0));
+		assertThrows(IllegalArgumentException.class, () -> reconciler.update("opta", 0, 1, -1, 0));
+		assertThrows(IllegalArgumentException.class,
+				() -> new ScoreReconciler(asyncScoreboard, List.of("opta", "opta")));
+	}
+}
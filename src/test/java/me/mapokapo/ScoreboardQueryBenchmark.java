@@ -0,0 +1,82 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.scoreboard.Scoreboard;
+import me.mapokapo.features.scoreboard.SummaryQuery;
+import me.mapokapo.features.teams.Team;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * Benchmarks for the filtered summary queries of the {@link Scoreboard} class,
+ * over a hundred thousand live matches.
+ */
+@Tag("benchmark")
+public class ScoreboardQueryBenchmark {
+	private static final int MATCH_COUNT = 100_000;
+	private static final int TEAM_COUNT = 10_000;
+	private static final String[] COMPETITIONS = { "World Cup", "Champions League", "Premier League", "La Liga" };
+
+	private static Scoreboard scoreboard;
+
+	@BeforeAll
+	static void init() {
+		var random = new Random(31);
+		var teamRepository = new TeamRepository();
+		scoreboard = new Scoreboard(new MatchRepository(), teamRepository);
+
+		for (int i = 0; i < TEAM_COUNT; i++) {
+			teamRepository.addTeam(new Team(i, "Team " + i));
+		}
+
+		Benchmarks.time("Add and start " + MATCH_COUNT + " matches", () -> {
+			for (int i = 0; i < MATCH_COUNT; i++) {
+				int home = random.nextInt(TEAM_COUNT);
+				int away = (home + 1 + random.nextInt(TEAM_COUNT - 1)) % TEAM_COUNT;
+				Match match = scoreboard.addMatch(teamRepository.getTeamById(home).get(),
+						teamRepository.getTeamById(away).get(), COMPETITIONS[i % COMPETITIONS.length]);
+				match.start();
+				match.setScore(random.nextInt(4), random.nextInt(4));
+			}
+		});
+	}
+
+	@Test
+	void benchmarkTeamQuery() {
+		Benchmarks.measure("Indexed: summary of one team", 100_000,
+				i -> scoreboard.getSummary(SummaryQuery.builder().teamName("Team " + i % TEAM_COUNT).build()).size());
+
+		Benchmarks.measure("Full summary filtered by the caller: one team", 50, i -> {
+			String name = "Team " + i % TEAM_COUNT;
+			return scoreboard.getSummary().stream().filter(
+					match -> match.getHomeTeam().getName().equals(name) || match.getAwayTeam().getName().equals(name))
+					.count();
+		});
+
+		assertTrue(scoreboard.getSummary(SummaryQuery.builder().teamName("Team 0").build()).stream()
+				.allMatch(match -> match.getHomeTeam().getId() == 0 || match.getAwayTeam().getId() == 0));
+	}
+
+	@Test
+	void benchmarkCompetitionAndGoalsQuery() {
+		Benchmarks.measure("Indexed: matches with six goals in one competition", 1_000,
+				i -> scoreboard.getSummary(SummaryQuery.builder().competition(COMPETITIONS[i % COMPETITIONS.length])
+						.minGoals(6).build()).size());
+
+		Benchmarks.measure("Full summary filtered by the caller: six goals in one competition", 50, i -> {
+			String competition = COMPETITIONS[i % COMPETITIONS.length];
+			return scoreboard.getSummary().stream()
+					.filter(match -> match.getHomeScore() + match.getAwayScore() >= 6
+							&& competition.equals(match.getCompetition().orElse(null)))
+					.count();
+		});
+	}
+}
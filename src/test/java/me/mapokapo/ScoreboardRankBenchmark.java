@@ -0,0 +1,128 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.scoreboard.Scoreboard;
+import me.mapokapo.features.scoreboard.SummaryChangeListener;
+import me.mapokapo.features.scoreboard.SummaryOrdering;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * Benchmarks for the rank and range queries, the summary orderings and the
+ * summary change notifications of the {@link Scoreboard} class, over a hundred thousand live
+ * matches.
+ */
+@Tag("benchmark")
+public class ScoreboardRankBenchmark {
+	private static final int MATCH_COUNT = 100_000;
+	private static final int PAGE_SIZE = 50;
+
+	private static Scoreboard scoreboard;
+	private static List<Match> matches;
+
+	@BeforeAll
+	static void init() {
+		var random = new Random(32);
+		scoreboard = new Scoreboard(new MatchRepository(), new TeamRepository());
+		matches = new ArrayList<>(MATCH_COUNT);
+
+		Benchmarks.time("Add and start " + MATCH_COUNT + " matches", () -> {
+			for (int i = 0; i < MATCH_COUNT; i++) {
+				Match match = scoreboard.addMatch("Home " + i, "Away " + i);
+				match.start();
+				match.setScore(random.nextInt(5), random.nextInt(5));
+				matches.add(match);
+			}
+		});
+	}
+
+	@Test
+	void benchmarkRank() {
+		Benchmarks.measure("Tree: rank of a match", 1_000_000,
+				i -> scoreboard.getRank(matches.get((int) (i * 7919L % MATCH_COUNT)).getId()).getAsInt());
+
+		Benchmarks.measure("Full summary: rank of a match", 20,
+				i -> scoreboard.getSummary().indexOf(matches.get((int) (i * 7919L % MATCH_COUNT))));
+
+		Match match = matches.get(12_345);
+		assertTrue(scoreboard.getSummary().get(scoreboard.getRank(match.getId()).getAsInt()) == match);
+	}
+
+	@Test
+	void benchmarkPage() {
+		Benchmarks.measure("Tree: page of " + PAGE_SIZE + " matches", 100_000, i -> {
+			int from = i * PAGE_SIZE % MATCH_COUNT;
+			return scoreboard.getSummaryRange(from, from + PAGE_SIZE).size();
+		});
+
+		Benchmarks.measure("Full summary: page of " + PAGE_SIZE + " matches", 20, i -> {
+			int from = i * PAGE_SIZE % MATCH_COUNT;
+			return scoreboard.getSummary().subList(from, from + PAGE_SIZE).size();
+		});
+	}
+
+	@Test
+	void benchmarkScoreUpdate() {
+		Benchmarks.measure("Score update which moves a match in the summary", 1_000_000, i -> {
+			Match match = matches.get((int) (i * 7919L % MATCH_COUNT));
+			scoreboard.updateScore(match.getId(), i % 5, i % 3);
+			return match.getHomeScore();
+		});
+	}
+
+	@Test
+	void benchmarkScoreUpdateWithSummaryListener() {
+		long[] moves = new long[1];
+		SummaryChangeListener listener = (version, changed) -> moves[0] += changed.size();
+		scoreboard.addSummaryListener(listener);
+
+		Benchmarks.measure("Score update reported as rank moves", 10_000, i -> {
+			Match match = matches.get((int) (i * 7919L % MATCH_COUNT));
+			scoreboard.updateScore(match.getId(), match.getHomeScore() + 1, match.getAwayScore());
+			return moves[0];
+		});
+
+		// Every iteration runs twice, once to warm up and once measured.
+		System.out.printf("%-60s %12.1f moves/op%n", "Reported rank moves", moves[0] / 20_000.0);
+
+		scoreboard.removeSummaryListener(listener);
+	}
+
+	@Test
+	void benchmarkOrdering() {
+		scoreboard.registerOrdering(SummaryOrdering.GOAL_DIFFERENCE);
+		Comparator<Match> order = Comparator.comparingLong(SummaryOrdering.GOAL_DIFFERENCE::key).reversed()
+				.thenComparing(Comparator.comparingInt(Match::getId).reversed());
+
+		Benchmarks.measure("Indexed ordering: page of " + PAGE_SIZE + " matches", 100_000, i -> {
+			int from = i * PAGE_SIZE % MATCH_COUNT;
+			return scoreboard.getSummaryRange(SummaryOrdering.GOAL_DIFFERENCE, from, from + PAGE_SIZE).size();
+		});
+
+		Benchmarks.measure("Sorted ordering: page of " + PAGE_SIZE + " matches", 20, i -> {
+			int from = i * PAGE_SIZE % MATCH_COUNT;
+			List<Match> summary = new ArrayList<>(scoreboard.getSummary());
+			summary.sort(order);
+			return summary.subList(from, from + PAGE_SIZE).size();
+		});
+
+		Benchmarks.measure("Score update with an extra ordering", 1_000_000, i -> {
+			Match match = matches.get((int) (i * 7919L % MATCH_COUNT));
+			scoreboard.updateScore(match.getId(), i % 5, i % 3);
+			return match.getHomeScore();
+		});
+
+		scoreboard.unregisterOrdering(SummaryOrdering.GOAL_DIFFERENCE);
+	}
+}
@@ -4,12 +4,22 @@ import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import me.mapokapo.features.matches.Match;
 import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.scoreboard.RankMove;
 import me.mapokapo.features.scoreboard.Scoreboard;
+import me.mapokapo.features.scoreboard.SummaryChangeListener;
+import me.mapokapo.features.scoreboard.SummaryOrdering;
+import me.mapokapo.features.scoreboard.SummaryQuery;
 import me.mapokapo.features.teams.Team;
 import me.mapokapo.features.teams.TeamRepository;
 
@@ -144,6 +154,21 @@ public class ScoreboardTest {
 		assertTrue(match.getAwayScore() == 0);
 	}
 
+	@Test
+	void givenSequencedUpdates_whenUpdatingScoreOutOfOrder_thenKeepNewestScore() {
+		// Arrange
+		var match = createSampleMatch();
+		match.start();
+
+		// Act
+		boolean newer = scoreboard.updateScore(match.getId(), 2, 1, 2);
+		boolean stale = scoreboard.updateScore(match.getId(), 1, 1, 1);
+
+		// Assert
+		assertTrue(newer && !stale);
+		assertTrue(match.getHomeScore() == 2 && match.getAwayScore() == 1);
+	}
+
 	@Test
 	void givenNotStartedMatch_whenUpdatingScore_thenThrowError() {
 		// Arrange
@@ -317,4 +342,458 @@ public class ScoreboardTest {
 			scoreboard.finishMatch(match.getId());
 		});
 	}
+
+	@Test
+	void givenMatchesOfDifferentTeams_whenQueryingSummaryByTeam_thenReturnOnlyTheirMatchesInOrder() {
+		// Arrange
+		var spain = teamRepository.addTeam(new Team(0, "Spain"));
+		var brazil = teamRepository.addTeam(new Team(1, "Brazil"));
+		var italy = teamRepository.addTeam(new Team(2, "Italy"));
+		var match1 = scoreboard.addMatch(spain, brazil);
+		var match2 = scoreboard.addMatch(brazil, italy);
+		var match3 = scoreboard.addMatch(italy, spain);
+		match1.start();
+		match2.start();
+		match3.start();
+		match3.setScore(2, 1);
+
+		// Act
+		var summary = scoreboard.getSummary(SummaryQuery.builder().teamName("Spain").build());
+
+		// Assert
+		assertTrue(summary.equals(List.of(match3, match1)));
+	}
+
+	@Test
+	void givenMatchesOfDifferentCompetitions_whenQueryingSummaryByCompetition_thenReturnOnlyThatCompetition() {
+		// Arrange
+		var match1 = scoreboard.addMatch("Spain", "Brazil", "World Cup");
+		var match2 = scoreboard.addMatch("Italy", "France", "Nations League");
+		var match3 = scoreboard.addMatch("Germany", "Mexico", "World Cup");
+		var match4 = scoreboard.addMatch("Canada", "Japan");
+		match1.start();
+		match2.start();
+		match3.start();
+		match4.start();
+
+		// Act
+		var summary = scoreboard.getSummary(SummaryQuery.builder().competition("World Cup").build());
+
+		// Assert
+		assertTrue(summary.equals(List.of(match3, match1)));
+		assertTrue(scoreboard.getSummary(SummaryQuery.builder().competition("Friendly").build()).isEmpty());
+	}
+
+	@Test
+	void givenManyFinishedCompetitions_whenQueryingSummaryByCompetition_thenReturnOnlyLiveMatches() {
+		// Arrange
+		// More competitions come and go than the index keeps empty sets for.
+		for (int i = 0; i < 3_000; i++) {
+			var match = scoreboard.addMatch("Home " + i, "Away " + i, "Cup " + i);
+			match.start();
+			scoreboard.finishMatch(match.getId());
+		}
+
+		var match1 = scoreboard.addMatch("Spain", "Brazil", "Cup 0");
+		var match2 = scoreboard.addMatch("Home 2999", "Away 0", "Cup 2999");
+		match1.start();
+		match2.start();
+
+		// Act
+		var summary = scoreboard.getSummary(SummaryQuery.builder().competition("Cup 0").build());
+
+		// Assert
+		assertTrue(summary.equals(List.of(match1)));
+		assertTrue(scoreboard.getSummary(SummaryQuery.builder().competition("Cup 2999").build()).equals(List.of(match2)));
+		assertTrue(scoreboard.getSummary(SummaryQuery.builder().teamName("Away 0").build()).equals(List.of(match2)));
+		assertTrue(scoreboard.getSummary(SummaryQuery.builder().competition("Cup 1").build()).isEmpty());
+	}
+
+	@Test
+	void givenScoreUpdates_whenQueryingSummaryByGoals_thenReturnMatchesWithCurrentGoals() {
+		// Arrange
+		var match1 = scoreboard.addMatch("Spain", "Brazil");
+		var match2 = scoreboard.addMatch("Italy", "France");
+		var match3 = scoreboard.addMatch("Germany", "Mexico");
+		match1.start();
+		match2.start();
+		match3.start();
+		scoreboard.updateScore(match1.getId(), 3, 0);
+		scoreboard.updateScore(match2.getId(), 1, 1);
+		scoreboard.updateScore(match1.getId(), 1, 0);
+
+		// Act
+		var summary = scoreboard.getSummary(SummaryQuery.builder().minGoals(1).maxGoals(2).build());
+
+		// Assert
+		assertTrue(summary.equals(List.of(match2, match1)));
+	}
+
+	@Test
+	void givenMatchesAddedBeforeScoreboardAndFinishedMatches_whenQueryingSummary_thenReturnOnlyLiveMatches() {
+		// Arrange
+		var spain = teamRepository.addTeam(new Team(0, "Spain"));
+		var brazil = teamRepository.addTeam(new Team(1, "Brazil"));
+		var existing = matchRepository.addMatch(new Match(5, spain, brazil));
+		existing.start();
+		var newScoreboard = new Scoreboard(matchRepository, teamRepository);
+		var finished = newScoreboard.addMatch(brazil, spain);
+		finished.start();
+		finished.finish();
+		var removed = newScoreboard.addMatch(brazil, spain);
+		removed.start();
+		matchRepository.removeMatch(removed.getId());
+
+		// Act
+		var summary = newScoreboard.getSummary(SummaryQuery.builder().teamName("Brazil").build());
+
+		// Assert
+		assertTrue(summary.equals(List.of(existing)));
+	}
+
+	@Test
+	void givenRandomMatches_whenQueryingSummary_thenReturnFilteredFullSummary() {
+		// Arrange
+		var random = new Random(31);
+		String[] names = { "Spain", "Brazil", "Italy", "France", "Germany", "Mexico" };
+		String[] competitions = { "World Cup", "Nations League", null };
+		List<Team> teams = new ArrayList<>();
+
+		for (String name : names) {
+			teams.add(teamRepository.addTeam(new Team(teamRepository.getNextIndex(), name)));
+		}
+
+		for (int i = 0; i < 300; i++) {
+			int home = random.nextInt(teams.size());
+			int away = (home + 1 + random.nextInt(teams.size() - 1)) % teams.size();
+			var match = scoreboard.addMatch(teams.get(home), teams.get(away),
+					competitions[random.nextInt(competitions.length)]);
+
+			if (random.nextInt(4) > 0) {
+				match.start();
+				match.setScore(random.nextInt(4), random.nextInt(4));
+
+				if (random.nextInt(5) == 0) {
+					match.finish();
+				}
+			}
+		}
+
+		for (int i = 0; i < 100; i++) {
+			int minGoals = random.nextInt(5);
+			var query = SummaryQuery.builder()
+					.teamName(random.nextBoolean() ? names[random.nextInt(names.length)] : null)
+					.competition(random.nextBoolean() ? competitions[random.nextInt(competitions.length)] : null)
+					.minGoals(minGoals).maxGoals(minGoals + random.nextInt(4)).build();
+
+			// Act
+			var summary = scoreboard.getSummary(query);
+
+			// Assert
+			var expected = scoreboard.getSummary().stream()
+					.filter(match -> (query.getTeamName() == null
+							|| match.getHomeTeam().getName().equals(query.getTeamName())
+							|| match.getAwayTeam().getName().equals(query.getTeamName()))
+							&& (query.getCompetition() == null
+									|| query.getCompetition().equals(match.getCompetition().orElse(null)))
+							&& match.getHomeScore() + match.getAwayScore() >= query.getMinGoals()
+							&& match.getHomeScore() + match.getAwayScore() <= query.getMaxGoals())
+					.toList();
+			assertTrue(summary.equals(expected));
+		}
+	}
+
+	@Test
+	void givenNegativeMinimumGoals_whenQueryingSummary_thenThrowError() {
+		// Act & Assert
+		assertThrows(IllegalArgumentException.class, () -> {
+			scoreboard.getSummary(SummaryQuery.builder().minGoals(-1).build());
+		});
+	}
+
+	@Test
+	void givenLiveMatches_whenGettingRank_thenReturnPositionInSummary() {
+		// Arrange
+		var match1 = scoreboard.addMatch("Spain", "Brazil");
+		var match2 = scoreboard.addMatch("Italy", "France");
+		var match3 = scoreboard.addMatch("Germany", "Mexico");
+		match1.start();
+		match2.start();
+		match3.start();
+		scoreboard.updateScore(match1.getId(), 2, 0);
+
+		// Act
+		var rank1 = scoreboard.getRank(match1.getId());
+		var rank2 = scoreboard.getRank(match2.getId());
+		var rank3 = scoreboard.getRank(match3.getId());
+
+		// Assert
+		assertTrue(rank1.getAsInt() == 0);
+		assertTrue(rank2.getAsInt() == 2);
+		assertTrue(rank3.getAsInt() == 1);
+	}
+
+	@Test
+	void givenNotLiveMatches_whenGettingRank_thenReturnEmpty() {
+		// Arrange
+		var notStarted = scoreboard.addMatch("Spain", "Brazil");
+		var finished = scoreboard.addMatch("Italy", "France");
+		finished.start();
+		finished.finish();
+
+		// Act & Assert
+		assertTrue(scoreboard.getRank(notStarted.getId()).isEmpty());
+		assertTrue(scoreboard.getRank(finished.getId()).isEmpty());
+	}
+
+	@Test
+	void givenNonexistentMatch_whenGettingRank_thenThrowError() {
+		// Act & Assert
+		assertThrows(IllegalArgumentException.class, () -> {
+			scoreboard.getRank(0);
+		});
+	}
+
+	@Test
+	void givenRangeBeyondSummary_whenGettingSummaryRange_thenClampRange() {
+		// Arrange
+		var match1 = scoreboard.addMatch("Spain", "Brazil");
+		var match2 = scoreboard.addMatch("Italy", "France");
+		match1.start();
+		match2.start();
+
+		// Act & Assert
+		assertTrue(scoreboard.getSummaryRange(1, 10).equals(List.of(match1)));
+		assertTrue(scoreboard.getSummaryRange(5, 10).isEmpty());
+		assertThrows(IllegalArgumentException.class, () -> {
+			scoreboard.getSummaryRange(-1, 1);
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			scoreboard.getSummaryRange(2, 1);
+		});
+	}
+
+	@Test
+	void givenRandomScoreUpdates_whenGettingRanksAndRanges_thenMatchFullSummary() {
+		// Arrange
+		var random = new Random(32);
+		List<Match> matches = new ArrayList<>();
+
+		for (int i = 0; i < 500; i++) {
+			var match = scoreboard.addMatch("Home " + i, "Away " + i);
+			matches.add(match);
+			match.start();
+		}
+
+		for (int step = 0; step < 2_000; step++) {
+			var match = matches.get(random.nextInt(matches.size()));
+
+			if (!match.isFinished()) {
+				if (random.nextInt(50) == 0) {
+					match.finish();
+				} else {
+					match.setScore(random.nextInt(6), random.nextInt(6));
+				}
+			}
+
+			if (step % 100 == 0) {
+				// Act
+				var summary = scoreboard.getSummary();
+				int from = random.nextInt(summary.size());
+				int to = from + random.nextInt(50);
+
+				// Assert
+				assertTrue(scoreboard.getSummaryRange(from, to)
+						.equals(summary.subList(from, Math.min(to, summary.size()))));
+
+				for (int i = 0; i < summary.size(); i++) {
+					assertTrue(scoreboard.getRank(summary.get(i).getId()).getAsInt() == i);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Applies the moves of a summary change to a copy of the summary, the way a
+	 * client would.
+	 */
+	private static List<Match> applyMoves(List<Match> summary, List<RankMove> moves, MatchRepository repository) {
+		List<Match> updated = new ArrayList<>(summary);
+		var first = moves.get(0);
+		var match = repository.getMatchById(first.getMatchId()).get();
+
+		if (first.isInsertion()) {
+			updated.add(first.getNewPosition(), match);
+		} else if (first.isRemoval()) {
+			updated.remove(first.getOldPosition());
+		} else {
+			for (RankMove move : moves) {
+				updated.set(move.getNewPosition(), summary.get(move.getOldPosition()));
+			}
+		}
+
+		return updated;
+	}
+
+	@Test
+	void givenSummaryListener_whenMatchesChange_thenMovesTransformPreviousSummaryIntoNewOne() {
+		// Arrange
+		var random = new Random(34);
+		List<Match> matches = new ArrayList<>();
+		List<List<RankMove>> changes = new ArrayList<>();
+		scoreboard.addSummaryListener((version, moves) -> changes.add(moves));
+
+		for (int i = 0; i < 100; i++) {
+			matches.add(scoreboard.addMatch("Home " + i, "Away " + i));
+		}
+
+		for (int step = 0; step < 3_000; step++) {
+			var before = scoreboard.getSummary();
+			long versionBefore = scoreboard.getSummaryVersion();
+			var match = matches.get(random.nextInt(matches.size()));
+			changes.clear();
+
+			int goalsBefore = match.getHomeScore() + match.getAwayScore();
+
+			// Act
+			if (!match.isStarted()) {
+				match.start();
+			} else if (match.isFinished()) {
+				continue;
+			} else if (random.nextInt(30) == 0) {
+				scoreboard.finishMatch(match.getId());
+			} else {
+				scoreboard.updateScore(match.getId(), random.nextInt(6), random.nextInt(6));
+			}
+
+			// Assert
+			var after = scoreboard.getSummary();
+
+			if (before.equals(after)) {
+				// The version still counts goals which do not move the match.
+				boolean goalsChanged = match.getHomeScore() + match.getAwayScore() != goalsBefore;
+				assertTrue(changes.isEmpty());
+				assertTrue(scoreboard.getSummaryVersion() == versionBefore + (goalsChanged ? 1 : 0));
+				continue;
+			}
+
+			assertTrue(changes.size() == 1);
+			assertTrue(scoreboard.getSummaryVersion() == versionBefore + 1);
+			assertTrue(applyMoves(before, changes.get(0), matchRepository).equals(after));
+
+			var first = changes.get(0).get(0);
+			if (!first.isInsertion() && !first.isRemoval()) {
+				assertTrue(changes.get(0).size() == Math.abs(first.getNewPosition() - first.getOldPosition()) + 1);
+			}
+		}
+	}
+
+	@Test
+	void givenRemovedSummaryListener_whenMatchStarts_thenListenerIsNotNotified() {
+		// Arrange
+		List<RankMove> moves = new ArrayList<>();
+		SummaryChangeListener listener = (version, changed) -> moves.addAll(changed);
+		scoreboard.addSummaryListener(listener);
+		var match1 = scoreboard.addMatch("Spain", "Brazil");
+		match1.start();
+		var match2 = scoreboard.addMatch("Italy", "France");
+
+		// Act
+		scoreboard.removeSummaryListener(listener);
+		match2.start();
+
+		// Assert
+		assertTrue(moves.equals(List.of(new RankMove(match1.getId(), -1, 0))));
+	}
+
+	@Test
+	void givenRegisteredOrderings_whenMatchesChange_thenSummariesFollowOrderings() {
+		// Arrange
+		var random = new Random(35);
+		var clock = new TestClock(1_000_000);
+		scoreboard = new Scoreboard(matchRepository, teamRepository, clock);
+		List<SummaryOrdering> orderings = List.of(SummaryOrdering.GOAL_DIFFERENCE,
+				SummaryOrdering.MOST_RECENTLY_UPDATED, SummaryOrdering.KICKOFF, match -> match.getAwayScore());
+		List<Match> matches = new ArrayList<>();
+
+		for (int i = 0; i < 200; i++) {
+			var match = scoreboard.addMatch("Home " + i, "Away " + i);
+			matches.add(match);
+		}
+
+		// Register some orderings before matches start and some after.
+		scoreboard.registerOrdering(orderings.get(0));
+		scoreboard.registerOrdering(orderings.get(1));
+
+		for (int step = 0; step < 3_000; step++) {
+			clock.advance(Duration.ofMillis(1 + random.nextInt(1_000)));
+			var match = matches.get(random.nextInt(matches.size()));
+
+			if (!match.isStarted()) {
+				match.start();
+			} else if (!match.isFinished()) {
+				if (random.nextInt(50) == 0) {
+					match.finish();
+				} else {
+					match.setScore(random.nextInt(6), random.nextInt(6));
+				}
+			}
+
+			if (step == 1_000) {
+				scoreboard.registerOrdering(orderings.get(2));
+				scoreboard.registerOrdering(orderings.get(3));
+			}
+
+			if (step > 1_000 && step % 100 == 0) {
+				for (var ordering : orderings) {
+					// Act
+					var summary = scoreboard.getSummary(ordering);
+
+					// Assert
+					var expected = new ArrayList<>(scoreboard.getSummary());
+					expected.sort(Comparator.comparingLong(ordering::key).reversed()
+							.thenComparing(Comparator.comparingInt(Match::getId).reversed()));
+					assertTrue(summary.equals(expected));
+					assertTrue(scoreboard.getSummaryRange(ordering, 5, 15).equals(expected.subList(5, 15)));
+
+					for (int i = 0; i < summary.size(); i++) {
+						assertTrue(scoreboard.getRank(ordering, summary.get(i).getId()).getAsInt() == i);
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	void givenTotalGoalsOrdering_whenGettingSummary_thenReturnDefaultSummary() {
+		// Arrange
+		var match1 = scoreboard.addMatch("Spain", "Brazil");
+		match1.start();
+		var match2 = scoreboard.addMatch("Italy", "France");
+		match2.start();
+		match2.setScore(1, 0);
+
+		// Act
+		var summary = scoreboard.getSummary(SummaryOrdering.TOTAL_GOALS);
+
+		// Assert
+		assertTrue(summary.equals(List.of(match2, match1)));
+	}
+
+	@Test
+	void givenUnregisteredOrdering_whenGettingSummary_thenThrowError() {
+		// Arrange
+		scoreboard.registerOrdering(SummaryOrdering.KICKOFF);
+		scoreboard.unregisterOrdering(SummaryOrdering.KICKOFF);
+		var match = scoreboard.addMatch("Spain", "Brazil");
+
+		// Act & Assert
+		assertAll(
+				() -> assertThrows(IllegalArgumentException.class,
+						() -> scoreboard.getSummary(SummaryOrdering.KICKOFF)),
+				() -> assertThrows(IllegalArgumentException.class,
+						() -> scoreboard.getRank(SummaryOrdering.GOAL_DIFFERENCE, match.getId())),
+				() -> assertThrows(IllegalArgumentException.class,
+						() -> scoreboard.getSummaryRange(SummaryOrdering.GOAL_DIFFERENCE, 0, 1)));
+	}
 }
@@ -0,0 +1,55 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.scoreboard.Scoreboard;
+import me.mapokapo.features.statistics.ScoringHeavyHitters;
+import me.mapokapo.features.teams.Team;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * Benchmarks for the {@link ScoringHeavyHitters} class, with far more teams
+ * than it monitors.
+ */
+@Tag("benchmark")
+public class ScoringHeavyHittersBenchmark {
+	private static final int TEAM_COUNT = 100_000;
+	private static final int MATCH_COUNT = 1_000;
+
+	@Test
+	void benchmarkUpdatesAndQueries() {
+		var matchRepository = new MatchRepository();
+		var scoreboard = new Scoreboard(matchRepository, new TeamRepository());
+		var heavyHitters = new ScoringHeavyHitters(matchRepository);
+		List<Match> matches = new ArrayList<>();
+
+		// Every match is between two different teams, so the summaries keep
+		// evicting teams.
+		for (int i = 0; i < MATCH_COUNT; i++) {
+			Match match = scoreboard.addMatch(new Team(i * 97 % TEAM_COUNT, "Home " + i),
+					new Team((i * 97 + 1) % TEAM_COUNT, "Away " + i));
+			scoreboard.startMatch(match.getId());
+			matches.add(match);
+		}
+
+		Benchmarks.measure("Score a goal", 200_000, i -> {
+			Match match = matches.get(i % MATCH_COUNT);
+			scoreboard.updateScore(match.getId(), match.getHomeScore() + 1, match.getAwayScore());
+			return match.getHomeScore();
+		});
+
+		Benchmarks.measure("Get the top 20 scoring teams", 10_000, i -> heavyHitters.getTopScoringTeams(20).size());
+		Benchmarks.measure("Estimate the goals of a team", 1_000_000,
+				i -> heavyHitters.estimateGoals(i % TEAM_COUNT));
+
+		assertTrue(heavyHitters.getTotalGoals() == 400_000);
+	}
+}
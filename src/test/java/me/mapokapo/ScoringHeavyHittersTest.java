@@ -0,0 +1,235 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.scoreboard.Scoreboard;
+import me.mapokapo.features.statistics.HeavyHitter;
+import me.mapokapo.features.statistics.Scoreline;
+import me.mapokapo.features.statistics.ScoringHeavyHitters;
+import me.mapokapo.features.teams.Team;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * Tests for the {@link ScoringHeavyHitters} class.
+ */
+public class ScoringHeavyHittersTest {
+	private MatchRepository matchRepository;
+	private Scoreboard scoreboard;
+
+	@BeforeEach
+	void init() {
+		matchRepository = new MatchRepository();
+		scoreboard = new Scoreboard(matchRepository, new TeamRepository());
+	}
+
+	private Match play(Team home, Team away, int homeScore, int awayScore) {
+		Match match = scoreboard.addMatch(home, away);
+		scoreboard.startMatch(match.getId());
+		scoreboard.updateScore(match.getId(), homeScore, awayScore);
+		scoreboard.finishMatch(match.getId());
+
+		return match;
+	}
+
+	@Test
+	void givenFewerTeamsThanCapacity_whenQueryingTopTeams_thenReportExactGoals() {
+		// Arrange
+		var heavyHitters = new ScoringHeavyHitters(matchRepository);
+		Team mexico = new Team(0, "Mexico");
+		Team canada = new Team(1, "Canada");
+		Team spain = new Team(2, "Spain");
+		play(mexico, canada, 0, 5);
+		play(spain, mexico, 10, 2);
+		play(canada, spain, 1, 1);
+
+		// Act
+		List<HeavyHitter<Team>> top = heavyHitters.getTopScoringTeams(2);
+
+		// Assert
+		assertTrue(top.size() == 2 && top.get(0).getItem().equals(spain) && top.get(0).getCount() == 11);
+		assertTrue(top.get(1).getItem().equals(canada) && top.get(1).getCount() == 6 && top.get(1).getError() == 0);
+		assertTrue(heavyHitters.estimateGoals(mexico.getId()) == 2 && heavyHitters.getTotalGoals() == 19);
+	}
+
+	@Test
+	void givenFinishedMatches_whenQueryingScorelines_thenReportMostFrequentFirst() {
+		// Arrange
+		Team mexico = new Team(0, "Mexico");
+		Team canada = new Team(1, "Canada");
+		play(mexico, canada, 1, 0);
+		var heavyHitters = new ScoringHeavyHitters(matchRepository);
+		play(canada, mexico, 1, 0);
+		play(mexico, canada, 2, 2);
+		play(mexico, canada, 0, 1);
+		Match live = scoreboard.addMatch(mexico, canada);
+		scoreboard.startMatch(live.getId());
+		scoreboard.updateScore(live.getId(), 2, 2);
+
+		// Act
+		List<HeavyHitter<Scoreline>> top = heavyHitters.getMostFrequentScorelines(10);
+
+		// Assert
+		// The first match was counted when the engine was created, and the live
+		// one does not count until it finishes.
+		assertTrue(top.size() == 3 && top.get(0).getItem().equals(new Scoreline(1, 0)) && top.get(0).getCount() == 2);
+		assertTrue(heavyHitters.estimateScorelineCount(2, 2) == 1 && heavyHitters.getFinishedMatchCount() == 4);
+	}
+
+	@Test
+	void givenScoreCorrection_whenQueryingTopTeams_thenGoalIsTakenAway() {
+		// Arrange
+		var heavyHitters = new ScoringHeavyHitters(matchRepository);
+		Team mexico = new Team(0, "Mexico");
+		Team canada = new Team(1, "Canada");
+		Match match = scoreboard.addMatch(mexico, canada);
+		scoreboard.startMatch(match.getId());
+		scoreboard.updateScore(match.getId(), 2, 1);
+
+		// Act
+		scoreboard.updateScore(match.getId(), 0, 1);
+
+		// Assert
+		List<HeavyHitter<Team>> top = heavyHitters.getTopScoringTeams(10);
+		assertTrue(top.get(0).getItem().equals(canada) && top.get(0).getCount() == 1);
+		assertTrue(top.get(1).getCount() == 0 && heavyHitters.estimateGoals(mexico.getId()) == 0);
+		assertTrue(heavyHitters.getTotalGoals() == 1);
+	}
+
+	@Test
+	void givenInvalidArguments_whenCreatingOrQuerying_thenThrowError() {
+		// Act & Assert
+		assertThrows(IllegalArgumentException.class, () -> {
+			new ScoringHeavyHitters(matchRepository, 0, 0.01, 0.01);
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			new ScoringHeavyHitters(matchRepository, 10, 1, 0.01);
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			new ScoringHeavyHitters(matchRepository, 10, 0.01, 0);
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			new ScoringHeavyHitters(matchRepository).getTopScoringTeams(-1);
+		});
+	}
+
+	@Test
+	void givenSkewedStreamOfManyTeams_whenComparingWithExactCounts_thenEstimatesStayWithinBounds() {
+		// Arrange
+		int teamCount = 5_000;
+		int capacity = 100;
+		double epsilon = 0.01;
+		double delta = 0.01;
+		var heavyHitters = new ScoringHeavyHitters(matchRepository, capacity, epsilon, delta);
+		Random random = new Random(50);
+		List<Team> teams = new ArrayList<>();
+
+		for (int i = 0; i < teamCount; i++) {
+			teams.add(new Team(i, "Team " + i));
+		}
+
+		// Teams are drawn with Zipf-like frequencies, so a few of them play, and
+		// score, far more often than the rest. Some goals are taken away again.
+		long countedGoals = 0;
+		List<Match> matches = new ArrayList<>();
+
+		for (int i = 0; i < 50_000; i++) {
+			Team home = teams.get((int) Math.floor(Math.pow(teamCount, random.nextDouble())) - 1);
+			Team away = teams.get((home.getId() + 1 + random.nextInt(teamCount - 1)) % teamCount);
+			Match match = scoreboard.addMatch(home, away);
+			scoreboard.startMatch(match.getId());
+			int goals = random.nextInt(7);
+
+			for (int goal = 0; goal < goals; goal++) {
+				if (random.nextInt(3) > 0) {
+					scoreboard.updateScore(match.getId(), match.getHomeScore() + 1, match.getAwayScore());
+				} else {
+					scoreboard.updateScore(match.getId(), match.getHomeScore(), match.getAwayScore() + 1);
+				}
+
+				countedGoals++;
+			}
+
+			if (match.getHomeScore() > 0 && random.nextInt(20) == 0) {
+				scoreboard.updateScore(match.getId(), match.getHomeScore() - 1, match.getAwayScore());
+			}
+
+			scoreboard.finishMatch(match.getId());
+			matches.add(match);
+		}
+
+		Map<Integer, Long> exactGoals = new HashMap<>();
+		Map<Scoreline, Long> exactScorelines = new HashMap<>();
+
+		for (Match match : matches) {
+			exactGoals.merge(match.getHomeTeam().getId(), (long) match.getHomeScore(), Long::sum);
+			exactGoals.merge(match.getAwayTeam().getId(), (long) match.getAwayScore(), Long::sum);
+			exactScorelines.merge(new Scoreline(match.getHomeScore(), match.getAwayScore()), 1L, Long::sum);
+		}
+
+		// Act
+		List<HeavyHitter<Team>> topTeams = heavyHitters.getTopScoringTeams(capacity);
+		List<HeavyHitter<Scoreline>> topScorelines = heavyHitters.getMostFrequentScorelines(capacity);
+
+		// Assert
+		// Space-Saving: every count is within its error of the exact count, and
+		// every team above the threshold is reported.
+		long teamThreshold = countedGoals / capacity;
+		boolean teamsWithinError = topTeams.stream().allMatch(hitter -> {
+			long exact = exactGoals.getOrDefault(hitter.getItem().getId(), 0L);
+			return hitter.getCount() >= exact && hitter.getGuaranteedCount() <= exact
+					&& hitter.getError() <= teamThreshold;
+		});
+		var reportedTeams = topTeams.stream().map(hitter -> hitter.getItem().getId()).collect(Collectors.toSet());
+		boolean heavyTeamsReported = exactGoals.entrySet().stream()
+				.allMatch(entry -> entry.getValue() <= teamThreshold || reportedTeams.contains(entry.getKey()));
+		assertTrue(teamsWithinError && heavyTeamsReported);
+
+		long scorelineThreshold = matches.size() / capacity;
+		boolean scorelinesWithinError = topScorelines.stream().allMatch(hitter -> {
+			long exact = exactScorelines.getOrDefault(hitter.getItem(), 0L);
+			return hitter.getCount() >= exact && hitter.getGuaranteedCount() <= exact
+					&& hitter.getError() <= scorelineThreshold;
+		});
+		var reportedScorelines = topScorelines.stream().map(HeavyHitter::getItem).collect(Collectors.toSet());
+		boolean heavyScorelinesReported = exactScorelines.entrySet().stream()
+				.allMatch(entry -> entry.getValue() <= scorelineThreshold || reportedScorelines.contains(entry.getKey()));
+		assertTrue(scorelinesWithinError && heavyScorelinesReported);
+
+		// Every team reported among the top 20 scored at most the error bound
+		// fewer goals than the team which is 20th by exact counts.
+		long exactTwentieth = exactGoals.values().stream().sorted((a, b) -> Long.compare(b, a)).skip(19)
+				.findFirst().orElseThrow();
+		boolean topTwentyWithinError = heavyHitters.getTopScoringTeams(20).stream()
+				.allMatch(hitter -> exactGoals.get(hitter.getItem().getId()) >= exactTwentieth - teamThreshold);
+		assertTrue(topTwentyWithinError);
+
+		// Count-Min: no estimate is too low, and at most a fraction delta of them
+		// is too high by more than epsilon times the total.
+		long totalGoals = heavyHitters.getTotalGoals();
+		long tooHigh = 0;
+		boolean neverTooLow = true;
+
+		for (Team team : teams) {
+			long exact = exactGoals.getOrDefault(team.getId(), 0L);
+			long estimate = heavyHitters.estimateGoals(team.getId());
+			neverTooLow &= estimate >= exact;
+			tooHigh += estimate - exact > epsilon * totalGoals ? 1 : 0;
+		}
+
+		assertTrue(neverTooLow && tooHigh <= delta * teamCount, () -> "Too high estimates: " + totalGoals);
+		assertTrue(totalGoals == exactGoals.values().stream().mapToLong(Long::longValue).sum());
+	}
+}
@@ -0,0 +1,60 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.scoreboard.Scoreboard;
+import me.mapokapo.features.streaming.SharedSummaryPublisher;
+import me.mapokapo.features.streaming.SharedSummaryReader;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * Benchmarks for the {@link SharedSummaryPublisher} and
+ * {@link SharedSummaryReader} classes, with the summary of a busy matchday.
+ */
+@Tag("benchmark")
+public class SharedSummaryBenchmark {
+	private static final int MATCH_COUNT = 64;
+
+	@Test
+	void benchmarkPublishAndRead() throws Exception {
+		var matchRepository = new MatchRepository();
+		var scoreboard = new Scoreboard(matchRepository, new TeamRepository());
+		List<Match> matches = new ArrayList<>(MATCH_COUNT);
+
+		for (int i = 0; i < MATCH_COUNT; i++) {
+			Match match = scoreboard.addMatch("Home " + i, "Away " + i, "World Cup");
+			scoreboard.startMatch(match.getId());
+			matches.add(match);
+		}
+
+		Path file = Files.createTempFile("summary", null);
+
+		try (var publisher = new SharedSummaryPublisher(matchRepository, scoreboard, file);
+				var reader = new SharedSummaryReader(file)) {
+			// Scores go up and down again, so they stay small however many
+			// iterations are run.
+			Benchmarks.measure("Update a score and publish the summary", 100_000, i -> {
+				Match match = matches.get(i % MATCH_COUNT);
+				scoreboard.updateScore(match.getId(), i / MATCH_COUNT % 2, 0);
+				return match.getHomeScore();
+			});
+
+			Benchmarks.measure("Poll the version", 1_000_000, i -> reader.getVersion());
+			Benchmarks.measure("Read the summary", 100_000, i -> reader.read().getMatches().size());
+
+			assertTrue(reader.read().getVersion() == publisher.getVersion());
+		} finally {
+			Files.delete(file);
+		}
+	}
+}
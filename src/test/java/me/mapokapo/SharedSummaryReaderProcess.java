@@ -0,0 +1,116 @@
+package me.mapokapo;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import me.mapokapo.features.scoreboard.SummaryEntry;
+import me.mapokapo.features.streaming.SharedSummary;
+import me.mapokapo.features.streaming.SharedSummaryReader;
+
+/**
+ * The reader side of {@link SharedSummaryTest}, run in a separate JVM. It reads
+ * the shared summary as fast as it can until it reaches the expected version,
+ * checks that every snapshot is one the publisher could have written, and
+ * prints the outcome and the last snapshot.
+ */
+public class SharedSummaryReaderProcess {
+	/**
+	 * Formats a summary as a line which can be compared across processes.
+	 */
+	static String format(List<SummaryEntry> summary) {
+		return summary.stream()
+				.map(entry -> entry.getMatchId() + ":" + entry.getHomeScore() + "-" + entry.getAwayScore())
+				.collect(Collectors.joining(","));
+	}
+
+	/**
+	 * Checks a snapshot written by {@link SharedSummaryTest}, whose matches
+	 * always have equal scores and are named after their IDs.
+	 *
+	 * @return A description of the problem, or {@code null} if there is none.
+	 */
+	static String check(SharedSummary summary, int matchCount, long previousVersion) {
+		List<SummaryEntry> matches = summary.getMatches();
+
+		if (summary.getVersion() < previousVersion) {
+			return "version went back from " + previousVersion + " to " + summary.getVersion();
+		}
+
+		if (matches.size() != matchCount || summary.isTruncated()) {
+			return "expected " + matchCount + " matches, got " + matches.size();
+		}
+
+		for (int i = 0; i < matches.size(); i++) {
+			SummaryEntry entry = matches.get(i);
+
+			if (entry.getHomeScore() != entry.getAwayScore()
+					|| !entry.getHomeTeam().getName().equals("Home " + entry.getMatchId())
+					|| !entry.getAwayTeam().getName().equals("Away " + entry.getMatchId())) {
+				return "torn match " + entry;
+			}
+
+			if (i > 0) {
+				SummaryEntry previous = matches.get(i - 1);
+
+				if (previous.getTotalGoals() < entry.getTotalGoals()
+						|| previous.getTotalGoals() == entry.getTotalGoals()
+								&& previous.getMatchId() < entry.getMatchId()) {
+					return "unordered summary " + format(matches);
+				}
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Runs the reader.
+	 *
+	 * @param args The path of the file, the number of matches and the version to
+	 *             read up to.
+	 * @throws Exception If the file cannot be read.
+	 */
+	public static void main(String[] args) throws Exception {
+		Path file = Path.of(args[0]);
+		int matchCount = Integer.parseInt(args[1]);
+		long lastVersion = Long.parseLong(args[2]);
+		long deadline = System.nanoTime() + 60_000_000_000L;
+
+		try (var reader = new SharedSummaryReader(file)) {
+			System.out.println("READY");
+			System.out.flush();
+
+			long reads = 0;
+			long versions = 0;
+			SharedSummary summary;
+			long previousVersion = -1;
+
+			do {
+				summary = reader.read();
+				reads++;
+
+				String problem = check(summary, matchCount, previousVersion);
+
+				if (problem != null) {
+					System.out.println("FAIL " + problem);
+					return;
+				}
+
+				if (summary.getVersion() != previousVersion) {
+					versions++;
+				}
+
+				previousVersion = summary.getVersion();
+
+				if (System.nanoTime() > deadline) {
+					System.out.println("FAIL timed out at version " + previousVersion);
+					return;
+				}
+			} while (summary.getVersion() != lastVersion);
+
+			System.out.println("OK " + reads + " " + versions);
+			System.out.println(format(summary.getMatches()));
+		}
+	}
+}
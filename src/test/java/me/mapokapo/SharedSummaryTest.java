@@ -0,0 +1,254 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.scoreboard.Scoreboard;
+import me.mapokapo.features.scoreboard.SummaryEntry;
+import me.mapokapo.features.streaming.SharedSummary;
+import me.mapokapo.features.streaming.SharedSummaryPublisher;
+import me.mapokapo.features.streaming.SharedSummaryReader;
+import me.mapokapo.features.teams.Team;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * Tests for the {@link SharedSummaryPublisher} and {@link SharedSummaryReader}
+ * classes.
+ */
+public class SharedSummaryTest {
+	@TempDir
+	Path directory;
+
+	private Path file;
+	private MatchRepository matchRepository;
+	private Scoreboard scoreboard;
+
+	@BeforeEach
+	void init() {
+		file = directory.resolve("summary");
+		matchRepository = new MatchRepository();
+		scoreboard = new Scoreboard(matchRepository, new TeamRepository());
+	}
+
+	@Test
+	void givenPublishedSummary_whenReading_thenReturnSameSummary() throws IOException {
+		// Arrange
+		Match first = scoreboard.addMatch("Mexico", "Canada", "World Cup");
+		Match second = scoreboard.addMatch("Đakovo", "Čakovec");
+		scoreboard.startMatch(first.getId());
+		scoreboard.startMatch(second.getId());
+		scoreboard.updateScore(second.getId(), 2, 1);
+
+		try (var publisher = new SharedSummaryPublisher(matchRepository, scoreboard, file);
+				var reader = new SharedSummaryReader(file)) {
+			// Act
+			SharedSummary summary = reader.read();
+
+			// Assert
+			List<SummaryEntry> matches = summary.getMatches();
+			assertTrue(summary.getVersion() == 0 && publisher.getVersion() == 0 && !summary.isTruncated()
+					&& matches.size() == 2);
+			assertTrue(matches.get(0).getMatchId() == second.getId()
+					&& matches.get(0).getHomeTeam().equals(second.getHomeTeam())
+					&& matches.get(0).getAwayTeam().equals(second.getAwayTeam())
+					&& matches.get(0).getHomeScore() == 2 && matches.get(0).getAwayScore() == 1
+					&& matches.get(0).getCompetition().isEmpty());
+			assertTrue(matches.get(1).getMatchId() == first.getId()
+					&& matches.get(1).getCompetition().orElseThrow().equals("World Cup"));
+		}
+	}
+
+	@Test
+	void givenChangedSummary_whenReading_thenReturnLatestVersion() throws IOException {
+		// Arrange
+		Match first = scoreboard.addMatch("Mexico", "Canada");
+		Match second = scoreboard.addMatch("Spain", "Brazil");
+		Match third = scoreboard.addMatch("Germany", "France");
+
+		try (var publisher = new SharedSummaryPublisher(matchRepository, scoreboard, file);
+				var reader = new SharedSummaryReader(file)) {
+			// Act
+			scoreboard.startMatch(first.getId());
+			scoreboard.startMatch(second.getId());
+			scoreboard.startMatch(third.getId());
+			scoreboard.updateScore(first.getId(), 1, 0);
+			scoreboard.finishMatch(second.getId());
+			SharedSummary summary = reader.read();
+
+			// Assert
+			assertTrue(summary.getVersion() == 5 && reader.getVersion() == 5 && publisher.getVersion() == 5);
+			assertTrue(summary.getMatches().stream().map(SummaryEntry::getMatchId).collect(Collectors.toList())
+					.equals(List.of(first.getId(), third.getId())));
+		}
+	}
+
+	@Test
+	void givenSummaryLargerThanCapacity_whenReading_thenReturnFirstMatches() throws IOException {
+		// Arrange
+		for (int i = 0; i < 100; i++) {
+			Match match = scoreboard.addMatch("Home " + i, "Away " + i);
+			scoreboard.startMatch(match.getId());
+		}
+
+		try (var publisher = new SharedSummaryPublisher(matchRepository, scoreboard, file, 1_000);
+				var reader = new SharedSummaryReader(file)) {
+			// Act
+			SharedSummary summary = reader.read();
+
+			// Assert
+			List<Match> expected = scoreboard.getSummary().subList(0, summary.getMatches().size());
+			assertTrue(summary.isTruncated() && summary.getLiveMatches() == 100 && !summary.getMatches().isEmpty());
+			assertTrue(summary.getVersion() == publisher.getVersion());
+			assertTrue(summary.getMatches().stream().map(SummaryEntry::getMatchId).collect(Collectors.toList())
+					.equals(expected.stream().map(Match::getId).collect(Collectors.toList())));
+		}
+	}
+
+	@Test
+	void givenClosedPublisher_whenReading_thenReturnLastSummary() throws IOException {
+		// Arrange
+		Match match = scoreboard.addMatch("Mexico", "Canada");
+		var publisher = new SharedSummaryPublisher(matchRepository, scoreboard, file);
+		scoreboard.startMatch(match.getId());
+		publisher.close();
+
+		// Act
+		scoreboard.finishMatch(match.getId());
+
+		try (var reader = new SharedSummaryReader(file)) {
+			SharedSummary summary = reader.read();
+
+			// Assert
+			assertTrue(summary.getVersion() == 1 && summary.getMatches().size() == 1);
+		}
+	}
+
+	@Test
+	void givenLiveMatchAddedToRepository_whenReading_thenMatchIsPublished() throws IOException {
+		// Arrange
+		Match match = new Match(0, new Team(0, "Mexico"), new Team(1, "Canada"));
+		match.start();
+
+		try (var publisher = new SharedSummaryPublisher(matchRepository, scoreboard, file);
+				var reader = new SharedSummaryReader(file)) {
+			// Act
+			matchRepository.addMatch(match);
+			SharedSummary summary = reader.read();
+
+			// Assert
+			assertTrue(summary.getVersion() == 1 && publisher.getVersion() == 1 && summary.getMatches().size() == 1);
+			assertTrue(summary.getMatches().get(0).getMatchId() == match.getId());
+		}
+	}
+
+	@Test
+	void givenPublisherDiedWhileWriting_whenReading_thenThrowErrorAfterTimeout() throws IOException {
+		// Arrange
+		Match match = scoreboard.addMatch("Mexico", "Canada");
+		scoreboard.startMatch(match.getId());
+		new SharedSummaryPublisher(matchRepository, scoreboard, file).close();
+
+		// The sequence of the seqlock, at offset 8 of the header, is left odd, as
+		// if the publisher died in the middle of a write.
+		try (var channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).putLong(0, 3), 8);
+		}
+
+		try (var reader = new SharedSummaryReader(file, Duration.ofMillis(50))) {
+			// Act & Assert
+			assertThrows(IllegalStateException.class, reader::read);
+			assertThrows(IllegalStateException.class, reader::getVersion);
+		}
+
+		assertThrows(IllegalArgumentException.class, () -> {
+			new SharedSummaryReader(file, Duration.ZERO);
+		});
+	}
+
+	@Test
+	void givenFileWithoutSummary_whenCreatingReader_thenThrowError() throws IOException {
+		// Arrange
+		Files.write(file, new byte[4096]);
+
+		// Act & Assert
+		assertThrows(IOException.class, () -> {
+			new SharedSummaryReader(file);
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			new SharedSummaryPublisher(matchRepository, scoreboard, file, 0);
+		});
+	}
+
+	@Test
+	void givenReaderInAnotherProcess_whenSummaryChanges_thenEveryReadIsConsistent() throws Exception {
+		// Arrange
+		int matchCount = 50;
+		int updateCount = 200_000;
+		List<Match> matches = new ArrayList<>();
+
+		for (int i = 0; i < matchCount; i++) {
+			Match match = scoreboard.addMatch("Home " + i, "Away " + i);
+			scoreboard.startMatch(match.getId());
+			matches.add(match);
+		}
+
+		try (var publisher = new SharedSummaryPublisher(matchRepository, scoreboard, file)) {
+			Process process = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+					"-cp", System.getProperty("java.class.path"), SharedSummaryReaderProcess.class.getName(),
+					file.toString(), Integer.toString(matchCount), Integer.toString(updateCount))
+					.redirectErrorStream(true).start();
+
+			try (var output = new BufferedReader(
+					new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+				String ready = output.readLine();
+
+				// Act
+				Random random = new Random(48);
+
+				for (int i = 0; i < updateCount; i++) {
+					Match match = matches.get(random.nextInt(matchCount));
+					int score = match.getHomeScore() + 1;
+					scoreboard.updateScore(match.getId(), score, score);
+				}
+
+				String outcome = output.readLine();
+				String lastSummary = output.readLine();
+				boolean exited = process.waitFor(60, TimeUnit.SECONDS);
+
+				// Assert
+				assertTrue("READY".equals(ready), () -> "Reader did not start: " + ready);
+				assertTrue(outcome != null && outcome.startsWith("OK "), () -> "Reader failed: " + outcome);
+				assertTrue(exited && process.exitValue() == 0);
+				assertTrue(publisher.getVersion() == updateCount);
+				assertTrue(scoreboard.getSummary().stream()
+						.map(match -> match.getId() + ":" + match.getHomeScore() + "-" + match.getAwayScore())
+						.collect(Collectors.joining(",")).equals(lastSummary));
+			} finally {
+				process.destroyForcibly();
+			}
+		}
+	}
+}
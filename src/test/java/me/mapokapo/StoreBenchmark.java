@@ -0,0 +1,91 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchStore;
+import me.mapokapo.features.storage.ListStoreProvider;
+import me.mapokapo.features.storage.StoreProvider;
+import me.mapokapo.features.storage.Stores;
+import me.mapokapo.features.teams.Team;
+import me.mapokapo.features.teams.TeamStore;
+
+/**
+ * Benchmarks every storage backend on the class path against the reference
+ * {@link ListStoreProvider list} backend, over a million matches.
+ */
+@Tag("benchmark")
+public class StoreBenchmark {
+	private static final int MATCH_COUNT = 1_000_000;
+	private static final int TEAM_COUNT = 10_000;
+
+	@Test
+	void benchmarkBackendsAgainstReference() {
+		var reference = Stores.getProvider(ListStoreProvider.NAME);
+		double[] baseline = benchmark(reference);
+
+		for (StoreProvider provider : Stores.getProviders()) {
+			if (provider == reference) {
+				continue;
+			}
+
+			double[] result = benchmark(provider);
+			System.out.printf("%s: lookups %.2fx, team lookups %.2fx, removals %.2fx of %s%n", provider.getName(),
+					result[0] / baseline[0], result[1] / baseline[1], result[2] / baseline[2], reference.getName());
+		}
+	}
+
+	/**
+	 * Benchmarks a backend.
+	 * 
+	 * @return The nanoseconds per match lookup, team lookup and match removal.
+	 */
+	private static double[] benchmark(StoreProvider provider) {
+		String name = provider.getName();
+		MatchStore matches = provider.createMatchStore();
+		TeamStore teams = provider.createTeamStore();
+		var home = new Team(0, "Home Team");
+		var away = new Team(1, "Away Team");
+		List<Match> batch = new ArrayList<>(MATCH_COUNT);
+
+		for (int i = 0; i < MATCH_COUNT; i++) {
+			batch.add(new Match(i, home, away));
+		}
+
+		Benchmarks.time(name + ": add " + MATCH_COUNT + " matches one by one", () -> {
+			for (Match match : batch) {
+				matches.add(match);
+			}
+		});
+
+		MatchStore batchStore = provider.createMatchStore();
+		Benchmarks.time(name + ": add " + MATCH_COUNT + " matches as a batch", () -> batchStore.addAll(batch));
+
+		for (int i = 0; i < TEAM_COUNT; i++) {
+			teams.add(new Team(i, "Team " + i));
+		}
+
+		double lookups = Benchmarks.measure(name + ": match lookup", 10_000_000,
+				i -> matches.get((int) (i * 7_919L % MATCH_COUNT)).getId());
+		double teamLookups = Benchmarks.measure(name + ": team lookup", 10_000_000,
+				i -> teams.get((int) (i * 7_919L % TEAM_COUNT)).getId());
+
+		// Removals come from the end of the store, where the reference backend,
+		// which scans its list from the end, is at its best. The warm-up removes
+		// matches too, so the next ID is counted separately.
+		int[] next = { MATCH_COUNT - 1 };
+		double removals = Benchmarks.measure(name + ": match removal", 1_000,
+				i -> batchStore.remove(next[0]--).getId());
+
+		assertTrue(matches.size() == MATCH_COUNT);
+		assertTrue(batchStore.size() == MATCH_COUNT - 2_000);
+
+		return new double[] { lookups, teamLookups, removals };
+	}
+}
@@ -0,0 +1,53 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.storage.ListStoreProvider;
+import me.mapokapo.features.storage.Stores;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * Tests for the {@link Stores} class.
+ */
+public class StoresTest {
+	@AfterEach
+	void clearProperty() {
+		System.clearProperty(Stores.PROPERTY);
+	}
+
+	@Test
+	void givenClassPath_whenDiscoveringProviders_thenFindListProvider() {
+		// Act
+		var providers = Stores.getProviders();
+
+		// Assert
+		assertTrue(providers.stream().anyMatch(provider -> provider instanceof ListStoreProvider));
+	}
+
+	@Test
+	void givenNoProperty_whenSelectingProvider_thenSelectListProvider() {
+		// Act
+		var provider = Stores.getProvider();
+
+		// Assert
+		assertTrue(provider.getName().equals(ListStoreProvider.NAME));
+		assertTrue(provider == Stores.getProvider(ListStoreProvider.NAME));
+	}
+
+	@Test
+	void givenUnknownStore_whenSelectingProvider_thenThrowError() {
+		// Arrange
+		System.setProperty(Stores.PROPERTY, "cassandra");
+
+		// Act & Assert
+		assertThrows(IllegalArgumentException.class, () -> Stores.getProvider("cassandra"));
+		assertThrows(IllegalStateException.class, Stores::getProvider);
+		assertThrows(IllegalStateException.class, MatchRepository::new);
+		assertThrows(IllegalStateException.class, TeamRepository::new);
+	}
+}
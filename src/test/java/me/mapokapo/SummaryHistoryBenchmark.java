@@ -0,0 +1,95 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.scoreboard.Scoreboard;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * Benchmarks for reading the summary of the {@link Scoreboard} class as it was
+ * at a past instant, over a full day of events.
+ */
+@Tag("benchmark")
+public class SummaryHistoryBenchmark {
+	private static final long SECOND = 1_000;
+	private static final long DAY = 24 * 60 * 60 * SECOND;
+
+	/**
+	 * A match kicks off every 30 seconds and lasts 105 minutes, so about 200
+	 * matches are live at once.
+	 */
+	private static final long KICKOFF_INTERVAL = 30 * SECOND;
+	private static final long MATCH_LENGTH = 105 * 60 * SECOND;
+
+	/**
+	 * The number of score changes per second across all live matches.
+	 */
+	private static final int CHANGES_PER_SECOND = 2;
+
+	private static final TestClock clock = new TestClock(0);
+	private static Scoreboard scoreboard;
+	private static long[] instants;
+
+	@BeforeAll
+	static void init() {
+		var random = new Random(46);
+		scoreboard = new Scoreboard(new MatchRepository(), new TeamRepository(), clock);
+		scoreboard.recordHistory();
+
+		Benchmarks.time("Record a day of matches", () -> {
+			List<Match> live = new ArrayList<>();
+			ArrayDeque<Long> finishes = new ArrayDeque<>();
+
+			for (long second = 0; second < DAY / SECOND; second++) {
+				clock.set(second * SECOND);
+
+				if (second * SECOND % KICKOFF_INTERVAL == 0) {
+					Match match = scoreboard.addMatch("Home " + second, "Away " + second);
+					scoreboard.startMatch(match.getId());
+					live.add(match);
+					finishes.add(second * SECOND + MATCH_LENGTH);
+				}
+
+				// Matches kick off in order and last equally long, so the first live
+				// match is always the next to finish.
+				if (!finishes.isEmpty() && finishes.peek() <= second * SECOND) {
+					finishes.poll();
+					scoreboard.finishMatch(live.remove(0).getId());
+				}
+
+				for (int i = 0; i < CHANGES_PER_SECOND && !live.isEmpty(); i++) {
+					Match match = live.get(random.nextInt(live.size()));
+					boolean home = random.nextBoolean();
+					scoreboard.updateScore(match.getId(), match.getHomeScore() + (home ? 1 : 0),
+							match.getAwayScore() + (home ? 0 : 1));
+				}
+			}
+		});
+
+		instants = new long[4_096];
+
+		for (int i = 0; i < instants.length; i++) {
+			instants[i] = random.nextLong(DAY);
+		}
+	}
+
+	@Test
+	void benchmarkSummaryAt() {
+		Benchmarks.measure("Summary at a random instant of the day", 20_000,
+				i -> scoreboard.getSummaryAt(Instant.ofEpochMilli(instants[i % instants.length])).size());
+
+		assertTrue(scoreboard.getSummaryAt(Instant.ofEpochMilli(DAY / 2)).size() > 150);
+	}
+}
@@ -0,0 +1,207 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.scoreboard.Scoreboard;
+import me.mapokapo.features.scoreboard.SummaryEntry;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * Tests for reading the summary of the {@link Scoreboard} class as it was at a
+ * past instant.
+ */
+public class SummaryHistoryTest {
+	private TestClock clock;
+	private Scoreboard scoreboard;
+
+	@BeforeEach
+	void init() {
+		clock = new TestClock(1_000_000);
+		scoreboard = new Scoreboard(new MatchRepository(), new TeamRepository(), clock);
+	}
+
+	private static List<SummaryEntry> entries(List<Match> summary) {
+		List<SummaryEntry> entries = new ArrayList<>();
+
+		for (Match match : summary) {
+			entries.add(new SummaryEntry(match.getId(), match.getHomeTeam(), match.getAwayTeam(),
+					match.getCompetition().orElse(null), match.getHomeScore(), match.getAwayScore()));
+		}
+
+		return entries;
+	}
+
+	/**
+	 * Advances the clock by up to a second and makes a random change of the
+	 * scoreboard.
+	 */
+	private void change(Random random, int i, List<Match> notStarted, List<Match> live) {
+		clock.advance(Duration.ofMillis(random.nextInt(3) * 500));
+		int action = random.nextInt(20);
+
+		if (notStarted.isEmpty() || action == 0) {
+			notStarted.add(scoreboard.addMatch("Home " + i, "Away " + i));
+		} else if (action < 3 || live.isEmpty()) {
+			Match match = notStarted.remove(random.nextInt(notStarted.size()));
+			scoreboard.startMatch(match.getId());
+			live.add(match);
+		} else if (action < 5) {
+			scoreboard.finishMatch(live.remove(random.nextInt(live.size())).getId());
+		} else {
+			Match match = live.get(random.nextInt(live.size()));
+			scoreboard.updateScore(match.getId(), random.nextInt(6), random.nextInt(6));
+		}
+	}
+
+	@Test
+	void givenHistoryNotRecorded_whenGettingSummaryAt_thenThrowError() {
+		// Act & Assert
+		assertThrows(IllegalStateException.class, () -> {
+			scoreboard.getSummaryAt(clock.instant());
+		});
+	}
+
+	@Test
+	void givenInstantBeforeHistory_whenGettingSummaryAt_thenThrowError() {
+		// Arrange
+		scoreboard.recordHistory();
+
+		// Act & Assert
+		assertThrows(IllegalArgumentException.class, () -> {
+			scoreboard.getSummaryAt(clock.instant().minusMillis(1));
+		});
+	}
+
+	@Test
+	void givenScoreChanges_whenGettingSummaryAt_thenReturnScoresOfThatInstant() {
+		// Arrange
+		scoreboard.recordHistory();
+		Match mexico = scoreboard.addMatch("Mexico", "Canada", "World Cup");
+		Match spain = scoreboard.addMatch("Spain", "Brazil");
+		scoreboard.startMatch(mexico.getId());
+		scoreboard.startMatch(spain.getId());
+		clock.advance(Duration.ofMinutes(10));
+		scoreboard.updateScore(spain.getId(), 1, 0);
+		Instant beforeEqualiser = clock.instant();
+		clock.advance(Duration.ofMinutes(10));
+		scoreboard.updateScore(mexico.getId(), 2, 0);
+		scoreboard.finishMatch(spain.getId());
+
+		// Act
+		List<SummaryEntry> summary = scoreboard.getSummaryAt(beforeEqualiser.plusMillis(1));
+		List<SummaryEntry> current = scoreboard.getSummaryAt(clock.instant());
+
+		// Assert
+		assertTrue(summary.equals(List.of(
+				new SummaryEntry(spain.getId(), spain.getHomeTeam(), spain.getAwayTeam(), null, 1, 0),
+				new SummaryEntry(mexico.getId(), mexico.getHomeTeam(), mexico.getAwayTeam(), "World Cup", 0, 0))));
+		assertTrue(current.equals(entries(scoreboard.getSummary())));
+	}
+
+	@Test
+	void givenLiveMatchesBeforeRecording_whenGettingSummaryAt_thenIncludeThem() {
+		// Arrange
+		Match match = scoreboard.addMatch("Mexico", "Canada");
+		scoreboard.startMatch(match.getId());
+		scoreboard.updateScore(match.getId(), 1, 1);
+		scoreboard.recordHistory();
+		clock.advance(Duration.ofMinutes(1));
+		scoreboard.updateScore(match.getId(), 2, 1);
+
+		// Act
+		List<SummaryEntry> summary = scoreboard.getSummaryAt(clock.instant().minusMillis(1));
+
+		// Assert
+		assertTrue(summary.size() == 1 && summary.get(0).getHomeScore() == 1 && summary.get(0).getAwayScore() == 1);
+	}
+
+	@Test
+	void givenRandomChanges_whenGettingSummaryAt_thenEqualSummaryAtThatInstant() {
+		// Arrange
+		var random = new Random(46);
+		scoreboard.recordHistory();
+		List<Match> notStarted = new ArrayList<>();
+		List<Match> live = new ArrayList<>();
+
+		// The summary after the last change made at every instant.
+		var summaries = new TreeMap<Long, List<SummaryEntry>>();
+		summaries.put(clock.millis(), List.of());
+
+		for (int i = 0; i < 20_000; i++) {
+			change(random, i, notStarted, live);
+			summaries.put(clock.millis(), entries(scoreboard.getSummary()));
+		}
+
+		// Act
+		boolean equal = true;
+
+		for (int i = 0; i < 2_000; i++) {
+			long millis = random.nextLong(summaries.firstKey(), clock.millis() + 1_000);
+			equal &= scoreboard.getSummaryAt(Instant.ofEpochMilli(millis))
+					.equals(summaries.floorEntry(millis).getValue());
+		}
+
+		// Assert
+		assertTrue(equal);
+	}
+
+	@Test
+	void givenTrimmedHistory_whenGettingSummaryAt_thenEqualSummaryAfterTrimInstant() {
+		// Arrange
+		var random = new Random(146);
+		scoreboard.recordHistory();
+		Instant start = clock.instant();
+		List<Match> notStarted = new ArrayList<>();
+		List<Match> live = new ArrayList<>();
+		var summaries = new TreeMap<Long, List<SummaryEntry>>();
+		summaries.put(clock.millis(), List.of());
+		long trimMillis = 0;
+
+		// The history is trimmed twice while it keeps being recorded.
+		for (int i = 0; i < 30_000; i++) {
+			change(random, i, notStarted, live);
+			summaries.put(clock.millis(), entries(scoreboard.getSummary()));
+
+			if (i == 10_000 || i == 20_000) {
+				trimMillis = clock.millis() - 1_000;
+				scoreboard.trimSummaryHistory(Instant.ofEpochMilli(trimMillis));
+			}
+		}
+
+		// Act
+		boolean equal = true;
+
+		for (int i = 0; i < 2_000; i++) {
+			long millis = random.nextLong(trimMillis, clock.millis() + 1_000);
+			equal &= scoreboard.getSummaryAt(Instant.ofEpochMilli(millis))
+					.equals(summaries.floorEntry(millis).getValue());
+		}
+
+		// Assert
+		assertTrue(equal);
+		assertThrows(IllegalArgumentException.class, () -> {
+			scoreboard.getSummaryAt(start);
+		});
+	}
+
+	@Test
+	void givenHistoryNotRecorded_whenTrimmingHistory_thenThrowError() {
+		// Act & Assert
+		assertThrows(IllegalStateException.class, () -> {
+			scoreboard.trimSummaryHistory(clock.instant());
+		});
+	}
+}
@@ -0,0 +1,71 @@
+package me.mapokapo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.scoreboard.SummarySorter;
+import me.mapokapo.features.teams.Team;
+
+/**
+ * Benchmarks for the {@link SummarySorter} class, compared to sorting the
+ * matches with a comparator.
+ */
+@Tag("benchmark")
+public class SummarySorterBenchmark {
+	private static List<Match> createMatches(int count) {
+		var random = new Random(count);
+		var home = new Team(0, "Home Team");
+		var away = new Team(1, "Away Team");
+		List<Match> matches = new ArrayList<>(count);
+
+		for (int i = 0; i < count; i++) {
+			var match = new Match(i, home, away);
+			match.start();
+			match.setScore(random.nextInt(5), random.nextInt(5));
+			matches.add(match);
+		}
+
+		Collections.shuffle(matches, random);
+
+		return matches;
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 1_000, 100_000, 1_000_000 })
+	void benchmarkSort(int count) {
+		List<Match> matches = createMatches(count);
+		List<Match> copy = new ArrayList<>(matches);
+		var sorter = new SummarySorter();
+		int iterations = 10_000_000 / count;
+
+		Benchmarks.measure("Comparator: sort " + count + " matches", iterations, i -> {
+			copy.clear();
+			copy.addAll(matches);
+			copy.sort((match1, match2) -> {
+				int totalGoals1 = match1.getHomeScore() + match1.getAwayScore();
+				int totalGoals2 = match2.getHomeScore() + match2.getAwayScore();
+
+				if (totalGoals1 != totalGoals2) {
+					return Integer.compare(totalGoals2, totalGoals1);
+				}
+
+				return Integer.compare(match2.getId(), match1.getId());
+			});
+			return copy.get(0).getId();
+		});
+
+		Benchmarks.measure("Primitive keys: sort " + count + " matches", iterations, i -> {
+			copy.clear();
+			copy.addAll(matches);
+			sorter.sort(copy);
+			return copy.get(0).getId();
+		});
+	}
+}
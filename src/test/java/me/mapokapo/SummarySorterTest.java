@@ -0,0 +1,126 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.scoreboard.Scoreboard;
+import me.mapokapo.features.scoreboard.SummarySorter;
+import me.mapokapo.features.teams.Team;
+
+/**
+ * Tests for the {@link SummarySorter} class.
+ */
+public class SummarySorterTest {
+	/**
+	 * The summary order, as defined by {@link Scoreboard#getSummary()}.
+	 */
+	private static final Comparator<Match> SUMMARY_ORDER = Comparator
+			.comparingInt((Match match) -> match.getHomeScore() + match.getAwayScore()).reversed()
+			.thenComparing(Comparator.comparingInt(Match::getId).reversed());
+
+	private static final Team HOME = new Team(0, "Home Team");
+	private static final Team AWAY = new Team(1, "Away Team");
+
+	/**
+	 * Creates live matches with random scores and the given IDs.
+	 */
+	private static List<Match> createMatches(int[] ids, int maxScore, Random random) {
+		List<Match> matches = new ArrayList<>(ids.length);
+
+		for (int id : ids) {
+			var match = new Match(id, HOME, AWAY);
+			match.start();
+			match.setScore(random.nextInt(maxScore + 1), random.nextInt(maxScore + 1));
+			matches.add(match);
+		}
+
+		return matches;
+	}
+
+	private static int[] shuffledIds(int count, Random random) {
+		List<Integer> ids = new ArrayList<>(count);
+
+		for (int i = 0; i < count; i++) {
+			ids.add(random.nextInt());
+		}
+
+		return ids.stream().distinct().mapToInt(Integer::intValue).toArray();
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 0, 1, 10, 31, 32, 1_000, 50_000, SummarySorter.PARALLEL_THRESHOLD + 1 })
+	void givenRandomMatches_whenSorting_thenOrderIsSummaryOrder(int count) {
+		// Arrange
+		var random = new Random(count);
+		var matches = createMatches(shuffledIds(count, random), 10, random);
+		var expected = new ArrayList<>(matches);
+		expected.sort(SUMMARY_ORDER);
+
+		// Act
+		new SummarySorter().sort(matches);
+
+		// Assert
+		assertTrue(matches.equals(expected));
+	}
+
+	@Test
+	void givenExtremeIdsAndScores_whenSorting_thenOrderIsSummaryOrder() {
+		// Arrange
+		var random = new Random(33);
+		int[] ids = { Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE, Integer.MIN_VALUE + 1, Integer.MAX_VALUE - 1 };
+		var matches = createMatches(ids, 1, random);
+		var maxScore = new Match(42, HOME, AWAY);
+		maxScore.start();
+		maxScore.setScore(32_767, 32_767);
+		matches.add(maxScore);
+		var expected = new ArrayList<>(matches);
+		expected.sort(SUMMARY_ORDER);
+
+		// Act
+		new SummarySorter().sort(matches);
+
+		// Assert
+		assertTrue(matches.equals(expected));
+		assertTrue(matches.get(0) == maxScore);
+	}
+
+	@Test
+	void givenWarmedUpSorter_whenSortingPartiallySortedMatches_thenNothingIsAllocated() {
+		// Arrange
+		var random = new Random(34);
+		var matches = createMatches(shuffledIds(20_000, random), 5, random);
+		var sorter = new SummarySorter();
+		var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().threadId();
+
+		for (int i = 0; i < 20; i++) {
+			sorter.sort(matches);
+			Collections.swap(matches, i, matches.size() - 1 - i);
+		}
+
+		// Act
+		long before = threads.getThreadAllocatedBytes(threadId);
+
+		for (int i = 0; i < 100; i++) {
+			// Keep the input mostly sorted, which is the usual case for a summary.
+			Collections.swap(matches, i, matches.size() - 1 - i);
+			sorter.sort(matches);
+		}
+
+		long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+		// Assert
+		assertTrue(allocated == 0, "Allocated " + allocated + " bytes.");
+	}
+}
@@ -0,0 +1,146 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.scoreboard.Scoreboard;
+import me.mapokapo.features.streaming.SummaryStreamServer;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * A local load test of the {@link SummaryStreamServer} class: thousands of
+ * simulated subscribers, each on its own virtual thread and connection, receive
+ * a stream of score changes, and the delay between every change and its
+ * delivery is reported as percentiles.
+ */
+@Tag("benchmark")
+public class SummaryStreamBenchmark {
+	private static final int SUBSCRIBER_COUNT = 1_000;
+	private static final int MATCH_COUNT = 16;
+	private static final int CHANGE_COUNT = 500;
+	private static final byte[] ID_PREFIX = "\nid: ".getBytes(StandardCharsets.US_ASCII);
+	private static final long CHANGE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+	@Test
+	void benchmarkFanOut() throws Exception {
+		var matchRepository = new MatchRepository();
+		var scoreboard = new Scoreboard(matchRepository, new TeamRepository());
+		List<Match> matches = new ArrayList<>(MATCH_COUNT);
+
+		for (int i = 0; i < MATCH_COUNT; i++) {
+			Match match = scoreboard.addMatch("Home " + i, "Away " + i, "World Cup");
+			match.start();
+			matches.add(match);
+		}
+
+		var latency = new LatencyHistogram();
+		var delivered = new AtomicLong();
+		long[] publishTimes = new long[CHANGE_COUNT + 1];
+		boolean allConnected;
+
+		try (var server = new SummaryStreamServer(matchRepository, scoreboard,
+				new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+				var subscribers = Executors.newVirtualThreadPerTaskExecutor()) {
+			var connected = new CountDownLatch(SUBSCRIBER_COUNT);
+			long lastVersion = CHANGE_COUNT;
+
+			for (int i = 0; i < SUBSCRIBER_COUNT; i++) {
+				subscribers.execute(() -> subscribe(server.getPort(), connected, lastVersion, publishTimes, latency,
+						delivered));
+			}
+
+			// Publish even if some subscribers failed to connect, so the others
+			// receive the last version and finish.
+			allConnected = connected.await(60, TimeUnit.SECONDS);
+			long start = System.nanoTime();
+
+			for (int version = 1; version <= CHANGE_COUNT; version++) {
+				LockSupport.parkNanos(start + version * CHANGE_INTERVAL_NANOS - System.nanoTime());
+				Match match = matches.get(version * 7 % MATCH_COUNT);
+				publishTimes[version] = System.nanoTime();
+				scoreboard.updateScore(match.getId(), match.getHomeScore() + 1, match.getAwayScore());
+			}
+		}
+
+		latency.print(System.out, "Delivery latency to " + SUBSCRIBER_COUNT + " subscribers");
+		System.out.printf("%-60s %12.1f %%%n", "Events delivered (rest conflated)",
+				100.0 * delivered.get() / ((long) SUBSCRIBER_COUNT * CHANGE_COUNT));
+		assertTrue(allConnected);
+	}
+
+	/**
+	 * Reads events until the last version has arrived, recording the delay of
+	 * every event since its change was made. The stream is scanned as bytes for
+	 * {@code id} lines, without decoding it, so that the simulated subscribers
+	 * use as little of the CPU shared with the server as possible.
+	 */
+	private static void subscribe(int port, CountDownLatch connected, long lastVersion, long[] publishTimes,
+			LatencyHistogram latency, AtomicLong delivered) {
+		try (var socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+			socket.getOutputStream()
+					.write(("GET " + SummaryStreamServer.PATH + " HTTP/1.0\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+			InputStream in = socket.getInputStream();
+			byte[] buffer = new byte[64 * 1024];
+			boolean first = true;
+			// The number of bytes of "\nid: " matched so far, or -1 while reading
+			// the digits of a version.
+			int matched = 0;
+			long version = 0;
+			int read;
+
+			while ((read = in.read(buffer)) > 0) {
+				for (int i = 0; i < read; i++) {
+					byte b = buffer[i];
+
+					if (matched < 0) {
+						if (b >= '0' && b <= '9') {
+							version = version * 10 + b - '0';
+							continue;
+						}
+
+						if (first) {
+							connected.countDown();
+							first = false;
+						} else {
+							latency.record(System.nanoTime() - publishTimes[(int) version]);
+							delivered.incrementAndGet();
+						}
+
+						if (version == lastVersion) {
+							return;
+						}
+
+						matched = 0;
+					}
+
+					matched = b == ID_PREFIX[matched] ? matched + 1 : b == ID_PREFIX[0] ? 1 : 0;
+
+					if (matched == ID_PREFIX.length) {
+						matched = -1;
+						version = 0;
+					}
+				}
+			}
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
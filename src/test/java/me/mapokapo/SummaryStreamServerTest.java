@@ -0,0 +1,173 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.scoreboard.Scoreboard;
+import me.mapokapo.features.streaming.SummaryStreamServer;
+import me.mapokapo.features.teams.Team;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * Tests for the {@link SummaryStreamServer} class.
+ */
+public class SummaryStreamServerTest {
+	private MatchRepository matchRepository;
+	private Scoreboard scoreboard;
+	private SummaryStreamServer server;
+
+	@BeforeEach
+	void init() throws IOException {
+		matchRepository = new MatchRepository();
+		scoreboard = new Scoreboard(matchRepository, new TeamRepository());
+		server = new SummaryStreamServer(matchRepository, scoreboard,
+				new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+	}
+
+	@AfterEach
+	void close() {
+		server.close();
+	}
+
+	/**
+	 * Opens an HTTP/1.0 connection to the event stream, so the response is not
+	 * chunked and the events can be read line by line.
+	 */
+	private Socket connect() throws IOException {
+		var socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+		OutputStream out = socket.getOutputStream();
+		out.write(("GET " + SummaryStreamServer.PATH + " HTTP/1.0\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+		out.flush();
+
+		return socket;
+	}
+
+	/**
+	 * Reads lines until the next event and returns its data line, or
+	 * {@code null} at the end of the stream.
+	 */
+	private static String nextData(Iterator<String> lines) {
+		while (lines.hasNext()) {
+			String line = lines.next();
+
+			if (line.startsWith("data: ")) {
+				return line.substring("data: ".length());
+			}
+		}
+
+		return null;
+	}
+
+	@Test
+	void givenSubscriber_whenScoreChanges_thenSubscriberReceivesSummaries() throws Exception {
+		// Arrange
+		var match = scoreboard.addMatch("Spain", "Brazil", "World \"Cup\"");
+		match.start();
+		var client = HttpClient.newHttpClient();
+		var request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/summary")).build();
+
+		// Act
+		var response = client.send(request, HttpResponse.BodyHandlers.ofLines());
+		var lines = response.body().iterator();
+		var initial = nextData(lines);
+		scoreboard.updateScore(match.getId(), 1, 0);
+		var updated = nextData(lines);
+
+		// Assert
+		assertTrue(response.statusCode() == 200);
+		assertTrue(response.headers().firstValue("Content-Type").get().startsWith("text/event-stream"));
+		assertTrue(initial.equals("[{\"id\":0,\"homeTeam\":\"Spain\",\"awayTeam\":\"Brazil\",\"homeScore\":0,"
+				+ "\"awayScore\":0,\"competition\":\"World \\\"Cup\\\"\"}]"));
+		assertTrue(updated.contains("\"homeScore\":1"));
+		assertTrue(server.getVersion() == 2);
+	}
+
+	@Test
+	void givenSlowSubscriber_whenManyChangesHappen_thenChangesAreConflatedToLatestSummary() throws Exception {
+		// Arrange
+		for (int i = 0; i < 300; i++) {
+			scoreboard.addMatch("Home team " + i, "Away team " + i).start();
+		}
+
+		try (var socket = connect()) {
+			var reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+			var lines = reader.lines().iterator();
+			nextData(lines);
+
+			// Act
+			// The subscriber does not read while the changes happen, so the socket
+			// buffers fill up and most changes cannot be delivered.
+			for (int i = 1; i <= 2_000; i++) {
+				scoreboard.updateScore(i % 300, i, 0);
+			}
+
+			String lastId = "id: " + server.getVersion();
+			long received = 0;
+
+			while (!lines.next().equals(lastId)) {
+				received++;
+			}
+
+			var last = nextData(lines);
+
+			// Assert
+			assertTrue(received < 2_000 * 3, "Received every event.");
+			assertTrue(last.startsWith("[{\"id\":200,\"homeTeam\":\"Home team 200\",\"awayTeam\":\"Away team 200\","
+					+ "\"homeScore\":2000,"));
+		}
+	}
+
+	@Test
+	void givenLiveMatchAddedToRepository_whenStreaming_thenSummaryIsPublished() {
+		// Arrange
+		var match = new Match(0, new Team(0, "Spain"), new Team(1, "Brazil"));
+		match.start();
+
+		// Act
+		matchRepository.addMatch(new Match(1, new Team(2, "Mexico"), new Team(3, "Canada")));
+		matchRepository.addMatch(match);
+
+		// Assert
+		assertTrue(server.getVersion() == 1);
+	}
+
+	@Test
+	void givenDisconnectedSubscriber_whenScoreChanges_thenSubscriberIsRemoved() throws Exception {
+		// Arrange
+		var match = scoreboard.addMatch("Spain", "Brazil");
+		match.start();
+
+		try (var socket = connect()) {
+			var reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+			nextData(reader.lines().iterator());
+		}
+
+		// Act
+		for (int i = 1; i <= 100 && server.getSubscriberCount() > 0; i++) {
+			scoreboard.updateScore(match.getId(), i, 0);
+			Thread.sleep(10);
+		}
+
+		// Assert
+		assertTrue(server.getSubscriberCount() == 0);
+	}
+}
@@ -0,0 +1,74 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import me.mapokapo.features.teams.Team;
+import me.mapokapo.features.teams.TeamRepository;
+
+/**
+ * Benchmarks for searching the teams of the {@link TeamRepository} class by
+ * name prefix, over a hundred thousand teams.
+ */
+@Tag("benchmark")
+public class TeamRepositoryBenchmark {
+	private static final int TEAM_COUNT = 100_000;
+	private static final int LIMIT = 10;
+
+	private static final String[] SYLLABLES = { "ba", "ri", "jé", "ka", "Lo", "mü", "na", "po", "sa", "to", "vi",
+			"ze" };
+
+	private static TeamRepository teamRepository;
+	private static String[] prefixes;
+
+	@BeforeAll
+	static void init() {
+		var random = new Random(45);
+		teamRepository = new TeamRepository();
+		prefixes = new String[1_024];
+
+		Benchmarks.time("Add " + TEAM_COUNT + " teams", () -> {
+			for (int i = 0; i < TEAM_COUNT; i++) {
+				StringBuilder name = new StringBuilder();
+
+				for (int j = 0; j < 3 + random.nextInt(4); j++) {
+					name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+				}
+
+				teamRepository.addTeam(new Team(i, name.toString()));
+			}
+		});
+
+		// Prefixes of one to four characters, as typed keystroke by keystroke.
+		for (int i = 0; i < prefixes.length; i++) {
+			String name = teamRepository.getTeamById(random.nextInt(TEAM_COUNT)).orElseThrow().getName();
+			prefixes[i] = name.substring(0, 1 + i % 4).toUpperCase();
+		}
+	}
+
+	@Test
+	void benchmarkPrefixSearch() {
+		Benchmarks.measure("Indexed: top " + LIMIT + " teams by prefix", 1_000_000,
+				i -> teamRepository.findTeamsByPrefix(prefixes[i % prefixes.length], LIMIT).size());
+
+		Benchmarks.measure("Full scan: top " + LIMIT + " teams by prefix", 200, i -> {
+			String prefix = prefixes[i % prefixes.length].toLowerCase();
+			long count = 0;
+
+			for (Team team : teamRepository.getAllTeams()) {
+				if (team.getName().toLowerCase().startsWith(prefix) && count < LIMIT) {
+					count++;
+				}
+			}
+
+			return count;
+		});
+
+		assertTrue(teamRepository.findTeamsByPrefix("", LIMIT).size() == LIMIT);
+	}
+}
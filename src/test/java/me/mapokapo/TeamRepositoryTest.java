@@ -3,7 +3,11 @@ package me.mapokapo;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
+import java.util.Random;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -198,4 +202,103 @@ public class TeamRepositoryTest {
             teamRepository.removeTeam(1);
         });
     }
+
+    @Test
+    void givenTeamsWithDiacritics_whenFindingByPrefix_thenIgnoreCaseAndDiacritics() {
+        // Arrange
+        Team ivoryCoast = teamRepository.addTeam(new Team(0, "Côte d'Ivoire"));
+        Team bayern = teamRepository.addTeam(new Team(1, "FC Bayern München"));
+        Team rijeka = teamRepository.addTeam(new Team(2, "HNK Rijeka"));
+        Team hajduk = teamRepository.addTeam(new Team(3, "HNK Hajduk Split"));
+
+        // Act
+        List<Team> cote = teamRepository.findTeamsByPrefix("COTE", 10);
+        List<Team> bayernMunchen = teamRepository.findTeamsByPrefix("fc bayern munc", 10);
+        List<Team> hnk = teamRepository.findTeamsByPrefix("hnk", 10);
+
+        // Assert
+        assertTrue(cote.equals(List.of(ivoryCoast)));
+        assertTrue(bayernMunchen.equals(List.of(bayern)));
+        assertTrue(hnk.equals(List.of(hajduk, rijeka)));
+    }
+
+    @Test
+    void givenManyMatchingTeams_whenFindingByPrefix_thenReturnFirstTeamsUpToLimit() {
+        // Arrange
+        teamRepository.addTeam(new Team(0, "Brazil"));
+        teamRepository.addTeam(new Team(1, "Bolivia"));
+        teamRepository.addTeam(new Team(2, "Belgium"));
+        teamRepository.addTeam(new Team(3, "Argentina"));
+
+        // Act
+        List<Team> teams = teamRepository.findTeamsByPrefix("B", 2);
+        List<Team> all = teamRepository.findTeamsByPrefix("", Integer.MAX_VALUE);
+
+        // Assert
+        assertTrue(teams.size() == 2 && teams.get(0).getName().equals("Belgium")
+                && teams.get(1).getName().equals("Bolivia"));
+        assertTrue(all.size() == 4 && all.get(0).getName().equals("Argentina"));
+    }
+
+    @Test
+    void givenRemovedTeam_whenFindingByPrefix_thenTeamIsNotFound() {
+        // Arrange
+        teamRepository.addTeam(new Team(0, "Spain"));
+        teamRepository.addTeam(new Team(1, "Spain"));
+        teamRepository.removeTeam(0);
+
+        // Act
+        List<Team> teams = teamRepository.findTeamsByPrefix("spa", 10);
+
+        // Assert
+        assertTrue(teams.size() == 1 && teams.get(0).getId() == 1);
+    }
+
+    @Test
+    void givenNegativeLimit_whenFindingByPrefix_thenThrowError() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> {
+            teamRepository.findTeamsByPrefix("a", -1);
+        });
+    }
+
+    @Test
+    void givenRandomAddsAndRemovals_whenFindingByPrefix_thenMatchLinearScan() {
+        // Arrange
+        var random = new Random(45);
+        String[] syllables = { "ba", "bá", "Ca", "çe", "do", "Dö", "ra" };
+        List<Team> teams = new ArrayList<>();
+
+        for (int i = 0; i < 2_000; i++) {
+            StringBuilder name = new StringBuilder();
+
+            for (int j = 0; j < 1 + random.nextInt(4); j++) {
+                name.append(syllables[random.nextInt(syllables.length)]);
+            }
+
+            teams.add(teamRepository.addTeam(new Team(i, name.toString())));
+
+            if (random.nextInt(4) == 0) {
+                teamRepository.removeTeam(teams.remove(random.nextInt(teams.size())).getId());
+            }
+        }
+
+        // Act
+        boolean matches = true;
+
+        for (String prefix : List.of("", "b", "BA", "ca", "ce", "dod", "baca", "raraz")) {
+            List<Team> expected = teams.stream()
+                    .filter(team -> fold(team.getName()).startsWith(prefix.toLowerCase()))
+                    .sorted(Comparator.comparing((Team team) -> fold(team.getName())).thenComparingInt(Team::getId))
+                    .limit(25).toList();
+            matches &= teamRepository.findTeamsByPrefix(prefix, 25).equals(expected);
+        }
+
+        // Assert
+        assertTrue(matches);
+    }
+
+    private static String fold(String name) {
+        return name.toLowerCase().replace('á', 'a').replace('ç', 'c').replace('ö', 'o');
+    }
 }
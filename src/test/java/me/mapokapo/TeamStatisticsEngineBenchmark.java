@@ -0,0 +1,68 @@
+package me.mapokapo;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.statistics.TeamStatisticsEngine;
+import me.mapokapo.features.teams.Team;
+
+/**
+ * Benchmarks comparing sequential and parallel builds of the
+ * {@link TeamStatisticsEngine} over a history of a million finished matches.
+ */
+@Tag("benchmark")
+public class TeamStatisticsEngineBenchmark {
+	private static final int MATCH_COUNT = 1_000_000;
+	private static final int TEAM_COUNT = 2_000;
+
+	private static MatchRepository matchRepository;
+	private static TeamStatisticsEngine engine;
+
+	@BeforeAll
+	static void init() {
+		var random = new Random(42);
+		var teams = new Team[TEAM_COUNT];
+		matchRepository = new MatchRepository();
+
+		for (int i = 0; i < TEAM_COUNT; i++) {
+			teams[i] = new Team(i, "Team " + i);
+		}
+
+		for (int i = 0; i < MATCH_COUNT; i++) {
+			int home = random.nextInt(TEAM_COUNT);
+			int away = (home + 1 + random.nextInt(TEAM_COUNT - 1)) % TEAM_COUNT;
+			var match = matchRepository.addMatch(new Match(i, teams[home], teams[away]));
+			match.start();
+			match.setScore(random.nextInt(5), random.nextInt(5));
+			match.finish();
+		}
+
+		engine = new TeamStatisticsEngine(matchRepository);
+	}
+
+	@Test
+	void benchmarkSequentialAndParallelBuild() {
+		var pool = ForkJoinPool.commonPool();
+
+		Benchmarks.measure("Sequential build over " + MATCH_COUNT + " matches", 10, i -> {
+			engine.rebuildSequentially();
+			return engine.getRecord(i).getPlayed();
+		});
+
+		Benchmarks.measure("Parallel build over " + MATCH_COUNT + " matches (parallelism "
+				+ pool.getParallelism() + ")", 10, i -> {
+					engine.rebuild(pool);
+					return engine.getRecord(i).getPlayed();
+				});
+
+		Benchmarks.measure("Incremental read of a team record", 1_000_000, i -> {
+			return engine.getRecord(i % TEAM_COUNT).getGoalsFor();
+		});
+	}
+}
@@ -0,0 +1,193 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import me.mapokapo.features.matches.Match;
+import me.mapokapo.features.matches.MatchRepository;
+import me.mapokapo.features.statistics.HeadToHead;
+import me.mapokapo.features.statistics.TeamRecord;
+import me.mapokapo.features.statistics.TeamStatisticsEngine;
+import me.mapokapo.features.teams.Team;
+
+/**
+ * Tests for the {@link TeamStatisticsEngine} class.
+ */
+public class TeamStatisticsEngineTest {
+	private MatchRepository matchRepository;
+	private Team teamA;
+	private Team teamB;
+	private Team teamC;
+
+	/**
+	 * Adds a finished match with the given result to the repository.
+	 */
+	private Match addFinishedMatch(Team home, Team away, int homeScore, int awayScore) {
+		var match = matchRepository.addMatch(new Match(matchRepository.getNextIndex(), home, away));
+		match.start();
+		match.setScore(homeScore, awayScore);
+		match.finish();
+
+		return match;
+	}
+
+	@BeforeEach
+	void init() {
+		matchRepository = new MatchRepository();
+		teamA = new Team(0, "Team A");
+		teamB = new Team(1, "Team B");
+		teamC = new Team(2, "Team C");
+	}
+
+	@Test
+	void givenFinishedMatches_whenCreatingEngine_thenStatisticsBuilt() {
+		// Arrange
+		addFinishedMatch(teamA, teamB, 2, 1);
+		addFinishedMatch(teamB, teamA, 1, 1);
+		addFinishedMatch(teamC, teamA, 3, 0);
+
+		// Act
+		var engine = new TeamStatisticsEngine(matchRepository);
+
+		// Assert
+		assertTrue(engine.getRecord(teamA.getId()).equals(new TeamRecord(0, 3, 1, 1, 1, 3, 5)));
+		assertTrue(engine.getRecord(teamB.getId()).equals(new TeamRecord(1, 2, 0, 1, 1, 2, 3)));
+		assertTrue(engine.getRecord(teamC.getId()).equals(new TeamRecord(2, 1, 1, 0, 0, 3, 0)));
+		assertTrue(engine.getRecord(teamA.getId()).getGoalDifference() == -2);
+	}
+
+	@Test
+	void givenFinishedMatches_whenGettingHeadToHead_thenReturnFromPerspectiveOfFirstTeam() {
+		// Arrange
+		addFinishedMatch(teamA, teamB, 2, 1);
+		addFinishedMatch(teamB, teamA, 3, 1);
+		addFinishedMatch(teamB, teamA, 0, 0);
+
+		// Act
+		var engine = new TeamStatisticsEngine(matchRepository);
+
+		// Assert
+		assertTrue(engine.getHeadToHead(teamA.getId(), teamB.getId()).equals(new HeadToHead(0, 1, 1, 1, 1, 3, 4)));
+		assertTrue(engine.getHeadToHead(teamB.getId(), teamA.getId()).equals(new HeadToHead(1, 0, 1, 1, 1, 4, 3)));
+		assertTrue(engine.getHeadToHead(teamA.getId(), teamC.getId()).getPlayed() == 0);
+	}
+
+	@Test
+	void givenLiveAndNotStartedMatches_whenCreatingEngine_thenMatchesIgnored() {
+		// Arrange
+		var live = matchRepository.addMatch(new Match(0, teamA, teamB));
+		live.start();
+		live.setScore(5, 0);
+		matchRepository.addMatch(new Match(1, teamA, teamC));
+
+		// Act
+		var engine = new TeamStatisticsEngine(matchRepository);
+
+		// Assert
+		assertTrue(engine.getRecord(teamA.getId()).getPlayed() == 0);
+	}
+
+	@Test
+	void givenEngine_whenFinishingMatch_thenStatisticsUpdated() {
+		// Arrange
+		var engine = new TeamStatisticsEngine(matchRepository);
+		var match = matchRepository.addMatch(new Match(0, teamA, teamB));
+		match.start();
+		match.setScore(0, 2);
+
+		// Act
+		match.finish();
+
+		// Assert
+		assertTrue(engine.getRecord(teamB.getId()).equals(new TeamRecord(1, 1, 1, 0, 0, 2, 0)));
+		assertTrue(engine.getHeadToHead(teamA.getId(), teamB.getId()).getLost() == 1);
+	}
+
+	@Test
+	void givenEngine_whenAddingAndRemovingFinishedMatch_thenStatisticsUpdated() {
+		// Arrange
+		var engine = new TeamStatisticsEngine(matchRepository);
+		var match = new Match(0, teamA, teamB);
+		match.start();
+		match.setScore(1, 0);
+		match.finish();
+
+		// Act & Assert
+		matchRepository.addMatch(match);
+		assertTrue(engine.getRecord(teamA.getId()).getWon() == 1);
+
+		matchRepository.removeMatch(match.getId());
+		assertTrue(engine.getRecord(teamA.getId()).equals(new TeamRecord(0, 0, 0, 0, 0, 0, 0)));
+		assertTrue(engine.getHeadToHead(teamA.getId(), teamB.getId()).getPlayed() == 0);
+	}
+
+	@Test
+	void givenClosedEngine_whenFinishingMatch_thenStatisticsNotUpdated() {
+		// Arrange
+		var engine = new TeamStatisticsEngine(matchRepository);
+		var match = matchRepository.addMatch(new Match(0, teamA, teamB));
+		match.start();
+
+		// Act
+		engine.close();
+		match.finish();
+
+		// Assert
+		assertTrue(engine.getRecord(teamA.getId()).getPlayed() == 0);
+	}
+
+	@Test
+	void givenLargeHistory_whenBuildingInParallel_thenSameAsSequentialBuild() {
+		// Arrange
+		var random = new Random(42);
+		var teams = new Team[500];
+
+		for (int i = 0; i < teams.length; i++) {
+			teams[i] = new Team(i, "Team " + i);
+		}
+
+		for (int i = 0; i < 100_000; i++) {
+			int home = random.nextInt(teams.length);
+			int away = (home + 1 + random.nextInt(teams.length - 1)) % teams.length;
+			addFinishedMatch(teams[home], teams[away], random.nextInt(5), random.nextInt(5));
+		}
+
+		var parallel = new TeamStatisticsEngine(matchRepository);
+		var sequential = new TeamStatisticsEngine(matchRepository);
+
+		// Act
+		parallel.rebuild(new ForkJoinPool(4));
+		sequential.rebuildSequentially();
+
+		// Assert
+		int played = 0;
+
+		for (int i = 0; i < teams.length; i++) {
+			assertTrue(parallel.getRecord(i).equals(sequential.getRecord(i)));
+			assertTrue(parallel.getHeadToHead(i, (i + 7) % teams.length)
+					.equals(sequential.getHeadToHead(i, (i + 7) % teams.length)));
+			played += parallel.getRecord(i).getPlayed();
+		}
+
+		assertTrue(played == 2 * 100_000);
+	}
+
+	@Test
+	void givenNegativeTeamId_whenFinishingMatch_thenThrowError() {
+		// Arrange
+		new TeamStatisticsEngine(matchRepository);
+		var match = matchRepository.addMatch(new Match(0, new Team(-1, "Team"), teamA));
+		match.start();
+
+		// Act & Assert
+		assertThrows(IllegalArgumentException.class, () -> {
+			match.finish();
+		});
+	}
+}
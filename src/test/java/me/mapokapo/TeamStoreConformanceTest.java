@@ -0,0 +1,129 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import me.mapokapo.features.teams.Team;
+import me.mapokapo.features.teams.TeamStore;
+
+/**
+ * The conformance tests every {@link TeamStore} must pass. A backend is tested
+ * by extending this class and implementing {@link #createStore()}. Backends
+ * in other projects get this class from the {@code tests} jar of the project.
+ */
+public abstract class TeamStoreConformanceTest {
+	private TeamStore store;
+
+	/**
+	 * Creates an empty store of the backend under test.
+	 * 
+	 * @return The store.
+	 */
+	protected abstract TeamStore createStore();
+
+	@BeforeEach
+	void init() {
+		store = createStore();
+	}
+
+	@Test
+	void givenEmptyStore_whenGettingTeams_thenStoreIsEmpty() {
+		// Act & Assert
+		assertTrue(store.size() == 0);
+		assertTrue(store.getAll().isEmpty());
+		assertTrue(store.get(0) == null);
+	}
+
+	@Test
+	void givenAddedTeam_whenGettingTeamById_thenReturnSameTeam() {
+		// Arrange
+		var team = new Team(42, "Spain");
+
+		// Act
+		boolean added = store.add(team);
+
+		// Assert
+		assertTrue(added);
+		assertTrue(store.get(42) == team);
+		assertTrue(store.get(43) == null);
+		assertTrue(store.size() == 1);
+	}
+
+	@Test
+	void givenExistingTeamId_whenAddingTeam_thenRejectTeamAndKeepOriginal() {
+		// Arrange
+		var original = new Team(0, "Spain");
+		store.add(original);
+
+		// Act
+		boolean added = store.add(new Team(0, "Brazil"));
+
+		// Assert
+		assertTrue(!added);
+		assertTrue(store.get(0) == original);
+		assertTrue(store.getAll().equals(List.of(original)));
+	}
+
+	@Test
+	void givenAllTeams_whenModifyingThem_thenThrowError() {
+		// Arrange
+		store.add(new Team(0, "Spain"));
+
+		// Act & Assert
+		assertThrows(UnsupportedOperationException.class, () -> store.getAll().add(new Team(1, "Brazil")));
+		assertThrows(UnsupportedOperationException.class, () -> store.getAll().remove(0));
+	}
+
+	@Test
+	void givenTeams_whenRemovingOne_thenOthersKeepInsertionOrder() {
+		// Arrange
+		var all = store.getAll();
+
+		for (int id : new int[] { 5, 3, 9, 1 }) {
+			store.add(new Team(id, "Team " + id));
+		}
+
+		// Act
+		var removed = store.remove(3);
+		var missing = store.remove(3);
+
+		// Assert
+		assertTrue(removed.getId() == 3 && missing == null);
+		assertTrue(all.stream().map(Team::getId).toList().equals(List.of(5, 9, 1)));
+	}
+
+	@Test
+	void givenRandomOperations_whenComparingWithModel_thenStoreBehavesLikeModel() {
+		// Arrange
+		var random = new Random(43);
+		Map<Integer, Team> model = new LinkedHashMap<>();
+
+		// Act & Assert
+		for (int step = 0; step < 20_000; step++) {
+			int id = (random.nextInt(2_000) - 1_000) * 7_919;
+			int operation = random.nextInt(3);
+
+			if (operation == 0) {
+				var team = new Team(id, "Team " + step);
+				assertTrue(store.add(team) == (model.putIfAbsent(id, team) == null));
+			} else if (operation == 1) {
+				assertTrue(store.remove(id) == model.remove(id));
+			} else {
+				assertTrue(store.get(id) == model.get(id));
+			}
+
+			assertTrue(store.size() == model.size());
+		}
+
+		assertTrue(store.getAll().equals(new ArrayList<>(model.values())));
+	}
+}
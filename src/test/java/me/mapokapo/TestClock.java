@@ -0,0 +1,73 @@
+package me.mapokapo;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * A {@link Clock} whose time only changes when explicitly told to, used to make
+ * time-dependent tests deterministic. Clocks created with
+ * {@link #withZone(ZoneId)} share the time with the clock they were created
+ * from.
+ */
+public class TestClock extends Clock {
+	/**
+	 * The time shared by a clock and its copies in other zones.
+	 */
+	private static class Time {
+		private long millis;
+	}
+
+	private final Time time;
+	private final ZoneId zone;
+
+	public TestClock(long millis) {
+		this(new Time(), ZoneOffset.UTC);
+		time.millis = millis;
+	}
+
+	private TestClock(Time time, ZoneId zone) {
+		this.time = time;
+		this.zone = zone;
+	}
+
+	/**
+	 * Moves the clock forward by the given duration.
+	 * 
+	 * @param duration The duration to move the clock by.
+	 */
+	public void advance(Duration duration) {
+		time.millis += duration.toMillis();
+	}
+
+	/**
+	 * Sets the clock to the given time.
+	 * 
+	 * @param millis The new time, in milliseconds since the epoch.
+	 */
+	public void set(long millis) {
+		time.millis = millis;
+	}
+
+	@Override
+	public long millis() {
+		return time.millis;
+	}
+
+	@Override
+	public Instant instant() {
+		return Instant.ofEpochMilli(time.millis);
+	}
+
+	@Override
+	public ZoneId getZone() {
+		return zone;
+	}
+
+	@Override
+	public TestClock withZone(ZoneId zone) {
+		return new TestClock(time, zone);
+	}
+}
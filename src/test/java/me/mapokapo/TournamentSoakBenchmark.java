@@ -0,0 +1,45 @@
+package me.mapokapo;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import me.mapokapo.features.scoreboard.Scoreboard;
+
+/**
+ * A soak test of the {@link Scoreboard} class under the traffic of a World Cup
+ * day, simulated by a {@link LoadGenerator}.
+ * 
+ * <p>
+ * The run takes a minute by default. Its shape can be changed with system
+ * properties, for example for a three-hour run with more matches and readers:
+ * </p>
+ * 
+ * <pre>
+ * mvn test -Pbenchmark -Dtest=TournamentSoakBenchmark -Dsoak.duration=PT3H -Dsoak.matchesPerWave=64 -Dsoak.readers=512
+ * </pre>
+ */
+@Tag("benchmark")
+public class TournamentSoakBenchmark {
+	@Test
+	void benchmarkTournamentDay() {
+		var profile = LoadProfile.builder()
+				.duration(Duration.parse(System.getProperty("soak.duration", "PT1M")))
+				.reportInterval(Duration.parse(System.getProperty("soak.reportInterval", "PT10S")))
+				.matchesPerWave(Integer.getInteger("soak.matchesPerWave", 16))
+				.readerCount(Integer.getInteger("soak.readers", 64))
+				.readsPerSecond(Integer.getInteger("soak.readsPerSecond", 20))
+				.goalsPerMatch(Double.parseDouble(System.getProperty("soak.goalsPerMatch", "2.7")))
+				.burstProbability(Double.parseDouble(System.getProperty("soak.burstProbability", "0.1")))
+				.timeScale(Double.parseDouble(System.getProperty("soak.timeScale", "60")))
+				.reportStream(System.out)
+				.build();
+
+		var result = new LoadGenerator(profile).run();
+
+		assertTrue(result.getFailures() == 0);
+	}
+}